@@ -11,9 +11,16 @@ import liquibase.change.ColumnConfig;
 import liquibase.change.DatabaseChange;
 import liquibase.change.DatabaseChangeProperty;
 import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
 import liquibase.exception.ValidationErrors;
+import liquibase.exception.Warnings;
+import liquibase.ext.spatial.configuration.SpatialConfiguration;
 import liquibase.ext.spatial.statement.CreateSpatialIndexStatement;
+import liquibase.ext.spatial.utils.SpatialReferenceSystem;
 import liquibase.ext.spatial.xml.XmlConstants;
+import liquibase.parser.core.ParsedNode;
+import liquibase.parser.core.ParsedNodeException;
+import liquibase.resource.ResourceAccessor;
 import liquibase.statement.SqlStatement;
 import liquibase.util.StringUtils;
 
@@ -35,6 +42,23 @@ public class CreateSpatialIndexChange extends AbstractChange
    private List<ColumnConfig> columns = new ArrayList<ColumnConfig>();
    private String geometryType;
    private String srid;
+   private String extent;
+   private String tolerance;
+   private String dimensionNames;
+   private Integer sdoDmlBatchSize;
+   private Boolean sdoNonLeafTbl;
+   private Integer sdoIndxDims;
+   private String workTablespace;
+   private Integer sdoRtrPctfree;
+   private Boolean local;
+   private Integer parallel;
+   private Boolean unusable;
+   private Boolean concurrently;
+   private Integer fillfactor;
+   private String buffering;
+   private String indexMethod;
+   private Integer pagesPerRange;
+   private String where;
 
    /**
     * Sets the database catalog name.
@@ -127,6 +151,412 @@ public class CreateSpatialIndexChange extends AbstractChange
       this.srid = srid;
    }
 
+   /**
+    * Returns the extent of the indexed data: <code>auto</code> to compute it from the data or
+    * "<code>minX,minY,maxX,maxY</code>".
+    *
+    * @return the extent.
+    */
+   @DatabaseChangeProperty(
+         description = "The extent of the indexed data, either auto to compute it from the data"
+               + " or minX,minY,maxX,maxY",
+         exampleValue = "0,0,700000,1300000",
+         supportsDatabase = "oracle")
+   public String getExtent() {
+      return this.extent;
+   }
+
+   /**
+    * Sets the extent of the indexed data.
+    *
+    * @param extent
+    *           <code>auto</code> or "<code>minX,minY,maxX,maxY</code>".
+    */
+   public void setExtent(final String extent) {
+      this.extent = extent;
+   }
+
+   /**
+    * Returns the tolerance of both dimensions.
+    *
+    * @return the tolerance.
+    */
+   @DatabaseChangeProperty(
+         description = "The tolerance of both dimensions, in metres for geographic data and in"
+               + " the unit of the coordinates otherwise",
+         exampleValue = "0.005",
+         supportsDatabase = "oracle")
+   public String getTolerance() {
+      return this.tolerance;
+   }
+
+   /**
+    * Sets the tolerance of both dimensions.
+    *
+    * @param tolerance
+    *           the tolerance.
+    */
+   public void setTolerance(final String tolerance) {
+      this.tolerance = tolerance;
+   }
+
+   /**
+    * Returns the names of the X and Y dimensions.
+    *
+    * @return the comma separated dimension names.
+    */
+   @DatabaseChangeProperty(description = "The comma separated names of the X and Y dimensions",
+         exampleValue = "Easting,Northing",
+         supportsDatabase = "oracle")
+   public String getDimensionNames() {
+      return this.dimensionNames;
+   }
+
+   /**
+    * Sets the names of the X and Y dimensions.
+    *
+    * @param dimensionNames
+    *           the comma separated dimension names.
+    */
+   public void setDimensionNames(final String dimensionNames) {
+      this.dimensionNames = dimensionNames;
+   }
+
+   /**
+    * Returns the number of rows that Oracle collects before it updates the index on commit.
+    *
+    * @return the <code>sdo_dml_batch_size</code> parameter.
+    */
+   @DatabaseChangeProperty(
+         description = "The number of inserted, updated or deleted rows that Oracle collects"
+               + " before it updates the index on commit",
+         exampleValue = "5000",
+         supportsDatabase = "oracle")
+   public Integer getSdoDmlBatchSize() {
+      return this.sdoDmlBatchSize;
+   }
+
+   /**
+    * Sets the number of rows that Oracle collects before it updates the index on commit.
+    *
+    * @param sdoDmlBatchSize
+    *           the <code>sdo_dml_batch_size</code> parameter.
+    */
+   public void setSdoDmlBatchSize(final Integer sdoDmlBatchSize) {
+      this.sdoDmlBatchSize = sdoDmlBatchSize;
+   }
+
+   /**
+    * Indicates if the non-leaf nodes of the R-tree are stored in a separate table which Oracle
+    * can keep cached.
+    *
+    * @return the <code>sdo_non_leaf_tbl</code> parameter.
+    */
+   @DatabaseChangeProperty(
+         description = "Should the non-leaf nodes of the R-tree be stored in a separate table",
+         exampleValue = "true",
+         supportsDatabase = "oracle")
+   public Boolean getSdoNonLeafTbl() {
+      return this.sdoNonLeafTbl;
+   }
+
+   /**
+    * Sets if the non-leaf nodes of the R-tree are stored in a separate table.
+    *
+    * @param sdoNonLeafTbl
+    *           the <code>sdo_non_leaf_tbl</code> parameter.
+    */
+   public void setSdoNonLeafTbl(final Boolean sdoNonLeafTbl) {
+      this.sdoNonLeafTbl = sdoNonLeafTbl;
+   }
+
+   /**
+    * Returns the number of dimensions to index.
+    *
+    * @return the <code>sdo_indx_dims</code> parameter.
+    */
+   @DatabaseChangeProperty(description = "The number of dimensions to index, from 2 to 4",
+         exampleValue = "2",
+         supportsDatabase = "oracle")
+   public Integer getSdoIndxDims() {
+      return this.sdoIndxDims;
+   }
+
+   /**
+    * Sets the number of dimensions to index.
+    *
+    * @param sdoIndxDims
+    *           the <code>sdo_indx_dims</code> parameter.
+    */
+   public void setSdoIndxDims(final Integer sdoIndxDims) {
+      this.sdoIndxDims = sdoIndxDims;
+   }
+
+   /**
+    * Returns the tablespace of the temporary tables used while the index is built.
+    *
+    * @return the <code>work_tablespace</code> parameter.
+    */
+   @DatabaseChangeProperty(
+         description = "The tablespace of the temporary tables used while the index is built",
+         exampleValue = "sdo_work",
+         supportsDatabase = "oracle")
+   public String getWorkTablespace() {
+      return this.workTablespace;
+   }
+
+   /**
+    * Sets the tablespace of the temporary tables used while the index is built.
+    *
+    * @param workTablespace
+    *           the <code>work_tablespace</code> parameter.
+    */
+   public void setWorkTablespace(final String workTablespace) {
+      this.workTablespace = workTablespace;
+   }
+
+   /**
+    * Returns the percentage of each R-tree node that is left free for future inserts.
+    *
+    * @return the <code>sdo_rtr_pctfree</code> parameter.
+    */
+   @DatabaseChangeProperty(
+         description = "The percentage of each R-tree node that is left free for future inserts",
+         exampleValue = "10",
+         supportsDatabase = "oracle")
+   public Integer getSdoRtrPctfree() {
+      return this.sdoRtrPctfree;
+   }
+
+   /**
+    * Sets the percentage of each R-tree node that is left free for future inserts.
+    *
+    * @param sdoRtrPctfree
+    *           the <code>sdo_rtr_pctfree</code> parameter.
+    */
+   public void setSdoRtrPctfree(final Integer sdoRtrPctfree) {
+      this.sdoRtrPctfree = sdoRtrPctfree;
+   }
+
+   /**
+    * Indicates if a <code>LOCAL</code> index is created with one partition per table partition.
+    *
+    * @return <code>true</code> for a local partitioned index.
+    */
+   @DatabaseChangeProperty(
+         description = "Should a LOCAL index be created on the partitioned table",
+         exampleValue = "true",
+         supportsDatabase = "oracle")
+   public Boolean getLocal() {
+      return this.local;
+   }
+
+   /**
+    * Sets if a <code>LOCAL</code> index is created with one partition per table partition.
+    *
+    * @param local
+    *           <code>true</code> for a local partitioned index.
+    */
+   public void setLocal(final Boolean local) {
+      this.local = local;
+   }
+
+   /**
+    * Returns the degree of parallelism used to build the index.
+    *
+    * @return the degree of parallelism.
+    */
+   @DatabaseChangeProperty(description = "The degree of parallelism used to build the index",
+         exampleValue = "8",
+         supportsDatabase = "oracle")
+   public Integer getParallel() {
+      return this.parallel;
+   }
+
+   /**
+    * Sets the degree of parallelism used to build the index.
+    *
+    * @param parallel
+    *           the degree of parallelism.
+    */
+   public void setParallel(final Integer parallel) {
+      this.parallel = parallel;
+   }
+
+   /**
+    * Indicates if a local index is created <code>UNUSABLE</code> and then rebuilt one partition
+    * at a time.
+    *
+    * @return <code>true</code> to rebuild each partition separately.
+    */
+   @DatabaseChangeProperty(
+         description = "Should the LOCAL index be created UNUSABLE and then rebuilt one"
+               + " partition at a time",
+         exampleValue = "true",
+         supportsDatabase = "oracle")
+   public Boolean getUnusable() {
+      return this.unusable;
+   }
+
+   /**
+    * Sets if a local index is created <code>UNUSABLE</code> and then rebuilt one partition at a
+    * time.
+    *
+    * @param unusable
+    *           <code>true</code> to rebuild each partition separately.
+    */
+   public void setUnusable(final Boolean unusable) {
+      this.unusable = unusable;
+   }
+
+   /**
+    * Indicates if the index is built without blocking writes to the table.
+    *
+    * @return <code>true</code> to create the index concurrently.
+    */
+   @DatabaseChangeProperty(
+         description = "Should the index be built without blocking writes to the table."
+               + " The change set must have runInTransaction=\"false\"",
+         exampleValue = "true",
+         supportsDatabase = "postgresql")
+   public Boolean getConcurrently() {
+      return this.concurrently;
+   }
+
+   /**
+    * Sets if the index is built without blocking writes to the table.
+    *
+    * @param concurrently
+    *           <code>true</code> to create the index concurrently.
+    */
+   public void setConcurrently(final Boolean concurrently) {
+      this.concurrently = concurrently;
+   }
+
+   /**
+    * Returns the percentage of each index page that is filled when the index is built.
+    *
+    * @return the fill factor.
+    */
+   @DatabaseChangeProperty(
+         description = "The percentage of each index page that is filled when the index is built",
+         exampleValue = "70",
+         supportsDatabase = "postgresql")
+   public Integer getFillfactor() {
+      return this.fillfactor;
+   }
+
+   /**
+    * Sets the percentage of each index page that is filled when the index is built.
+    *
+    * @param fillfactor
+    *           the fill factor from 10 to 100.
+    */
+   public void setFillfactor(final Integer fillfactor) {
+      this.fillfactor = fillfactor;
+   }
+
+   /**
+    * Returns the GiST buffering build mode.
+    *
+    * @return <code>on</code>, <code>off</code> or <code>auto</code>.
+    */
+   @DatabaseChangeProperty(description = "The GiST buffering build mode: on, off or auto",
+         exampleValue = "on",
+         supportsDatabase = "postgresql")
+   public String getBuffering() {
+      return this.buffering;
+   }
+
+   /**
+    * Sets the GiST buffering build mode.
+    *
+    * @param buffering
+    *           <code>on</code>, <code>off</code> or <code>auto</code>.
+    */
+   public void setBuffering(final String buffering) {
+      this.buffering = buffering;
+   }
+
+   /**
+    * Returns the index access method.
+    *
+    * @return <code>gist</code>, <code>spgist</code> or <code>brin</code>.
+    */
+   @DatabaseChangeProperty(
+         description = "The index access method: gist (the default), spgist or brin",
+         exampleValue = "spgist",
+         supportsDatabase = "postgresql")
+   public String getIndexMethod() {
+      return this.indexMethod;
+   }
+
+   /**
+    * Sets the index access method.
+    *
+    * @param indexMethod
+    *           <code>gist</code>, <code>spgist</code> or <code>brin</code>.
+    */
+   public void setIndexMethod(final String indexMethod) {
+      this.indexMethod = indexMethod;
+   }
+
+   /**
+    * Returns the number of table pages summarized by each entry of a BRIN index.
+    *
+    * @return the pages per range.
+    */
+   @DatabaseChangeProperty(
+         description = "The number of table pages summarized by each entry of a BRIN index",
+         exampleValue = "32",
+         supportsDatabase = "postgresql")
+   public Integer getPagesPerRange() {
+      return this.pagesPerRange;
+   }
+
+   /**
+    * Sets the number of table pages summarized by each entry of a BRIN index.
+    *
+    * @param pagesPerRange
+    *           the pages per range.
+    */
+   public void setPagesPerRange(final Integer pagesPerRange) {
+      this.pagesPerRange = pagesPerRange;
+   }
+
+   /**
+    * Returns the predicate of a partial index.
+    *
+    * @return the SQL condition on the rows to index.
+    */
+   @DatabaseChangeProperty(
+         description = "The SQL condition on the rows to index, which creates a partial index",
+         exampleValue = "status = 'ACTIVE'",
+         supportsDatabase = "postgresql")
+   public String getWhere() {
+      return this.where;
+   }
+
+   /**
+    * Sets the predicate of a partial index.
+    *
+    * @param where
+    *           the SQL condition on the rows to index.
+    */
+   public void setWhere(final String where) {
+      this.where = where;
+   }
+
+   /**
+    * Returns the index access method in lower case.
+    *
+    * @return the index access method which defaults to <code>gist</code>.
+    */
+   protected String getIndexMethodOrDefault() {
+      final String method = StringUtils.trimToNull(this.indexMethod);
+      return method == null ? "gist" : method.toLowerCase();
+   }
+
    @Override
    @DatabaseChangeProperty(mustEqualExisting = "index.column",
          description = "Column(s) to add to the index",
@@ -148,6 +578,29 @@ public class CreateSpatialIndexChange extends AbstractChange
       this.columns.add(column);
    }
 
+   /**
+    * Loads the columns as {@link SpatialIndexColumnConfig}s so that their operator classes and
+    * included flags aren't lost.
+    *
+    * @see liquibase.change.AbstractChange#customLoadLogic(ParsedNode, ResourceAccessor)
+    */
+   @Override
+   protected void customLoadLogic(final ParsedNode parsedNode,
+         final ResourceAccessor resourceAccessor) throws ParsedNodeException {
+      final List<ColumnConfig> columns = new ArrayList<ColumnConfig>();
+      // The columns may be in either the Liquibase or the spatial namespace.
+      for (final ParsedNode child : parsedNode.getChildren()) {
+         if ("column".equals(child.getName())) {
+            final SpatialIndexColumnConfig column = new SpatialIndexColumnConfig();
+            column.load(child, resourceAccessor);
+            columns.add(column);
+         }
+      }
+      if (!columns.isEmpty()) {
+         setColumns(columns);
+      }
+   }
+
    @DatabaseChangeProperty(description = "Tablepace to create the index in.")
    public String getTablespace() {
       return this.tablespace;
@@ -166,9 +619,120 @@ public class CreateSpatialIndexChange extends AbstractChange
       if (this.srid != null) {
          if (!this.srid.matches("[0-9]+")) {
             validationErrors.addError("The SRID must be numeric");
+         } else if (SpatialConfiguration.getInstance().isRejectUnknownSrids()
+               && SpatialReferenceSystem.get(this.srid) == null) {
+            validationErrors.addError("The SRID " + this.srid
+                  + " isn't in the bundled spatial reference system registry");
          }
       }
 
+      if (this.extent != null && !isAutoExtent() && parseExtent() == null) {
+         validationErrors.addError("The extent must be auto or minX,minY,maxX,maxY with"
+               + " minimums less than maximums");
+      }
+      if (this.tolerance != null && parseTolerance() == null) {
+         validationErrors.addError("The tolerance must be a positive number");
+      }
+      if (this.dimensionNames != null && parseDimensionNames() == null) {
+         validationErrors.addError("The dimension names must be two comma separated names");
+      }
+      if (this.sdoDmlBatchSize != null && this.sdoDmlBatchSize < 1) {
+         validationErrors.addError("The sdoDmlBatchSize must be positive");
+      }
+      if (this.sdoIndxDims != null && (this.sdoIndxDims < 2 || this.sdoIndxDims > 4)) {
+         validationErrors.addError("The sdoIndxDims must be from 2 to 4");
+      }
+      if (this.sdoRtrPctfree != null && (this.sdoRtrPctfree < 0 || this.sdoRtrPctfree > 99)) {
+         validationErrors.addError("The sdoRtrPctfree must be from 0 to 99");
+      }
+      if (this.workTablespace != null
+            && !this.workTablespace.trim().matches("[A-Za-z][A-Za-z0-9_$#]*")) {
+         validationErrors.addError("The workTablespace must be a tablespace name");
+      }
+      if (this.parallel != null && this.parallel < 1) {
+         validationErrors.addError("The parallel degree must be positive");
+      }
+      if (Boolean.TRUE.equals(this.unusable) && !Boolean.TRUE.equals(this.local)) {
+         validationErrors.addError("Only a local index can be created unusable");
+      }
+      if (this.fillfactor != null && (this.fillfactor < 10 || this.fillfactor > 100)) {
+         validationErrors.addError("The fillfactor must be from 10 to 100");
+      }
+      if (this.buffering != null
+            && !this.buffering.trim().toLowerCase().matches("on|off|auto")) {
+         validationErrors.addError("The buffering must be on, off or auto");
+      }
+      if (this.tablespace != null && database instanceof PostgresDatabase
+            && !this.tablespace.trim().matches("[A-Za-z_][A-Za-z0-9_$]*")) {
+         validationErrors.addError("The tablespace must be a tablespace name");
+      }
+      final String method = getIndexMethodOrDefault();
+      if (!method.matches("gist|spgist|brin")) {
+         validationErrors.addError("The indexMethod must be gist, spgist or brin");
+      }
+      if (this.buffering != null && !"gist".equals(method)) {
+         validationErrors.addError("The buffering is only supported by gist indexes");
+      }
+      if (this.fillfactor != null && "brin".equals(method)) {
+         validationErrors.addError("The fillfactor isn't supported by brin indexes");
+      }
+      if (this.pagesPerRange != null && !"brin".equals(method)) {
+         validationErrors.addError("The pagesPerRange is only supported by brin indexes");
+      }
+      if (this.pagesPerRange != null && this.pagesPerRange < 1) {
+         validationErrors.addError("The pagesPerRange must be positive");
+      }
+      int keyColumnCount = 0;
+      boolean hasIncludedColumns = false;
+      for (final ColumnConfig column : getColumns()) {
+         final String operatorClass = SpatialIndexColumnConfig.getOperatorClass(column);
+         if (SpatialIndexColumnConfig.isIncluded(column)) {
+            hasIncludedColumns = true;
+            if (operatorClass != null) {
+               validationErrors.addError("The included column " + column.getName()
+                     + " can't have an operator class");
+            }
+         } else {
+            keyColumnCount++;
+         }
+         if (operatorClass != null) {
+            if (!operatorClass.trim().matches(
+                  "([A-Za-z_][A-Za-z0-9_]*\\.)?[A-Za-z_][A-Za-z0-9_]*")) {
+               validationErrors.addError("The operatorClass of " + column.getName()
+                     + " must be an operator class name");
+            }
+            if (!(database instanceof PostgresDatabase)) {
+               validationErrors.addError("Operator classes are only supported on PostgreSQL");
+            }
+         }
+      }
+      if (hasIncludedColumns) {
+         if (keyColumnCount == 0) {
+            validationErrors.addError("At least one column must not be included");
+         }
+         if (!(database instanceof PostgresDatabase)) {
+            validationErrors.addError("Included columns are only supported on PostgreSQL");
+         }
+         if ("brin".equals(method)) {
+            validationErrors.addError("Included columns aren't supported by brin indexes");
+         }
+      }
+      if ("spgist".equals(method) && keyColumnCount > 1) {
+         validationErrors.addError("An spgist index can only have one column");
+      }
+      if (!(database instanceof PostgresDatabase)) {
+         validatePostgreSQLOption(validationErrors, "fillfactor", this.fillfactor);
+         validatePostgreSQLOption(validationErrors, "buffering", this.buffering);
+         validatePostgreSQLOption(validationErrors, "indexMethod", this.indexMethod);
+         validatePostgreSQLOption(validationErrors, "pagesPerRange", this.pagesPerRange);
+         validatePostgreSQLOption(validationErrors, "where", StringUtils.trimToNull(this.where));
+      }
+      if (Boolean.TRUE.equals(this.concurrently) && database instanceof PostgresDatabase
+            && getChangeSet() != null && getChangeSet().isRunInTransaction()) {
+         validationErrors.addError("An index can only be created concurrently by a change set"
+               + " with runInTransaction=\"false\"");
+      }
+
       if (!validationErrors.hasErrors()) {
          validationErrors.addAll(super.validate(database));
       }
@@ -176,6 +740,41 @@ public class CreateSpatialIndexChange extends AbstractChange
       return validationErrors;
    }
 
+   /**
+    * Adds a validation error if an option that only PostgreSQL supports is set, so that a change
+    * log doesn't silently build a different index on another database.
+    *
+    * @param validationErrors
+    *           the validation errors.
+    * @param name
+    *           the name of the option.
+    * @param value
+    *           the value of the option.
+    */
+   private static void validatePostgreSQLOption(final ValidationErrors validationErrors,
+         final String name, final Object value) {
+      if (value != null) {
+         validationErrors.addError("The " + name + " is only supported on PostgreSQL");
+      }
+   }
+
+   /**
+    * Warns about an SRID that isn't in the bundled {@link SpatialReferenceSystem} registry since
+    * it can only be checked by the database.
+    *
+    * @see liquibase.change.AbstractChange#warn(liquibase.database.Database)
+    */
+   @Override
+   public Warnings warn(final Database database) {
+      final Warnings warnings = super.warn(database);
+      if (this.srid != null && this.srid.matches("[0-9]+")
+            && SpatialReferenceSystem.get(this.srid) == null) {
+         warnings.addWarning("The SRID " + this.srid
+               + " isn't in the bundled spatial reference system registry");
+      }
+      return warnings;
+   }
+
    @Override
    public String getConfirmationMessage() {
       final StringBuilder message = new StringBuilder("Spatial index");
@@ -191,10 +790,17 @@ public class CreateSpatialIndexChange extends AbstractChange
 
    @Override
    public SqlStatement[] generateStatements(final Database database) {
-      final String[] columns = new String[this.columns.size()];
-      int ii = 0;
-      for (final ColumnConfig columnConfig : this.columns) {
-         columns[ii++] = columnConfig.getName();
+      final List<String> columns = new ArrayList<String>();
+      final List<String> operatorClasses = new ArrayList<String>();
+      final List<String> includedColumns = new ArrayList<String>();
+      for (final ColumnConfig columnConfig : getColumns()) {
+         if (SpatialIndexColumnConfig.isIncluded(columnConfig)) {
+            includedColumns.add(columnConfig.getName());
+         } else {
+            columns.add(columnConfig.getName());
+            operatorClasses.add(StringUtils.trimToNull(SpatialIndexColumnConfig
+                  .getOperatorClass(columnConfig)));
+         }
       }
 
       // Parse the string SRID into an integer.
@@ -204,11 +810,102 @@ public class CreateSpatialIndexChange extends AbstractChange
       }
 
       final CreateSpatialIndexStatement statement = new CreateSpatialIndexStatement(
-            getIndexName(), getCatalogName(), getSchemaName(), getTableName(), columns,
-            getTablespace(), getGeometryType(), srid);
+            getIndexName(), getCatalogName(), getSchemaName(), getTableName(),
+            columns.toArray(new String[columns.size()]), getTablespace(), getGeometryType(),
+            srid);
+      statement.setExtent(parseExtent()).setComputeExtent(isAutoExtent())
+            .setTolerance(parseTolerance()).setDimensionNames(parseDimensionNames());
+      statement.setSdoDmlBatchSize(getSdoDmlBatchSize()).setSdoNonLeafTbl(getSdoNonLeafTbl())
+            .setSdoIndxDims(getSdoIndxDims()).setWorkTablespace(getWorkTablespace())
+            .setSdoRtrPctfree(getSdoRtrPctfree());
+      statement.setLocal(Boolean.TRUE.equals(getLocal())).setParallel(getParallel())
+            .setUnusable(Boolean.TRUE.equals(getUnusable()));
+      statement.setConcurrently(Boolean.TRUE.equals(getConcurrently()))
+            .setFillfactor(getFillfactor()).setBuffering(getBuffering());
+      if (getIndexMethod() != null) {
+         statement.setIndexMethod(getIndexMethodOrDefault());
+      }
+      statement.setPagesPerRange(getPagesPerRange()).setWhere(StringUtils.trimToNull(getWhere()));
+      statement.setOperatorClasses(operatorClasses.toArray(new String[operatorClasses.size()]))
+            .setIncludedColumns(includedColumns.toArray(new String[includedColumns.size()]));
       return new SqlStatement[] { statement };
    }
 
+   /**
+    * Indicates if the extent is computed from the data.
+    *
+    * @return <code>true</code> if the extent is <code>auto</code>.
+    */
+   protected boolean isAutoExtent() {
+      return this.extent != null && "auto".equalsIgnoreCase(this.extent.trim());
+   }
+
+   /**
+    * Parses the "<code>minX,minY,maxX,maxY</code>" extent.
+    *
+    * @return the extent or <code>null</code> if it isn't set or is invalid.
+    */
+   protected double[] parseExtent() {
+      if (this.extent == null || isAutoExtent()) {
+         return null;
+      }
+      final String[] values = this.extent.split(",");
+      if (values.length != 4) {
+         return null;
+      }
+      final double[] result = new double[4];
+      try {
+         for (int ii = 0; ii < values.length; ii++) {
+            result[ii] = Double.parseDouble(values[ii].trim());
+         }
+      } catch (final NumberFormatException e) {
+         return null;
+      }
+      if (!(result[0] < result[2] && result[1] < result[3])) {
+         return null;
+      }
+      return result;
+   }
+
+   /**
+    * Parses the tolerance.
+    *
+    * @return the tolerance or <code>null</code> if it isn't set or is invalid.
+    */
+   protected Double parseTolerance() {
+      if (this.tolerance == null) {
+         return null;
+      }
+      try {
+         final double value = Double.parseDouble(this.tolerance.trim());
+         return value > 0 && !Double.isInfinite(value) ? value : null;
+      } catch (final NumberFormatException e) {
+         return null;
+      }
+   }
+
+   /**
+    * Parses the comma separated dimension names.
+    *
+    * @return the X and Y dimension names or <code>null</code> if they aren't set or are invalid.
+    */
+   protected String[] parseDimensionNames() {
+      if (this.dimensionNames == null) {
+         return null;
+      }
+      final String[] names = this.dimensionNames.split(",");
+      if (names.length != 2) {
+         return null;
+      }
+      for (int ii = 0; ii < names.length; ii++) {
+         names[ii] = names[ii].trim();
+         if (!names[ii].matches("[A-Za-z0-9_ ]{1,64}")) {
+            return null;
+         }
+      }
+      return names;
+   }
+
    @Override
    protected Change[] createInverses() {
       final DropSpatialIndexChange inverse = new DropSpatialIndexChange();
@@ -216,6 +913,7 @@ public class CreateSpatialIndexChange extends AbstractChange
       inverse.setSchemaName(getSchemaName());
       inverse.setTableName(getTableName());
       inverse.setIndexName(getIndexName());
+      inverse.setConcurrently(getConcurrently());
 
       return new Change[] { inverse };
    }
@@ -2,6 +2,7 @@ package liquibase.ext.spatial.change;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import liquibase.change.AbstractChange;
 import liquibase.change.ChangeMetaData;
@@ -11,7 +12,9 @@ import liquibase.database.Database;
 import liquibase.database.core.DerbyDatabase;
 import liquibase.database.core.H2Database;
 import liquibase.database.core.MySQLDatabase;
+import liquibase.database.core.OracleDatabase;
 import liquibase.database.core.PostgresDatabase;
+import liquibase.exception.ValidationErrors;
 import liquibase.ext.spatial.statement.DropSpatialIndexStatement;
 import liquibase.ext.spatial.xml.XmlConstants;
 import liquibase.statement.SqlStatement;
@@ -35,6 +38,12 @@ public class DropSpatialIndexChange extends AbstractChange {
    /** The name of the index to drop. */
    private String indexName;
 
+   /** The comma separated names of several indexes to drop. */
+   private String indexNames;
+
+   /** Indicates if the indexes are dropped without blocking access to the table. */
+   private Boolean concurrently;
+
    @DatabaseChangeProperty(mustEqualExisting = "index.schema")
    public String getSchemaName() {
       return this.schemaName;
@@ -44,7 +53,7 @@ public class DropSpatialIndexChange extends AbstractChange {
       this.schemaName = schemaName;
    }
 
-   @DatabaseChangeProperty(mustEqualExisting = "index", description = "Name of the index to drop", requiredForDatabase = "mysql, oracle, postgresql")
+   @DatabaseChangeProperty(mustEqualExisting = "index", description = "Name of the index to drop", requiredForDatabase = "none")
    public String getIndexName() {
       return this.indexName;
    }
@@ -53,6 +62,47 @@ public class DropSpatialIndexChange extends AbstractChange {
       this.indexName = indexName;
    }
 
+   /**
+    * Returns the comma separated names of several indexes to drop at once.
+    * 
+    * @return the index names.
+    */
+   @DatabaseChangeProperty(description = "Comma separated names of several indexes to drop at once, instead of or in addition to indexName", exampleValue = "home_location_idx, home_area_idx")
+   public String getIndexNames() {
+      return this.indexNames;
+   }
+
+   /**
+    * Sets the comma separated names of several indexes to drop at once.
+    * 
+    * @param indexNames
+    *           the index names.
+    */
+   public void setIndexNames(final String indexNames) {
+      this.indexNames = indexNames;
+   }
+
+   /**
+    * Returns the names of all the indexes to drop: {@link #getIndexName()} followed by the names
+    * in {@link #getIndexNames()}.
+    * 
+    * @return the index names, which is empty if neither is set.
+    */
+   protected String[] getAllIndexNames() {
+      final List<String> names = new ArrayList<String>();
+      if (StringUtils.trimToNull(this.indexName) != null) {
+         names.add(this.indexName.trim());
+      }
+      if (StringUtils.trimToNull(this.indexNames) != null) {
+         for (final String name : StringUtils.splitAndTrim(this.indexNames, ",")) {
+            if (name.length() > 0) {
+               names.add(name);
+            }
+         }
+      }
+      return names.toArray(new String[names.size()]);
+   }
+
    @DatabaseChangeProperty(mustEqualExisting = "index.table", description = "Name fo the indexed table.", requiredForDatabase = "h2, derby")
    public String getTableName() {
       return this.tableName;
@@ -71,6 +121,46 @@ public class DropSpatialIndexChange extends AbstractChange {
       this.catalogName = catalogName;
    }
 
+   /**
+    * Indicates if the indexes are dropped without blocking access to the table.
+    * 
+    * @return <code>true</code> to drop the indexes concurrently.
+    */
+   @DatabaseChangeProperty(description = "Should the index be dropped without blocking access to the table. The change set must have runInTransaction=\"false\"", exampleValue = "true", supportsDatabase = "postgresql")
+   public Boolean getConcurrently() {
+      return this.concurrently;
+   }
+
+   /**
+    * Sets if the indexes are dropped without blocking access to the table.
+    * 
+    * @param concurrently
+    *           <code>true</code> to drop the indexes concurrently.
+    */
+   public void setConcurrently(final Boolean concurrently) {
+      this.concurrently = concurrently;
+   }
+
+   @Override
+   public ValidationErrors validate(final Database database) {
+      final ValidationErrors validationErrors = new ValidationErrors();
+      if (getAllIndexNames().length == 0
+            && (database instanceof MySQLDatabase || database instanceof OracleDatabase
+                  || database instanceof PostgresDatabase)) {
+         validationErrors.addError("indexName or indexNames is required for "
+               + database.getShortName());
+      }
+      if (Boolean.TRUE.equals(this.concurrently) && database instanceof PostgresDatabase
+            && getChangeSet() != null && getChangeSet().isRunInTransaction()) {
+         validationErrors.addError("An index can only be dropped concurrently by a change set"
+               + " with runInTransaction=\"false\"");
+      }
+      if (!validationErrors.hasErrors()) {
+         validationErrors.addAll(super.validate(database));
+      }
+      return validationErrors;
+   }
+
    @Override
    public String getSerializedObjectNamespace() {
       return XmlConstants.SPATIAL_CHANGELOG_NAMESPACE;
@@ -78,9 +168,11 @@ public class DropSpatialIndexChange extends AbstractChange {
 
    @Override
    public String getConfirmationMessage() {
-      final StringBuilder message = new StringBuilder("Spatial index");
-      if (StringUtils.trimToNull(getIndexName()) != null) {
-         message.append(' ').append(getIndexName().trim());
+      final String[] names = getAllIndexNames();
+      final StringBuilder message = new StringBuilder(names.length > 1 ? "Spatial indexes"
+            : "Spatial index");
+      if (names.length > 0) {
+         message.append(' ').append(StringUtils.join(names, ", "));
       }
       message.append(" dropped");
       if (StringUtils.trimToNull(getTableName()) != null) {
@@ -92,24 +184,37 @@ public class DropSpatialIndexChange extends AbstractChange {
    /**
     * Generates a {@link DropSpatialIndexStatement} followed by a {@link DropIndexStatement}, if
     * applicable. The first statement allows extra clean-up when dropping an index. The second
-    * statement leverages the normal <code>DROP INDEX</code> logic.
+    * statement leverages the normal <code>DROP INDEX</code> logic. When several index names are
+    * given with <code>indexNames</code>, the clean-up is done by a single statement followed by a
+    * <code>DROP INDEX</code> for each index.
     */
    @Override
    public SqlStatement[] generateStatements(final Database database) {
       final Collection<SqlStatement> statements = new ArrayList<SqlStatement>();
       // MySQL and PostgreSQL only need the normal DROP INDEX statement.
+      final String[] indexNames = getAllIndexNames();
+      // PostgreSQL can only drop one index concurrently per statement.
+      if (database instanceof PostgresDatabase && Boolean.TRUE.equals(this.concurrently)) {
+         for (final String indexName : indexNames) {
+            statements.add(new DropSpatialIndexStatement(indexName, this.catalogName,
+                  this.schemaName, this.tableName).setConcurrently(true));
+         }
+         return statements.toArray(new SqlStatement[statements.size()]);
+      }
       if (!(database instanceof MySQLDatabase) && !(database instanceof PostgresDatabase)) {
-         final DropSpatialIndexStatement dropSpatialIndex = new DropSpatialIndexStatement(
-               this.indexName, this.catalogName, this.schemaName, this.tableName);
+         final DropSpatialIndexStatement dropSpatialIndex = new DropSpatialIndexStatement(null,
+               this.catalogName, this.schemaName, this.tableName).setIndexNames(indexNames);
          statements.add(dropSpatialIndex);
       }
 
       // GeoDB doesn't use a tradition index structure so don't issue the normal DROP INDEX
       // statement.
       if (!(database instanceof DerbyDatabase) && !(database instanceof H2Database)) {
-         final DropIndexStatement dropIndex = new DropIndexStatement(this.indexName,
-               this.catalogName, this.schemaName, this.tableName, null);
-         statements.add(dropIndex);
+         for (final String indexName : indexNames) {
+            final DropIndexStatement dropIndex = new DropIndexStatement(indexName,
+                  this.catalogName, this.schemaName, this.tableName, null);
+            statements.add(dropIndex);
+         }
       }
       return statements.toArray(new SqlStatement[statements.size()]);
    }
@@ -0,0 +1,283 @@
+package liquibase.ext.spatial.change;
+
+import liquibase.change.AbstractChange;
+import liquibase.change.Change;
+import liquibase.change.ChangeMetaData;
+import liquibase.change.DatabaseChange;
+import liquibase.change.DatabaseChangeProperty;
+import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.exception.ValidationErrors;
+import liquibase.ext.spatial.statement.RebuildSpatialIndexStatement;
+import liquibase.ext.spatial.xml.XmlConstants;
+import liquibase.statement.SqlStatement;
+import liquibase.util.StringUtils;
+
+/**
+ * The <code>RebuildSpatialIndexChange</code> represents a database change to rebuild an existing
+ * spatial index, e.g. after bulk deletes have left the index sparse.
+ */
+@DatabaseChange(name = "rebuildSpatialIndex",
+      description = "Rebuilds an existing spatial index.",
+      priority = ChangeMetaData.PRIORITY_DEFAULT,
+      appliesTo = "index")
+public class RebuildSpatialIndexChange extends AbstractChange {
+   private String catalogName;
+   private String schemaName;
+   private String tableName;
+   private String indexName;
+   private String columnName;
+   private String srid;
+   private Boolean online;
+   private Integer parallel;
+   private String tablespace;
+   private String workTablespace;
+
+   @DatabaseChangeProperty(mustEqualExisting = "index.catalog")
+   public String getCatalogName() {
+      return this.catalogName;
+   }
+
+   public void setCatalogName(final String catalogName) {
+      this.catalogName = catalogName;
+   }
+
+   @DatabaseChangeProperty(mustEqualExisting = "index.schema")
+   public String getSchemaName() {
+      return this.schemaName;
+   }
+
+   public void setSchemaName(final String schemaName) {
+      this.schemaName = schemaName;
+   }
+
+   @DatabaseChangeProperty(mustEqualExisting = "index.table",
+         description = "Name of the indexed table",
+         requiredForDatabase = "derby, h2, mysql")
+   public String getTableName() {
+      return this.tableName;
+   }
+
+   public void setTableName(final String tableName) {
+      this.tableName = tableName;
+   }
+
+   @DatabaseChangeProperty(mustEqualExisting = "index",
+         description = "Name of the index to rebuild",
+         requiredForDatabase = "oracle, postgresql")
+   public String getIndexName() {
+      return this.indexName;
+   }
+
+   public void setIndexName(final String indexName) {
+      this.indexName = indexName;
+   }
+
+   /**
+    * Returns the name of the indexed column.
+    *
+    * @return the column name.
+    */
+   @DatabaseChangeProperty(mustEqualExisting = "index.column",
+         description = "Name of the indexed column which is needed to recreate the index",
+         requiredForDatabase = "derby, h2")
+   public String getColumnName() {
+      return this.columnName;
+   }
+
+   /**
+    * Sets the name of the indexed column.
+    *
+    * @param columnName
+    *           the column name.
+    */
+   public void setColumnName(final String columnName) {
+      this.columnName = columnName;
+   }
+
+   /**
+    * Returns the srid.
+    *
+    * @return the srid.
+    */
+   @DatabaseChangeProperty(
+         description = "The Spatial Reference ID of the indexed data.  An EPSG SRID is assumed.",
+         exampleValue = "4326",
+         requiredForDatabase = "derby, h2")
+   public String getSrid() {
+      return this.srid;
+   }
+
+   /**
+    * Sets the srid.
+    *
+    * @param srid
+    *           the srid.
+    */
+   public void setSrid(final String srid) {
+      this.srid = srid;
+   }
+
+   /**
+    * Indicates if the table remains available for DML while the index is rebuilt.
+    *
+    * @return <code>true</code> for an online rebuild.
+    */
+   @DatabaseChangeProperty(
+         description = "Should the table remain available for DML while the index is rebuilt",
+         exampleValue = "true",
+         supportsDatabase = "oracle, postgresql")
+   public Boolean getOnline() {
+      return this.online;
+   }
+
+   /**
+    * Sets if the table remains available for DML while the index is rebuilt.
+    *
+    * @param online
+    *           <code>true</code> for an online rebuild.
+    */
+   public void setOnline(final Boolean online) {
+      this.online = online;
+   }
+
+   /**
+    * Returns the degree of parallelism used to rebuild the index.
+    *
+    * @return the degree of parallelism.
+    */
+   @DatabaseChangeProperty(description = "The degree of parallelism used to rebuild the index",
+         exampleValue = "8",
+         supportsDatabase = "oracle")
+   public Integer getParallel() {
+      return this.parallel;
+   }
+
+   /**
+    * Sets the degree of parallelism used to rebuild the index.
+    *
+    * @param parallel
+    *           the degree of parallelism.
+    */
+   public void setParallel(final Integer parallel) {
+      this.parallel = parallel;
+   }
+
+   /**
+    * Returns the tablespace of the rebuilt index.
+    *
+    * @return the tablespace.
+    */
+   @DatabaseChangeProperty(description = "The tablespace of the rebuilt index",
+         supportsDatabase = "oracle")
+   public String getTablespace() {
+      return this.tablespace;
+   }
+
+   /**
+    * Sets the tablespace of the rebuilt index.
+    *
+    * @param tablespace
+    *           the tablespace.
+    */
+   public void setTablespace(final String tablespace) {
+      this.tablespace = tablespace;
+   }
+
+   /**
+    * Returns the Oracle <code>work_tablespace</code> index parameter.
+    *
+    * @return the tablespace of the temporary tables used while the index is rebuilt.
+    */
+   @DatabaseChangeProperty(
+         description = "The tablespace of the temporary tables used while the index is rebuilt",
+         supportsDatabase = "oracle")
+   public String getWorkTablespace() {
+      return this.workTablespace;
+   }
+
+   /**
+    * Sets the Oracle <code>work_tablespace</code> index parameter.
+    *
+    * @param workTablespace
+    *           the tablespace of the temporary tables used while the index is rebuilt.
+    */
+   public void setWorkTablespace(final String workTablespace) {
+      this.workTablespace = workTablespace;
+   }
+
+   /**
+    * @see liquibase.change.AbstractChange#validate(liquibase.database.Database)
+    */
+   @Override
+   public ValidationErrors validate(final Database database) {
+      final ValidationErrors validationErrors = new ValidationErrors();
+      if (this.srid != null && !this.srid.matches("[0-9]+")) {
+         validationErrors.addError("The SRID must be numeric");
+      }
+      if (this.parallel != null && this.parallel < 1) {
+         validationErrors.addError("The parallel degree must be positive");
+      }
+      if (this.tablespace != null
+            && !this.tablespace.trim().matches("[A-Za-z][A-Za-z0-9_$#]*")) {
+         validationErrors.addError("The tablespace must be a tablespace name");
+      }
+      if (this.workTablespace != null
+            && !this.workTablespace.trim().matches("[A-Za-z][A-Za-z0-9_$#]*")) {
+         validationErrors.addError("The workTablespace must be a tablespace name");
+      }
+      if (Boolean.TRUE.equals(this.online) && database instanceof PostgresDatabase
+            && getChangeSet() != null && getChangeSet().isRunInTransaction()) {
+         validationErrors.addError("An index can only be rebuilt online by a change set"
+               + " with runInTransaction=\"false\"");
+      }
+
+      if (!validationErrors.hasErrors()) {
+         validationErrors.addAll(super.validate(database));
+      }
+
+      return validationErrors;
+   }
+
+   @Override
+   public String getConfirmationMessage() {
+      final StringBuilder message = new StringBuilder("Spatial index");
+      if (StringUtils.trimToNull(getIndexName()) != null) {
+         message.append(' ').append(getIndexName().trim());
+      }
+      message.append(" rebuilt");
+      if (StringUtils.trimToNull(getTableName()) != null) {
+         message.append(" on ").append(getTableName().trim());
+      }
+      return message.toString();
+   }
+
+   @Override
+   public SqlStatement[] generateStatements(final Database database) {
+      // Parse the string SRID into an integer.
+      Integer srid = null;
+      if (getSrid() != null) {
+         srid = Integer.valueOf(getSrid());
+      }
+
+      final RebuildSpatialIndexStatement statement = new RebuildSpatialIndexStatement(
+            getIndexName(), getCatalogName(), getSchemaName(), getTableName());
+      statement.setColumnName(getColumnName()).setSrid(srid)
+            .setOnline(Boolean.TRUE.equals(getOnline())).setParallel(getParallel())
+            .setTablespace(getTablespace()).setWorkTablespace(getWorkTablespace());
+      return new SqlStatement[] { statement };
+   }
+
+   /**
+    * Rebuilding an index doesn't change the schema so it is rolled back by doing nothing.
+    */
+   @Override
+   protected Change[] createInverses() {
+      return new Change[0];
+   }
+
+   @Override
+   public String getSerializedObjectNamespace() {
+      return XmlConstants.SPATIAL_CHANGELOG_NAMESPACE;
+   }
+}
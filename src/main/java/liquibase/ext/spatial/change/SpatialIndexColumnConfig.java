@@ -0,0 +1,94 @@
+package liquibase.ext.spatial.change;
+
+import liquibase.change.ColumnConfig;
+import liquibase.parser.core.ParsedNode;
+import liquibase.parser.core.ParsedNodeException;
+import liquibase.resource.ResourceAccessor;
+
+/**
+ * <code>SpatialIndexColumnConfig</code> is a column of a <code>createSpatialIndex</code> change
+ * with the PostgreSQL options of an index column: the operator class, e.g.
+ * <code>gist_geometry_ops_nd</code> or a <code>btree_gist</code> class for a timestamp, and
+ * whether the column is only stored in the index as an <code>INCLUDE</code> column.
+ */
+public class SpatialIndexColumnConfig extends ColumnConfig {
+   private String operatorClass;
+   private Boolean included;
+
+   /**
+    * Returns the operator class of the column.
+    *
+    * @return the operator class or <code>null</code> for the default of the column type.
+    */
+   public String getOperatorClass() {
+      return this.operatorClass;
+   }
+
+   /**
+    * Sets the operator class of the column.
+    *
+    * @param operatorClass
+    *           the operator class or <code>null</code> for the default of the column type.
+    * @return this column.
+    */
+   public SpatialIndexColumnConfig setOperatorClass(final String operatorClass) {
+      this.operatorClass = operatorClass;
+      return this;
+   }
+
+   /**
+    * Indicates if the column is a non-key column that is only stored in the index so that
+    * queries can be answered by an index-only scan.
+    *
+    * @return <code>true</code> if the column is included.
+    */
+   public Boolean getIncluded() {
+      return this.included;
+   }
+
+   /**
+    * Sets if the column is a non-key column that is only stored in the index.
+    *
+    * @param included
+    *           <code>true</code> to include the column.
+    * @return this column.
+    */
+   public SpatialIndexColumnConfig setIncluded(final Boolean included) {
+      this.included = included;
+      return this;
+   }
+
+   /**
+    * Indicates if the given column is an <code>INCLUDE</code> column.
+    *
+    * @param column
+    *           the column.
+    * @return <code>true</code> if the column is included.
+    */
+   public static boolean isIncluded(final ColumnConfig column) {
+      return column instanceof SpatialIndexColumnConfig
+            && Boolean.TRUE.equals(((SpatialIndexColumnConfig) column).getIncluded());
+   }
+
+   /**
+    * Returns the operator class of the given column.
+    *
+    * @param column
+    *           the column.
+    * @return the operator class or <code>null</code> if the column doesn't have one.
+    */
+   public static String getOperatorClass(final ColumnConfig column) {
+      if (column instanceof SpatialIndexColumnConfig) {
+         return ((SpatialIndexColumnConfig) column).getOperatorClass();
+      }
+      return null;
+   }
+
+   @Override
+   public void load(final ParsedNode parsedNode, final ResourceAccessor resourceAccessor)
+         throws ParsedNodeException {
+      super.load(parsedNode, resourceAccessor);
+      this.operatorClass = parsedNode.getChildValue(null, "operatorClass", String.class);
+      this.included = parsedNode.getChildValue(null, "included", Boolean.class);
+   }
+}
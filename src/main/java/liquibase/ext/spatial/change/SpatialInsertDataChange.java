@@ -0,0 +1,78 @@
+package liquibase.ext.spatial.change;
+
+import liquibase.change.ChangeMetaData;
+import liquibase.change.DatabaseChange;
+import liquibase.change.DatabaseChangeProperty;
+import liquibase.change.core.InsertDataChange;
+import liquibase.database.Database;
+import liquibase.ext.spatial.configuration.SpatialConfiguration;
+import liquibase.ext.spatial.statement.BoundParameters;
+import liquibase.ext.spatial.statement.SpatialInsertStatement;
+import liquibase.ext.spatial.utils.GeometryColumnPlan;
+import liquibase.ext.spatial.utils.GeometryPrecision;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.InsertStatement;
+
+/**
+ * The <code>SpatialInsertDataChange</code> replaces the core <code>insert</code> change so that
+ * its values can be bound as JDBC parameters. When {@link SpatialConfiguration#isBindGeometries()}
+ * is enabled, the <code>INSERT</code> is generated as a {@link SpatialInsertStatement},
+ * otherwise the change behaves exactly like {@link InsertDataChange}. The change may also set
+ * its own {@link #getCoordinatePrecision() coordinate precision}.
+ */
+@DatabaseChange(name = "insert",
+      description = "Inserts data into an existing table",
+      priority = ChangeMetaData.PRIORITY_DEFAULT + 1,
+      appliesTo = "table")
+public class SpatialInsertDataChange extends InsertDataChange {
+   /** The number of decimal places of coordinates or <code>null</code> to use the configuration. */
+   private Integer coordinatePrecision;
+
+   @Override
+   public SqlStatement[] generateStatements(final Database database) {
+      final SqlStatement[] statements = super.generateStatements(database);
+      if (this.coordinatePrecision != null) {
+         final GeometryColumnPlan plan = GeometryColumnPlan.getPlan(database, getCatalogName(),
+               getSchemaName(), getTableName());
+         for (final SqlStatement statement : statements) {
+            if (statement instanceof InsertStatement) {
+               GeometryPrecision.reduceAll(((InsertStatement) statement).getColumnValues(),
+                     this.coordinatePrecision, plan);
+            }
+         }
+      }
+      if (BoundParameters.isBindingEnabled(this)) {
+         for (int ii = 0; ii < statements.length; ii++) {
+            if (statements[ii].getClass() == InsertStatement.class) {
+               statements[ii] = SpatialInsertStatement.copyOf(database,
+                     (InsertStatement) statements[ii]);
+            }
+         }
+      }
+      return statements;
+   }
+
+   /**
+    * Returns the number of decimal places to which the coordinates of the geometries
+    * inserted by this change are rounded. This overrides
+    * {@link SpatialConfiguration#getCoordinatePrecision()}.
+    *
+    * @return the number of decimal places or <code>null</code> to use the configured precision.
+    */
+   @DatabaseChangeProperty(description = "The number of decimal places to which the coordinates"
+         + " of geometries are rounded", exampleValue = "6")
+   public Integer getCoordinatePrecision() {
+      return this.coordinatePrecision;
+   }
+
+   /**
+    * Sets the number of decimal places to which the coordinates of the geometries
+    * inserted by this change are rounded.
+    *
+    * @param coordinatePrecision
+    *           the number of decimal places or <code>null</code> to use the configured precision.
+    */
+   public void setCoordinatePrecision(final Integer coordinatePrecision) {
+      this.coordinatePrecision = coordinatePrecision;
+   }
+}
@@ -0,0 +1,309 @@
+package liquibase.ext.spatial.configuration;
+
+import liquibase.configuration.AbstractConfigurationContainer;
+import liquibase.configuration.LiquibaseConfiguration;
+
+/**
+ * <code>SpatialConfiguration</code> contains the configuration of the spatial extension. Like the
+ * core Liquibase configuration, each property can be set as a system property prefixed with
+ * "<code>liquibase.spatial.</code>", e.g.
+ * <code>-Dliquibase.spatial.geometryLiteralFormat=WKB</code>.
+ */
+public class SpatialConfiguration extends AbstractConfigurationContainer {
+   /** The namespace of the spatial properties. */
+   public static final String NAMESPACE = "liquibase.spatial";
+
+   /** The name of the property that selects the {@link GeometryLiteralFormat}. */
+   public static final String GEOMETRY_LITERAL_FORMAT = "geometryLiteralFormat";
+
+   /** The name of the property that enables binding geometries as JDBC parameters. */
+   public static final String BIND_GEOMETRIES = "bindGeometries";
+
+   /** The name of the property that sets the number of bound rows sent in one JDBC batch. */
+   public static final String BATCH_SIZE = "batchSize";
+
+   /** The name of the property that enables multi-row <code>INSERT</code>s for loaded data. */
+   public static final String MULTI_ROW_INSERT = "multiRowInsert";
+
+   /** The name of the property that limits the size of a multi-row <code>INSERT</code>. */
+   public static final String MAX_STATEMENT_SIZE = "maxStatementSize";
+
+   /** The name of the property that sets the number of decimal places of coordinates. */
+   public static final String COORDINATE_PRECISION = "coordinatePrecision";
+
+   /** The name of the property that rejects SRIDs that aren't in the bundled registry. */
+   public static final String REJECT_UNKNOWN_SRIDS = "rejectUnknownSrids";
+
+   /** The name of the property that drops Oracle tables with <code>PURGE</code>. */
+   public static final String PURGE_DROPPED_TABLES = "purgeDroppedTables";
+
+   /**
+    * <code>GeometryLiteralFormat</code> enumerates the formats in which geometries are written to
+    * the generated SQL.
+    */
+   public enum GeometryLiteralFormat {
+      /** Geometries are written as Well-Known Text, e.g. <code>ST_GeomFromText('...')</code>. */
+      WKT,
+
+      /**
+       * Geometries are encoded on the client and written as hex Well-Known Binary, e.g.
+       * <code>ST_GeomFromWKB(X'...')</code>, so that the database doesn't parse decimal text.
+       */
+      WKB
+   }
+
+   /** Creates the configuration with the default values. */
+   public SpatialConfiguration() {
+      super(NAMESPACE);
+      getContainer()
+            .addProperty(GEOMETRY_LITERAL_FORMAT, String.class)
+            .setDescription(
+                  "The format in which geometries are written to the generated SQL: WKT or WKB")
+            .setDefaultValue(GeometryLiteralFormat.WKT.name());
+      getContainer()
+            .addProperty(BIND_GEOMETRIES, Boolean.class)
+            .setDescription(
+                  "Should inserted and updated values be bound as JDBC parameters with geometries"
+                        + " sent as Well-Known Binary instead of being written to the SQL")
+            .setDefaultValue(Boolean.FALSE);
+      getContainer()
+            .addProperty(BATCH_SIZE, Integer.class)
+            .setDescription(
+                  "The number of consecutive bound loadData rows sent to the database in one"
+                        + " JDBC batch, or 1 to send each row on its own")
+            .setDefaultValue(100);
+      getContainer()
+            .addProperty(MULTI_ROW_INSERT, Boolean.class)
+            .setDescription(
+                  "Should consecutive loadData rows be written as multi-row INSERT statements"
+                        + " on databases that support them")
+            .setDefaultValue(Boolean.FALSE);
+      getContainer()
+            .addProperty(MAX_STATEMENT_SIZE, Integer.class)
+            .setDescription("The maximum size in bytes of a multi-row INSERT statement")
+            .setDefaultValue(1048576);
+      getContainer()
+            .addProperty(COORDINATE_PRECISION, Integer.class)
+            .setDescription(
+                  "The number of decimal places to which the coordinates of inserted and updated"
+                        + " geometries are rounded, or unset to keep them as they are");
+      getContainer()
+            .addProperty(REJECT_UNKNOWN_SRIDS, Boolean.class)
+            .setDescription(
+                  "Should changes fail validation when their SRID isn't in the spatial reference"
+                        + " system registry bundled with the extension")
+            .setDefaultValue(Boolean.FALSE);
+      getContainer()
+            .addProperty(PURGE_DROPPED_TABLES, Boolean.class)
+            .setDescription(
+                  "Should Oracle tables be dropped with PURGE so that they and their spatial index"
+                        + " tables bypass the recycle bin")
+            .setDefaultValue(Boolean.FALSE);
+   }
+
+   /**
+    * Returns the configuration registered with {@link LiquibaseConfiguration}.
+    *
+    * @return the spatial configuration.
+    */
+   public static SpatialConfiguration getInstance() {
+      return LiquibaseConfiguration.getInstance().getConfiguration(SpatialConfiguration.class);
+   }
+
+   /**
+    * Returns the format in which geometries are written to the generated SQL.
+    *
+    * @return the geometry literal format.
+    */
+   public GeometryLiteralFormat getGeometryLiteralFormat() {
+      final String format = getContainer().getValue(GEOMETRY_LITERAL_FORMAT, String.class);
+      if (format == null) {
+         return GeometryLiteralFormat.WKT;
+      }
+      try {
+         return GeometryLiteralFormat.valueOf(format.trim().toUpperCase());
+      } catch (final IllegalArgumentException e) {
+         throw new IllegalArgumentException("Unknown " + NAMESPACE + "."
+               + GEOMETRY_LITERAL_FORMAT + " '" + format + "', expected WKT or WKB", e);
+      }
+   }
+
+   /**
+    * Sets the format in which geometries are written to the generated SQL.
+    *
+    * @param format
+    *           the geometry literal format.
+    * @return this configuration.
+    */
+   public SpatialConfiguration setGeometryLiteralFormat(final GeometryLiteralFormat format) {
+      getContainer().setValue(GEOMETRY_LITERAL_FORMAT, format.name());
+      return this;
+   }
+
+   /**
+    * Indicates if the values of the <code>insert</code>, <code>update</code> and
+    * <code>loadData</code> changes are bound as JDBC parameters when they are executed against a
+    * live database. Geometries are then sent as Well-Known Binary and rows with the same columns
+    * share the same SQL text. The SQL written by <code>updateSQL</code> is not affected.
+    *
+    * @return <code>true</code> if values are bound as parameters.
+    */
+   public boolean isBindGeometries() {
+      return getContainer().getValue(BIND_GEOMETRIES, Boolean.class);
+   }
+
+   /**
+    * Sets if the values of the <code>insert</code>, <code>update</code> and <code>loadData</code>
+    * changes are bound as JDBC parameters.
+    *
+    * @param bindGeometries
+    *           <code>true</code> to bind values as parameters.
+    * @return this configuration.
+    */
+   public SpatialConfiguration setBindGeometries(final boolean bindGeometries) {
+      getContainer().setValue(BIND_GEOMETRIES, bindGeometries);
+      return this;
+   }
+
+   /**
+    * Returns the number of consecutive bound <code>loadData</code> rows that are sent to the
+    * database in one JDBC batch. Values less than 2 disable batching.
+    *
+    * @return the batch size.
+    */
+   public int getBatchSize() {
+      final Integer batchSize = getContainer().getValue(BATCH_SIZE, Integer.class);
+      return batchSize == null ? 1 : batchSize;
+   }
+
+   /**
+    * Sets the number of consecutive bound <code>loadData</code> rows that are sent to the
+    * database in one JDBC batch.
+    *
+    * @param batchSize
+    *           the batch size or 1 to disable batching.
+    * @return this configuration.
+    */
+   public SpatialConfiguration setBatchSize(final int batchSize) {
+      getContainer().setValue(BATCH_SIZE, batchSize);
+      return this;
+   }
+
+   /**
+    * Indicates if consecutive <code>loadData</code> rows are written as multi-row
+    * <code>INSERT ... VALUES (...), (...)</code> statements on the databases that support them.
+    * Bound values take precedence over this setting.
+    *
+    * @return <code>true</code> if multi-row inserts are generated.
+    */
+   public boolean isMultiRowInsert() {
+      return getContainer().getValue(MULTI_ROW_INSERT, Boolean.class);
+   }
+
+   /**
+    * Sets if consecutive <code>loadData</code> rows are written as multi-row <code>INSERT</code>
+    * statements.
+    *
+    * @param multiRowInsert
+    *           <code>true</code> to generate multi-row inserts.
+    * @return this configuration.
+    */
+   public SpatialConfiguration setMultiRowInsert(final boolean multiRowInsert) {
+      getContainer().setValue(MULTI_ROW_INSERT, multiRowInsert);
+      return this;
+   }
+
+   /**
+    * Returns the maximum size in bytes of a multi-row <code>INSERT</code>. Rows are added to the
+    * statement until the next one would exceed this size. A single row larger than this is still
+    * written on its own.
+    *
+    * @return the maximum statement size.
+    */
+   public int getMaxStatementSize() {
+      final Integer maxStatementSize = getContainer().getValue(MAX_STATEMENT_SIZE, Integer.class);
+      return maxStatementSize == null ? 0 : maxStatementSize;
+   }
+
+   /**
+    * Sets the maximum size in bytes of a multi-row <code>INSERT</code>.
+    *
+    * @param maxStatementSize
+    *           the maximum statement size.
+    * @return this configuration.
+    */
+   public SpatialConfiguration setMaxStatementSize(final int maxStatementSize) {
+      getContainer().setValue(MAX_STATEMENT_SIZE, maxStatementSize);
+      return this;
+   }
+
+   /**
+    * Returns the number of decimal places to which the coordinates of inserted and updated
+    * geometries are rounded. The rounded geometries are written with no more digits than needed
+    * in both the Well-Known Text and Well-Known Binary formats.
+    *
+    * @return the number of decimal places or <code>null</code> if coordinates aren't rounded.
+    */
+   public Integer getCoordinatePrecision() {
+      return getContainer().getValue(COORDINATE_PRECISION, Integer.class);
+   }
+
+   /**
+    * Sets the number of decimal places to which the coordinates of inserted and updated
+    * geometries are rounded.
+    *
+    * @param coordinatePrecision
+    *           the number of decimal places or <code>null</code> to keep coordinates as they are.
+    * @return this configuration.
+    */
+   public SpatialConfiguration setCoordinatePrecision(final Integer coordinatePrecision) {
+      getContainer().setValue(COORDINATE_PRECISION, coordinatePrecision);
+      return this;
+   }
+
+   /**
+    * Indicates if changes fail validation when their SRID isn't in the bundled
+    * {@link liquibase.ext.spatial.utils.SpatialReferenceSystem} registry. Otherwise, such SRIDs
+    * only produce a warning and are left for the database to check.
+    *
+    * @return <code>true</code> if unknown SRIDs are rejected.
+    */
+   public boolean isRejectUnknownSrids() {
+      return getContainer().getValue(REJECT_UNKNOWN_SRIDS, Boolean.class);
+   }
+
+   /**
+    * Sets if changes fail validation when their SRID isn't in the bundled registry.
+    *
+    * @param rejectUnknownSrids
+    *           <code>true</code> to reject unknown SRIDs.
+    * @return this configuration.
+    */
+   public SpatialConfiguration setRejectUnknownSrids(final boolean rejectUnknownSrids) {
+      getContainer().setValue(REJECT_UNKNOWN_SRIDS, rejectUnknownSrids);
+      return this;
+   }
+
+   /**
+    * Indicates if Oracle tables are dropped with <code>PURGE</code>. The table, its spatial
+    * indexes and their <code>MDRT_*</code> tables then bypass the recycle bin and their space is
+    * released immediately.
+    *
+    * @return <code>true</code> if dropped tables are purged.
+    */
+   public boolean isPurgeDroppedTables() {
+      return getContainer().getValue(PURGE_DROPPED_TABLES, Boolean.class);
+   }
+
+   /**
+    * Sets if Oracle tables are dropped with <code>PURGE</code>.
+    *
+    * @param purgeDroppedTables
+    *           <code>true</code> to purge dropped tables.
+    * @return this configuration.
+    */
+   public SpatialConfiguration setPurgeDroppedTables(final boolean purgeDroppedTables) {
+      getContainer().setValue(PURGE_DROPPED_TABLES, purgeDroppedTables);
+      return this;
+   }
+}
@@ -0,0 +1,4 @@
+/**
+ * Provides the configuration of the spatial extension.
+ */
+package liquibase.ext.spatial.configuration;
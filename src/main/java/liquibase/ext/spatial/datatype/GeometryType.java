@@ -9,6 +9,7 @@ import liquibase.datatype.DataTypeInfo;
 import liquibase.datatype.DatabaseDataType;
 import liquibase.datatype.LiquibaseDataType;
 import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.ext.spatial.utils.GeometryPrecision;
 import liquibase.statement.DatabaseFunction;
 
 import com.vividsolutions.jts.geom.Geometry;
@@ -77,7 +78,8 @@ public class GeometryType extends LiquibaseDataType {
       final String returnValue;
       if (value instanceof Geometry) {
          // TODO: Tailor the output for the database.
-         returnValue = ((Geometry) value).toText();
+         returnValue = GeometryPrecision.toText((Geometry) GeometryPrecision
+               .reduceToConfiguredPrecision(value));
       } else if (value instanceof String) {
          returnValue = value.toString();
       } else if (value instanceof DatabaseFunction) {
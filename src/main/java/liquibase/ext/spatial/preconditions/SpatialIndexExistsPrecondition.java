@@ -9,11 +9,14 @@ import liquibase.changelog.DatabaseChangeLog;
 import liquibase.database.Database;
 import liquibase.database.core.DerbyDatabase;
 import liquibase.database.core.H2Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.exception.DatabaseException;
 import liquibase.exception.PreconditionErrorException;
 import liquibase.exception.PreconditionFailedException;
 import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.exception.ValidationErrors;
 import liquibase.exception.Warnings;
+import liquibase.executor.ExecutorService;
 import liquibase.ext.spatial.xml.XmlConstants;
 import liquibase.parser.core.ParsedNode;
 import liquibase.parser.core.ParsedNodeException;
@@ -22,6 +25,7 @@ import liquibase.precondition.Precondition;
 import liquibase.precondition.core.IndexExistsPrecondition;
 import liquibase.precondition.core.TableExistsPrecondition;
 import liquibase.resource.ResourceAccessor;
+import liquibase.statement.core.RawSqlStatement;
 import liquibase.structure.DatabaseObject;
 import liquibase.structure.core.Column;
 import liquibase.structure.core.Index;
@@ -39,6 +43,7 @@ public class SpatialIndexExistsPrecondition extends AbstractPrecondition {
    private String tableName;
    private String columnNames;
    private String indexName;
+   private Boolean partial;
 
    public String getCatalogName() {
       return this.catalogName;
@@ -80,6 +85,27 @@ public class SpatialIndexExistsPrecondition extends AbstractPrecondition {
       this.columnNames = columnNames;
    }
 
+   /**
+    * Indicates if the index must be a partial index, i.e. have a <code>WHERE</code> predicate.
+    *
+    * @return <code>true</code> if the index must be partial, <code>false</code> if it must index
+    *         all rows or <code>null</code> if either will do.
+    */
+   public Boolean getPartial() {
+      return this.partial;
+   }
+
+   /**
+    * Sets if the index must be a partial index.
+    *
+    * @param partial
+    *           <code>true</code> if the index must be partial, <code>false</code> if it must index
+    *           all rows or <code>null</code> if either will do.
+    */
+   public void setPartial(final Boolean partial) {
+      this.partial = partial;
+   }
+
    @Override
    public String getName() {
       return "spatialIndexExists";
@@ -108,6 +134,10 @@ public class SpatialIndexExistsPrecondition extends AbstractPrecondition {
          precondition.setColumnNames(getColumnNames());
          validationErrors = precondition.validate(database);
       }
+      if (getPartial() != null && database instanceof PostgresDatabase
+            && getIndexName() == null) {
+         validationErrors.addError("indexName is required to check if the index is partial");
+      }
       return validationErrors;
    }
 
@@ -132,6 +162,59 @@ public class SpatialIndexExistsPrecondition extends AbstractPrecondition {
          delegatedPrecondition = precondition;
       }
       delegatedPrecondition.check(database, changeLog, changeSet);
+      if (getPartial() != null && isPartial(database, changeLog) != getPartial()) {
+         throw new PreconditionFailedException("Spatial index " + getIndexName()
+               + (getPartial() ? " isn't" : " is") + " a partial index", changeLog, this);
+      }
+   }
+
+   /**
+    * Determines if the existing index has a <code>WHERE</code> predicate. Only PostgreSQL
+    * supports partial spatial indexes.
+    *
+    * @param database
+    *           the database instance.
+    * @param changeLog
+    *           the change log.
+    * @return <code>true</code> if the index is partial.
+    * @throws PreconditionErrorException
+    *            if the index can't be read.
+    */
+   protected boolean isPartial(final Database database, final DatabaseChangeLog changeLog)
+         throws PreconditionErrorException {
+      if (!(database instanceof PostgresDatabase)) {
+         return false;
+      }
+      try {
+         return ExecutorService.getInstance().getExecutor(database)
+               .queryForInt(new RawSqlStatement(generatePartialIndexQuery(database))) > 0;
+      } catch (final DatabaseException e) {
+         throw new PreconditionErrorException(e, changeLog, this);
+      }
+   }
+
+   /**
+    * Generates the PostgreSQL query that counts the partial indexes with the index name.
+    *
+    * @param database
+    *           the database instance.
+    * @return the query.
+    */
+   protected String generatePartialIndexQuery(final Database database) {
+      final StringBuilder sql = new StringBuilder();
+      sql.append("SELECT COUNT(*) FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid");
+      sql.append(" JOIN pg_namespace n ON n.oid = c.relnamespace WHERE c.relname = '");
+      sql.append(database.escapeStringForDatabase(database.correctObjectName(getIndexName(),
+            Index.class)));
+      sql.append("' AND n.nspname = ");
+      if (getSchemaName() == null) {
+         sql.append("current_schema()");
+      } else {
+         sql.append("'").append(database.escapeStringForDatabase(database.correctObjectName(
+               getSchemaName(), Schema.class))).append("'");
+      }
+      sql.append(" AND i.indpred IS NOT NULL");
+      return sql.toString();
    }
 
    /**
@@ -215,7 +298,7 @@ public class SpatialIndexExistsPrecondition extends AbstractPrecondition {
    @Override
    public Set<String> getSerializableFields() {
       return new LinkedHashSet<String>(Arrays.asList("catalogName", "schemaName", "tableName",
-            "columnNames", "indexName"));
+            "columnNames", "indexName", "partial"));
    }
 
    /**
@@ -234,6 +317,8 @@ public class SpatialIndexExistsPrecondition extends AbstractPrecondition {
          value = getColumnNames();
       } else if ("indexName".equals(field)) {
          value = getIndexName();
+      } else if ("partial".equals(field)) {
+         value = getPartial();
       } else {
          throw new UnexpectedLiquibaseException("Unexpected field request on "
                + getSerializedObjectName() + ": " + field);
@@ -284,5 +369,6 @@ public class SpatialIndexExistsPrecondition extends AbstractPrecondition {
       this.tableName = parsedNode.getChildValue(namespace, "tableName", String.class);
       this.columnNames = parsedNode.getChildValue(namespace, "columnNames", String.class);
       this.indexName = parsedNode.getChildValue(namespace, "indexName", String.class);
+      this.partial = parsedNode.getChildValue(namespace, "partial", Boolean.class);
    }
 }
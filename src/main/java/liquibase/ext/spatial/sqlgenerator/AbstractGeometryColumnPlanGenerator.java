@@ -0,0 +1,50 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import liquibase.database.Database;
+import liquibase.exception.ValidationErrors;
+import liquibase.ext.spatial.utils.GeometryColumnPlan;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.sqlgenerator.core.AbstractSqlGenerator;
+import liquibase.statement.SqlStatement;
+
+/**
+ * <code>AbstractGeometryColumnPlanGenerator</code> discards the cached {@link GeometryColumnPlan}
+ * of the tables whose columns a statement may change and then performs the standard behavior. The
+ * plans are therefore kept for the whole update and only resolved again after a change set alters
+ * a table's structure. The generator runs before all others so that a database-specific
+ * generator that doesn't call the chain can't skip it.
+ *
+ * @param <T>
+ *           the type of statement.
+ */
+public abstract class AbstractGeometryColumnPlanGenerator<T extends SqlStatement> extends
+      AbstractSqlGenerator<T> {
+   @Override
+   public int getPriority() {
+      return PRIORITY_DATABASE + 100;
+   }
+
+   @Override
+   public ValidationErrors validate(final T statement, final Database database,
+         final SqlGeneratorChain sqlGeneratorChain) {
+      return sqlGeneratorChain.validate(statement, database);
+   }
+
+   @Override
+   public Sql[] generateSql(final T statement, final Database database,
+         final SqlGeneratorChain sqlGeneratorChain) {
+      clearPlans(statement, database);
+      return sqlGeneratorChain.generateSql(statement, database);
+   }
+
+   /**
+    * Discards the plans of the tables that the statement may change.
+    *
+    * @param statement
+    *           the statement.
+    * @param database
+    *           the database instance.
+    */
+   protected abstract void clearPlans(T statement, Database database);
+}
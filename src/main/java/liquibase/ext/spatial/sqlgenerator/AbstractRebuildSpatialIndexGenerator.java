@@ -0,0 +1,39 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import liquibase.database.Database;
+import liquibase.exception.ValidationErrors;
+import liquibase.ext.spatial.statement.RebuildSpatialIndexStatement;
+import liquibase.sqlgenerator.SqlGenerator;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.sqlgenerator.core.AbstractSqlGenerator;
+import liquibase.structure.core.Index;
+import liquibase.structure.core.Table;
+
+/**
+ * <code>AbstractRebuildSpatialIndexGenerator</code> provides a minimal implementation of a
+ * <code>RebuildSpatialIndexGenerator</code>.
+ */
+public abstract class AbstractRebuildSpatialIndexGenerator extends
+      AbstractSqlGenerator<RebuildSpatialIndexStatement> {
+   /**
+    * Ensures that the index name is populated.
+    * 
+    * @see SqlGenerator#validate(liquibase.statement.SqlStatement, Database, SqlGeneratorChain)
+    */
+   @Override
+   public ValidationErrors validate(final RebuildSpatialIndexStatement statement,
+         final Database database, final SqlGeneratorChain sqlGeneratorChain) {
+      final ValidationErrors validationErrors = new ValidationErrors();
+      validationErrors.checkRequiredField("indexName", statement.getIndexName());
+      return validationErrors;
+   }
+
+   protected Index getAffectedIndex(final RebuildSpatialIndexStatement statement) {
+      final Index index = new Index().setName(statement.getIndexName());
+      if (statement.getTableName() != null) {
+         index.setTable((Table) new Table().setName(statement.getTableName()).setSchema(
+               statement.getTableCatalogName(), statement.getTableSchemaName()));
+      }
+      return index;
+   }
+}
@@ -1,12 +1,26 @@
 package liquibase.ext.spatial.sqlgenerator;
 
+import java.io.IOException;
+import java.util.Date;
+import java.util.Map;
 import java.util.Map.Entry;
 
 import liquibase.database.Database;
+import liquibase.datatype.DataTypeFactory;
+import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.exception.ValidationErrors;
+import liquibase.ext.spatial.configuration.SpatialConfiguration;
+import liquibase.ext.spatial.configuration.SpatialConfiguration.GeometryLiteralFormat;
+import liquibase.ext.spatial.statement.BoundParameters;
+import liquibase.ext.spatial.statement.SpatialInsertStatement;
+import liquibase.ext.spatial.utils.GeometryColumnPlan;
+import liquibase.ext.spatial.utils.PointScanner;
+import liquibase.ext.spatial.utils.WkbHexScanner;
 import liquibase.sql.Sql;
+import liquibase.sql.UnparsedSql;
 import liquibase.sqlgenerator.SqlGeneratorChain;
 import liquibase.sqlgenerator.core.InsertGenerator;
+import liquibase.statement.DatabaseFunction;
 import liquibase.statement.core.InsertStatement;
 
 /**
@@ -30,14 +44,186 @@ public abstract class AbstractSpatialInsertGenerator extends InsertGenerator imp
 
    /**
     * Find any fields that look like WKT or EWKT and replace them with the database-specific value.
+    * Only the columns that may hold a geometry according to the table's
+    * {@link GeometryColumnPlan} are checked. The <code>INSERT</code> is written to a single buffer
+    * so the geometry function call is streamed into the SQL instead of being built as a separate
+    * string first. When a {@link SpatialInsertStatement} is executed, the values are written as
+    * parameter markers and added to its {@link BoundParameters} instead.
     */
    @Override
    public Sql[] generateSql(final InsertStatement statement, final Database database,
          final SqlGeneratorChain sqlGeneratorChain) {
+      final GeometryColumnPlan plan = GeometryColumnPlan.getPlan(database,
+            statement.getCatalogName(), statement.getSchemaName(), statement.getTableName());
+      final StringBuilder sql = new StringBuilder(estimateLength(statement.getColumnValues()));
+      appendInsertInto(sql, statement, database);
+      try {
+         appendValues(sql, statement, database, plan, getBoundParameters(statement));
+      } catch (final IOException e) {
+         throw new UnexpectedLiquibaseException(e);
+      }
+      return new Sql[] { new UnparsedSql(sql.toString(), getAffectedTable(statement)) };
+   }
+
+   /**
+    * Writes the start of the <code>INSERT</code>, i.e.
+    * <code>INSERT INTO table (column, ...) VALUES </code>.
+    * 
+    * @param sql
+    *           the SQL buffer.
+    * @param statement
+    *           the statement.
+    * @param database
+    *           the database instance.
+    */
+   protected void appendInsertInto(final StringBuilder sql, final InsertStatement statement,
+         final Database database) {
+      final String catalogName = statement.getCatalogName();
+      final String schemaName = statement.getSchemaName();
+      final String tableName = statement.getTableName();
+      sql.append("INSERT INTO ")
+            .append(database.escapeTableName(catalogName, schemaName, tableName)).append(" (");
+      String separator = "";
+      for (final String column : statement.getColumnValues().keySet()) {
+         sql.append(separator).append(
+               database.escapeColumnName(catalogName, schemaName, tableName, column));
+         separator = ", ";
+      }
+      sql.append(") VALUES ");
+   }
+
+   /**
+    * Writes the parenthesized values of the statement, converting the geometries in the columns
+    * that may hold one.
+    * 
+    * @param sql
+    *           the SQL buffer.
+    * @param statement
+    *           the statement.
+    * @param database
+    *           the database instance.
+    * @param plan
+    *           the geometry column plan of the table.
+    * @param parameters
+    *           the parameters to which the values are added or <code>null</code> to write the
+    *           values to the SQL.
+    * @throws IOException
+    *            if a geometry cannot be written.
+    */
+   protected void appendValues(final StringBuilder sql, final InsertStatement statement,
+         final Database database, final GeometryColumnPlan plan,
+         final BoundParameters parameters) throws IOException {
+      sql.append('(');
+      String separator = "";
       for (final Entry<String, Object> entry : statement.getColumnValues().entrySet()) {
-         entry.setValue(handleColumnValue(entry.getValue(), database));
+         sql.append(separator);
+         separator = ", ";
+         final Object value = entry.getValue();
+         final boolean possibleGeometry = plan.isPossibleGeometry(entry.getKey(), value);
+         if (parameters != null) {
+            if (!possibleGeometry
+                  || !WktConversionUtils.appendColumnParameter(sql, value, database, this,
+                        parameters)) {
+               appendParameter(sql, value, database, parameters);
+            }
+         } else if (!possibleGeometry
+               || !WktConversionUtils.appendColumnValue(sql, value, database, this)) {
+            sql.append(convertToString(value, database));
+         }
+      }
+      sql.append(')');
+   }
+
+   /**
+    * Returns the parameters to which the values are added when the statement is executed with
+    * bound values.
+    * 
+    * @param statement
+    *           the statement.
+    * @return the parameters or <code>null</code> if the values must be written to the SQL.
+    */
+   protected BoundParameters getBoundParameters(final InsertStatement statement) {
+      if (statement instanceof SpatialInsertStatement) {
+         return ((SpatialInsertStatement) statement).getBoundParameters();
+      }
+      return null;
+   }
+
+   /**
+    * Writes a parameter marker for a non-geometry value and adds the value to the parameters.
+    * <code>NULL</code> and database functions are still written to the SQL, as
+    * {@link #convertToString(Object, Database)} does, because they can't be bound.
+    * 
+    * @param sql
+    *           the SQL buffer.
+    * @param value
+    *           the column value.
+    * @param database
+    *           the database instance.
+    * @param parameters
+    *           the parameters to which the value is added.
+    */
+   protected void appendParameter(final StringBuilder sql, final Object value,
+         final Database database, final BoundParameters parameters) {
+      if (value == null || value instanceof DatabaseFunction
+            || value.toString().equalsIgnoreCase("NULL")
+            || (value instanceof String && looksLikeFunctionCall((String) value, database))) {
+         sql.append(convertToString(value, database));
+      } else {
+         sql.append('?');
+         parameters.add(value);
+      }
+   }
+
+   /**
+    * Converts a non-geometry value to SQL in the same way as {@link InsertGenerator}.
+    * 
+    * @param value
+    *           the column value.
+    * @param database
+    *           the database instance.
+    * @return the SQL value.
+    */
+   protected String convertToString(final Object value, final Database database) {
+      final String sqlValue;
+      if (value == null || value.toString().equalsIgnoreCase("NULL")) {
+         sqlValue = "NULL";
+      } else if (value instanceof String && !looksLikeFunctionCall((String) value, database)) {
+         sqlValue = DataTypeFactory.getInstance().fromObject(value, database)
+               .objectToSql(value, database);
+      } else if (value instanceof Date) {
+         sqlValue = database.getDateLiteral((Date) value);
+      } else if (value instanceof Boolean) {
+         if ((Boolean) value) {
+            sqlValue = DataTypeFactory.getInstance().getTrueBooleanValue(database);
+         } else {
+            sqlValue = DataTypeFactory.getInstance().getFalseBooleanValue(database);
+         }
+      } else if (value instanceof DatabaseFunction) {
+         sqlValue = database.generateDatabaseFunctionValue((DatabaseFunction) value);
+      } else {
+         sqlValue = value.toString();
+      }
+      return sqlValue;
+   }
+
+   /**
+    * Estimates the length of the <code>INSERT</code> statement so that the SQL buffer is
+    * allocated once.
+    * 
+    * @param columnValues
+    *           the column values.
+    * @return the estimated length.
+    */
+   protected int estimateLength(final Map<String, Object> columnValues) {
+      int length = 64;
+      for (final Object value : columnValues.values()) {
+         length += 32;
+         if (value instanceof CharSequence) {
+            length += WktConversionUtils.estimateLength((CharSequence) value);
+         }
       }
-      return super.generateSql(statement, database, sqlGeneratorChain);
+      return length;
    }
 
    /**
@@ -47,7 +233,8 @@ public abstract class AbstractSpatialInsertGenerator extends InsertGenerator imp
    @Override
    public boolean looksLikeFunctionCall(final String value, final Database database) {
       final boolean result;
-      if (value.trim().toUpperCase().startsWith(getGeomFromWktFunction().trim().toUpperCase())) {
+      if (WktConversionUtils.startsWithIgnoreCase(value, getGeomFromWktFunction().trim())
+            || WktConversionUtils.startsWithIgnoreCase(value, getGeomFromWkbFunction().trim())) {
          result = true;
       } else {
          result = super.looksLikeFunctionCall(value, database);
@@ -56,8 +243,19 @@ public abstract class AbstractSpatialInsertGenerator extends InsertGenerator imp
    }
 
    /**
-    * Indicates if the SRID parameter is required in the function returned from
-    * {@link #getGeomFromWktFunction()}.
+    * Returns the name of the function that converts Well-Known Binary to a database-specific
+    * geometry. The default is the OGC <code>ST_GeomFromWKB</code> function.
+    * 
+    * @return the name of the function that converts WKB to a geometry.
+    */
+   @Override
+   public String getGeomFromWkbFunction() {
+      return "ST_GeomFromWKB";
+   }
+
+   /**
+    * Indicates if the SRID parameter is required in the functions returned from
+    * {@link #getGeomFromWktFunction()} and {@link #getGeomFromWkbFunction()}.
     * 
     * @param database
     *           the database instance.
@@ -96,7 +294,84 @@ public abstract class AbstractSpatialInsertGenerator extends InsertGenerator imp
     */
    @Override
    public String convertToFunction(final String wkt, final String srid, final Database database) {
-      final String function = WktConversionUtils.convertToFunction(wkt, srid, database, this);
-      return function;
+      final StringBuilder function = new StringBuilder(WktConversionUtils.estimateLength(wkt));
+      try {
+         WktConversionUtils.appendGeometryFunction(function, wkt, srid, database, this);
+      } catch (final IOException e) {
+         throw new UnexpectedLiquibaseException(e);
+      }
+      return function.toString();
+   }
+
+   /**
+    * @see WktInsertOrUpdateGenerator#appendFunction(Appendable, CharSequence, String, Database)
+    */
+   @Override
+   public void appendFunction(final Appendable out, final CharSequence wkt, final String srid,
+         final Database database) throws IOException {
+      WktConversionUtils.appendFunction(out, wkt, srid, database, this);
+   }
+
+   /**
+    * Returns <code>false</code> because there isn't a portable point constructor.
+    * 
+    * @see WktInsertOrUpdateGenerator#appendPointFunction(Appendable, PointScanner, String,
+    *      Database)
+    */
+   @Override
+   public boolean appendPointFunction(final Appendable out, final PointScanner point,
+         final String srid, final Database database) throws IOException {
+      return false;
+   }
+
+   /**
+    * @see WktInsertOrUpdateGenerator#appendWkbFunction(Appendable, WkbHexScanner, String,
+    *      Database)
+    */
+   @Override
+   public void appendWkbFunction(final Appendable out, final WkbHexScanner wkb, final String srid,
+         final Database database) throws IOException {
+      WktConversionUtils.appendWkbFunction(out, wkb, srid, database, this);
+   }
+
+   /**
+    * @see WktInsertOrUpdateGenerator#appendWkbFunction(Appendable, byte[], String, Database)
+    */
+   @Override
+   public void appendWkbFunction(final Appendable out, final byte[] wkb, final String srid,
+         final Database database) throws IOException {
+      WktConversionUtils.appendWkbFunction(out, wkb, srid, database, this);
+   }
+
+   /**
+    * @see WktInsertOrUpdateGenerator#appendWkbParameter(Appendable, byte[], String, Database,
+    *      BoundParameters)
+    */
+   @Override
+   public void appendWkbParameter(final Appendable out, final byte[] wkb, final String srid,
+         final Database database, final BoundParameters parameters) throws IOException {
+      WktConversionUtils.appendWkbParameter(out, wkb, srid, database, this, parameters);
+   }
+
+   /**
+    * Writes the Well-Known Text to the SQL with {@link #appendFunction}.
+    * 
+    * @see WktInsertOrUpdateGenerator#appendWktParameter(Appendable, CharSequence, String,
+    *      Database, BoundParameters)
+    */
+   @Override
+   public void appendWktParameter(final Appendable out, final CharSequence wkt, final String srid,
+         final Database database, final BoundParameters parameters) throws IOException {
+      appendFunction(out, wkt, srid, database);
+   }
+
+   /**
+    * Returns the geometry literal format from the {@link SpatialConfiguration}.
+    * 
+    * @see WktInsertOrUpdateGenerator#getGeometryLiteralFormat(Database)
+    */
+   @Override
+   public GeometryLiteralFormat getGeometryLiteralFormat(final Database database) {
+      return SpatialConfiguration.getInstance().getGeometryLiteralFormat();
    }
 }
@@ -1,13 +1,31 @@
 package liquibase.ext.spatial.sqlgenerator;
 
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import liquibase.database.Database;
+import liquibase.datatype.DataTypeFactory;
+import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.exception.ValidationErrors;
+import liquibase.ext.spatial.configuration.SpatialConfiguration;
+import liquibase.ext.spatial.configuration.SpatialConfiguration.GeometryLiteralFormat;
+import liquibase.ext.spatial.statement.BoundParameters;
+import liquibase.ext.spatial.statement.SpatialUpdateStatement;
+import liquibase.ext.spatial.utils.GeometryColumnPlan;
+import liquibase.ext.spatial.utils.PointScanner;
+import liquibase.ext.spatial.utils.WkbHexScanner;
 import liquibase.sql.Sql;
+import liquibase.sql.UnparsedSql;
 import liquibase.sqlgenerator.SqlGeneratorChain;
 import liquibase.sqlgenerator.core.UpdateGenerator;
+import liquibase.statement.DatabaseFunction;
 import liquibase.statement.core.UpdateStatement;
+import liquibase.structure.core.Column;
 
 /**
  * Implementations of <code>AbstractSpatialInsertGenerator</code> convert a Well-Known Text string
@@ -17,6 +35,9 @@ import liquibase.statement.core.UpdateStatement;
  */
 public abstract class AbstractSpatialUpdateGenerator extends UpdateGenerator implements
       WktInsertOrUpdateGenerator {
+   /** The placeholders of the <code>WHERE</code> parameters. */
+   private static final Pattern WHERE_PARAMETER_PATTERN = Pattern.compile("\\?|:value");
+
    @Override
    public int getPriority() {
       return super.getPriority() + 1;
@@ -30,14 +51,205 @@ public abstract class AbstractSpatialUpdateGenerator extends UpdateGenerator imp
 
    /**
     * Find any fields that look like WKT or EWKT and replace them with the database-specific value.
+    * Only the columns that may hold a geometry according to the table's
+    * {@link GeometryColumnPlan} are checked. The <code>UPDATE</code> is written to a single buffer
+    * so the geometry function call is streamed into the SQL instead of being built as a separate
+    * string first. When a {@link SpatialUpdateStatement} is executed, the values and the
+    * <code>WHERE</code> parameters are written as parameter markers and added to its
+    * {@link BoundParameters} instead.
     */
    @Override
    public Sql[] generateSql(final UpdateStatement statement, final Database database,
          final SqlGeneratorChain sqlGeneratorChain) {
-      for (final Entry<String, Object> entry : statement.getNewColumnValues().entrySet()) {
-         entry.setValue(handleColumnValue(entry.getValue(), database));
+      final String catalogName = statement.getCatalogName();
+      final String schemaName = statement.getSchemaName();
+      final String tableName = statement.getTableName();
+      final GeometryColumnPlan plan = GeometryColumnPlan.getPlan(database, catalogName,
+            schemaName, tableName);
+      final BoundParameters parameters = getBoundParameters(statement);
+      final Map<String, Object> newColumnValues = statement.getNewColumnValues();
+      final StringBuilder sql = new StringBuilder(estimateLength(newColumnValues));
+      sql.append("UPDATE ").append(database.escapeTableName(catalogName, schemaName, tableName))
+            .append(" SET");
+      String separator = "";
+      try {
+         for (final Entry<String, Object> entry : newColumnValues.entrySet()) {
+            sql.append(separator).append(' ')
+                  .append(database.escapeColumnName(catalogName, schemaName, tableName,
+                        entry.getKey())).append(" = ");
+            separator = ",";
+            final Object value = entry.getValue();
+            final boolean possibleGeometry = plan.isPossibleGeometry(entry.getKey(), value);
+            if (parameters != null) {
+               if (!possibleGeometry
+                     || !WktConversionUtils.appendColumnParameter(sql, value, database, this,
+                           parameters)) {
+                  appendParameter(sql, value, database, parameters);
+               }
+            } else if (!possibleGeometry
+                  || !WktConversionUtils.appendColumnValue(sql, value, database, this)) {
+               sql.append(convertToString(value, database));
+            }
+         }
+      } catch (final IOException e) {
+         throw new UnexpectedLiquibaseException(e);
+      }
+      if (statement.getWhereClause() != null) {
+         String fixedWhereClause = "WHERE " + statement.getWhereClause().trim();
+         for (final String columnName : statement.getWhereColumnNames()) {
+            if (columnName == null) {
+               continue;
+            }
+            fixedWhereClause = fixedWhereClause.replaceFirst(":name",
+                  database.escapeObjectName(columnName, Column.class));
+         }
+         if (parameters != null) {
+            fixedWhereClause = bindWhereParameters(fixedWhereClause,
+                  statement.getWhereParameters(), database, parameters);
+         } else {
+            for (final Object param : statement.getWhereParameters()) {
+               fixedWhereClause = fixedWhereClause.replaceFirst("\\?|:value", DataTypeFactory
+                     .getInstance().fromObject(param, database).objectToSql(param, database));
+            }
+         }
+         sql.append(" ").append(fixedWhereClause);
+      }
+      return new Sql[] { new UnparsedSql(sql.toString(), getAffectedTable(statement)) };
+   }
+
+   /**
+    * Returns the parameters to which the values are added when the statement is executed with
+    * bound values.
+    * 
+    * @param statement
+    *           the statement.
+    * @return the parameters or <code>null</code> if the values must be written to the SQL.
+    */
+   protected BoundParameters getBoundParameters(final UpdateStatement statement) {
+      if (statement instanceof SpatialUpdateStatement) {
+         return ((SpatialUpdateStatement) statement).getBoundParameters();
+      }
+      return null;
+   }
+
+   /**
+    * Writes a parameter marker for a non-geometry value and adds the value to the parameters.
+    * <code>NULL</code> and database functions are still written to the SQL, as
+    * {@link #convertToString(Object, Database)} does, because they can't be bound.
+    * 
+    * @param sql
+    *           the SQL buffer.
+    * @param value
+    *           the column value.
+    * @param database
+    *           the database instance.
+    * @param parameters
+    *           the parameters to which the value is added.
+    */
+   protected void appendParameter(final StringBuilder sql, final Object value,
+         final Database database, final BoundParameters parameters) {
+      if (value == null || value instanceof DatabaseFunction
+            || value.toString().equalsIgnoreCase("NULL")
+            || (value instanceof String && looksLikeFunctionCall((String) value, database))) {
+         sql.append(convertToString(value, database));
+      } else {
+         sql.append('?');
+         parameters.add(value);
       }
-      return super.generateSql(statement, database, sqlGeneratorChain);
+   }
+
+   /**
+    * Replaces the <code>?</code> and <code>:value</code> placeholders of the <code>WHERE</code>
+    * clause with parameter markers, in order, and adds the parameters. <code>NULL</code> and
+    * database functions are written to the SQL as {@link UpdateGenerator} does.
+    * 
+    * @param whereClause
+    *           the <code>WHERE</code> clause.
+    * @param whereParameters
+    *           the <code>WHERE</code> parameters.
+    * @param database
+    *           the database instance.
+    * @param parameters
+    *           the parameters to which the <code>WHERE</code> parameters are added.
+    * @return the <code>WHERE</code> clause with parameter markers.
+    */
+   protected String bindWhereParameters(final String whereClause,
+         final List<Object> whereParameters, final Database database,
+         final BoundParameters parameters) {
+      final Matcher matcher = WHERE_PARAMETER_PATTERN.matcher(whereClause);
+      final StringBuilder sql = new StringBuilder(whereClause.length());
+      int end = 0;
+      for (final Object param : whereParameters) {
+         if (!matcher.find()) {
+            break;
+         }
+         sql.append(whereClause, end, matcher.start());
+         if (param == null || param instanceof DatabaseFunction) {
+            sql.append(DataTypeFactory.getInstance().fromObject(param, database)
+                  .objectToSql(param, database));
+         } else {
+            sql.append('?');
+            parameters.add(param);
+         }
+         end = matcher.end();
+      }
+      sql.append(whereClause, end, whereClause.length());
+      return sql.toString();
+   }
+
+   /**
+    * Converts a non-geometry value to SQL in the same way as {@link UpdateGenerator}.
+    * 
+    * @param value
+    *           the column value.
+    * @param database
+    *           the database instance.
+    * @return the SQL value.
+    */
+   protected String convertToString(final Object value, final Database database) {
+      final String sqlValue;
+      if (value == null || value.toString().equalsIgnoreCase("NULL")) {
+         sqlValue = "NULL";
+      } else if (value instanceof String && !looksLikeFunctionCall((String) value, database)) {
+         sqlValue = DataTypeFactory.getInstance().fromObject(value, database)
+               .objectToSql(value, database);
+      } else if (value instanceof Date) {
+         Date date = (Date) value;
+         if (date.getClass().equals(Date.class)) {
+            date = new java.sql.Date(date.getTime());
+         }
+         sqlValue = database.getDateLiteral(date);
+      } else if (value instanceof Boolean) {
+         if ((Boolean) value) {
+            sqlValue = DataTypeFactory.getInstance().getTrueBooleanValue(database);
+         } else {
+            sqlValue = DataTypeFactory.getInstance().getFalseBooleanValue(database);
+         }
+      } else if (value instanceof DatabaseFunction) {
+         sqlValue = database.generateDatabaseFunctionValue((DatabaseFunction) value);
+      } else {
+         sqlValue = value.toString();
+      }
+      return sqlValue;
+   }
+
+   /**
+    * Estimates the length of the <code>UPDATE</code> statement so that the SQL buffer is
+    * allocated once.
+    * 
+    * @param newColumnValues
+    *           the new column values.
+    * @return the estimated length.
+    */
+   protected int estimateLength(final Map<String, Object> newColumnValues) {
+      int length = 128;
+      for (final Object value : newColumnValues.values()) {
+         length += 32;
+         if (value instanceof CharSequence) {
+            length += WktConversionUtils.estimateLength((CharSequence) value);
+         }
+      }
+      return length;
    }
 
    /**
@@ -47,7 +259,8 @@ public abstract class AbstractSpatialUpdateGenerator extends UpdateGenerator imp
    @Override
    public boolean looksLikeFunctionCall(final String value, final Database database) {
       final boolean result;
-      if (value.trim().toUpperCase().startsWith(getGeomFromWktFunction().trim().toUpperCase())) {
+      if (WktConversionUtils.startsWithIgnoreCase(value, getGeomFromWktFunction().trim())
+            || WktConversionUtils.startsWithIgnoreCase(value, getGeomFromWkbFunction().trim())) {
          result = true;
       } else {
          result = super.looksLikeFunctionCall(value, database);
@@ -56,8 +269,19 @@ public abstract class AbstractSpatialUpdateGenerator extends UpdateGenerator imp
    }
 
    /**
-    * Indicates if the SRID parameter is required in the function returned from
-    * {@link #getGeomFromWktFunction()}.
+    * Returns the name of the function that converts Well-Known Binary to a database-specific
+    * geometry. The default is the OGC <code>ST_GeomFromWKB</code> function.
+    * 
+    * @return the name of the function that converts WKB to a geometry.
+    */
+   @Override
+   public String getGeomFromWkbFunction() {
+      return "ST_GeomFromWKB";
+   }
+
+   /**
+    * Indicates if the SRID parameter is required in the functions returned from
+    * {@link #getGeomFromWktFunction()} and {@link #getGeomFromWkbFunction()}.
     * 
     * @param database
     *           the database instance.
@@ -96,7 +320,84 @@ public abstract class AbstractSpatialUpdateGenerator extends UpdateGenerator imp
     */
    @Override
    public String convertToFunction(final String wkt, final String srid, final Database database) {
-      final String function = WktConversionUtils.convertToFunction(wkt, srid, database, this);
-      return function;
+      final StringBuilder function = new StringBuilder(WktConversionUtils.estimateLength(wkt));
+      try {
+         WktConversionUtils.appendGeometryFunction(function, wkt, srid, database, this);
+      } catch (final IOException e) {
+         throw new UnexpectedLiquibaseException(e);
+      }
+      return function.toString();
+   }
+
+   /**
+    * @see WktInsertOrUpdateGenerator#appendFunction(Appendable, CharSequence, String, Database)
+    */
+   @Override
+   public void appendFunction(final Appendable out, final CharSequence wkt, final String srid,
+         final Database database) throws IOException {
+      WktConversionUtils.appendFunction(out, wkt, srid, database, this);
+   }
+
+   /**
+    * Returns <code>false</code> because there isn't a portable point constructor.
+    * 
+    * @see WktInsertOrUpdateGenerator#appendPointFunction(Appendable, PointScanner, String,
+    *      Database)
+    */
+   @Override
+   public boolean appendPointFunction(final Appendable out, final PointScanner point,
+         final String srid, final Database database) throws IOException {
+      return false;
+   }
+
+   /**
+    * @see WktInsertOrUpdateGenerator#appendWkbFunction(Appendable, WkbHexScanner, String,
+    *      Database)
+    */
+   @Override
+   public void appendWkbFunction(final Appendable out, final WkbHexScanner wkb, final String srid,
+         final Database database) throws IOException {
+      WktConversionUtils.appendWkbFunction(out, wkb, srid, database, this);
+   }
+
+   /**
+    * @see WktInsertOrUpdateGenerator#appendWkbFunction(Appendable, byte[], String, Database)
+    */
+   @Override
+   public void appendWkbFunction(final Appendable out, final byte[] wkb, final String srid,
+         final Database database) throws IOException {
+      WktConversionUtils.appendWkbFunction(out, wkb, srid, database, this);
+   }
+
+   /**
+    * @see WktInsertOrUpdateGenerator#appendWkbParameter(Appendable, byte[], String, Database,
+    *      BoundParameters)
+    */
+   @Override
+   public void appendWkbParameter(final Appendable out, final byte[] wkb, final String srid,
+         final Database database, final BoundParameters parameters) throws IOException {
+      WktConversionUtils.appendWkbParameter(out, wkb, srid, database, this, parameters);
+   }
+
+   /**
+    * Writes the Well-Known Text to the SQL with {@link #appendFunction}.
+    * 
+    * @see WktInsertOrUpdateGenerator#appendWktParameter(Appendable, CharSequence, String,
+    *      Database, BoundParameters)
+    */
+   @Override
+   public void appendWktParameter(final Appendable out, final CharSequence wkt, final String srid,
+         final Database database, final BoundParameters parameters) throws IOException {
+      appendFunction(out, wkt, srid, database);
+   }
+
+   /**
+    * Returns the geometry literal format from the {@link SpatialConfiguration}.
+    * 
+    * @see WktInsertOrUpdateGenerator#getGeometryLiteralFormat(Database)
+    */
+   @Override
+   public GeometryLiteralFormat getGeometryLiteralFormat(final Database database) {
+      return SpatialConfiguration.getInstance().getGeometryLiteralFormat();
    }
 }
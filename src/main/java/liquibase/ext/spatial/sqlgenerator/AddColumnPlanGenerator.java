@@ -0,0 +1,21 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import liquibase.database.Database;
+import liquibase.ext.spatial.utils.GeometryColumnPlan;
+import liquibase.statement.core.AddColumnStatement;
+
+/**
+ * <code>AddColumnPlanGenerator</code> discards the {@link GeometryColumnPlan} of the tables whose
+ * columns are added.
+ */
+public class AddColumnPlanGenerator extends
+      AbstractGeometryColumnPlanGenerator<AddColumnStatement> {
+   @Override
+   protected void clearPlans(final AddColumnStatement statement, final Database database) {
+      GeometryColumnPlan.clear(database, statement.getCatalogName(), statement.getSchemaName(),
+            statement.getTableName());
+      for (final AddColumnStatement column : statement.getColumns()) {
+         clearPlans(column, database);
+      }
+   }
+}
@@ -1,5 +1,6 @@
 package liquibase.ext.spatial.sqlgenerator;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -8,10 +9,13 @@ import java.util.Iterator;
 import liquibase.database.Database;
 import liquibase.database.core.OracleDatabase;
 import liquibase.ext.spatial.statement.CreateSpatialIndexStatement;
+import liquibase.ext.spatial.utils.SpatialReferenceSystem;
 import liquibase.sql.Sql;
 import liquibase.sql.UnparsedSql;
 import liquibase.sqlgenerator.SqlGeneratorChain;
 import liquibase.structure.core.Column;
+import liquibase.structure.core.Index;
+import liquibase.structure.core.Schema;
 import liquibase.structure.core.Table;
 import liquibase.structure.core.View;
 import liquibase.util.StringUtils;
@@ -21,6 +25,9 @@ import liquibase.util.StringUtils;
  * Oracle.
  */
 public class CreateSpatialIndexGeneratorOracle extends AbstractCreateSpatialIndexGenerator {
+   /** The default tolerance of the dimensions. */
+   public static final double DEFAULT_TOLERANCE = 0.005;
+
    @Override
    public boolean supports(final CreateSpatialIndexStatement statement, final Database database) {
       return database instanceof OracleDatabase;
@@ -36,6 +43,11 @@ public class CreateSpatialIndexGeneratorOracle extends AbstractCreateSpatialInde
       final Sql insertMetadata = new UnparsedSql(insertMetadataSql, metadataView);
       final String createIndexSql = generateCreateIndexSql(statement, database);
       final Sql createIndex = new UnparsedSql(createIndexSql, getAffectedIndex(statement));
+      if (statement.isLocal() && statement.isUnusable()) {
+         final String rebuildSql = generateRebuildPartitionsSql(statement, database);
+         final Sql rebuild = new UnparsedSql(rebuildSql, "\n/", getAffectedIndex(statement));
+         return new Sql[] { deleteMetadata, insertMetadata, createIndex, rebuild };
+      }
       return new Sql[] { deleteMetadata, insertMetadata, createIndex };
    }
 
@@ -66,7 +78,18 @@ public class CreateSpatialIndexGeneratorOracle extends AbstractCreateSpatialInde
    /**
     * Generates the SQL for inserting the necessary record into the
     * <code>USER_SDO_GEOM_METADATA</code> table. This record must be present prior to creating the
-    * spatial index.
+    * spatial index. The dimension bounds are, in order of preference:
+    * <ol>
+    * <li>the statement's extent,</li>
+    * <li>the extent of the indexed data, computed with <code>SDO_AGGR_MBR</code> when the record is
+    * inserted, if requested and the SRID isn't geographic (Oracle requires geodetic bounds of
+    * -180 to 180 and -90 to 90),</li>
+    * <li>the default extent of a projected SRID in the bundled {@link SpatialReferenceSystem}
+    * registry,</li>
+    * <li>the bounds of longitude and latitude.</li>
+    * </ol>
+    * An SRID in the registry is written as its Oracle SRID; other SRIDs are converted by the
+    * database.
     * 
     * @param statement
     *           the create spatial index statement.
@@ -76,27 +99,91 @@ public class CreateSpatialIndexGeneratorOracle extends AbstractCreateSpatialInde
     */
    protected String generateInsertMetadataSql(final CreateSpatialIndexStatement statement,
          final Database database) {
+      final Integer srid = statement.getSrid();
+      final SpatialReferenceSystem srs = srid == null ? null : SpatialReferenceSystem.get(srid);
+      final boolean geographic = srs != null && srs.isGeographic();
+      double[] extent = statement.getExtent();
+      final boolean computeExtent = extent == null && statement.isComputeExtent() && !geographic;
+      if (extent == null) {
+         if (srs != null && !geographic) {
+            extent = new double[] { srs.getMinX(), srs.getMinY(), srs.getMaxX(), srs.getMaxY() };
+         } else {
+            extent = new double[] { -180, -90, 180, 90 };
+         }
+      }
+      String[] dimensionNames = statement.getDimensionNames();
+      if (dimensionNames == null) {
+         if (geographic || (srs == null && statement.getExtent() == null && !computeExtent)) {
+            dimensionNames = new String[] { "Longitude", "Latitude" };
+         } else {
+            dimensionNames = new String[] { "X", "Y" };
+         }
+      }
+      final String tolerance = toNumber(statement.getTolerance() == null ? DEFAULT_TOLERANCE
+            : statement.getTolerance());
+
       final StringBuilder sql = new StringBuilder();
       sql.append("INSERT INTO user_sdo_geom_metadata ");
       sql.append("(table_name, column_name, diminfo, srid) ");
       final String tableName = statement.getTableName().trim();
-      sql.append("VALUES ('").append(database.correctObjectName(tableName, Table.class));
+      sql.append(computeExtent ? "SELECT '" : "VALUES ('");
+      sql.append(database.correctObjectName(tableName, Table.class));
       final String columnName = statement.getColumns()[0].trim();
       sql.append("', '").append(database.correctObjectName(columnName, Column.class));
       sql.append("', SDO_DIM_ARRAY(");
-      sql.append("SDO_DIM_ELEMENT('Longitude', -180, 180, 0.005), ");
-      sql.append("SDO_DIM_ELEMENT('Latitude', -90, 90, 0.005))");
-      final Integer srid = statement.getSrid();
+      for (int ii = 0; ii < 2; ii++) {
+         if (ii > 0) {
+            sql.append(", ");
+         }
+         sql.append("SDO_DIM_ELEMENT('").append(dimensionNames[ii].replace("'", "''"))
+               .append("', ");
+         if (computeExtent) {
+            sql.append("NVL(SDO_GEOM.SDO_MIN_MBR_ORDINATE(mbr, ").append(ii + 1).append("), ")
+                  .append(toNumber(extent[ii])).append("), ");
+            sql.append("NVL(SDO_GEOM.SDO_MAX_MBR_ORDINATE(mbr, ").append(ii + 1).append("), ")
+                  .append(toNumber(extent[ii + 2])).append("), ");
+         } else {
+            sql.append(toNumber(extent[ii])).append(", ").append(toNumber(extent[ii + 2]))
+                  .append(", ");
+         }
+         sql.append(tolerance).append(')');
+      }
+      sql.append(')');
       if (srid == null) {
          sql.append(", NULL");
+      } else if (srs != null) {
+         sql.append(", ").append(srs.getOracleSrid());
       } else {
          sql.append(", ").append(OracleSpatialUtils.EPSG_TO_ORACLE_FUNCTION).append("(")
                .append(srid).append(")");
       }
-      sql.append(")");
+      if (computeExtent) {
+         final String catalogName = statement.getTableCatalogName();
+         final String schemaName = statement.getTableSchemaName();
+         sql.append(" FROM (SELECT SDO_AGGR_MBR(");
+         sql.append(database.escapeColumnName(catalogName, schemaName, tableName, columnName));
+         sql.append(") mbr FROM ");
+         sql.append(database.escapeTableName(catalogName, schemaName, tableName)).append(")");
+      } else {
+         sql.append(")");
+      }
       return sql.toString();
    }
 
+   /**
+    * Converts a bound of the extent to a numeric literal without an exponent.
+    *
+    * @param value
+    *           the bound.
+    * @return the numeric literal.
+    */
+   protected String toNumber(final double value) {
+      if (value == Math.rint(value) && Math.abs(value) < Long.MAX_VALUE) {
+         return Long.toString((long) value);
+      }
+      return BigDecimal.valueOf(value).toPlainString();
+   }
+
    /**
     * Generates the SQL for creating the spatial index.
     * 
@@ -130,6 +217,52 @@ public class CreateSpatialIndexGeneratorOracle extends AbstractCreateSpatialInde
          sql.append(StringUtils.join(parameters, " "));
          sql.append("')");
       }
+      if (statement.isLocal()) {
+         sql.append(" LOCAL");
+      }
+      if (statement.getParallel() != null) {
+         sql.append(" PARALLEL ").append(statement.getParallel());
+      }
+      if (statement.isLocal() && statement.isUnusable()) {
+         sql.append(" UNUSABLE");
+      }
+      return sql.toString();
+   }
+
+   /**
+    * Generates the PL/SQL block that rebuilds each partition of a local index that was created
+    * <code>UNUSABLE</code>. Each partition is rebuilt by its own <code>ALTER INDEX</code> so that
+    * a failure leaves the partitions that were already built usable. The partitions are rebuilt
+    * one after the other, each with the statement's degree of parallelism.
+    * 
+    * @param statement
+    *           the create spatial index statement.
+    * @param database
+    *           the database instance.
+    * @return the PL/SQL block.
+    */
+   protected String generateRebuildPartitionsSql(final CreateSpatialIndexStatement statement,
+         final Database database) {
+      final String catalogName = statement.getTableCatalogName();
+      final String schemaName = statement.getTableSchemaName();
+      final String indexName = statement.getIndexName();
+      final String owner = catalogName == null ? schemaName : catalogName;
+      final StringBuilder sql = new StringBuilder();
+      sql.append("BEGIN FOR p IN (SELECT partition_name FROM ");
+      if (owner == null) {
+         sql.append("user_ind_partitions WHERE ");
+      } else {
+         sql.append("all_ind_partitions WHERE index_owner = '")
+               .append(database.correctObjectName(owner, Schema.class)).append("' AND ");
+      }
+      sql.append("index_name = '").append(database.correctObjectName(indexName, Index.class));
+      sql.append("') LOOP EXECUTE IMMEDIATE 'ALTER INDEX ");
+      sql.append(database.escapeIndexName(catalogName, schemaName, indexName).replace("'", "''"));
+      sql.append(" REBUILD PARTITION \"' || p.partition_name || '\"");
+      if (statement.getParallel() != null) {
+         sql.append(" PARALLEL ").append(statement.getParallel());
+      }
+      sql.append("'; END LOOP; END;");
       return sql.toString();
    }
 
@@ -151,6 +284,21 @@ public class CreateSpatialIndexGeneratorOracle extends AbstractCreateSpatialInde
       if (StringUtils.trimToNull(statement.getTablespace()) != null) {
          parameters.add("tablespace=" + statement.getTablespace().trim());
       }
+      if (StringUtils.trimToNull(statement.getWorkTablespace()) != null) {
+         parameters.add("work_tablespace=" + statement.getWorkTablespace().trim());
+      }
+      if (statement.getSdoIndxDims() != null) {
+         parameters.add("sdo_indx_dims=" + statement.getSdoIndxDims());
+      }
+      if (statement.getSdoNonLeafTbl() != null) {
+         parameters.add("sdo_non_leaf_tbl=" + (statement.getSdoNonLeafTbl() ? "TRUE" : "FALSE"));
+      }
+      if (statement.getSdoRtrPctfree() != null) {
+         parameters.add("sdo_rtr_pctfree=" + statement.getSdoRtrPctfree());
+      }
+      if (statement.getSdoDmlBatchSize() != null) {
+         parameters.add("sdo_dml_batch_size=" + statement.getSdoDmlBatchSize());
+      }
       return parameters;
    }
 
@@ -1,6 +1,8 @@
 package liquibase.ext.spatial.sqlgenerator;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 
 import liquibase.database.Database;
@@ -10,10 +12,12 @@ import liquibase.sql.Sql;
 import liquibase.sql.UnparsedSql;
 import liquibase.sqlgenerator.SqlGeneratorChain;
 import liquibase.structure.core.Index;
+import liquibase.structure.core.Schema;
+import liquibase.util.StringUtils;
 
 /**
- * <code>CreateSpatialIndexGeneratorMySQL</code> generates the SQL for creating a spatial index in
- * MySQL.
+ * <code>CreateSpatialIndexGeneratorPostgreSQL</code> generates the SQL for creating a spatial index
+ * in PostgreSQL.
  */
 public class CreateSpatialIndexGeneratorPostgreSQL extends AbstractCreateSpatialIndexGenerator {
    @Override
@@ -26,22 +30,122 @@ public class CreateSpatialIndexGeneratorPostgreSQL extends AbstractCreateSpatial
          final SqlGeneratorChain sqlGeneratorChain) {
       final StringBuilder sql = new StringBuilder();
       sql.append("CREATE INDEX ");
+      if (statement.isConcurrently()) {
+         sql.append("CONCURRENTLY ");
+      }
       sql.append(database.escapeObjectName(statement.getIndexName(), Index.class));
       sql.append(" ON ");
       sql.append(database.escapeTableName(statement.getTableCatalogName(),
             statement.getTableSchemaName(), statement.getTableName()));
-      sql.append(" USING GIST ").append("(");
-      final Iterator<String> iterator = Arrays.asList(statement.getColumns()).iterator();
-      while (iterator.hasNext()) {
-         final String column = iterator.next();
-         sql.append(database.escapeColumnName(statement.getTableCatalogName(),
-               statement.getTableSchemaName(), statement.getTableName(), column));
-         if (iterator.hasNext()) {
+      sql.append(" USING ").append(getIndexMethod(statement)).append(" (");
+      final String[] columns = statement.getColumns();
+      for (int ii = 0; ii < columns.length; ii++) {
+         if (ii > 0) {
             sql.append(", ");
          }
+         sql.append(database.escapeColumnName(statement.getTableCatalogName(),
+               statement.getTableSchemaName(), statement.getTableName(), columns[ii]));
+         final String operatorClass = StringUtils.trimToNull(statement.getOperatorClass(ii));
+         if (operatorClass != null) {
+            sql.append(' ').append(operatorClass);
+         }
       }
       sql.append(")");
+      if (statement.getIncludedColumns().length > 0) {
+         sql.append(" INCLUDE (");
+         final Iterator<String> iterator = Arrays.asList(statement.getIncludedColumns())
+               .iterator();
+         while (iterator.hasNext()) {
+            sql.append(database.escapeColumnName(statement.getTableCatalogName(),
+                  statement.getTableSchemaName(), statement.getTableName(), iterator.next()));
+            if (iterator.hasNext()) {
+               sql.append(", ");
+            }
+         }
+         sql.append(")");
+      }
+      final Collection<String> storageParameters = getStorageParameters(statement);
+      if (!storageParameters.isEmpty()) {
+         sql.append(" WITH (").append(StringUtils.join(storageParameters, ", ")).append(")");
+      }
+      if (StringUtils.trimToNull(statement.getTablespace()) != null) {
+         sql.append(" TABLESPACE ").append(statement.getTablespace().trim());
+      }
+      if (StringUtils.trimToNull(statement.getWhere()) != null) {
+         sql.append(" WHERE ").append(statement.getWhere().trim());
+      }
       final Sql createIndex = new UnparsedSql(sql.toString(), getAffectedIndex(statement));
+      if (statement.isConcurrently()) {
+         final Sql dropInvalidIndex = new UnparsedSql(generateDropInvalidIndexSql(statement,
+               database), getAffectedIndex(statement));
+         return new Sql[] { dropInvalidIndex, createIndex };
+      }
       return new Sql[] { createIndex };
    }
+
+   /**
+    * Returns the index access method of the statement.
+    * 
+    * @param statement
+    *           the statement.
+    * @return the upper case access method which defaults to <code>GIST</code>.
+    */
+   protected String getIndexMethod(final CreateSpatialIndexStatement statement) {
+      final String method = StringUtils.trimToNull(statement.getIndexMethod());
+      return method == null ? "GIST" : method.toUpperCase();
+   }
+
+   /**
+    * Creates the storage parameters of the index.
+    * 
+    * @param statement
+    *           the statement.
+    * @return the parameters of the <code>WITH</code> clause.
+    */
+   protected Collection<String> getStorageParameters(final CreateSpatialIndexStatement statement) {
+      final Collection<String> parameters = new ArrayList<String>();
+      if (statement.getFillfactor() != null) {
+         parameters.add("fillfactor = " + statement.getFillfactor());
+      }
+      if (StringUtils.trimToNull(statement.getBuffering()) != null) {
+         parameters.add("buffering = " + statement.getBuffering().trim().toLowerCase());
+      }
+      if (statement.getPagesPerRange() != null) {
+         parameters.add("pages_per_range = " + statement.getPagesPerRange());
+      }
+      return parameters;
+   }
+
+   /**
+    * Generates the SQL that drops the index if it was left <code>INVALID</code> by a failed
+    * concurrent build, so that the build can be retried. A valid index is left alone and the
+    * <code>CREATE INDEX</code> then fails as usual.
+    * 
+    * @param statement
+    *           the create spatial index statement.
+    * @param database
+    *           the database instance.
+    * @return the SQL to drop an invalid index.
+    */
+   protected String generateDropInvalidIndexSql(final CreateSpatialIndexStatement statement,
+         final Database database) {
+      final String schemaName = statement.getTableSchemaName();
+      final StringBuilder sql = new StringBuilder();
+      sql.append("DO $$BEGIN IF EXISTS (SELECT 1 FROM pg_index i");
+      sql.append(" JOIN pg_class c ON c.oid = i.indexrelid");
+      sql.append(" JOIN pg_namespace n ON n.oid = c.relnamespace WHERE c.relname = '");
+      sql.append(database.escapeStringForDatabase(database.correctObjectName(
+            statement.getIndexName(), Index.class)));
+      sql.append("' AND n.nspname = ");
+      if (schemaName == null) {
+         sql.append("current_schema()");
+      } else {
+         sql.append("'").append(database.escapeStringForDatabase(database.correctObjectName(
+               schemaName, Schema.class))).append("'");
+      }
+      sql.append(" AND NOT i.indisvalid) THEN DROP INDEX ");
+      sql.append(database.escapeIndexName(null, schemaName, statement.getIndexName()));
+      sql.append("; END IF; END$$");
+      return sql.toString();
+   }
 }
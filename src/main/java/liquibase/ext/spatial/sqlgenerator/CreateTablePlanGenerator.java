@@ -0,0 +1,18 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import liquibase.database.Database;
+import liquibase.ext.spatial.utils.GeometryColumnPlan;
+import liquibase.statement.core.CreateTableStatement;
+
+/**
+ * <code>CreateTablePlanGenerator</code> discards the {@link GeometryColumnPlan} of a table that is
+ * created, which may have been resolved before the table existed.
+ */
+public class CreateTablePlanGenerator extends
+      AbstractGeometryColumnPlanGenerator<CreateTableStatement> {
+   @Override
+   protected void clearPlans(final CreateTableStatement statement, final Database database) {
+      GeometryColumnPlan.clear(database, statement.getCatalogName(), statement.getSchemaName(),
+            statement.getTableName());
+   }
+}
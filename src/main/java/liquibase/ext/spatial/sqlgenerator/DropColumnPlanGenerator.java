@@ -0,0 +1,21 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import liquibase.database.Database;
+import liquibase.ext.spatial.utils.GeometryColumnPlan;
+import liquibase.statement.core.DropColumnStatement;
+
+/**
+ * <code>DropColumnPlanGenerator</code> discards the {@link GeometryColumnPlan} of the tables whose
+ * columns are dropped.
+ */
+public class DropColumnPlanGenerator extends
+      AbstractGeometryColumnPlanGenerator<DropColumnStatement> {
+   @Override
+   protected void clearPlans(final DropColumnStatement statement, final Database database) {
+      GeometryColumnPlan.clear(database, statement.getCatalogName(), statement.getSchemaName(),
+            statement.getTableName());
+      for (final DropColumnStatement column : statement.getColumns()) {
+         clearPlans(column, database);
+      }
+   }
+}
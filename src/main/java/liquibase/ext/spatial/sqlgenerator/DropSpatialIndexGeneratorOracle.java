@@ -2,15 +2,12 @@ package liquibase.ext.spatial.sqlgenerator;
 
 import liquibase.database.Database;
 import liquibase.database.core.OracleDatabase;
-import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.exception.ValidationErrors;
 import liquibase.ext.spatial.statement.DropSpatialIndexStatement;
-import liquibase.snapshot.SnapshotGeneratorFactory;
 import liquibase.sql.Sql;
 import liquibase.sql.UnparsedSql;
 import liquibase.sqlgenerator.SqlGeneratorChain;
 import liquibase.sqlgenerator.core.AbstractSqlGenerator;
-import liquibase.structure.core.Column;
 import liquibase.structure.core.Index;
 import liquibase.structure.core.Table;
 import liquibase.structure.core.View;
@@ -27,42 +24,53 @@ AbstractSqlGenerator<DropSpatialIndexStatement> {
    }
 
    /**
-    * Ensures that the index name is populated.
+    * Ensures that the index names are populated.
     */
    @Override
    public ValidationErrors validate(final DropSpatialIndexStatement statement,
          final Database database, final SqlGeneratorChain sqlGeneratorChain) {
       final ValidationErrors validationErrors = new ValidationErrors();
       validationErrors.checkRequiredField("indexName", statement.getIndexName());
+      for (int ii = 1; ii < statement.getIndexNames().length; ii++) {
+         validationErrors.checkRequiredField("indexName", statement.getIndexNames()[ii]);
+      }
       return validationErrors;
    }
 
+   /**
+    * Deletes the <code>USER_SDO_GEOM_METADATA</code> records of the indexed columns. The columns
+    * are looked up in <code>USER_IND_COLUMNS</code> by the same statement, so the index doesn't
+    * have to be read from the database first and any number of indexes are handled at once. The
+    * statement must therefore run before the indexes are dropped.
+    */
    @Override
    public Sql[] generateSql(final DropSpatialIndexStatement statement, final Database database,
          final SqlGeneratorChain sqlGeneratorChain) {
-      final String indexName = statement.getIndexName();
-      final Index example = new Index().setName(indexName);
-      if (statement.getTableName() != null) {
-         example.setTable((Table) new Table().setName(statement.getTableName()).setSchema(
-               statement.getTableCatalogName(), statement.getTableSchemaName()));
-      }
-      Index index;
-      try {
-         index = SnapshotGeneratorFactory.getInstance().createSnapshot(example, database);
-      } catch (final Exception e) {
-         throw new UnexpectedLiquibaseException("Failed to create a snapshot of '" + indexName
-               + "'", e);
-      }
-
-      final String tableName = index.getTable().getName();
-      final Column column = index.getColumns().get(0);
-
       final StringBuilder sql = new StringBuilder();
       sql.append("DELETE FROM user_sdo_geom_metadata ");
-      sql.append("WHERE table_name = '").append(database.correctObjectName(tableName, Table.class));
-      sql.append("' AND column_name = '").append(
-            database.correctObjectName(column.getName(), Column.class));
-      sql.append("'");
+      sql.append("WHERE (table_name, column_name) IN (");
+      sql.append("SELECT table_name, column_name FROM user_ind_columns WHERE index_name ");
+      final String[] indexNames = statement.getIndexNames();
+      if (indexNames.length == 1) {
+         sql.append("= '").append(database.correctObjectName(indexNames[0], Index.class));
+         sql.append("'");
+      } else {
+         sql.append("IN (");
+         for (int ii = 0; ii < indexNames.length; ii++) {
+            if (ii > 0) {
+               sql.append(", ");
+            }
+            sql.append("'").append(database.correctObjectName(indexNames[ii], Index.class));
+            sql.append("'");
+         }
+         sql.append(")");
+      }
+      if (statement.getTableName() != null) {
+         sql.append(" AND table_name = '").append(
+               database.correctObjectName(statement.getTableName(), Table.class));
+         sql.append("'");
+      }
+      sql.append(")");
       final UnparsedSql deleteMetadata = new UnparsedSql(sql.toString(),
             new View().setName("user_sdo_geom_metadata"));
       return new Sql[] { deleteMetadata };
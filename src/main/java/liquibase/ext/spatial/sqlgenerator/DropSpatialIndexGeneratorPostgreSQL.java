@@ -0,0 +1,61 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.exception.ValidationErrors;
+import liquibase.ext.spatial.statement.DropSpatialIndexStatement;
+import liquibase.sql.Sql;
+import liquibase.sql.UnparsedSql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.sqlgenerator.core.AbstractSqlGenerator;
+import liquibase.structure.core.Index;
+import liquibase.structure.core.Table;
+
+/**
+ * <code>DropSpatialIndexGeneratorPostgreSQL</code> generates the SQL for dropping spatial indexes
+ * in PostgreSQL. It is only used to drop indexes concurrently since the normal
+ * <code>DROP INDEX</code> logic handles the other cases.
+ */
+public class DropSpatialIndexGeneratorPostgreSQL extends
+      AbstractSqlGenerator<DropSpatialIndexStatement> {
+   @Override
+   public boolean supports(final DropSpatialIndexStatement statement, final Database database) {
+      return database instanceof PostgresDatabase;
+   }
+
+   /**
+    * Ensures that the index names are populated.
+    */
+   @Override
+   public ValidationErrors validate(final DropSpatialIndexStatement statement,
+         final Database database, final SqlGeneratorChain sqlGeneratorChain) {
+      final ValidationErrors validationErrors = new ValidationErrors();
+      validationErrors.checkRequiredField("indexName", statement.getIndexName());
+      for (int ii = 1; ii < statement.getIndexNames().length; ii++) {
+         validationErrors.checkRequiredField("indexName", statement.getIndexNames()[ii]);
+      }
+      return validationErrors;
+   }
+
+   @Override
+   public Sql[] generateSql(final DropSpatialIndexStatement statement, final Database database,
+         final SqlGeneratorChain sqlGeneratorChain) {
+      final String[] indexNames = statement.getIndexNames();
+      final Sql[] sqls = new Sql[indexNames.length];
+      for (int ii = 0; ii < indexNames.length; ii++) {
+         final StringBuilder sql = new StringBuilder("DROP INDEX ");
+         if (statement.isConcurrently()) {
+            sql.append("CONCURRENTLY ");
+         }
+         sql.append(database.escapeIndexName(null, statement.getTableSchemaName(),
+               indexNames[ii]));
+         final Index index = new Index().setName(indexNames[ii]);
+         if (statement.getTableName() != null) {
+            index.setTable((Table) new Table().setName(statement.getTableName()).setSchema(
+                  statement.getTableCatalogName(), statement.getTableSchemaName()));
+         }
+         sqls[ii] = new UnparsedSql(sql.toString(), index);
+      }
+      return sqls;
+   }
+}
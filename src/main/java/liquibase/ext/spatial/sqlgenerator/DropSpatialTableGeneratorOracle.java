@@ -7,11 +7,14 @@ import java.util.List;
 import liquibase.database.Database;
 import liquibase.database.core.OracleDatabase;
 import liquibase.exception.ValidationErrors;
+import liquibase.ext.spatial.configuration.SpatialConfiguration;
 import liquibase.sql.Sql;
 import liquibase.sql.UnparsedSql;
 import liquibase.sqlgenerator.SqlGeneratorChain;
 import liquibase.sqlgenerator.core.AbstractSqlGenerator;
 import liquibase.statement.core.DropTableStatement;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.Schema;
 import liquibase.structure.core.Table;
 import liquibase.structure.core.View;
 
@@ -36,6 +39,12 @@ public class DropSpatialTableGeneratorOracle extends AbstractSqlGenerator<DropTa
       return sqlGeneratorChain.validate(statement, database);
    }
 
+   /**
+    * Deletes the <code>USER_SDO_GEOM_METADATA</code> records of the table and then performs the
+    * standard behavior. When {@link SpatialConfiguration#isPurgeDroppedTables()} is set, the table
+    * is dropped with <code>PURGE</code> by a PL/SQL block that fails if the secondary tables of its
+    * spatial indexes are still in the schema or the recycle bin afterwards.
+    */
    @Override
    public Sql[] generateSql(final DropTableStatement statement, final Database database,
          final SqlGeneratorChain sqlGeneratorChain) {
@@ -50,7 +59,71 @@ public class DropSpatialTableGeneratorOracle extends AbstractSqlGenerator<DropTa
       // First delete the record then perform the standard behavior.
       final List<Sql> list = new ArrayList<Sql>();
       list.add(deleteMetadata);
-      list.addAll(Arrays.asList(sqlGeneratorChain.generateSql(statement, database)));
+      final Sql[] dropTable = sqlGeneratorChain.generateSql(statement, database);
+      if (SpatialConfiguration.getInstance().isPurgeDroppedTables()) {
+         for (final Sql drop : dropTable) {
+            if (drop.toSql().trim().toUpperCase().startsWith("DROP TABLE ")) {
+               list.add(new UnparsedSql(generatePurgeSql(statement, drop.toSql(), database),
+                     "\n/", drop.getAffectedDatabaseObjects().toArray(new DatabaseObject[0])));
+            } else {
+               list.add(drop);
+            }
+         }
+      } else {
+         list.addAll(Arrays.asList(dropTable));
+      }
       return list.toArray(new Sql[list.size()]);
    }
+
+   /**
+    * Generates the PL/SQL block that drops the table with <code>PURGE</code>. The
+    * <code>MDRT_*</code> tables of the spatial indexes on the table and the matching
+    * <code>MDXT_*</code> tables are looked up before the drop and the block fails if any of them
+    * remain afterwards. When the table has a catalog or schema, the lookup and the check use the
+    * <code>ALL_*</code> views of that owner; only the owner's recycle bin can't be checked unless
+    * it is the current user since other users' recycle bins aren't visible.
+    * 
+    * @param statement
+    *           the drop table statement.
+    * @param dropTableSql
+    *           the standard <code>DROP TABLE</code> SQL.
+    * @param database
+    *           the database instance.
+    * @return the PL/SQL block.
+    */
+   protected String generatePurgeSql(final DropTableStatement statement,
+         final String dropTableSql, final Database database) {
+      final String tableName = database.correctObjectName(statement.getTableName(), Table.class);
+      final String catalogName = statement.getCatalogName();
+      final String owner = catalogName == null ? statement.getSchemaName() : catalogName;
+      final String indexInfo;
+      final String tables;
+      final String recycleBin;
+      if (owner == null) {
+         indexInfo = "user_sdo_index_info WHERE ";
+         tables = "user_tables";
+         recycleBin = "user_recyclebin";
+      } else {
+         final String ownerName = database.correctObjectName(owner, Schema.class);
+         indexInfo = "all_sdo_index_info WHERE table_owner = '" + ownerName + "' AND ";
+         tables = "all_tables WHERE owner = '" + ownerName + "'";
+         recycleBin = "user_recyclebin WHERE USER = '" + ownerName + "'";
+      }
+      final StringBuilder sql = new StringBuilder();
+      sql.append("DECLARE secondary SYS.ODCIVARCHAR2LIST; remaining NUMBER; BEGIN ");
+      sql.append("SELECT t.name BULK COLLECT INTO secondary FROM (");
+      sql.append("SELECT sdo_index_table name FROM ").append(indexInfo);
+      sql.append("table_name = '").append(tableName);
+      sql.append("' UNION ALL SELECT REPLACE(sdo_index_table, 'MDRT_', 'MDXT_') FROM ");
+      sql.append(indexInfo).append("table_name = '").append(tableName).append("') t; ");
+      sql.append("EXECUTE IMMEDIATE '");
+      sql.append(dropTableSql.trim().replace("'", "''")).append(" PURGE'; ");
+      sql.append("SELECT COUNT(*) INTO remaining FROM (SELECT table_name name FROM ");
+      sql.append(tables).append(" UNION ALL SELECT original_name FROM ").append(recycleBin);
+      sql.append(") WHERE name IN (SELECT COLUMN_VALUE FROM TABLE(secondary)); ");
+      sql.append("IF remaining > 0 THEN RAISE_APPLICATION_ERROR(-20000, 'The spatial index");
+      sql.append(" tables of ").append(tableName.replace("'", "''"));
+      sql.append(" were not purged'); END IF; END;");
+      return sql.toString();
+   }
 }
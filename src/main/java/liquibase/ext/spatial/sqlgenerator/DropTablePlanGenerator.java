@@ -0,0 +1,18 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import liquibase.database.Database;
+import liquibase.ext.spatial.utils.GeometryColumnPlan;
+import liquibase.statement.core.DropTableStatement;
+
+/**
+ * <code>DropTablePlanGenerator</code> discards the {@link GeometryColumnPlan} of a table that is
+ * dropped.
+ */
+public class DropTablePlanGenerator extends
+      AbstractGeometryColumnPlanGenerator<DropTableStatement> {
+   @Override
+   protected void clearPlans(final DropTableStatement statement, final Database database) {
+      GeometryColumnPlan.clear(database, statement.getCatalogName(), statement.getSchemaName(),
+            statement.getTableName());
+   }
+}
@@ -0,0 +1,18 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import liquibase.database.Database;
+import liquibase.ext.spatial.utils.GeometryColumnPlan;
+import liquibase.statement.core.ModifyDataTypeStatement;
+
+/**
+ * <code>ModifyDataTypePlanGenerator</code> discards the {@link GeometryColumnPlan} of a table whose
+ * column type is modified.
+ */
+public class ModifyDataTypePlanGenerator extends
+      AbstractGeometryColumnPlanGenerator<ModifyDataTypeStatement> {
+   @Override
+   protected void clearPlans(final ModifyDataTypeStatement statement, final Database database) {
+      GeometryColumnPlan.clear(database, statement.getCatalogName(), statement.getSchemaName(),
+            statement.getTableName());
+   }
+}
@@ -1,126 +1,440 @@
-package liquibase.ext.spatial.sqlgenerator;
-
-import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
-
-import liquibase.database.Database;
-import liquibase.database.jvm.JdbcConnection;
-import liquibase.exception.UnexpectedLiquibaseException;
-import liquibase.util.StringUtils;
-
-/**
- * <code>OracleSpatialUtils</code> provides utility methods for Oracle Spatial.
- */
-public class OracleSpatialUtils {
-
-   /** The Oracle function that converts an EPSG SRID to the corresponding Oracle SRID. */
-   public static final String EPSG_TO_ORACLE_FUNCTION = "SDO_CS.MAP_EPSG_SRID_TO_ORACLE";
-
-   /** The mapping of EPSG SRID to Oracle SRID. */
-   private final static Map<String, String> EPSG_TO_ORACLE_MAP = Collections
-         .synchronizedMap(new HashMap<String, String>());
-
-   /** Hide the default constructor. */
-   private OracleSpatialUtils() {
-   }
-
-   /**
-    * Converts the given Well-Known Text string to one that will work in Oracle. If the string is
-    * greater than 4000 characters, the string is broken into pieces where each piece is converted
-    * to a CLOB. The CLOB handling assumes that the result will be wrapped in single quotes so it
-    * wraps the result in "<code>' || TO_CLOB(...) || '</code>".
-    *
-    * @param wkt
-    *           the Well-Known Text string to convert.
-    * @return the original WKT or a <code>TO_CLOB</code> concatenation of the WKT.
-    */
-   public static String getOracleWkt(final String wkt) {
-      final String oracleWkt;
-      // Strings longer than 4000 characters need to be converted to CLOBs.
-      if (wkt.length() > 4000) {
-         oracleWkt = "' || " + convertToClob(wkt) + " || '";
-      } else {
-         oracleWkt = wkt;
-      }
-      return oracleWkt;
-   }
-
-   /**
-    * Generates the SQL to convert the given string to a CLOB.
-    *
-    * @param varchar
-    *           the value to convert.
-    * @return the SQL to convert the string to a CLOB.
-    */
-   public static String convertToClob(final String varchar) {
-      int startIndex = 0;
-      int endIndex = Math.min(startIndex + 4000, varchar.length());
-      final StringBuilder clobs = new StringBuilder("TO_CLOB('").append(
-            varchar.substring(startIndex, endIndex)).append("')");
-      while (endIndex < varchar.length()) {
-         startIndex = endIndex;
-         endIndex = Math.min(startIndex + 4000, varchar.length());
-         clobs.append(" || TO_CLOB('").append(varchar.substring(startIndex, endIndex)).append("')");
-      }
-      return clobs.toString();
-   }
-
-   /**
-    * Converts the given EPSG SRID to the corresponding Oracle SRID.
-    *
-    * @param srid
-    *           the EPSG SRID.
-    * @param database
-    *           the database instance.
-    * @return the corresponding Oracle SRID.
-    */
-   public static String getOracleSrid(final String srid, final Database database) {
-      final String oracleSrid;
-      if (StringUtils.trimToNull(srid) == null) {
-         oracleSrid = null;
-      } else if (EPSG_TO_ORACLE_MAP.containsKey(srid)) {
-         oracleSrid = EPSG_TO_ORACLE_MAP.get(srid);
-      } else {
-         oracleSrid = loadOracleSrid(srid, database);
-         EPSG_TO_ORACLE_MAP.put(srid, oracleSrid);
-      }
-      return oracleSrid;
-   }
-
-   /**
-    * Queries to the database to convert the given EPSG SRID to the corresponding Oracle SRID.
-    *
-    * @param srid
-    *           the EPSG SRID.
-    * @param database
-    *           the database instance.
-    * @return the corresponding Oracle SRID.
-    */
-   public static String loadOracleSrid(final String srid, final Database database) {
-      final String oracleSrid;
-      final JdbcConnection jdbcConnection = (JdbcConnection) database.getConnection();
-      final Connection connection = jdbcConnection.getUnderlyingConnection();
-      Statement statement = null;
-      try {
-         statement = connection.createStatement();
-         final ResultSet resultSet = statement.executeQuery("SELECT " + EPSG_TO_ORACLE_FUNCTION
-               + "(" + srid + ") FROM dual");
-         resultSet.next();
-         oracleSrid = resultSet.getString(1);
-      } catch (final SQLException e) {
-         throw new UnexpectedLiquibaseException("Failed to find the Oracle SRID for EPSG:" + srid,
-               e);
-      } finally {
-         try {
-            statement.close();
-         } catch (final SQLException ignore) {
-         }
-      }
-      return oracleSrid;
-   }
-}
+package liquibase.ext.spatial.sqlgenerator;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.ext.spatial.statement.BoundParameters;
+import liquibase.ext.spatial.utils.PointScanner;
+import liquibase.ext.spatial.utils.SpatialReferenceSystem;
+import liquibase.ext.spatial.utils.WkbHexScanner;
+import liquibase.util.StringUtils;
+
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.io.ParseException;
+import com.vividsolutions.jts.io.WKBReader;
+import com.vividsolutions.jts.io.WKTWriter;
+
+/**
+ * <code>OracleSpatialUtils</code> provides utility methods for Oracle Spatial.
+ */
+public class OracleSpatialUtils {
+
+   /** The Oracle function that converts an EPSG SRID to the corresponding Oracle SRID. */
+   public static final String EPSG_TO_ORACLE_FUNCTION = "SDO_CS.MAP_EPSG_SRID_TO_ORACLE";
+
+   /** Hide the default constructor. */
+   private OracleSpatialUtils() {
+   }
+
+   /** The maximum length of a character literal in Oracle SQL. */
+   private static final int MAX_LITERAL_LENGTH = 4000;
+
+   /**
+    * Converts the given Well-Known Text string to one that will work in Oracle. If the string is
+    * greater than 4000 characters, the string is broken into pieces where each piece is converted
+    * to a CLOB. The CLOB handling assumes that the result will be wrapped in single quotes so it
+    * wraps the result in "<code>' || TO_CLOB(...) || '</code>".
+    *
+    * @param wkt
+    *           the Well-Known Text string to convert.
+    * @return the original WKT or a <code>TO_CLOB</code> concatenation of the WKT.
+    */
+   public static String getOracleWkt(final String wkt) {
+      // Strings longer than 4000 characters need to be converted to CLOBs.
+      if (wkt.length() <= MAX_LITERAL_LENGTH) {
+         return wkt;
+      }
+      final StringBuilder oracleWkt = new StringBuilder(WktConversionUtils.estimateLength(wkt));
+      try {
+         appendOracleWkt(oracleWkt, wkt);
+      } catch (final IOException e) {
+         throw new UnexpectedLiquibaseException(e);
+      }
+      return oracleWkt.toString();
+   }
+
+   /**
+    * Writes the given Well-Known Text to the output in the same form as
+    * {@link #getOracleWkt(String)}.
+    *
+    * @param out
+    *           the output to which the WKT is written.
+    * @param wkt
+    *           the Well-Known Text to write.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   public static void appendOracleWkt(final Appendable out, final CharSequence wkt)
+         throws IOException {
+      if (wkt.length() > MAX_LITERAL_LENGTH) {
+         out.append("' || ");
+         appendClob(out, wkt);
+         out.append(" || '");
+      } else {
+         out.append(wkt);
+      }
+   }
+
+   /**
+    * Generates the SQL to convert the given string to a CLOB.
+    *
+    * @param varchar
+    *           the value to convert.
+    * @return the SQL to convert the string to a CLOB.
+    */
+   public static String convertToClob(final String varchar) {
+      final StringBuilder clobs = new StringBuilder(WktConversionUtils.estimateLength(varchar));
+      try {
+         appendClob(clobs, varchar);
+      } catch (final IOException e) {
+         throw new UnexpectedLiquibaseException(e);
+      }
+      return clobs.toString();
+   }
+
+   /**
+    * Writes the SQL to convert the given string to a CLOB. The string is split into 4000
+    * character <code>TO_CLOB</code> literals which are written by offset so that the string is
+    * never copied.
+    *
+    * @param out
+    *           the output to which the SQL is written.
+    * @param varchar
+    *           the value to convert.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   public static void appendClob(final Appendable out, final CharSequence varchar)
+         throws IOException {
+      int startIndex = 0;
+      do {
+         final int endIndex = Math.min(startIndex + MAX_LITERAL_LENGTH, varchar.length());
+         if (startIndex > 0) {
+            out.append(" || ");
+         }
+         out.append("TO_CLOB('").append(varchar, startIndex, endIndex).append("')");
+         startIndex = endIndex;
+      } while (startIndex < varchar.length());
+   }
+
+   /**
+    * Writes the <code>SDO_GEOMETRY</code> constructor call for the given Well-Known Text.
+    *
+    * @param out
+    *           the output to which the SQL is written.
+    * @param wkt
+    *           the Well-Known Text.
+    * @param oracleSrid
+    *           the Oracle SRID which may be <code>null</code>.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   public static void appendSdoGeometry(final Appendable out, final CharSequence wkt,
+         final String oracleSrid) throws IOException {
+      if (wkt == null || wkt.length() == 0) {
+         throw new IllegalArgumentException("The Well-Known Text cannot be null or empty");
+      }
+      out.append("SDO_GEOMETRY('");
+      appendOracleWkt(out, wkt);
+      out.append('\'');
+      if (oracleSrid != null && !oracleSrid.equals("")) {
+         out.append(", ").append(oracleSrid);
+      }
+      out.append(')');
+   }
+
+   /**
+    * Writes the <code>SDO_GEOMETRY</code> constructor call for a two-dimensional point, i.e.
+    * <code>SDO_GEOMETRY(2001, srid, SDO_POINT_TYPE(x, y, NULL), NULL, NULL)</code>, which Oracle
+    * builds without parsing Well-Known Text.
+    *
+    * @param out
+    *           the output to which the SQL is written.
+    * @param point
+    *           the scanned point.
+    * @param oracleSrid
+    *           the Oracle SRID which may be <code>null</code>.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   public static void appendSdoPoint(final Appendable out, final PointScanner point,
+         final String oracleSrid) throws IOException {
+      out.append("SDO_GEOMETRY(2001, ");
+      if (oracleSrid != null && !oracleSrid.equals("")) {
+         out.append(oracleSrid);
+      } else {
+         out.append("NULL");
+      }
+      out.append(", SDO_POINT_TYPE(").append(point.getX()).append(", ").append(point.getY())
+            .append(", NULL), NULL, NULL)");
+   }
+
+   /**
+    * Writes the <code>SDO_GEOMETRY</code> constructor call for the given hex encoded Well-Known
+    * Binary. WKB that fits in a <code>RAW</code> literal is decoded by Oracle without parsing any
+    * text: <code>SDO_UTIL.FROM_WKBGEOMETRY</code> without an SRID, otherwise the BLOB constructor.
+    * Larger values and EWKB with Z or M flags, which Oracle doesn't understand, are decoded on the
+    * client and written as Well-Known Text.
+    *
+    * @param out
+    *           the output to which the SQL is written.
+    * @param wkb
+    *           the scanned WKB or EWKB hex string.
+    * @param oracleSrid
+    *           the Oracle SRID which may be <code>null</code>.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   public static void appendSdoGeometry(final Appendable out, final WkbHexScanner wkb,
+         final String oracleSrid) throws IOException {
+      if (wkb.getWkbLength() > MAX_LITERAL_LENGTH || wkb.hasExtendedDimensions()) {
+         final Geometry geometry;
+         try {
+            geometry = new WKBReader().read(wkb.toByteArray());
+         } catch (final ParseException e) {
+            throw new IllegalArgumentException("The Well-Known Binary value is invalid", e);
+         }
+         final String wkt = new WKTWriter(wkb.hasZ() ? 3 : 2).write(geometry);
+         appendSdoGeometry(out, wkt, oracleSrid);
+         return;
+      }
+      if (oracleSrid == null || oracleSrid.equals("")) {
+         out.append("SDO_UTIL.FROM_WKBGEOMETRY(TO_BLOB(HEXTORAW('");
+         wkb.appendWkb(out);
+         out.append("')))");
+      } else {
+         out.append("SDO_GEOMETRY(TO_BLOB(HEXTORAW('");
+         wkb.appendWkb(out);
+         out.append("')), ").append(oracleSrid).append(')');
+      }
+   }
+
+   /**
+    * Writes the <code>SDO_GEOMETRY</code> constructor call for the given Well-Known Binary in the
+    * same way as {@link #appendSdoGeometry(Appendable, WkbHexScanner, String)}, writing the hex
+    * digits of the <code>RAW</code> literal straight from the bytes.
+    *
+    * @param out
+    *           the output to which the SQL is written.
+    * @param wkb
+    *           the WKB bytes without an EWKB SRID.
+    * @param oracleSrid
+    *           the Oracle SRID which may be <code>null</code>.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   public static void appendSdoGeometry(final Appendable out, final byte[] wkb,
+         final String oracleSrid) throws IOException {
+      final int type = getGeometryType(wkb);
+      if (wkb.length * 2 > MAX_LITERAL_LENGTH
+            || (type & (WkbHexScanner.EWKB_Z_FLAG | WkbHexScanner.EWKB_M_FLAG)) != 0) {
+         appendSdoGeometry(out, toWkt(wkb, type), oracleSrid);
+         return;
+      }
+      if (oracleSrid == null || oracleSrid.equals("")) {
+         out.append("SDO_UTIL.FROM_WKBGEOMETRY(TO_BLOB(HEXTORAW('");
+         WktConversionUtils.appendHex(out, wkb);
+         out.append("')))");
+      } else {
+         out.append("SDO_GEOMETRY(TO_BLOB(HEXTORAW('");
+         WktConversionUtils.appendHex(out, wkb);
+         out.append("')), ").append(oracleSrid).append(')');
+      }
+   }
+
+   /**
+    * Reads the geometry type word of the Well-Known Binary.
+    *
+    * @param wkb
+    *           the WKB bytes.
+    * @return the geometry type including any EWKB flags.
+    */
+   private static int getGeometryType(final byte[] wkb) {
+      final boolean littleEndian = wkb[0] == 1;
+      int type = 0;
+      for (int ii = 0; ii < 4; ii++) {
+         final int shift = littleEndian ? ii * 8 : (3 - ii) * 8;
+         type |= (wkb[1 + ii] & 0xFF) << shift;
+      }
+      return type;
+   }
+
+   /**
+    * Decodes the Well-Known Binary on the client and writes it as Well-Known Text.
+    *
+    * @param wkb
+    *           the WKB bytes.
+    * @param type
+    *           the geometry type read by {@link #getGeometryType(byte[])}.
+    * @return the Well-Known Text.
+    */
+   private static String toWkt(final byte[] wkb, final int type) {
+      final Geometry geometry;
+      try {
+         geometry = new WKBReader().read(wkb);
+      } catch (final ParseException e) {
+         throw new IllegalArgumentException("The Well-Known Binary value is invalid", e);
+      }
+      final int dimension = (type & WkbHexScanner.EWKB_Z_FLAG) != 0 ? 3 : 2;
+      return new WKTWriter(dimension).write(geometry);
+   }
+
+   /**
+    * Writes the SQL that converts a bound Well-Known Binary parameter to an
+    * <code>SDO_GEOMETRY</code> and adds the WKB and SRID to the parameters. Without an SRID this is
+    * <code>SDO_UTIL.FROM_WKBGEOMETRY(?)</code>, otherwise the BLOB constructor
+    * <code>SDO_GEOMETRY(?, ?)</code>. The WKB is added as a stream which
+    * {@link BoundParameters} binds as a BLOB, so that the driver sends it as a LOB and Oracle
+    * picks the BLOB constructor rather than the CLOB one of
+    * {@link #appendSdoGeometryClobParameter(Appendable, CharSequence, String, BoundParameters)},
+    * which has the same SQL. EWKB with Z or M flags, which Oracle doesn't understand, is decoded
+    * on the client and bound as Well-Known Text with
+    * {@link #appendSdoGeometryClobParameter(Appendable, CharSequence, String, BoundParameters)}.
+    *
+    * @param out
+    *           the output to which the SQL is written.
+    * @param wkb
+    *           the WKB bytes.
+    * @param oracleSrid
+    *           the Oracle SRID which may be <code>null</code>.
+    * @param parameters
+    *           the parameters to which the WKB and SRID are added.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   public static void appendSdoGeometryParameter(final Appendable out, final byte[] wkb,
+         final String oracleSrid, final BoundParameters parameters) throws IOException {
+      final int type = getGeometryType(wkb);
+      if ((type & (WkbHexScanner.EWKB_Z_FLAG | WkbHexScanner.EWKB_M_FLAG)) != 0) {
+         appendSdoGeometryClobParameter(out, toWkt(wkb, type), oracleSrid, parameters);
+         return;
+      }
+      if (oracleSrid == null || oracleSrid.equals("")) {
+         out.append("SDO_UTIL.FROM_WKBGEOMETRY(?)");
+         parameters.add(new ByteArrayInputStream(wkb));
+      } else {
+         out.append("SDO_GEOMETRY(?, ?)");
+         parameters.add(new ByteArrayInputStream(wkb));
+         parameters.add(parseOracleSrid(oracleSrid));
+      }
+   }
+
+   /**
+    * Writes the <code>SDO_GEOMETRY</code> constructor call for a bound Well-Known Text parameter,
+    * i.e. <code>SDO_GEOMETRY(?)</code> or <code>SDO_GEOMETRY(?, ?)</code>, and adds the WKT and
+    * SRID to the parameters. The WKT is bound as a single CLOB which the driver streams to the
+    * server, so that large geometries don't need the <code>TO_CLOB</code> concatenation of
+    * {@link #appendClob(Appendable, CharSequence)}, which creates a temporary LOB per 4000
+    * characters and makes every statement a hard parse.
+    *
+    * @param out
+    *           the output to which the SQL is written.
+    * @param wkt
+    *           the Well-Known Text.
+    * @param oracleSrid
+    *           the Oracle SRID which may be <code>null</code>.
+    * @param parameters
+    *           the parameters to which the WKT and SRID are added.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   public static void appendSdoGeometryClobParameter(final Appendable out, final CharSequence wkt,
+         final String oracleSrid, final BoundParameters parameters) throws IOException {
+      if (wkt == null || wkt.length() == 0) {
+         throw new IllegalArgumentException("The Well-Known Text cannot be null or empty");
+      }
+      out.append("SDO_GEOMETRY(?");
+      parameters.add(new StringReader(wkt.toString()));
+      if (oracleSrid != null && !oracleSrid.equals("")) {
+         out.append(", ?");
+         parameters.add(parseOracleSrid(oracleSrid));
+      }
+      out.append(')');
+   }
+
+   /**
+    * Converts an Oracle SRID to the integer that is bound as the SRID parameter of the
+    * <code>SDO_GEOMETRY</code> constructor.
+    *
+    * @param oracleSrid
+    *           the Oracle SRID.
+    * @return the Oracle SRID as an integer.
+    * @throws IllegalArgumentException
+    *            if the Oracle SRID isn't an integer.
+    */
+   protected static Integer parseOracleSrid(final String oracleSrid) {
+      try {
+         return Integer.valueOf(oracleSrid.trim());
+      } catch (final NumberFormatException e) {
+         throw new IllegalArgumentException("The Oracle SRID '" + oracleSrid
+               + "' isn't an integer", e);
+      }
+   }
+
+   /**
+    * Converts the given EPSG SRID to the corresponding Oracle SRID. SRIDs in the bundled
+    * {@link SpatialReferenceSystem} registry are mapped without querying the database. Other SRIDs
+    * are mapped with the database's {@link OracleSridCache} or, without a live connection (e.g.
+    * <code>updateSQL</code>), are assumed to be valid Oracle SRIDs as is.
+    *
+    * @param srid
+    *           the EPSG SRID.
+    * @param database
+    *           the database instance.
+    * @return the corresponding Oracle SRID.
+    */
+   public static String getOracleSrid(final String srid, final Database database) {
+      final String oracleSrid;
+      final SpatialReferenceSystem srs = SpatialReferenceSystem.get(srid);
+      if (StringUtils.trimToNull(srid) == null) {
+         oracleSrid = null;
+      } else if (srs != null) {
+         oracleSrid = String.valueOf(srs.getOracleSrid());
+      } else if (!(database.getConnection() instanceof JdbcConnection)) {
+         oracleSrid = srid.trim();
+      } else {
+         oracleSrid = OracleSridCache.getInstance(database).getOracleSrid(srid.trim(), database);
+      }
+      return oracleSrid;
+   }
+
+   /**
+    * Queries to the database to convert the given EPSG SRID to the corresponding Oracle SRID.
+    *
+    * @param srid
+    *           the EPSG SRID.
+    * @param database
+    *           the database instance.
+    * @return the corresponding Oracle SRID.
+    */
+   public static String loadOracleSrid(final String srid, final Database database) {
+      final String oracleSrid;
+      final JdbcConnection jdbcConnection = (JdbcConnection) database.getConnection();
+      final Connection connection = jdbcConnection.getUnderlyingConnection();
+      Statement statement = null;
+      try {
+         statement = connection.createStatement();
+         final ResultSet resultSet = statement.executeQuery("SELECT " + EPSG_TO_ORACLE_FUNCTION
+               + "(" + srid + ") FROM dual");
+         resultSet.next();
+         oracleSrid = resultSet.getString(1);
+      } catch (final SQLException e) {
+         throw new UnexpectedLiquibaseException("Failed to find the Oracle SRID for EPSG:" + srid,
+               e);
+      } finally {
+         try {
+            statement.close();
+         } catch (final SQLException ignore) {
+         }
+      }
+      return oracleSrid;
+   }
+}
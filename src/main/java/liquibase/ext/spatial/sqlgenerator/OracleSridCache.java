@@ -0,0 +1,277 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import liquibase.database.Database;
+import liquibase.database.DatabaseConnection;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.util.JdbcUtils;
+
+/**
+ * <code>OracleSridCache</code> caches the mapping of EPSG SRIDs to Oracle SRIDs of one Oracle
+ * database. Each database, identified by its connection URL, has its own cache so migrations
+ * against several Oracle instances don't share or contend for a single map. Cached SRIDs are read
+ * without locking. On the first miss, all the EPSG SRIDs that have a legacy Oracle SRID are loaded
+ * with a single query; SRIDs that aren't found are then mapped one at a time with
+ * {@link OracleSpatialUtils#EPSG_TO_ORACLE_FUNCTION}. Concurrent requests for the same SRID wait
+ * for the one query instead of repeating it.
+ */
+public class OracleSridCache {
+   /** The query that loads all EPSG SRIDs with a legacy Oracle SRID. */
+   public static final String PRELOAD_QUERY = "SELECT SRID, LEGACY_CODE"
+         + " FROM MDSYS.SDO_COORD_REF_SYS WHERE LEGACY_CODE IS NOT NULL";
+
+   /** The value cached for EPSG SRIDs without an Oracle SRID. */
+   private static final String NO_SRID = "";
+
+   /** The caches keyed by connection URL. */
+   private static final ConcurrentMap<String, OracleSridCache> CACHES =
+         new ConcurrentHashMap<String, OracleSridCache>();
+
+   /** The pending and completed mappings keyed by EPSG SRID. */
+   private final ConcurrentMap<String, Future<String>> oracleSrids =
+         new ConcurrentHashMap<String, Future<String>>();
+
+   /**
+    * The bulk load of the mappings which runs on the first miss, or <code>null</code> until then
+    * or after it failed.
+    */
+   private final AtomicReference<Future<Map<String, String>>> preload =
+         new AtomicReference<Future<Map<String, String>>>();
+
+   /** The number of SRIDs found in the cache. */
+   private final AtomicLong hitCount = new AtomicLong();
+
+   /** The number of SRIDs that weren't in the cache. */
+   private final AtomicLong missCount = new AtomicLong();
+
+   /**
+    * Creates an empty cache.
+    */
+   protected OracleSridCache() {
+   }
+
+   /**
+    * Returns the cache of the given database, creating it on first use.
+    *
+    * @param database
+    *           the database instance.
+    * @return the cache.
+    */
+   public static OracleSridCache getInstance(final Database database) {
+      final String key = getKey(database);
+      OracleSridCache cache = CACHES.get(key);
+      if (cache == null) {
+         final OracleSridCache newCache = new OracleSridCache();
+         cache = CACHES.putIfAbsent(key, newCache);
+         if (cache == null) {
+            cache = newCache;
+         }
+      }
+      return cache;
+   }
+
+   /**
+    * Discards the caches of all databases.
+    */
+   public static void clearAll() {
+      CACHES.clear();
+   }
+
+   /**
+    * Returns the key that identifies the database.
+    *
+    * @param database
+    *           the database instance.
+    * @return the connection URL or an empty string if there isn't a connection.
+    */
+   protected static String getKey(final Database database) {
+      final DatabaseConnection connection = database.getConnection();
+      if (connection == null || connection.getURL() == null) {
+         return "";
+      }
+      return connection.getURL();
+   }
+
+   /**
+    * Converts the given EPSG SRID to the corresponding Oracle SRID.
+    *
+    * @param srid
+    *           the EPSG SRID.
+    * @param database
+    *           the database instance used to load the mapping if it isn't cached.
+    * @return the corresponding Oracle SRID or <code>null</code> if there isn't one.
+    */
+   public String getOracleSrid(final String srid, final Database database) {
+      Future<String> oracleSrid = this.oracleSrids.get(srid);
+      if (oracleSrid != null) {
+         this.hitCount.incrementAndGet();
+      } else {
+         this.missCount.incrementAndGet();
+         final FutureTask<String> task = new FutureTask<String>(new Callable<String>() {
+            @Override
+            public String call() {
+               return load(srid, database);
+            }
+         });
+         oracleSrid = this.oracleSrids.putIfAbsent(srid, task);
+         if (oracleSrid == null) {
+            oracleSrid = task;
+            task.run();
+         }
+      }
+      final String result;
+      try {
+         result = get(oracleSrid);
+      } catch (final RuntimeException e) {
+         // Let the next request try again.
+         this.oracleSrids.remove(srid, oracleSrid);
+         throw e;
+      }
+      return NO_SRID.equals(result) ? null : result;
+   }
+
+   /**
+    * Loads the mapping of a single EPSG SRID, preferring the bulk loaded mappings.
+    *
+    * @param srid
+    *           the EPSG SRID.
+    * @param database
+    *           the database instance.
+    * @return the Oracle SRID or {@link #NO_SRID} if there isn't one.
+    */
+   protected String load(final String srid, final Database database) {
+      String oracleSrid = preload(database).get(srid);
+      if (oracleSrid == null) {
+         oracleSrid = OracleSpatialUtils.loadOracleSrid(srid, database);
+      }
+      return oracleSrid == null ? NO_SRID : oracleSrid;
+   }
+
+   /**
+    * Returns the bulk loaded mappings, loading them with the given database on the first call.
+    * Concurrent callers wait for the one load. If the load fails, the next call tries again.
+    *
+    * @param database
+    *           the database instance of the current request.
+    * @return the Oracle SRIDs keyed by EPSG SRID, which is empty if the load failed.
+    */
+   protected Map<String, String> preload(final Database database) {
+      Future<Map<String, String>> future = this.preload.get();
+      if (future == null) {
+         final FutureTask<Map<String, String>> task = new FutureTask<Map<String, String>>(
+               new Callable<Map<String, String>>() {
+                  @Override
+                  public Map<String, String> call() {
+                     return loadAll(database);
+                  }
+               });
+         if (this.preload.compareAndSet(null, task)) {
+            task.run();
+            future = task;
+         } else {
+            future = this.preload.get();
+         }
+      }
+      Map<String, String> oracleSrids;
+      try {
+         oracleSrids = future == null ? null : get(future);
+      } catch (final RuntimeException e) {
+         oracleSrids = null;
+      }
+      if (oracleSrids == null) {
+         // Let the next miss try again.
+         this.preload.compareAndSet(future, null);
+         return Collections.emptyMap();
+      }
+      return oracleSrids;
+   }
+
+   /**
+    * Loads all the EPSG SRIDs that have a legacy Oracle SRID in one query. If the query fails
+    * (e.g. the view isn't accessible or the connection is closed), each SRID is mapped with
+    * {@link OracleSpatialUtils#EPSG_TO_ORACLE_FUNCTION} instead until a later load succeeds.
+    *
+    * @param database
+    *           the database instance.
+    * @return the Oracle SRIDs keyed by EPSG SRID or <code>null</code> if they couldn't be loaded.
+    */
+   protected Map<String, String> loadAll(final Database database) {
+      if (!(database.getConnection() instanceof JdbcConnection)) {
+         return null;
+      }
+      final Connection connection = ((JdbcConnection) database.getConnection())
+            .getUnderlyingConnection();
+      final Map<String, String> oracleSrids = new HashMap<String, String>();
+      Statement statement = null;
+      ResultSet resultSet = null;
+      try {
+         statement = connection.createStatement();
+         resultSet = statement.executeQuery(PRELOAD_QUERY);
+         while (resultSet.next()) {
+            oracleSrids.put(resultSet.getString(1), resultSet.getString(2));
+         }
+      } catch (final SQLException e) {
+         return null;
+      } finally {
+         JdbcUtils.close(resultSet, statement);
+      }
+      return oracleSrids;
+   }
+
+   /**
+    * Waits for the result of a load.
+    *
+    * @param future
+    *           the load.
+    * @param <T>
+    *           the type of the result.
+    * @return the result.
+    */
+   private static <T> T get(final Future<T> future) {
+      try {
+         return future.get();
+      } catch (final InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new UnexpectedLiquibaseException(e);
+      } catch (final ExecutionException e) {
+         if (e.getCause() instanceof RuntimeException) {
+            throw (RuntimeException) e.getCause();
+         }
+         throw new UnexpectedLiquibaseException(e.getCause());
+      }
+   }
+
+   /**
+    * Returns the number of SRIDs that were found in the cache.
+    *
+    * @return the hit count.
+    */
+   public long getHitCount() {
+      return this.hitCount.get();
+   }
+
+   /**
+    * Returns the number of SRIDs that weren't in the cache and had to be loaded.
+    *
+    * @return the miss count.
+    */
+   public long getMissCount() {
+      return this.missCount.get();
+   }
+}
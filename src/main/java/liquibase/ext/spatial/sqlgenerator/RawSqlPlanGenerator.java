@@ -0,0 +1,17 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import liquibase.database.Database;
+import liquibase.ext.spatial.utils.GeometryColumnPlan;
+import liquibase.statement.core.RawSqlStatement;
+
+/**
+ * <code>RawSqlPlanGenerator</code> discards all the {@link GeometryColumnPlan}s of the database
+ * before raw SQL, e.g. of a <code>sql</code> or <code>sqlFile</code> change, since it may alter any
+ * table.
+ */
+public class RawSqlPlanGenerator extends AbstractGeometryColumnPlanGenerator<RawSqlStatement> {
+   @Override
+   protected void clearPlans(final RawSqlStatement statement, final Database database) {
+      GeometryColumnPlan.clear(database);
+   }
+}
@@ -0,0 +1,59 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import liquibase.database.Database;
+import liquibase.database.core.DerbyDatabase;
+import liquibase.database.core.H2Database;
+import liquibase.exception.ValidationErrors;
+import liquibase.ext.spatial.statement.CreateSpatialIndexStatement;
+import liquibase.ext.spatial.statement.DropSpatialIndexStatement;
+import liquibase.ext.spatial.statement.RebuildSpatialIndexStatement;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+
+/**
+ * <code>RebuildSpatialIndexGeneratorGeoDB</code> generates the SQL for rebuilding a spatial index
+ * in Apache Derby and H2. Hatbox has no rebuild procedure so the index table is dropped and
+ * recreated, which needs the indexed column and its SRID.
+ */
+public class RebuildSpatialIndexGeneratorGeoDB extends AbstractRebuildSpatialIndexGenerator {
+   @Override
+   public boolean supports(final RebuildSpatialIndexStatement statement, final Database database) {
+      return database instanceof DerbyDatabase || database instanceof H2Database;
+   }
+
+   /**
+    * Ensures that the table name, column name and SRID are populated.
+    */
+   @Override
+   public ValidationErrors validate(final RebuildSpatialIndexStatement statement,
+         final Database database, final SqlGeneratorChain sqlGeneratorChain) {
+      final ValidationErrors validationErrors = new ValidationErrors();
+      validationErrors.checkRequiredField("tableName", statement.getTableName());
+      validationErrors.checkRequiredField("columnName", statement.getColumnName());
+      validationErrors.checkRequiredField("srid", statement.getSrid());
+      return validationErrors;
+   }
+
+   @Override
+   public Sql[] generateSql(final RebuildSpatialIndexStatement statement,
+         final Database database, final SqlGeneratorChain sqlGeneratorChain) {
+      final String catalogName = statement.getTableCatalogName();
+      final String schemaName = statement.getTableSchemaName();
+      final String tableName = statement.getTableName();
+      final DropSpatialIndexStatement dropIndex = new DropSpatialIndexStatement(
+            statement.getIndexName(), catalogName, schemaName, tableName);
+      final CreateSpatialIndexStatement createIndex = new CreateSpatialIndexStatement(
+            statement.getIndexName(), catalogName, schemaName, tableName,
+            new String[] { statement.getColumnName() }, null, null, statement.getSrid());
+      final List<Sql> list = new ArrayList<Sql>();
+      list.addAll(Arrays.asList(new DropSpatialIndexGeneratorGeoDB().generateSql(dropIndex,
+            database, null)));
+      list.addAll(Arrays.asList(new CreateSpatialIndexGeneratorGeoDB().generateSql(createIndex,
+            database, null)));
+      return list.toArray(new Sql[list.size()]);
+   }
+}
@@ -0,0 +1,44 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import liquibase.database.Database;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.exception.ValidationErrors;
+import liquibase.ext.spatial.statement.RebuildSpatialIndexStatement;
+import liquibase.sql.Sql;
+import liquibase.sql.UnparsedSql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+
+/**
+ * <code>RebuildSpatialIndexGeneratorMySQL</code> generates the SQL for rebuilding a spatial index
+ * in MySQL. MySQL can't rebuild a single index, so the table is optimized instead: InnoDB
+ * recreates the table with all its indexes and MyISAM sorts the index pages. The storage engine of
+ * the table is left unchanged.
+ */
+public class RebuildSpatialIndexGeneratorMySQL extends AbstractRebuildSpatialIndexGenerator {
+   @Override
+   public boolean supports(final RebuildSpatialIndexStatement statement, final Database database) {
+      return database instanceof MySQLDatabase;
+   }
+
+   /**
+    * Ensures that the table name is populated.
+    */
+   @Override
+   public ValidationErrors validate(final RebuildSpatialIndexStatement statement,
+         final Database database, final SqlGeneratorChain sqlGeneratorChain) {
+      final ValidationErrors validationErrors = new ValidationErrors();
+      validationErrors.checkRequiredField("tableName", statement.getTableName());
+      return validationErrors;
+   }
+
+   @Override
+   public Sql[] generateSql(final RebuildSpatialIndexStatement statement,
+         final Database database, final SqlGeneratorChain sqlGeneratorChain) {
+      final StringBuilder sql = new StringBuilder();
+      sql.append("OPTIMIZE TABLE ");
+      sql.append(database.escapeTableName(statement.getTableCatalogName(),
+            statement.getTableSchemaName(), statement.getTableName()));
+      final Sql rebuildIndex = new UnparsedSql(sql.toString(), getAffectedIndex(statement));
+      return new Sql[] { rebuildIndex };
+   }
+}
@@ -0,0 +1,65 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import liquibase.database.Database;
+import liquibase.database.core.OracleDatabase;
+import liquibase.ext.spatial.statement.RebuildSpatialIndexStatement;
+import liquibase.sql.Sql;
+import liquibase.sql.UnparsedSql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.util.StringUtils;
+
+/**
+ * <code>RebuildSpatialIndexGeneratorOracle</code> generates the SQL for rebuilding a spatial index
+ * in Oracle.
+ */
+public class RebuildSpatialIndexGeneratorOracle extends AbstractRebuildSpatialIndexGenerator {
+   @Override
+   public boolean supports(final RebuildSpatialIndexStatement statement, final Database database) {
+      return database instanceof OracleDatabase;
+   }
+
+   @Override
+   public Sql[] generateSql(final RebuildSpatialIndexStatement statement,
+         final Database database, final SqlGeneratorChain sqlGeneratorChain) {
+      final StringBuilder sql = new StringBuilder();
+      sql.append("ALTER INDEX ");
+      sql.append(database.escapeIndexName(statement.getTableCatalogName(),
+            statement.getTableSchemaName(), statement.getIndexName()));
+      sql.append(" REBUILD");
+      if (statement.isOnline()) {
+         sql.append(" ONLINE");
+      }
+      final Collection<String> parameters = getParameters(statement);
+      if (!parameters.isEmpty()) {
+         sql.append(" PARAMETERS ('");
+         sql.append(StringUtils.join(parameters, " "));
+         sql.append("')");
+      }
+      if (statement.getParallel() != null) {
+         sql.append(" PARALLEL ").append(statement.getParallel());
+      }
+      final Sql rebuildIndex = new UnparsedSql(sql.toString(), getAffectedIndex(statement));
+      return new Sql[] { rebuildIndex };
+   }
+
+   /**
+    * Creates the parameters of the index rebuild statement.
+    * 
+    * @param statement
+    *           the statement.
+    * @return the <code>PARAMETERS</code> of the <code>ALTER INDEX</code> statement.
+    */
+   protected Collection<String> getParameters(final RebuildSpatialIndexStatement statement) {
+      final Collection<String> parameters = new ArrayList<String>();
+      if (StringUtils.trimToNull(statement.getTablespace()) != null) {
+         parameters.add("tablespace=" + statement.getTablespace().trim());
+      }
+      if (StringUtils.trimToNull(statement.getWorkTablespace()) != null) {
+         parameters.add("work_tablespace=" + statement.getWorkTablespace().trim());
+      }
+      return parameters;
+   }
+}
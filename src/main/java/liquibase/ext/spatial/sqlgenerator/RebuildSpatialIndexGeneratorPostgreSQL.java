@@ -0,0 +1,34 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.ext.spatial.statement.RebuildSpatialIndexStatement;
+import liquibase.sql.Sql;
+import liquibase.sql.UnparsedSql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+
+/**
+ * <code>RebuildSpatialIndexGeneratorPostgreSQL</code> generates the SQL for rebuilding a spatial
+ * index in PostgreSQL. An online rebuild uses <code>REINDEX INDEX CONCURRENTLY</code>, which
+ * requires PostgreSQL 12 and can't run inside a transaction.
+ */
+public class RebuildSpatialIndexGeneratorPostgreSQL extends AbstractRebuildSpatialIndexGenerator {
+   @Override
+   public boolean supports(final RebuildSpatialIndexStatement statement, final Database database) {
+      return database instanceof PostgresDatabase;
+   }
+
+   @Override
+   public Sql[] generateSql(final RebuildSpatialIndexStatement statement,
+         final Database database, final SqlGeneratorChain sqlGeneratorChain) {
+      final StringBuilder sql = new StringBuilder();
+      sql.append("REINDEX INDEX ");
+      if (statement.isOnline()) {
+         sql.append("CONCURRENTLY ");
+      }
+      sql.append(database.escapeIndexName(null, statement.getTableSchemaName(),
+            statement.getIndexName()));
+      final Sql rebuildIndex = new UnparsedSql(sql.toString(), getAffectedIndex(statement));
+      return new Sql[] { rebuildIndex };
+   }
+}
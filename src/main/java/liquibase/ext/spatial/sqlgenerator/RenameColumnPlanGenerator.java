@@ -0,0 +1,18 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import liquibase.database.Database;
+import liquibase.ext.spatial.utils.GeometryColumnPlan;
+import liquibase.statement.core.RenameColumnStatement;
+
+/**
+ * <code>RenameColumnPlanGenerator</code> discards the {@link GeometryColumnPlan} of a table whose
+ * column is renamed.
+ */
+public class RenameColumnPlanGenerator extends
+      AbstractGeometryColumnPlanGenerator<RenameColumnStatement> {
+   @Override
+   protected void clearPlans(final RenameColumnStatement statement, final Database database) {
+      GeometryColumnPlan.clear(database, statement.getCatalogName(), statement.getSchemaName(),
+            statement.getTableName());
+   }
+}
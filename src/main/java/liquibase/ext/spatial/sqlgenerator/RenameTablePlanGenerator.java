@@ -0,0 +1,20 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import liquibase.database.Database;
+import liquibase.ext.spatial.utils.GeometryColumnPlan;
+import liquibase.statement.core.RenameTableStatement;
+
+/**
+ * <code>RenameTablePlanGenerator</code> discards the {@link GeometryColumnPlan} of a table that is
+ * renamed and of the table that takes its name.
+ */
+public class RenameTablePlanGenerator extends
+      AbstractGeometryColumnPlanGenerator<RenameTableStatement> {
+   @Override
+   protected void clearPlans(final RenameTableStatement statement, final Database database) {
+      GeometryColumnPlan.clear(database, statement.getCatalogName(), statement.getSchemaName(),
+            statement.getOldTableName());
+      GeometryColumnPlan.clear(database, statement.getCatalogName(), statement.getSchemaName(),
+            statement.getNewTableName());
+   }
+}
@@ -0,0 +1,43 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import liquibase.database.Database;
+import liquibase.exception.ValidationErrors;
+import liquibase.ext.spatial.statement.SpatialInsertBatchStatement;
+import liquibase.ext.spatial.statement.SpatialInsertStatement;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.sqlgenerator.core.AbstractSqlGenerator;
+
+/**
+ * <code>SpatialInsertBatchGenerator</code> generates the SQL of a
+ * {@link SpatialInsertBatchStatement} when it isn't executed as a JDBC batch, e.g. by
+ * <code>updateSQL</code>. Each <code>INSERT</code> is generated by the usual generators.
+ */
+public class SpatialInsertBatchGenerator extends
+      AbstractSqlGenerator<SpatialInsertBatchStatement> {
+   @Override
+   public ValidationErrors validate(final SpatialInsertBatchStatement statement,
+         final Database database, final SqlGeneratorChain sqlGeneratorChain) {
+      final ValidationErrors errors = new ValidationErrors();
+      for (final SpatialInsertStatement insert : statement.getStatements()) {
+         errors.addAll(SqlGeneratorFactory.getInstance().validate(insert, database));
+      }
+      return errors;
+   }
+
+   @Override
+   public Sql[] generateSql(final SpatialInsertBatchStatement statement, final Database database,
+         final SqlGeneratorChain sqlGeneratorChain) {
+      final List<Sql> sql = new ArrayList<Sql>(statement.getStatements().size());
+      for (final SpatialInsertStatement insert : statement.getStatements()) {
+         sql.addAll(Arrays.asList(SqlGeneratorFactory.getInstance()
+               .generateSql(insert, database)));
+      }
+      return sql.toArray(new Sql[sql.size()]);
+   }
+}
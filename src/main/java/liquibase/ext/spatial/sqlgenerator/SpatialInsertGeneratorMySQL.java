@@ -1,7 +1,10 @@
 package liquibase.ext.spatial.sqlgenerator;
 
+import java.io.IOException;
+
 import liquibase.database.Database;
 import liquibase.database.core.MySQLDatabase;
+import liquibase.ext.spatial.utils.PointScanner;
 import liquibase.statement.core.InsertStatement;
 
 /**
@@ -24,4 +27,18 @@ public class SpatialInsertGeneratorMySQL extends AbstractSpatialInsertGenerator
    public String getGeomFromWktFunction() {
       return "ST_GeomFromText";
    }
+
+   /**
+    * Writes points without an SRID with the <code>POINT</code> constructor. The constructor can't
+    * set an SRID so points with one are written with {@link #getGeomFromWktFunction()}.
+    */
+   @Override
+   public boolean appendPointFunction(final Appendable out, final PointScanner point,
+         final String srid, final Database database) throws IOException {
+      if (srid != null && !srid.equals("")) {
+         return false;
+      }
+      out.append("POINT(").append(point.getX()).append(", ").append(point.getY()).append(')');
+      return true;
+   }
 }
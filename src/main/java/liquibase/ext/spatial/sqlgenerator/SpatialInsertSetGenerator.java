@@ -0,0 +1,129 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import liquibase.database.Database;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.exception.ValidationErrors;
+import liquibase.ext.spatial.configuration.SpatialConfiguration;
+import liquibase.ext.spatial.statement.SpatialInsertSetStatement;
+import liquibase.ext.spatial.utils.GeometryColumnPlan;
+import liquibase.sql.Sql;
+import liquibase.sql.UnparsedSql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.sqlgenerator.core.AbstractSqlGenerator;
+import liquibase.statement.core.InsertStatement;
+import liquibase.structure.core.Relation;
+import liquibase.structure.core.Table;
+
+/**
+ * <code>SpatialInsertSetGenerator</code> generates the SQL of a {@link SpatialInsertSetStatement}.
+ * This generator is used for the databases without multi-row <code>INSERT</code> support and
+ * generates each <code>INSERT</code> with the usual generators. Subclasses return the spatial
+ * insert generator of their database from {@link #getInsertGenerator()} to write the rows as
+ * <code>INSERT INTO table (...) VALUES (...), (...)</code> statements of at most
+ * {@link SpatialConfiguration#getMaxStatementSize()} bytes.
+ */
+public class SpatialInsertSetGenerator extends AbstractSqlGenerator<SpatialInsertSetStatement> {
+   /** The encoding used to measure the size of a statement. */
+   private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+   @Override
+   public ValidationErrors validate(final SpatialInsertSetStatement statement,
+         final Database database, final SqlGeneratorChain sqlGeneratorChain) {
+      final ValidationErrors errors = new ValidationErrors();
+      for (final InsertStatement insert : statement.getStatements()) {
+         errors.addAll(SqlGeneratorFactory.getInstance().validate(insert, database));
+      }
+      return errors;
+   }
+
+   @Override
+   public Sql[] generateSql(final SpatialInsertSetStatement statement, final Database database,
+         final SqlGeneratorChain sqlGeneratorChain) {
+      final AbstractSpatialInsertGenerator insertGenerator = getInsertGenerator();
+      if (insertGenerator == null) {
+         final List<Sql> sql = new ArrayList<Sql>(statement.getStatements().size());
+         for (final InsertStatement insert : statement.getStatements()) {
+            sql.addAll(Arrays.asList(SqlGeneratorFactory.getInstance().generateSql(insert,
+                  database)));
+         }
+         return sql.toArray(new Sql[sql.size()]);
+      }
+      try {
+         return generateMultiRowSql(statement, database, insertGenerator);
+      } catch (final IOException e) {
+         throw new UnexpectedLiquibaseException(e);
+      }
+   }
+
+   /**
+    * Writes the rows as multi-row <code>INSERT</code>s. Rows are added to a statement until the
+    * next one would exceed the maximum statement size.
+    * 
+    * @param statement
+    *           the insert set.
+    * @param database
+    *           the database instance.
+    * @param insertGenerator
+    *           the generator that writes the values of each row.
+    * @return the multi-row inserts.
+    * @throws IOException
+    *            if a geometry cannot be written.
+    */
+   protected Sql[] generateMultiRowSql(final SpatialInsertSetStatement statement,
+         final Database database, final AbstractSpatialInsertGenerator insertGenerator)
+         throws IOException {
+      final InsertStatement first = statement.getStatements().get(0);
+      final GeometryColumnPlan plan = GeometryColumnPlan.getPlan(database,
+            first.getCatalogName(), first.getSchemaName(), first.getTableName());
+      final Relation table = new Table().setName(first.getTableName()).setSchema(
+            first.getCatalogName(), first.getSchemaName());
+      final int maxStatementSize = SpatialConfiguration.getInstance().getMaxStatementSize();
+
+      final StringBuilder header = new StringBuilder();
+      insertGenerator.appendInsertInto(header, first, database);
+      final int headerSize = header.toString().getBytes(UTF_8).length;
+
+      final List<Sql> sql = new ArrayList<Sql>();
+      final StringBuilder buffer = new StringBuilder(header);
+      final StringBuilder row = new StringBuilder();
+      int size = headerSize;
+      int rows = 0;
+      for (final InsertStatement insert : statement.getStatements()) {
+         row.setLength(0);
+         insertGenerator.appendValues(row, insert, database, plan, null);
+         final int rowSize = row.toString().getBytes(UTF_8).length;
+         if (rows > 0 && size + 2 + rowSize > maxStatementSize) {
+            sql.add(new UnparsedSql(buffer.toString(), table));
+            buffer.setLength(header.length());
+            size = headerSize;
+            rows = 0;
+         }
+         if (rows > 0) {
+            buffer.append(", ");
+            size += 2;
+         }
+         buffer.append(row);
+         size += rowSize;
+         rows++;
+      }
+      sql.add(new UnparsedSql(buffer.toString(), table));
+      return sql.toArray(new Sql[sql.size()]);
+   }
+
+   /**
+    * Returns the spatial insert generator that writes the values of each row or <code>null</code>
+    * if the database doesn't support multi-row <code>INSERT</code>s.
+    * 
+    * @return the insert generator or <code>null</code>.
+    */
+   protected AbstractSpatialInsertGenerator getInsertGenerator() {
+      return null;
+   }
+}
@@ -0,0 +1,27 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import liquibase.database.Database;
+import liquibase.database.core.DerbyDatabase;
+import liquibase.database.core.H2Database;
+import liquibase.ext.spatial.statement.SpatialInsertSetStatement;
+
+/**
+ * The <code>SpatialInsertSetGeneratorGeoDB</code> writes consecutive <code>INSERT</code>s as
+ * multi-row <code>INSERT</code>s in Apache Derby and H2.
+ */
+public class SpatialInsertSetGeneratorGeoDB extends SpatialInsertSetGenerator {
+   @Override
+   public int getPriority() {
+      return super.getPriority() + 1;
+   }
+
+   @Override
+   public boolean supports(final SpatialInsertSetStatement statement, final Database database) {
+      return database instanceof DerbyDatabase || database instanceof H2Database;
+   }
+
+   @Override
+   protected AbstractSpatialInsertGenerator getInsertGenerator() {
+      return new SpatialInsertGeneratorGeoDB();
+   }
+}
@@ -0,0 +1,26 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import liquibase.database.Database;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.ext.spatial.statement.SpatialInsertSetStatement;
+
+/**
+ * The <code>SpatialInsertSetGeneratorMySQL</code> writes consecutive <code>INSERT</code>s as
+ * multi-row <code>INSERT</code>s in MySQL.
+ */
+public class SpatialInsertSetGeneratorMySQL extends SpatialInsertSetGenerator {
+   @Override
+   public int getPriority() {
+      return super.getPriority() + 1;
+   }
+
+   @Override
+   public boolean supports(final SpatialInsertSetStatement statement, final Database database) {
+      return database instanceof MySQLDatabase;
+   }
+
+   @Override
+   protected AbstractSpatialInsertGenerator getInsertGenerator() {
+      return new SpatialInsertGeneratorMySQL();
+   }
+}
@@ -0,0 +1,26 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.ext.spatial.statement.SpatialInsertSetStatement;
+
+/**
+ * The <code>SpatialInsertSetGeneratorPostgreSQL</code> writes consecutive <code>INSERT</code>s as
+ * multi-row <code>INSERT</code>s in PostgreSQL.
+ */
+public class SpatialInsertSetGeneratorPostgreSQL extends SpatialInsertSetGenerator {
+   @Override
+   public int getPriority() {
+      return super.getPriority() + 1;
+   }
+
+   @Override
+   public boolean supports(final SpatialInsertSetStatement statement, final Database database) {
+      return database instanceof PostgresDatabase;
+   }
+
+   @Override
+   protected AbstractSpatialInsertGenerator getInsertGenerator() {
+      return new SpatialInsertGeneratorPostgreSQL();
+   }
+}
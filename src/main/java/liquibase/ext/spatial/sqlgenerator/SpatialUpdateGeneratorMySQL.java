@@ -1,7 +1,10 @@
 package liquibase.ext.spatial.sqlgenerator;
 
+import java.io.IOException;
+
 import liquibase.database.Database;
 import liquibase.database.core.MySQLDatabase;
+import liquibase.ext.spatial.utils.PointScanner;
 import liquibase.statement.core.UpdateStatement;
 
 /**
@@ -24,4 +27,29 @@ public class SpatialUpdateGeneratorMySQL extends AbstractSpatialUpdateGenerator
    public String getGeomFromWktFunction() {
       return "GeomFromText";
    }
+
+   /**
+    * Returns the name of the function that converts Well-Known Binary to a database-specific
+    * geometry.
+    * 
+    * @return the name of the function that converts WKB to a geometry.
+    */
+   @Override
+   public String getGeomFromWkbFunction() {
+      return "GeomFromWKB";
+   }
+
+   /**
+    * Writes points without an SRID with the <code>POINT</code> constructor. The constructor can't
+    * set an SRID so points with one are written with {@link #getGeomFromWktFunction()}.
+    */
+   @Override
+   public boolean appendPointFunction(final Appendable out, final PointScanner point,
+         final String srid, final Database database) throws IOException {
+      if (srid != null && !srid.equals("")) {
+         return false;
+      }
+      out.append("POINT(").append(point.getX()).append(", ").append(point.getY()).append(')');
+      return true;
+   }
 }
@@ -1,7 +1,12 @@
 package liquibase.ext.spatial.sqlgenerator;
 
+import java.io.IOException;
+
 import liquibase.database.Database;
 import liquibase.database.core.OracleDatabase;
+import liquibase.ext.spatial.statement.BoundParameters;
+import liquibase.ext.spatial.utils.PointScanner;
+import liquibase.ext.spatial.utils.WkbHexScanner;
 import liquibase.statement.core.UpdateStatement;
 
 /**
@@ -32,9 +37,71 @@ public class SpatialUpdateGeneratorOracle extends AbstractSpatialUpdateGenerator
     * Handles the Well-Known Text and SRID for Oracle.
     */
    @Override
-   public String convertToFunction(final String wkt, final String srid, final Database database) {
-      final String oracleWkt = OracleSpatialUtils.getOracleWkt(wkt);
+   public void appendFunction(final Appendable out, final CharSequence wkt, final String srid,
+         final Database database) throws IOException {
+      final String oracleSrid = OracleSpatialUtils.getOracleSrid(srid, database);
+      OracleSpatialUtils.appendSdoGeometry(out, wkt, oracleSrid);
+   }
+
+   /**
+    * Writes the point as an <code>SDO_POINT_TYPE</code> so that Oracle doesn't parse the WKT.
+    */
+   @Override
+   public boolean appendPointFunction(final Appendable out, final PointScanner point,
+         final String srid, final Database database) throws IOException {
+      final String oracleSrid = OracleSpatialUtils.getOracleSrid(srid, database);
+      OracleSpatialUtils.appendSdoPoint(out, point, oracleSrid);
+      return true;
+   }
+
+   /**
+    * Returns the name of the function that converts Well-Known Binary to a database-specific
+    * geometry.
+    * 
+    * @return the name of the function that converts WKB to a geometry.
+    */
+   @Override
+   public String getGeomFromWkbFunction() {
+      return "SDO_GEOMETRY";
+   }
+
+   /**
+    * Handles the Well-Known Binary and SRID for Oracle.
+    */
+   @Override
+   public void appendWkbFunction(final Appendable out, final WkbHexScanner wkb, final String srid,
+         final Database database) throws IOException {
+      final String oracleSrid = OracleSpatialUtils.getOracleSrid(srid, database);
+      OracleSpatialUtils.appendSdoGeometry(out, wkb, oracleSrid);
+   }
+
+   /**
+    * Handles the Well-Known Binary bytes and SRID for Oracle.
+    */
+   @Override
+   public void appendWkbFunction(final Appendable out, final byte[] wkb, final String srid,
+         final Database database) throws IOException {
+      final String oracleSrid = OracleSpatialUtils.getOracleSrid(srid, database);
+      OracleSpatialUtils.appendSdoGeometry(out, wkb, oracleSrid);
+   }
+
+   /**
+    * Handles the bound Well-Known Binary and SRID for Oracle.
+    */
+   @Override
+   public void appendWkbParameter(final Appendable out, final byte[] wkb, final String srid,
+         final Database database, final BoundParameters parameters) throws IOException {
+      final String oracleSrid = OracleSpatialUtils.getOracleSrid(srid, database);
+      OracleSpatialUtils.appendSdoGeometryParameter(out, wkb, oracleSrid, parameters);
+   }
+
+   /**
+    * Binds the Well-Known Text as a single CLOB for Oracle.
+    */
+   @Override
+   public void appendWktParameter(final Appendable out, final CharSequence wkt, final String srid,
+         final Database database, final BoundParameters parameters) throws IOException {
       final String oracleSrid = OracleSpatialUtils.getOracleSrid(srid, database);
-      return super.convertToFunction(oracleWkt, oracleSrid, database);
+      OracleSpatialUtils.appendSdoGeometryClobParameter(out, wkt, oracleSrid, parameters);
    }
 }
@@ -0,0 +1,116 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import java.io.IOException;
+
+import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.ext.spatial.configuration.SpatialConfiguration.GeometryLiteralFormat;
+import liquibase.ext.spatial.utils.PointScanner;
+import liquibase.ext.spatial.utils.WkbHexScanner;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.statement.core.UpdateStatement;
+
+/**
+ * The <code>SpatialUpdateGeneratorPostgreSQL</code> generates the SQL for <code>UPDATE</code>ing
+ * geometries in PostGIS as Well-Known Binary. PostGIS accepts Well-Known Text as is so this
+ * generator only takes part when the {@link GeometryLiteralFormat#WKB} format is configured, the
+ * values are bound as parameters or a value must be converted, e.g. points, which are built with
+ * <code>ST_MakePoint</code> instead of being parsed.
+ */
+public class SpatialUpdateGeneratorPostgreSQL extends AbstractSpatialUpdateGenerator {
+   @Override
+   public boolean supports(final UpdateStatement statement, final Database database) {
+      return database instanceof PostgresDatabase;
+   }
+
+   /**
+    * Leaves the statement to the next generator unless geometries are written as WKB, the values
+    * are bound as parameters or a value must be converted (see
+    * {@link WktConversionUtils#requiresConversion}), e.g. a point that can be written with
+    * <code>ST_MakePoint</code>. The format is checked here rather than in {@link #supports} because
+    * the supported generators are cached.
+    */
+   @Override
+   public Sql[] generateSql(final UpdateStatement statement, final Database database,
+         final SqlGeneratorChain sqlGeneratorChain) {
+      if (getGeometryLiteralFormat(database) != GeometryLiteralFormat.WKB
+            && getBoundParameters(statement) == null
+            && !WktConversionUtils.requiresConversion(statement.getNewColumnValues().values())) {
+         return sqlGeneratorChain.generateSql(statement, database);
+      }
+      return super.generateSql(statement, database, sqlGeneratorChain);
+   }
+
+   /**
+    * Returns the name of the function that converts Well-Known Text to a database-specific
+    * geometry.
+    * 
+    * @return the name of the function that converts WKT to a geometry.
+    */
+   @Override
+   public String getGeomFromWktFunction() {
+      return "ST_GeomFromText";
+   }
+
+   /**
+    * Writes the point with <code>ST_MakePoint</code> and sets its SRID with
+    * <code>ST_SetSRID</code>.
+    */
+   @Override
+   public boolean appendPointFunction(final Appendable out, final PointScanner point,
+         final String srid, final Database database) throws IOException {
+      final boolean hasSrid = srid != null && !srid.equals("");
+      if (hasSrid) {
+         out.append("ST_SetSRID(");
+      }
+      out.append("ST_MakePoint(").append(point.getX()).append(", ").append(point.getY())
+            .append(')');
+      if (hasSrid) {
+         out.append(", ").append(srid).append(')');
+      }
+      return true;
+   }
+
+   /**
+    * Handles the Well-Known Binary and SRID for PostGIS. The hex string is decoded to a
+    * <code>bytea</code> with <code>decode</code> which, unlike a <code>bytea</code> escape
+    * literal, doesn't depend on <code>standard_conforming_strings</code>.
+    */
+   @Override
+   public void appendWkbFunction(final Appendable out, final WkbHexScanner wkb, final String srid,
+         final Database database) throws IOException {
+      out.append(getGeomFromWkbFunction()).append("(decode('");
+      wkb.appendWkb(out);
+      appendDecodeEnd(out, srid);
+   }
+
+   /**
+    * Handles the Well-Known Binary bytes and SRID for PostGIS in the same way as the hex string.
+    */
+   @Override
+   public void appendWkbFunction(final Appendable out, final byte[] wkb, final String srid,
+         final Database database) throws IOException {
+      out.append(getGeomFromWkbFunction()).append("(decode('");
+      WktConversionUtils.appendHex(out, wkb);
+      appendDecodeEnd(out, srid);
+   }
+
+   /**
+    * Writes the end of the <code>decode</code> call and the SRID argument.
+    * 
+    * @param out
+    *           the output to which the SQL is written.
+    * @param srid
+    *           the SRID string which may be <code>null</code>.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   private void appendDecodeEnd(final Appendable out, final String srid) throws IOException {
+      out.append("', 'hex')");
+      if (srid != null && !srid.equals("")) {
+         out.append(", ").append(srid);
+      }
+      out.append(')');
+   }
+}
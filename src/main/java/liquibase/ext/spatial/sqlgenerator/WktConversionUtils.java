@@ -1,11 +1,23 @@
 package liquibase.ext.spatial.sqlgenerator;
 
-import java.util.regex.Matcher;
+import java.io.IOException;
+import java.util.Collection;
 import java.util.regex.Pattern;
 
 import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.io.ParseException;
+import com.vividsolutions.jts.io.WKBWriter;
+import com.vividsolutions.jts.io.WKTReader;
 
 import liquibase.database.Database;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.ext.spatial.configuration.SpatialConfiguration;
+import liquibase.ext.spatial.configuration.SpatialConfiguration.GeometryLiteralFormat;
+import liquibase.ext.spatial.statement.BoundParameters;
+import liquibase.ext.spatial.utils.EwktScanner;
+import liquibase.ext.spatial.utils.GeometryPrecision;
+import liquibase.ext.spatial.utils.PointScanner;
+import liquibase.ext.spatial.utils.WkbHexScanner;
 
 public class WktConversionUtils {
    /** The SRID regular expression. */
@@ -17,17 +29,26 @@ public class WktConversionUtils {
    /** The PostGIS EWKT regular expression. */
    public static final String EWKT_REGEX = "(" + SRID_REGEX + "[\\s]*)?" + WKT_REGEX;
 
-   /** The EWKT <code>Pattern</code> instance. */
+   /**
+    * The EWKT <code>Pattern</code> instance. {@link #handleColumnValue} uses the equivalent
+    * {@link EwktScanner} which runs in linear time on very large geometries.
+    */
    public static final Pattern EWKT_PATTERN = Pattern.compile(EWKT_REGEX,
          Pattern.CASE_INSENSITIVE);
 
+   /** The maximum length of a string checked by {@link #requiresConversion(Collection)}. */
+   private static final int MAX_POINT_LENGTH = 256;
+
+   /** The upper case hex digits. */
+   private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
    /** Hide the default constructor. */
    private WktConversionUtils() {
    }
 
    /**
-    * If the old value is a geometry or a Well-Known Text, convert it to the
-    * appropriate new value. Otherwise, this method returns the old value.
+    * If the old value is a geometry, a Well-Known Text or a hex encoded Well-Known Binary, convert
+    * it to the appropriate new value. Otherwise, this method returns the old value.
     * 
     * @param oldValue
     *           the old value.
@@ -39,29 +60,282 @@ public class WktConversionUtils {
     */
    public static Object handleColumnValue(final Object oldValue, final Database database,
          final WktInsertOrUpdateGenerator generator) {
-      Object newValue = oldValue;
-      if (oldValue instanceof Geometry) {
-         final Geometry geometry = (Geometry) oldValue;
-         final String wkt = geometry.toText();
+      Object newValue = GeometryPrecision.reduceToConfiguredPrecision(oldValue);
+      if (newValue instanceof Geometry) {
+         final Geometry geometry = (Geometry) newValue;
+         final String wkt = GeometryPrecision.toText(geometry);
          String sridString = null;
          if (geometry.getSRID() > 0) {
             sridString = String.valueOf(geometry.getSRID());
          }
          newValue = generator.convertToFunction(wkt, sridString, database);
-      } else if (oldValue instanceof String) {
-         final String value = oldValue.toString().trim();
-         final Matcher matcher = EWKT_PATTERN.matcher(value);
-         if (matcher.matches()) {
-            final String sridString = matcher.group(2);
-            final String wkt = matcher.group(3);
+      } else if (newValue instanceof String) {
+         final EwktScanner ewkt = EwktScanner.scan((String) newValue);
+         if (ewkt != null) {
+            final String sridString = ewkt.getSrid();
+            final String wkt = ewkt.getWkt();
             final String function = generator.convertToFunction(wkt, sridString,
                   database);
             newValue = function;
+         } else {
+            final WkbHexScanner wkb = WkbHexScanner.scan((String) newValue);
+            if (wkb != null) {
+               final StringBuilder function = new StringBuilder(wkb.getWkbLength() + 64);
+               try {
+                  generator.appendWkbFunction(function, wkb, wkb.getSrid(), database);
+               } catch (final IOException e) {
+                  throw new UnexpectedLiquibaseException(e);
+               }
+               newValue = function.toString();
+            }
          }
       }
       return newValue;
    }
 
+   /**
+    * If the value is a geometry, a Well-Known Text or a hex encoded Well-Known Binary, writes the
+    * appropriate function call for the database to the output. The coordinates are first rounded
+    * to the {@link SpatialConfiguration#getCoordinatePrecision()}, if one is configured. Unlike
+    * {@link #handleColumnValue}, the WKT is never copied.
+    * 
+    * @param out
+    *           the output to which the function call is written.
+    * @param columnValue
+    *           the column value.
+    * @param database
+    *           the database instance.
+    * @param generator
+    *           the SQL generator.
+    * @return <code>true</code> if the value was written, otherwise the value is not a geometry and
+    *         nothing was written.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   public static boolean appendColumnValue(final Appendable out, final Object columnValue,
+         final Database database, final WktInsertOrUpdateGenerator generator) throws IOException {
+      final Object value = GeometryPrecision.reduceToConfiguredPrecision(columnValue);
+      if (value instanceof Geometry) {
+         final Geometry geometry = (Geometry) value;
+         String sridString = null;
+         if (geometry.getSRID() > 0) {
+            sridString = String.valueOf(geometry.getSRID());
+         }
+         if (isWkbFormat(database, generator)
+               && appendWkbFunction(out, geometry, sridString, database, generator)) {
+            return true;
+         }
+         appendGeometryFunction(out, GeometryPrecision.toText(geometry), sridString, database,
+               generator);
+         return true;
+      } else if (value instanceof String) {
+         final EwktScanner ewkt = EwktScanner.scan((String) value);
+         if (ewkt != null) {
+            if (isWkbFormat(database, generator)) {
+               final Geometry geometry = readWkt(ewkt.getWkt());
+               if (geometry != null
+                     && appendWkbFunction(out, geometry, ewkt.getSrid(), database, generator)) {
+                  return true;
+               }
+            }
+            appendGeometryFunction(out, ewkt.getWktSequence(), ewkt.getSrid(), database,
+                  generator);
+            return true;
+         }
+         final WkbHexScanner wkb = WkbHexScanner.scan((String) value);
+         if (wkb != null) {
+            generator.appendWkbFunction(out, wkb, wkb.getSrid(), database);
+            return true;
+         }
+      }
+      return false;
+   }
+
+   /**
+    * If the value is a geometry, a Well-Known Text or a hex encoded Well-Known Binary, writes the
+    * function call that converts a WKB parameter to a geometry and adds the WKB and SRID to the
+    * bound parameters. Well-Known Text that JTS cannot parse is passed to
+    * {@link WktInsertOrUpdateGenerator#appendWktParameter}. The coordinates are first rounded to
+    * the {@link SpatialConfiguration#getCoordinatePrecision()}, if one is configured.
+    * 
+    * @param out
+    *           the output to which the function call is written.
+    * @param columnValue
+    *           the column value.
+    * @param database
+    *           the database instance.
+    * @param generator
+    *           the SQL generator.
+    * @param parameters
+    *           the parameters to which the WKB and SRID are added.
+    * @return <code>true</code> if the value was written, otherwise the value is not a geometry and
+    *         nothing was written.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   public static boolean appendColumnParameter(final Appendable out, final Object columnValue,
+         final Database database, final WktInsertOrUpdateGenerator generator,
+         final BoundParameters parameters) throws IOException {
+      final Object value = GeometryPrecision.reduceToConfiguredPrecision(columnValue);
+      final Geometry geometry;
+      final String sridString;
+      if (value instanceof Geometry) {
+         geometry = (Geometry) value;
+         sridString = geometry.getSRID() > 0 ? String.valueOf(geometry.getSRID()) : null;
+      } else if (value instanceof String) {
+         final EwktScanner ewkt = EwktScanner.scan((String) value);
+         if (ewkt == null) {
+            final WkbHexScanner wkb = WkbHexScanner.scan((String) value);
+            if (wkb == null) {
+               return false;
+            }
+            generator.appendWkbParameter(out, wkb.toWkbByteArray(), wkb.getSrid(), database,
+                  parameters);
+            return true;
+         }
+         geometry = readWkt(ewkt.getWkt());
+         sridString = ewkt.getSrid();
+         if (geometry == null) {
+            generator.appendWktParameter(out, ewkt.getWktSequence(), sridString, database,
+                  parameters);
+            return true;
+         }
+      } else {
+         return false;
+      }
+      if (geometry.isEmpty()) {
+         generator.appendFunction(out, GeometryPrecision.toText(geometry), sridString, database);
+      } else {
+         generator.appendWkbParameter(out, toWkb(geometry), sridString, database, parameters);
+      }
+      return true;
+   }
+
+   /**
+    * Indicates if the generator writes geometries as Well-Known Binary.
+    * 
+    * @param database
+    *           the database instance.
+    * @param generator
+    *           the SQL generator.
+    * @return <code>true</code> if geometries are written as WKB.
+    */
+   private static boolean isWkbFormat(final Database database,
+         final WktInsertOrUpdateGenerator generator) {
+      return generator.getGeometryLiteralFormat(database) == GeometryLiteralFormat.WKB;
+   }
+
+   /**
+    * Parses the given Well-Known Text.
+    * 
+    * @param wkt
+    *           the Well-Known Text.
+    * @return the geometry or <code>null</code> if JTS cannot parse the WKT (e.g.
+    *         <code>POINT Z</code>) in which case the database has to.
+    */
+   private static Geometry readWkt(final String wkt) {
+      try {
+         return new WKTReader().read(wkt);
+      } catch (final ParseException e) {
+         return null;
+      }
+   }
+
+   /**
+    * Encodes the geometry as Well-Known Binary on the client and writes the function call that
+    * converts it to a geometry.
+    * 
+    * @param out
+    *           the output to which the function call is written.
+    * @param geometry
+    *           the geometry.
+    * @param srid
+    *           the SRID string which may be <code>null</code>.
+    * @param database
+    *           the database instance.
+    * @param generator
+    *           the SQL generator.
+    * @return <code>true</code> if the function call was written or <code>false</code> if the
+    *         geometry cannot be written as WKB (i.e. it is empty).
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   private static boolean appendWkbFunction(final Appendable out, final Geometry geometry,
+         final String srid, final Database database, final WktInsertOrUpdateGenerator generator)
+         throws IOException {
+      if (geometry.isEmpty()) {
+         return false;
+      }
+      generator.appendWkbFunction(out, toWkb(geometry), srid, database);
+      return true;
+   }
+
+   /**
+    * Encodes the geometry as Well-Known Binary with Z coordinates if it has them.
+    * 
+    * @param geometry
+    *           the geometry.
+    * @return the WKB bytes.
+    */
+   private static byte[] toWkb(final Geometry geometry) {
+      return new WKBWriter(GeometryPrecision.getDimension(geometry)).write(geometry);
+   }
+
+   /**
+    * Writes the function call that converts the given Well-Known Text and SRID to a geometry.
+    * Two-dimensional points are written with the generator's native point constructor, if it has
+    * one, so that the database doesn't parse the WKT. Everything else is written with
+    * {@link WktInsertOrUpdateGenerator#appendFunction}.
+    * 
+    * @param out
+    *           the output to which the function call is written.
+    * @param wkt
+    *           the Well-Known Text.
+    * @param srid
+    *           the SRID string which may be <code>null</code>.
+    * @param database
+    *           the database instance.
+    * @param generator
+    *           the SQL generator.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   public static void appendGeometryFunction(final Appendable out, final CharSequence wkt,
+         final String srid, final Database database, final WktInsertOrUpdateGenerator generator)
+         throws IOException {
+      final PointScanner point = PointScanner.scan(wkt);
+      if (point == null || !generator.appendPointFunction(out, point, srid, database)) {
+         generator.appendFunction(out, wkt, srid, database);
+      }
+   }
+
+   /**
+    * Indicates if any of the values must be converted by the spatial generators rather than
+    * written as is, i.e. a value is a JTS geometry or a two-dimensional point that can be built
+    * with a native constructor, or coordinates are rounded to a configured precision. Long strings
+    * are not scanned because they can't be a point.
+    * 
+    * @param values
+    *           the column values.
+    * @return <code>true</code> if a value must be converted.
+    */
+   public static boolean requiresConversion(final Collection<Object> values) {
+      if (SpatialConfiguration.getInstance().getCoordinatePrecision() != null) {
+         return true;
+      }
+      for (final Object value : values) {
+         if (value instanceof Geometry) {
+            return true;
+         } else if (value instanceof String && ((String) value).length() <= MAX_POINT_LENGTH) {
+            final EwktScanner ewkt = EwktScanner.scan((String) value);
+            if (ewkt != null && PointScanner.scan(ewkt.getWktSequence()) != null) {
+               return true;
+            }
+         }
+      }
+      return false;
+   }
+
    /**
     * Converts the given Well-Known Text and SRID to the appropriate function
     * call for the database.
@@ -78,7 +352,35 @@ public class WktConversionUtils {
     */
    public static String convertToFunction(final String wkt, final String srid,
          final Database database, final WktInsertOrUpdateGenerator generator) {
-      if (wkt == null || wkt.equals("")) {
+      final StringBuilder function = new StringBuilder(estimateLength(wkt));
+      try {
+         appendFunction(function, wkt, srid, database, generator);
+      } catch (final IOException e) {
+         throw new UnexpectedLiquibaseException(e);
+      }
+      return function.toString();
+   }
+
+   /**
+    * Writes the function call that converts the given Well-Known Text and SRID to a geometry.
+    * 
+    * @param out
+    *           the output to which the function call is written.
+    * @param wkt
+    *           the Well-Known Text.
+    * @param srid
+    *           the SRID string which may be an empty string.
+    * @param database
+    *           the database instance.
+    * @param generator
+    *           the SQL generator.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   public static void appendFunction(final Appendable out, final CharSequence wkt,
+         final String srid, final Database database, final WktInsertOrUpdateGenerator generator)
+         throws IOException {
+      if (wkt == null || wkt.length() == 0) {
          throw new IllegalArgumentException(
                "The Well-Known Text cannot be null or empty");
       }
@@ -86,14 +388,203 @@ public class WktConversionUtils {
          throw new IllegalArgumentException("The generator cannot be null or empty");
       }
       final String geomFromTextFunction = generator.getGeomFromWktFunction();
-      String function = geomFromTextFunction + "('" + wkt + "'";
-      if (srid != null && !srid.equals("")) {
-         function += ", " + srid;
-      } else if (generator.isSridRequiredInFunction(database)) {
+      final boolean hasSrid = srid != null && !srid.equals("");
+      if (!hasSrid && generator.isSridRequiredInFunction(database)) {
          throw new IllegalArgumentException("An SRID was not provided with '" + wkt
                + "' but is required in call to '" + geomFromTextFunction + "'");
       }
-      function += ")";
-      return function;
+      out.append(geomFromTextFunction).append("('").append(wkt).append('\'');
+      if (hasSrid) {
+         out.append(", ").append(srid);
+      }
+      out.append(')');
+   }
+
+   /**
+    * Writes the function call that converts the given hex encoded Well-Known Binary to a geometry.
+    * The WKB is written as a binary literal (i.e. <code>X'...'</code>) and the SRID is passed as
+    * the second argument.
+    * 
+    * @param out
+    *           the output to which the function call is written.
+    * @param wkb
+    *           the scanned WKB or EWKB hex string.
+    * @param srid
+    *           the SRID string which may be <code>null</code>.
+    * @param database
+    *           the database instance.
+    * @param generator
+    *           the SQL generator.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   public static void appendWkbFunction(final Appendable out, final WkbHexScanner wkb,
+         final String srid, final Database database, final WktInsertOrUpdateGenerator generator)
+         throws IOException {
+      appendWkbFunctionName(out, srid, database, generator);
+      wkb.appendWkb(out);
+      appendWkbFunctionSrid(out, srid);
+   }
+
+   /**
+    * Writes the function call that converts the given Well-Known Binary to a geometry. The WKB is
+    * written as a binary literal (i.e. <code>X'...'</code>) straight from the bytes and the SRID
+    * is passed as the second argument.
+    * 
+    * @param out
+    *           the output to which the function call is written.
+    * @param wkb
+    *           the WKB bytes without an EWKB SRID.
+    * @param srid
+    *           the SRID string which may be <code>null</code>.
+    * @param database
+    *           the database instance.
+    * @param generator
+    *           the SQL generator.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   public static void appendWkbFunction(final Appendable out, final byte[] wkb,
+         final String srid, final Database database, final WktInsertOrUpdateGenerator generator)
+         throws IOException {
+      appendWkbFunctionName(out, srid, database, generator);
+      appendHex(out, wkb);
+      appendWkbFunctionSrid(out, srid);
+   }
+
+   /**
+    * Writes the start of the WKB function call up to the opening quote of the binary literal.
+    * 
+    * @param out
+    *           the output to which the function call is written.
+    * @param srid
+    *           the SRID string which may be <code>null</code>.
+    * @param database
+    *           the database instance.
+    * @param generator
+    *           the SQL generator.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   private static void appendWkbFunctionName(final Appendable out, final String srid,
+         final Database database, final WktInsertOrUpdateGenerator generator) throws IOException {
+      if (generator == null) {
+         throw new IllegalArgumentException("The generator cannot be null or empty");
+      }
+      final String geomFromWkbFunction = generator.getGeomFromWkbFunction();
+      final boolean hasSrid = srid != null && !srid.equals("");
+      if (!hasSrid && generator.isSridRequiredInFunction(database)) {
+         throw new IllegalArgumentException("An SRID was not provided with the WKB value"
+               + " but is required in call to '" + geomFromWkbFunction + "'");
+      }
+      out.append(geomFromWkbFunction).append("(X'");
+   }
+
+   /**
+    * Writes the end of the WKB function call from the closing quote of the binary literal.
+    * 
+    * @param out
+    *           the output to which the function call is written.
+    * @param srid
+    *           the SRID string which may be <code>null</code>.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   private static void appendWkbFunctionSrid(final Appendable out, final String srid)
+         throws IOException {
+      out.append('\'');
+      if (srid != null && !srid.equals("")) {
+         out.append(", ").append(srid);
+      }
+      out.append(')');
+   }
+
+   /**
+    * Writes the bytes as upper case hex digits.
+    * 
+    * @param out
+    *           the output to which the hex digits are written.
+    * @param bytes
+    *           the bytes.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   public static void appendHex(final Appendable out, final byte[] bytes) throws IOException {
+      for (final byte b : bytes) {
+         out.append(HEX_DIGITS[(b >>> 4) & 0x0F]).append(HEX_DIGITS[b & 0x0F]);
+      }
+   }
+
+   /**
+    * Writes the function call that converts a Well-Known Binary parameter to a geometry, i.e.
+    * <code>ST_GeomFromWKB(?, ?)</code>, and adds the WKB bytes and the SRID to the bound
+    * parameters.
+    * 
+    * @param out
+    *           the output to which the function call is written.
+    * @param wkb
+    *           the WKB bytes.
+    * @param srid
+    *           the SRID string which may be <code>null</code>.
+    * @param database
+    *           the database instance.
+    * @param generator
+    *           the SQL generator.
+    * @param parameters
+    *           the parameters to which the WKB and SRID are added.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   public static void appendWkbParameter(final Appendable out, final byte[] wkb,
+         final String srid, final Database database, final WktInsertOrUpdateGenerator generator,
+         final BoundParameters parameters) throws IOException {
+      if (generator == null) {
+         throw new IllegalArgumentException("The generator cannot be null or empty");
+      }
+      final String geomFromWkbFunction = generator.getGeomFromWkbFunction();
+      final boolean hasSrid = srid != null && !srid.equals("");
+      if (!hasSrid && generator.isSridRequiredInFunction(database)) {
+         throw new IllegalArgumentException("An SRID was not provided with the WKB value"
+               + " but is required in call to '" + geomFromWkbFunction + "'");
+      }
+      out.append(geomFromWkbFunction).append("(?");
+      parameters.add(wkb);
+      if (hasSrid) {
+         out.append(", ?");
+         parameters.add(Integer.valueOf(srid));
+      }
+      out.append(')');
+   }
+
+   /**
+    * Estimates the length of the function call for the given Well-Known Text so that the output
+    * buffer can be allocated once. The estimate leaves room for the function name, the SRID and
+    * any database-specific splitting of long literals.
+    * 
+    * @param wkt
+    *           the Well-Known Text.
+    * @return the estimated length.
+    */
+   public static int estimateLength(final CharSequence wkt) {
+      final int length = wkt == null ? 0 : wkt.length();
+      return length + length / 128 + 64;
+   }
+
+   /**
+    * Indicates if the value, ignoring leading whitespace, starts with the given prefix. This
+    * avoids trimming and upper casing a copy of a very large value.
+    * 
+    * @param value
+    *           the value to check.
+    * @param prefix
+    *           the prefix.
+    * @return <code>true</code> if the value starts with the prefix.
+    */
+   public static boolean startsWithIgnoreCase(final String value, final String prefix) {
+      int start = 0;
+      while (start < value.length() && value.charAt(start) <= ' ') {
+         start++;
+      }
+      return value.regionMatches(true, start, prefix, 0, prefix.length());
    }
 }
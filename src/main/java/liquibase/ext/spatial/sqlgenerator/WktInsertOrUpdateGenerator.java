@@ -1,6 +1,12 @@
 package liquibase.ext.spatial.sqlgenerator;
 
+import java.io.IOException;
+
 import liquibase.database.Database;
+import liquibase.ext.spatial.configuration.SpatialConfiguration.GeometryLiteralFormat;
+import liquibase.ext.spatial.statement.BoundParameters;
+import liquibase.ext.spatial.utils.PointScanner;
+import liquibase.ext.spatial.utils.WkbHexScanner;
 
 /**
  * <code>WktInsertOrUpdateGenerator</code> defines operators for SQL generators
@@ -22,6 +28,137 @@ public interface WktInsertOrUpdateGenerator {
     */
    String convertToFunction(String wkt, String sridString, Database database);
 
+   /**
+    * Writes the function call that converts the given Well-Known Text and SRID to a
+    * database-specific geometry. The WKT is written straight to the output without intermediate
+    * copies so very large geometries can be streamed into the SQL buffer or a
+    * <code>Writer</code>.
+    * 
+    * @param out
+    *           the output to which the function call is written.
+    * @param wkt
+    *           the Well-Known Text.
+    * @param sridString
+    *           the SRID string which may be an empty string.
+    * @param database
+    *           the database instance.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   void appendFunction(Appendable out, CharSequence wkt, String sridString, Database database)
+         throws IOException;
+
+   /**
+    * Writes the function call that converts the given hex encoded Well-Known Binary to a
+    * database-specific geometry. Any SRID embedded in EWKB is ignored in favor of the given SRID.
+    * 
+    * @param out
+    *           the output to which the function call is written.
+    * @param wkb
+    *           the scanned WKB or EWKB hex string.
+    * @param sridString
+    *           the SRID string which may be <code>null</code>.
+    * @param database
+    *           the database instance.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   void appendWkbFunction(Appendable out, WkbHexScanner wkb, String sridString, Database database)
+         throws IOException;
+
+   /**
+    * Writes the function call that converts the given Well-Known Binary, encoded on the client
+    * from a JTS geometry, to a database-specific geometry. The bytes are written as hex without
+    * being copied to a hex string first.
+    * 
+    * @param out
+    *           the output to which the function call is written.
+    * @param wkb
+    *           the WKB bytes without an EWKB SRID.
+    * @param sridString
+    *           the SRID string which may be <code>null</code>.
+    * @param database
+    *           the database instance.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   void appendWkbFunction(Appendable out, byte[] wkb, String sridString, Database database)
+         throws IOException;
+
+   /**
+    * Writes the database's native point constructor for the given coordinates, e.g.
+    * <code>ST_MakePoint(x, y)</code>, so that the database doesn't have to parse Well-Known Text.
+    * 
+    * @param out
+    *           the output to which the constructor call is written.
+    * @param point
+    *           the scanned two-dimensional point.
+    * @param sridString
+    *           the SRID string which may be <code>null</code>.
+    * @param database
+    *           the database instance.
+    * @return <code>true</code> if the constructor call was written or <code>false</code> if the
+    *         database doesn't have a suitable constructor, in which case nothing was written and
+    *         the point must be written with {@link #appendFunction}.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   boolean appendPointFunction(Appendable out, PointScanner point, String sridString,
+         Database database) throws IOException;
+
+   /**
+    * Writes the function call that converts a Well-Known Binary parameter to a database-specific
+    * geometry, e.g. <code>ST_GeomFromWKB(?, ?)</code>, and adds the WKB and SRID to the bound
+    * parameters in the order of their markers.
+    * 
+    * @param out
+    *           the output to which the function call is written.
+    * @param wkb
+    *           the WKB bytes without an EWKB SRID.
+    * @param sridString
+    *           the SRID string which may be <code>null</code>.
+    * @param database
+    *           the database instance.
+    * @param parameters
+    *           the parameters to which the WKB and SRID are added.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   void appendWkbParameter(Appendable out, byte[] wkb, String sridString, Database database,
+         BoundParameters parameters) throws IOException;
+
+   /**
+    * Writes the function call that converts Well-Known Text, which couldn't be encoded as
+    * Well-Known Binary on the client, to a database-specific geometry when the values are bound.
+    * The WKT may be added to the bound parameters or written to the SQL as with
+    * {@link #appendFunction}.
+    * 
+    * @param out
+    *           the output to which the function call is written.
+    * @param wkt
+    *           the Well-Known Text without an EWKT SRID.
+    * @param sridString
+    *           the SRID string which may be <code>null</code>.
+    * @param database
+    *           the database instance.
+    * @param parameters
+    *           the parameters to which the WKT and SRID may be added.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   void appendWktParameter(Appendable out, CharSequence wkt, String sridString, Database database,
+         BoundParameters parameters) throws IOException;
+
+   /**
+    * Returns the format in which geometries that are given as Well-Known Text or JTS geometries
+    * are written to the SQL.
+    * 
+    * @param database
+    *           the database instance.
+    * @return the geometry literal format.
+    */
+   GeometryLiteralFormat getGeometryLiteralFormat(Database database);
+
    /**
     * Returns the name of the function that converts Well-Known Text to a
     * database-specific geometry.
@@ -31,8 +168,16 @@ public interface WktInsertOrUpdateGenerator {
    String getGeomFromWktFunction();
 
    /**
-    * Indicates if the SRID parameter is required in the function returned from
-    * {@link #getGeomFromWktFunction()}.
+    * Returns the name of the function that converts Well-Known Binary to a
+    * database-specific geometry.
+    * 
+    * @return the name of the function that converts WKB to a geometry.
+    */
+   String getGeomFromWkbFunction();
+
+   /**
+    * Indicates if the SRID parameter is required in the functions returned from
+    * {@link #getGeomFromWktFunction()} and {@link #getGeomFromWkbFunction()}.
     * 
     * @param database
     *           the database instance.
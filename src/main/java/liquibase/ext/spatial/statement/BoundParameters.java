@@ -0,0 +1,193 @@
+package liquibase.ext.spatial.statement;
+
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import liquibase.change.Change;
+import liquibase.changelog.ChangeSet;
+import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.exception.DatabaseException;
+import liquibase.ext.spatial.configuration.SpatialConfiguration;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.SqlStatement;
+import liquibase.util.JdbcUtils;
+
+/**
+ * <code>BoundParameters</code> collects the values that the spatial insert and update generators
+ * replace with <code>?</code> parameter markers while they generate the SQL of a
+ * {@link SpatialInsertStatement} or {@link SpatialUpdateStatement}, and binds them to the prepared
+ * statement. Geometries are collected as Well-Known Binary bytes, as a
+ * {@link ByteArrayInputStream} of Well-Known Binary that is bound as a BLOB, or as a
+ * {@link Reader} of Well-Known Text that is bound as a CLOB.
+ */
+public class BoundParameters {
+   /** The database instance. */
+   private final Database database;
+
+   /** The parameter values in the order of their markers. */
+   private final List<Object> values = new ArrayList<Object>();
+
+   /**
+    * Creates an empty list of parameters.
+    *
+    * @param database
+    *           the database instance.
+    */
+   public BoundParameters(final Database database) {
+      this.database = database;
+   }
+
+   /**
+    * Indicates if the values of the given change should be bound as JDBC parameters. This is
+    * enabled by {@link SpatialConfiguration#isBindGeometries()} except for change sets with
+    * <code>modifySql</code> because SQL visitors are not applied to prepared statements.
+    *
+    * @param change
+    *           the change.
+    * @return <code>true</code> if the values should be bound.
+    */
+   public static boolean isBindingEnabled(final Change change) {
+      if (!SpatialConfiguration.getInstance().isBindGeometries()) {
+         return false;
+      }
+      final ChangeSet changeSet = change.getChangeSet();
+      return changeSet == null || changeSet.getSqlVisitors() == null
+            || changeSet.getSqlVisitors().isEmpty();
+   }
+
+   /**
+    * Adds the value of the next parameter marker.
+    *
+    * @param value
+    *           the value which must not be <code>null</code>.
+    */
+   public void add(final Object value) {
+      if (value == null) {
+         throw new IllegalArgumentException("Null values must be written as NULL to the SQL");
+      }
+      this.values.add(value);
+   }
+
+   /**
+    * Returns the parameter values in the order of their markers.
+    *
+    * @return the parameter values.
+    */
+   public List<Object> getValues() {
+      return Collections.unmodifiableList(this.values);
+   }
+
+   /**
+    * Generates the SQL of the statement. The statement must return this instance from its
+    * <code>getBoundParameters()</code> method while the SQL is generated so that the generators
+    * add the parameters to it.
+    *
+    * @param statement
+    *           the statement.
+    * @return the SQL with parameter markers.
+    * @throws DatabaseException
+    *            if the statement doesn't generate a single SQL statement.
+    */
+   protected String generateSql(final SqlStatement statement) throws DatabaseException {
+      final Sql[] sqls = SqlGeneratorFactory.getInstance().generateSql(statement, this.database);
+      if (sqls == null || sqls.length != 1) {
+         throw new DatabaseException("Expected a single SQL statement for " + statement);
+      }
+      return sqls[0].toSql();
+   }
+
+   /**
+    * Prepares, binds and executes the given SQL.
+    *
+    * @param sql
+    *           the SQL with parameter markers.
+    * @param factory
+    *           the prepared statement factory.
+    * @throws DatabaseException
+    *            if the statement fails.
+    */
+   public void execute(final String sql, final PreparedStatementFactory factory)
+         throws DatabaseException {
+      PreparedStatement preparedStatement = null;
+      try {
+         preparedStatement = factory.create(sql);
+         bind(preparedStatement);
+         preparedStatement.execute();
+      } catch (final SQLException e) {
+         throw new DatabaseException(e);
+      } finally {
+         JdbcUtils.closeStatement(preparedStatement);
+      }
+   }
+
+   /**
+    * Binds the parameter values to the prepared statement.
+    *
+    * @param preparedStatement
+    *           the prepared statement.
+    * @throws SQLException
+    *            if a value cannot be bound.
+    */
+   public void bind(final PreparedStatement preparedStatement) throws SQLException {
+      for (int ii = 0; ii < this.values.size(); ii++) {
+         bind(preparedStatement, ii + 1, this.values.get(ii));
+      }
+   }
+
+   /**
+    * Binds a single value according to its type.
+    *
+    * @param preparedStatement
+    *           the prepared statement.
+    * @param index
+    *           the parameter index.
+    * @param value
+    *           the value.
+    * @throws SQLException
+    *            if the value cannot be bound.
+    */
+   protected void bind(final PreparedStatement preparedStatement, final int index,
+         final Object value) throws SQLException {
+      if (value instanceof byte[]) {
+         preparedStatement.setBytes(index, (byte[]) value);
+      } else if (value instanceof ByteArrayInputStream) {
+         final ByteArrayInputStream stream = (ByteArrayInputStream) value;
+         preparedStatement.setBlob(index, stream, stream.available());
+      } else if (value instanceof Reader) {
+         preparedStatement.setClob(index, (Reader) value);
+      } else if (value instanceof String) {
+         if (this.database instanceof PostgresDatabase) {
+            // Let PostgreSQL infer the type as it does for a quoted literal.
+            preparedStatement.setObject(index, value, Types.OTHER);
+         } else {
+            preparedStatement.setString(index, (String) value);
+         }
+      } else if (value instanceof Timestamp) {
+         preparedStatement.setTimestamp(index, (Timestamp) value);
+      } else if (value instanceof java.sql.Date) {
+         preparedStatement.setDate(index, (java.sql.Date) value);
+      } else if (value instanceof Time) {
+         preparedStatement.setTime(index, (Time) value);
+      } else if (value instanceof Date) {
+         preparedStatement.setTimestamp(index, new Timestamp(((Date) value).getTime()));
+      } else if (value instanceof Boolean) {
+         preparedStatement.setBoolean(index, (Boolean) value);
+      } else if (value instanceof Integer) {
+         preparedStatement.setInt(index, (Integer) value);
+      } else {
+         preparedStatement.setObject(index, value);
+      }
+   }
+}
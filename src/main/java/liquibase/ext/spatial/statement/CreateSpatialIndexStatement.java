@@ -21,6 +21,66 @@ public class CreateSpatialIndexStatement extends AbstractSqlStatement {
    /** The Spatial Reference ID (e.g. 4326). */
    private Integer srid;
 
+   /** The extent of the indexed data: minimum X, minimum Y, maximum X and maximum Y. */
+   private double[] extent;
+
+   /** Indicates if the extent is computed from the indexed data. */
+   private boolean computeExtent;
+
+   /** The tolerance of both dimensions. */
+   private Double tolerance;
+
+   /** The names of the X and Y dimensions. */
+   private String[] dimensionNames;
+
+   /** The Oracle <code>sdo_dml_batch_size</code> index parameter. */
+   private Integer sdoDmlBatchSize;
+
+   /** The Oracle <code>sdo_non_leaf_tbl</code> index parameter. */
+   private Boolean sdoNonLeafTbl;
+
+   /** The Oracle <code>sdo_indx_dims</code> index parameter. */
+   private Integer sdoIndxDims;
+
+   /** The Oracle <code>work_tablespace</code> index parameter. */
+   private String workTablespace;
+
+   /** The Oracle <code>sdo_rtr_pctfree</code> index parameter. */
+   private Integer sdoRtrPctfree;
+
+   /** Indicates if a local partitioned index is created. */
+   private boolean local;
+
+   /** The degree of parallelism used to build the index. */
+   private Integer parallel;
+
+   /** Indicates if the local index is created unusable and then rebuilt per partition. */
+   private boolean unusable;
+
+   /** The operator classes of the columns, with <code>null</code> for the default. */
+   private String[] operatorClasses;
+
+   /** The non-key columns stored in the index. */
+   private String[] includedColumns = new String[0];
+
+   /** Indicates if the index is built without blocking writes to the table. */
+   private boolean concurrently;
+
+   /** The percentage of each index page that is filled when the index is built. */
+   private Integer fillfactor;
+
+   /** The GiST buffering build mode. */
+   private String buffering;
+
+   /** The index access method. */
+   private String indexMethod;
+
+   /** The number of table pages summarized by each entry of a BRIN index. */
+   private Integer pagesPerRange;
+
+   /** The predicate of a partial index. */
+   private String where;
+
    /**
     * Constructs a new instance with the given parameters.
     * 
@@ -121,4 +181,445 @@ public class CreateSpatialIndexStatement extends AbstractSqlStatement {
    public Integer getSrid() {
       return this.srid;
    }
+
+   /**
+    * Sets the extent of the indexed data.
+    * 
+    * @param extent
+    *           the minimum X, minimum Y, maximum X and maximum Y or <code>null</code> for the
+    *           default.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setExtent(final double[] extent) {
+      this.extent = extent == null ? null : extent.clone();
+      return this;
+   }
+
+   /**
+    * Returns the extent of the indexed data.
+    * 
+    * @return the minimum X, minimum Y, maximum X and maximum Y or <code>null</code> for the
+    *         default.
+    */
+   public double[] getExtent() {
+      return this.extent == null ? null : this.extent.clone();
+   }
+
+   /**
+    * Sets if the extent is computed from the indexed data when the index is created.
+    * 
+    * @param computeExtent
+    *           <code>true</code> to compute the extent.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setComputeExtent(final boolean computeExtent) {
+      this.computeExtent = computeExtent;
+      return this;
+   }
+
+   /**
+    * Indicates if the extent is computed from the indexed data when the index is created.
+    * 
+    * @return <code>true</code> if the extent is computed.
+    */
+   public boolean isComputeExtent() {
+      return this.computeExtent;
+   }
+
+   /**
+    * Sets the tolerance of both dimensions.
+    * 
+    * @param tolerance
+    *           the tolerance or <code>null</code> for the default.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setTolerance(final Double tolerance) {
+      this.tolerance = tolerance;
+      return this;
+   }
+
+   /**
+    * Returns the tolerance of both dimensions.
+    * 
+    * @return the tolerance or <code>null</code> for the default.
+    */
+   public Double getTolerance() {
+      return this.tolerance;
+   }
+
+   /**
+    * Sets the names of the X and Y dimensions.
+    * 
+    * @param dimensionNames
+    *           the dimension names or <code>null</code> for the default.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setDimensionNames(final String[] dimensionNames) {
+      this.dimensionNames = dimensionNames == null ? null : dimensionNames.clone();
+      return this;
+   }
+
+   /**
+    * Returns the names of the X and Y dimensions.
+    * 
+    * @return the dimension names or <code>null</code> for the default.
+    */
+   public String[] getDimensionNames() {
+      return this.dimensionNames == null ? null : this.dimensionNames.clone();
+   }
+
+   /**
+    * Sets the number of rows collected before the index is updated on commit, i.e. the Oracle
+    * <code>sdo_dml_batch_size</code> index parameter.
+    * 
+    * @param sdoDmlBatchSize
+    *           the parameter value or <code>null</code> for Oracle's default.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setSdoDmlBatchSize(final Integer sdoDmlBatchSize) {
+      this.sdoDmlBatchSize = sdoDmlBatchSize;
+      return this;
+   }
+
+   /**
+    * Returns the number of rows collected before the index is updated on commit, i.e. the Oracle
+    * <code>sdo_dml_batch_size</code> index parameter.
+    * 
+    * @return the parameter value or <code>null</code> for Oracle's default.
+    */
+   public Integer getSdoDmlBatchSize() {
+      return this.sdoDmlBatchSize;
+   }
+
+   /**
+    * Sets if the non-leaf nodes of the R-tree are stored in a separate table, i.e. the Oracle
+    * <code>sdo_non_leaf_tbl</code> index parameter.
+    * 
+    * @param sdoNonLeafTbl
+    *           the parameter value or <code>null</code> for Oracle's default.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setSdoNonLeafTbl(final Boolean sdoNonLeafTbl) {
+      this.sdoNonLeafTbl = sdoNonLeafTbl;
+      return this;
+   }
+
+   /**
+    * Indicates if the non-leaf nodes of the R-tree are stored in a separate table, i.e. the Oracle
+    * <code>sdo_non_leaf_tbl</code> index parameter.
+    * 
+    * @return the parameter value or <code>null</code> for Oracle's default.
+    */
+   public Boolean getSdoNonLeafTbl() {
+      return this.sdoNonLeafTbl;
+   }
+
+   /**
+    * Sets the number of dimensions to index, i.e. the Oracle <code>sdo_indx_dims</code> index
+    * parameter.
+    * 
+    * @param sdoIndxDims
+    *           the parameter value or <code>null</code> for Oracle's default.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setSdoIndxDims(final Integer sdoIndxDims) {
+      this.sdoIndxDims = sdoIndxDims;
+      return this;
+   }
+
+   /**
+    * Returns the number of dimensions to index, i.e. the Oracle <code>sdo_indx_dims</code> index
+    * parameter.
+    * 
+    * @return the parameter value or <code>null</code> for Oracle's default.
+    */
+   public Integer getSdoIndxDims() {
+      return this.sdoIndxDims;
+   }
+
+   /**
+    * Sets the tablespace of the temporary tables used while the index is built, i.e. the Oracle
+    * <code>work_tablespace</code> index parameter.
+    * 
+    * @param workTablespace
+    *           the parameter value or <code>null</code> for Oracle's default.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setWorkTablespace(final String workTablespace) {
+      this.workTablespace = workTablespace;
+      return this;
+   }
+
+   /**
+    * Returns the tablespace of the temporary tables used while the index is built, i.e. the Oracle
+    * <code>work_tablespace</code> index parameter.
+    * 
+    * @return the parameter value or <code>null</code> for Oracle's default.
+    */
+   public String getWorkTablespace() {
+      return this.workTablespace;
+   }
+
+   /**
+    * Sets the percentage of each R-tree node left free for future inserts, i.e. the Oracle
+    * <code>sdo_rtr_pctfree</code> index parameter.
+    * 
+    * @param sdoRtrPctfree
+    *           the parameter value or <code>null</code> for Oracle's default.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setSdoRtrPctfree(final Integer sdoRtrPctfree) {
+      this.sdoRtrPctfree = sdoRtrPctfree;
+      return this;
+   }
+
+   /**
+    * Returns the percentage of each R-tree node left free for future inserts, i.e. the Oracle
+    * <code>sdo_rtr_pctfree</code> index parameter.
+    * 
+    * @return the parameter value or <code>null</code> for Oracle's default.
+    */
+   public Integer getSdoRtrPctfree() {
+      return this.sdoRtrPctfree;
+   }
+
+   /**
+    * Sets if a local partitioned index is created, i.e. one index partition per table partition.
+    * 
+    * @param local
+    *           <code>true</code> for a local index.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setLocal(final boolean local) {
+      this.local = local;
+      return this;
+   }
+
+   /**
+    * Indicates if a local partitioned index is created.
+    * 
+    * @return <code>true</code> for a local index.
+    */
+   public boolean isLocal() {
+      return this.local;
+   }
+
+   /**
+    * Sets the degree of parallelism used to build the index.
+    * 
+    * @param parallel
+    *           the degree of parallelism or <code>null</code> for the database's default.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setParallel(final Integer parallel) {
+      this.parallel = parallel;
+      return this;
+   }
+
+   /**
+    * Returns the degree of parallelism used to build the index.
+    * 
+    * @return the degree of parallelism or <code>null</code> for the database's default.
+    */
+   public Integer getParallel() {
+      return this.parallel;
+   }
+
+   /**
+    * Sets if the local index is created unusable and then rebuilt one partition at a time.
+    * 
+    * @param unusable
+    *           <code>true</code> to rebuild each partition separately.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setUnusable(final boolean unusable) {
+      this.unusable = unusable;
+      return this;
+   }
+
+   /**
+    * Indicates if the local index is created unusable and then rebuilt one partition at a time.
+    * 
+    * @return <code>true</code> to rebuild each partition separately.
+    */
+   public boolean isUnusable() {
+      return this.unusable;
+   }
+
+   /**
+    * Sets if the index is built without blocking writes to the table.
+    * 
+    * @param concurrently
+    *           <code>true</code> to create the index concurrently.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setConcurrently(final boolean concurrently) {
+      this.concurrently = concurrently;
+      return this;
+   }
+
+   /**
+    * Indicates if the index is built without blocking writes to the table.
+    * 
+    * @return <code>true</code> to create the index concurrently.
+    */
+   public boolean isConcurrently() {
+      return this.concurrently;
+   }
+
+   /**
+    * Sets the percentage of each index page that is filled when the index is built.
+    * 
+    * @param fillfactor
+    *           the fill factor or <code>null</code> for the database's default.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setFillfactor(final Integer fillfactor) {
+      this.fillfactor = fillfactor;
+      return this;
+   }
+
+   /**
+    * Returns the percentage of each index page that is filled when the index is built.
+    * 
+    * @return the fill factor or <code>null</code> for the database's default.
+    */
+   public Integer getFillfactor() {
+      return this.fillfactor;
+   }
+
+   /**
+    * Sets the GiST buffering build mode.
+    * 
+    * @param buffering
+    *           <code>on</code>, <code>off</code>, <code>auto</code> or <code>null</code> for the
+    *           database's default.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setBuffering(final String buffering) {
+      this.buffering = buffering;
+      return this;
+   }
+
+   /**
+    * Returns the GiST buffering build mode.
+    * 
+    * @return <code>on</code>, <code>off</code>, <code>auto</code> or <code>null</code> for the
+    *         database's default.
+    */
+   public String getBuffering() {
+      return this.buffering;
+   }
+
+   /**
+    * Sets the index access method, e.g. <code>gist</code>, <code>spgist</code> or
+    * <code>brin</code>.
+    * 
+    * @param indexMethod
+    *           the index access method or <code>null</code> for the default.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setIndexMethod(final String indexMethod) {
+      this.indexMethod = indexMethod;
+      return this;
+   }
+
+   /**
+    * Returns the index access method.
+    * 
+    * @return the index access method or <code>null</code> for the default.
+    */
+   public String getIndexMethod() {
+      return this.indexMethod;
+   }
+
+   /**
+    * Sets the number of table pages summarized by each entry of a BRIN index.
+    * 
+    * @param pagesPerRange
+    *           the pages per range or <code>null</code> for the database's default.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setPagesPerRange(final Integer pagesPerRange) {
+      this.pagesPerRange = pagesPerRange;
+      return this;
+   }
+
+   /**
+    * Returns the number of table pages summarized by each entry of a BRIN index.
+    * 
+    * @return the pages per range or <code>null</code> for the database's default.
+    */
+   public Integer getPagesPerRange() {
+      return this.pagesPerRange;
+   }
+
+   /**
+    * Sets the predicate of a partial index.
+    * 
+    * @param where
+    *           the SQL condition on the rows to index or <code>null</code> to index all rows.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setWhere(final String where) {
+      this.where = where;
+      return this;
+   }
+
+   /**
+    * Returns the predicate of a partial index.
+    * 
+    * @return the SQL condition on the rows to index or <code>null</code> to index all rows.
+    */
+   public String getWhere() {
+      return this.where;
+   }
+
+   /**
+    * Sets the operator classes of the index columns.
+    * 
+    * @param operatorClasses
+    *           the operator class of each column in {@link #getColumns()}, with <code>null</code>
+    *           for the default of the column type.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setOperatorClasses(final String[] operatorClasses) {
+      this.operatorClasses = operatorClasses == null ? null : operatorClasses.clone();
+      return this;
+   }
+
+   /**
+    * Returns the operator class of an index column.
+    * 
+    * @param index
+    *           the index of the column in {@link #getColumns()}.
+    * @return the operator class or <code>null</code> for the default of the column type.
+    */
+   public String getOperatorClass(final int index) {
+      if (this.operatorClasses == null || index >= this.operatorClasses.length) {
+         return null;
+      }
+      return this.operatorClasses[index];
+   }
+
+   /**
+    * Sets the non-key columns that are stored in the index.
+    * 
+    * @param includedColumns
+    *           the included columns.
+    * @return this statement.
+    */
+   public CreateSpatialIndexStatement setIncludedColumns(final String[] includedColumns) {
+      this.includedColumns = includedColumns == null ? new String[0] : includedColumns.clone();
+      return this;
+   }
+
+   /**
+    * Returns the non-key columns that are stored in the index.
+    * 
+    * @return the included columns which may be empty.
+    */
+   public String[] getIncludedColumns() {
+      return this.includedColumns;
+   }
 }
@@ -7,8 +7,8 @@ import liquibase.statement.AbstractSqlStatement;
  * <code>DROP SPATIAL INDEX</code> statement.
  */
 public class DropSpatialIndexStatement extends AbstractSqlStatement {
-   /** The index name. */
-   private final String indexName;
+   /** The names of the indexes to drop. */
+   private String[] indexNames;
 
    /** The table catalog name. */
    private final String tableCatalogName;
@@ -19,6 +19,9 @@ public class DropSpatialIndexStatement extends AbstractSqlStatement {
    /** The table name. */
    private final String tableName;
 
+   /** Indicates if the indexes are dropped without blocking access to the table. */
+   private boolean concurrently;
+
    /**
     * Creates a new instance with the given parameters.
     * 
@@ -33,19 +36,41 @@ public class DropSpatialIndexStatement extends AbstractSqlStatement {
     */
    public DropSpatialIndexStatement(final String indexName, final String tableCatalogName,
          final String tableSchemaName, final String tableName) {
-      this.indexName = indexName;
+      this.indexNames = new String[] { indexName };
       this.tableCatalogName = tableCatalogName;
       this.tableSchemaName = tableSchemaName;
       this.tableName = tableName;
    }
 
    /**
-    * Returns the index name.
+    * Returns the name of the first index.
     * 
     * @return the index name.
     */
    public String getIndexName() {
-      return this.indexName;
+      return this.indexNames.length == 0 ? null : this.indexNames[0];
+   }
+
+   /**
+    * Returns the names of all the indexes to drop.
+    * 
+    * @return the index names.
+    */
+   public String[] getIndexNames() {
+      return this.indexNames;
+   }
+
+   /**
+    * Sets the names of the indexes to drop, replacing the index name of the constructor, so that
+    * several indexes of the same table or schema are dropped at once.
+    * 
+    * @param indexNames
+    *           the index names.
+    * @return this statement.
+    */
+   public DropSpatialIndexStatement setIndexNames(final String... indexNames) {
+      this.indexNames = indexNames;
+      return this;
    }
 
    /**
@@ -74,4 +99,25 @@ public class DropSpatialIndexStatement extends AbstractSqlStatement {
    public String getTableName() {
       return this.tableName;
    }
+
+   /**
+    * Sets if the indexes are dropped without blocking access to the table.
+    * 
+    * @param concurrently
+    *           <code>true</code> to drop the indexes concurrently.
+    * @return this statement.
+    */
+   public DropSpatialIndexStatement setConcurrently(final boolean concurrently) {
+      this.concurrently = concurrently;
+      return this;
+   }
+
+   /**
+    * Indicates if the indexes are dropped without blocking access to the table.
+    * 
+    * @return <code>true</code> to drop the indexes concurrently.
+    */
+   public boolean isConcurrently() {
+      return this.concurrently;
+   }
 }
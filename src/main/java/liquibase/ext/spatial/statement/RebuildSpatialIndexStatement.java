@@ -0,0 +1,221 @@
+package liquibase.ext.spatial.statement;
+
+import liquibase.statement.AbstractSqlStatement;
+
+/**
+ * <code>RebuildSpatialIndexStatement</code> represents the statement that rebuilds an existing
+ * spatial index, e.g. to reclaim the space of deleted entries.
+ */
+public class RebuildSpatialIndexStatement extends AbstractSqlStatement {
+   /** The index name. */
+   private final String indexName;
+
+   /** The table catalog name. */
+   private final String tableCatalogName;
+
+   /** The table schema name. */
+   private final String tableSchemaName;
+
+   /** The table name. */
+   private final String tableName;
+
+   /** The indexed column which GeoDB needs to recreate the index. */
+   private String columnName;
+
+   /** The SRID which GeoDB needs to recreate the index. */
+   private Integer srid;
+
+   /** Indicates if the table remains available for DML while the index is rebuilt. */
+   private boolean online;
+
+   /** The degree of parallelism used to rebuild the index. */
+   private Integer parallel;
+
+   /** The tablespace of the rebuilt index. */
+   private String tablespace;
+
+   /** The Oracle <code>work_tablespace</code> index parameter. */
+   private String workTablespace;
+
+   /**
+    * Creates a new instance with the given parameters.
+    * 
+    * @param indexName
+    *           the index name.
+    * @param tableCatalogName
+    *           the optional table's catalog name.
+    * @param tableSchemaName
+    *           the optional table's schema name.
+    * @param tableName
+    *           the table name.
+    */
+   public RebuildSpatialIndexStatement(final String indexName, final String tableCatalogName,
+         final String tableSchemaName, final String tableName) {
+      this.indexName = indexName;
+      this.tableCatalogName = tableCatalogName;
+      this.tableSchemaName = tableSchemaName;
+      this.tableName = tableName;
+   }
+
+   /**
+    * Returns the index name.
+    * 
+    * @return the index name.
+    */
+   public String getIndexName() {
+      return this.indexName;
+   }
+
+   /**
+    * Returns the table catalog name.
+    * 
+    * @return the table catalog name.
+    */
+   public String getTableCatalogName() {
+      return this.tableCatalogName;
+   }
+
+   /**
+    * Returns the table schema name.
+    * 
+    * @return the table schema name.
+    */
+   public String getTableSchemaName() {
+      return this.tableSchemaName;
+   }
+
+   /**
+    * Returns the table name.
+    * 
+    * @return the table name.
+    */
+   public String getTableName() {
+      return this.tableName;
+   }
+
+   /**
+    * Sets the indexed column.
+    * 
+    * @param columnName
+    *           the column name.
+    * @return this statement.
+    */
+   public RebuildSpatialIndexStatement setColumnName(final String columnName) {
+      this.columnName = columnName;
+      return this;
+   }
+
+   /**
+    * Returns the indexed column.
+    * 
+    * @return the column name.
+    */
+   public String getColumnName() {
+      return this.columnName;
+   }
+
+   /**
+    * Sets the SRID of the indexed column.
+    * 
+    * @param srid
+    *           the SRID.
+    * @return this statement.
+    */
+   public RebuildSpatialIndexStatement setSrid(final Integer srid) {
+      this.srid = srid;
+      return this;
+   }
+
+   /**
+    * Returns the SRID of the indexed column.
+    * 
+    * @return the SRID.
+    */
+   public Integer getSrid() {
+      return this.srid;
+   }
+
+   /**
+    * Sets if the table remains available for DML while the index is rebuilt.
+    * 
+    * @param online
+    *           <code>true</code> for an online rebuild.
+    * @return this statement.
+    */
+   public RebuildSpatialIndexStatement setOnline(final boolean online) {
+      this.online = online;
+      return this;
+   }
+
+   /**
+    * Indicates if the table remains available for DML while the index is rebuilt.
+    * 
+    * @return <code>true</code> for an online rebuild.
+    */
+   public boolean isOnline() {
+      return this.online;
+   }
+
+   /**
+    * Sets the degree of parallelism used to rebuild the index.
+    * 
+    * @param parallel
+    *           the degree of parallelism or <code>null</code> for the database's default.
+    * @return this statement.
+    */
+   public RebuildSpatialIndexStatement setParallel(final Integer parallel) {
+      this.parallel = parallel;
+      return this;
+   }
+
+   /**
+    * Returns the degree of parallelism used to rebuild the index.
+    * 
+    * @return the degree of parallelism or <code>null</code> for the database's default.
+    */
+   public Integer getParallel() {
+      return this.parallel;
+   }
+
+   /**
+    * Sets the tablespace of the rebuilt index.
+    * 
+    * @param tablespace
+    *           the tablespace or <code>null</code> to keep the current one.
+    * @return this statement.
+    */
+   public RebuildSpatialIndexStatement setTablespace(final String tablespace) {
+      this.tablespace = tablespace;
+      return this;
+   }
+
+   /**
+    * Returns the tablespace of the rebuilt index.
+    * 
+    * @return the tablespace or <code>null</code> to keep the current one.
+    */
+   public String getTablespace() {
+      return this.tablespace;
+   }
+
+   /**
+    * Sets the Oracle <code>work_tablespace</code> index parameter.
+    * 
+    * @param workTablespace
+    *           the tablespace of the temporary tables used while the index is rebuilt.
+    * @return this statement.
+    */
+   public RebuildSpatialIndexStatement setWorkTablespace(final String workTablespace) {
+      this.workTablespace = workTablespace;
+      return this;
+   }
+
+   /**
+    * Returns the Oracle <code>work_tablespace</code> index parameter.
+    * 
+    * @return the tablespace of the temporary tables used while the index is rebuilt.
+    */
+   public String getWorkTablespace() {
+      return this.workTablespace;
+   }
+}
@@ -0,0 +1,259 @@
+package liquibase.ext.spatial.statement;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
+import liquibase.exception.DatabaseException;
+import liquibase.statement.AbstractSqlStatement;
+import liquibase.statement.ExecutablePreparedStatement;
+import liquibase.statement.SqlStatement;
+import liquibase.util.JdbcUtils;
+
+/**
+ * <code>SpatialInsertBatchStatement</code> executes consecutive {@link SpatialInsertStatement}s
+ * into the same table with the same columns as JDBC batches. Rows that generate the same SQL
+ * share one <code>PreparedStatement</code> and are sent with <code>addBatch</code> and
+ * <code>executeBatch</code> in batches of the configured size. When the statement isn't executed
+ * against a live connection (e.g. by <code>updateSQL</code>), the
+ * {@link liquibase.ext.spatial.sqlgenerator.SpatialInsertBatchGenerator} writes each
+ * <code>INSERT</code> as usual.
+ */
+public class SpatialInsertBatchStatement extends AbstractSqlStatement implements
+      ExecutablePreparedStatement {
+   /** The database instance. */
+   private final Database database;
+
+   /** The maximum number of rows in a batch. */
+   private final int batchSize;
+
+   /** The inserts in order. */
+   private final List<SpatialInsertStatement> statements = new ArrayList<SpatialInsertStatement>();
+
+   /**
+    * Creates an empty batch.
+    *
+    * @param database
+    *           the database instance.
+    * @param batchSize
+    *           the maximum number of rows sent in one JDBC batch.
+    */
+   public SpatialInsertBatchStatement(final Database database, final int batchSize) {
+      this.database = database;
+      this.batchSize = batchSize;
+   }
+
+   /**
+    * Groups the consecutive {@link SpatialInsertStatement}s that insert into the same table and
+    * columns into batch statements. Other statements and inserts that aren't consecutive are left
+    * as they are.
+    *
+    * @param database
+    *           the database instance.
+    * @param statements
+    *           the statements.
+    * @param batchSize
+    *           the maximum number of rows sent in one JDBC batch.
+    * @return the statements with the consecutive inserts grouped.
+    */
+   public static SqlStatement[] group(final Database database, final SqlStatement[] statements,
+         final int batchSize) {
+      if (batchSize < 2) {
+         return statements;
+      }
+      final List<SqlStatement> grouped = new ArrayList<SqlStatement>(statements.length);
+      SpatialInsertBatchStatement batch = null;
+      for (final SqlStatement statement : statements) {
+         if (!(statement instanceof SpatialInsertStatement)) {
+            batch = null;
+            grouped.add(statement);
+            continue;
+         }
+         final SpatialInsertStatement insert = (SpatialInsertStatement) statement;
+         if (batch == null || !batch.accepts(insert)) {
+            batch = new SpatialInsertBatchStatement(database, batchSize);
+            grouped.add(batch);
+         }
+         batch.addStatement(insert);
+      }
+      // A batch of a single row is executed as a plain insert.
+      for (int ii = 0; ii < grouped.size(); ii++) {
+         final SqlStatement statement = grouped.get(ii);
+         if (statement instanceof SpatialInsertBatchStatement
+               && ((SpatialInsertBatchStatement) statement).statements.size() == 1) {
+            grouped.set(ii, ((SpatialInsertBatchStatement) statement).statements.get(0));
+         }
+      }
+      return grouped.toArray(new SqlStatement[grouped.size()]);
+   }
+
+   /**
+    * Indicates if the insert has the same table and columns as the inserts in this batch.
+    *
+    * @param insert
+    *           the insert.
+    * @return <code>true</code> if the insert can be added to this batch.
+    */
+   protected boolean accepts(final SpatialInsertStatement insert) {
+      if (this.statements.isEmpty()) {
+         return true;
+      }
+      final SpatialInsertStatement first = this.statements.get(0);
+      return equals(first.getCatalogName(), insert.getCatalogName())
+            && equals(first.getSchemaName(), insert.getSchemaName())
+            && equals(first.getTableName(), insert.getTableName())
+            && new ArrayList<String>(first.getColumnValues().keySet())
+                  .equals(new ArrayList<String>(insert.getColumnValues().keySet()));
+   }
+
+   /**
+    * Compares two possibly <code>null</code> names.
+    *
+    * @param name1
+    *           the first name.
+    * @param name2
+    *           the second name.
+    * @return <code>true</code> if the names are equal.
+    */
+   private static boolean equals(final String name1, final String name2) {
+      return name1 == null ? name2 == null : name1.equals(name2);
+   }
+
+   /**
+    * Adds an insert to this batch.
+    *
+    * @param insert
+    *           the insert.
+    */
+   public void addStatement(final SpatialInsertStatement insert) {
+      this.statements.add(insert);
+   }
+
+   /**
+    * Returns the inserts in order.
+    *
+    * @return the inserts.
+    */
+   public List<SpatialInsertStatement> getStatements() {
+      return Collections.unmodifiableList(this.statements);
+   }
+
+   /**
+    * Returns the maximum number of rows sent in one JDBC batch.
+    *
+    * @return the batch size.
+    */
+   public int getBatchSize() {
+      return this.batchSize;
+   }
+
+   @Override
+   public void execute(final PreparedStatementFactory factory) throws DatabaseException {
+      PreparedStatement preparedStatement = null;
+      String preparedSql = null;
+      int firstRow = 0;
+      int batchRows = 0;
+      try {
+         for (final SpatialInsertStatement insert : this.statements) {
+            final BoundParameters parameters = new BoundParameters(this.database);
+            final String sql = insert.generateSql(parameters);
+            if (!sql.equals(preparedSql)) {
+               executeBatch(preparedStatement, firstRow, batchRows);
+               firstRow += batchRows;
+               batchRows = 0;
+               JdbcUtils.closeStatement(preparedStatement);
+               preparedStatement = factory.create(sql);
+               preparedSql = sql;
+            }
+            parameters.bind(preparedStatement);
+            preparedStatement.addBatch();
+            batchRows++;
+            if (batchRows == this.batchSize) {
+               executeBatch(preparedStatement, firstRow, batchRows);
+               firstRow += batchRows;
+               batchRows = 0;
+            }
+         }
+         executeBatch(preparedStatement, firstRow, batchRows);
+      } catch (final SQLException e) {
+         throw new DatabaseException("Failed to insert row " + (firstRow + batchRows + 1)
+               + " of " + this.statements.size() + " into " + getTableName() + ": "
+               + e.getMessage(), e);
+      } finally {
+         JdbcUtils.closeStatement(preparedStatement);
+      }
+   }
+
+   /**
+    * Executes the pending batch and reports the first row that failed.
+    *
+    * @param preparedStatement
+    *           the prepared statement or <code>null</code> if nothing has been prepared.
+    * @param firstRow
+    *           the index of the first row in the batch.
+    * @param batchRows
+    *           the number of rows in the batch.
+    * @throws DatabaseException
+    *            if a row fails.
+    */
+   protected void executeBatch(final PreparedStatement preparedStatement, final int firstRow,
+         final int batchRows) throws DatabaseException {
+      if (preparedStatement == null || batchRows == 0) {
+         return;
+      }
+      try {
+         preparedStatement.executeBatch();
+      } catch (final BatchUpdateException e) {
+         final int failedRow = firstRow + getFailedIndex(e.getUpdateCounts(), batchRows);
+         SQLException cause = e;
+         if (e.getNextException() != null) {
+            cause = e.getNextException();
+         }
+         throw new DatabaseException("Failed to insert row " + (failedRow + 1) + " of "
+               + this.statements.size() + " into " + getTableName() + ": " + cause.getMessage(),
+               e);
+      } catch (final SQLException e) {
+         throw new DatabaseException("Failed to insert rows " + (firstRow + 1) + " to "
+               + (firstRow + batchRows) + " of " + this.statements.size() + " into "
+               + getTableName() + ": " + e.getMessage(), e);
+      }
+   }
+
+   /**
+    * Finds the index of the failed row within a batch. Drivers either stop at the first failure,
+    * in which case only the counts of the preceding rows are returned, or mark the failed rows
+    * with {@link Statement#EXECUTE_FAILED}.
+    *
+    * @param updateCounts
+    *           the update counts of the batch which may be <code>null</code>.
+    * @param batchRows
+    *           the number of rows in the batch.
+    * @return the index of the failed row within the batch.
+    */
+   protected static int getFailedIndex(final int[] updateCounts, final int batchRows) {
+      if (updateCounts == null) {
+         return 0;
+      }
+      for (int ii = 0; ii < updateCounts.length; ii++) {
+         if (updateCounts[ii] == Statement.EXECUTE_FAILED) {
+            return ii;
+         }
+      }
+      return Math.min(updateCounts.length, batchRows - 1);
+   }
+
+   /**
+    * Returns the name of the table for error messages.
+    *
+    * @return the table name.
+    */
+   private String getTableName() {
+      return this.statements.isEmpty() ? null : this.statements.get(0).getTableName();
+   }
+}
@@ -0,0 +1,110 @@
+package liquibase.ext.spatial.statement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import liquibase.statement.AbstractSqlStatement;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.InsertStatement;
+
+/**
+ * <code>SpatialInsertSetStatement</code> represents consecutive <code>INSERT</code>s into the same
+ * table with the same columns that may be written as one or more multi-row
+ * <code>INSERT ... VALUES (...), (...)</code> statements.
+ */
+public class SpatialInsertSetStatement extends AbstractSqlStatement {
+   /** The inserts in order. */
+   private final List<InsertStatement> statements = new ArrayList<InsertStatement>();
+
+   /**
+    * Groups the consecutive <code>InsertStatement</code>s that insert into the same table and
+    * columns into insert sets. Other statements, including subclasses of
+    * <code>InsertStatement</code>, and inserts that aren't consecutive are left as they are.
+    *
+    * @param statements
+    *           the statements.
+    * @return the statements with the consecutive inserts grouped.
+    */
+   public static SqlStatement[] group(final SqlStatement[] statements) {
+      final List<SqlStatement> grouped = new ArrayList<SqlStatement>(statements.length);
+      SpatialInsertSetStatement set = null;
+      for (final SqlStatement statement : statements) {
+         if (statement == null || statement.getClass() != InsertStatement.class) {
+            set = null;
+            grouped.add(statement);
+            continue;
+         }
+         final InsertStatement insert = (InsertStatement) statement;
+         if (set == null || !set.accepts(insert)) {
+            set = new SpatialInsertSetStatement();
+            grouped.add(set);
+         }
+         set.addStatement(insert);
+      }
+      // A set of a single row is generated as a plain insert.
+      for (int ii = 0; ii < grouped.size(); ii++) {
+         final SqlStatement statement = grouped.get(ii);
+         if (statement instanceof SpatialInsertSetStatement
+               && ((SpatialInsertSetStatement) statement).statements.size() == 1) {
+            grouped.set(ii, ((SpatialInsertSetStatement) statement).statements.get(0));
+         }
+      }
+      return grouped.toArray(new SqlStatement[grouped.size()]);
+   }
+
+   /**
+    * Indicates if the insert has the same table and columns as the inserts in this set.
+    *
+    * @param insert
+    *           the insert.
+    * @return <code>true</code> if the insert can be added to this set.
+    */
+   public boolean accepts(final InsertStatement insert) {
+      if (this.statements.isEmpty()) {
+         return true;
+      }
+      final InsertStatement first = this.statements.get(0);
+      return equals(first.getCatalogName(), insert.getCatalogName())
+            && equals(first.getSchemaName(), insert.getSchemaName())
+            && equals(first.getTableName(), insert.getTableName())
+            && new ArrayList<String>(first.getColumnValues().keySet())
+                  .equals(new ArrayList<String>(insert.getColumnValues().keySet()));
+   }
+
+   /**
+    * Compares two possibly <code>null</code> names.
+    *
+    * @param name1
+    *           the first name.
+    * @param name2
+    *           the second name.
+    * @return <code>true</code> if the names are equal.
+    */
+   private static boolean equals(final String name1, final String name2) {
+      return name1 == null ? name2 == null : name1.equals(name2);
+   }
+
+   /**
+    * Adds an insert to this set.
+    *
+    * @param insert
+    *           the insert.
+    */
+   public void addStatement(final InsertStatement insert) {
+      if (!accepts(insert)) {
+         throw new IllegalArgumentException("The insert into " + insert.getTableName()
+               + " has a different table or columns than the other inserts in the set");
+      }
+      this.statements.add(insert);
+   }
+
+   /**
+    * Returns the inserts in order.
+    *
+    * @return the inserts.
+    */
+   public List<InsertStatement> getStatements() {
+      return Collections.unmodifiableList(this.statements);
+   }
+}
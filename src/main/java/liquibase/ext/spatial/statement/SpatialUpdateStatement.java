@@ -0,0 +1,104 @@
+package liquibase.ext.spatial.statement;
+
+import java.util.Map.Entry;
+
+import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
+import liquibase.exception.DatabaseException;
+import liquibase.statement.ExecutablePreparedStatement;
+import liquibase.statement.core.UpdateStatement;
+
+/**
+ * <code>SpatialUpdateStatement</code> is an <code>UPDATE</code> whose values, including the
+ * <code>WHERE</code> parameters, are bound as JDBC parameters when it is executed. It is still an
+ * <code>UpdateStatement</code> so the spatial update generators write it as plain SQL when it
+ * isn't executed against a live connection (e.g. by <code>updateSQL</code>). When it is executed,
+ * the generators write <code>?</code> markers instead of the values and add the values to the
+ * statement's {@link BoundParameters}.
+ */
+public class SpatialUpdateStatement extends UpdateStatement implements
+      ExecutablePreparedStatement {
+   /** The database instance. */
+   private final Database database;
+
+   /** The parameters collected while the SQL is generated with parameter markers. */
+   private BoundParameters boundParameters;
+
+   /**
+    * Creates a new instance with the given parameters.
+    * 
+    * @param database
+    *           the database instance.
+    * @param catalogName
+    *           the optional catalog name.
+    * @param schemaName
+    *           the optional schema name.
+    * @param tableName
+    *           the table name.
+    */
+   public SpatialUpdateStatement(final Database database, final String catalogName,
+         final String schemaName, final String tableName) {
+      super(catalogName, schemaName, tableName);
+      this.database = database;
+   }
+
+   /**
+    * Creates a copy of the given <code>UPDATE</code> whose values are bound as parameters.
+    * 
+    * @param database
+    *           the database instance.
+    * @param statement
+    *           the statement to copy.
+    * @return the new statement.
+    */
+   public static SpatialUpdateStatement copyOf(final Database database,
+         final UpdateStatement statement) {
+      final SpatialUpdateStatement copy = new SpatialUpdateStatement(database,
+            statement.getCatalogName(), statement.getSchemaName(), statement.getTableName());
+      for (final Entry<String, Object> entry : statement.getNewColumnValues().entrySet()) {
+         copy.addNewColumnValue(entry.getKey(), entry.getValue());
+      }
+      copy.setWhereClause(statement.getWhereClause());
+      for (final String columnName : statement.getWhereColumnNames()) {
+         copy.addWhereColumnName(columnName);
+      }
+      for (final Object parameter : statement.getWhereParameters()) {
+         copy.addWhereParameter(parameter);
+      }
+      return copy;
+   }
+
+   /**
+    * Returns the parameters to which the generators add the bound values.
+    * 
+    * @return the parameters or <code>null</code> if the SQL isn't being generated with parameter
+    *         markers in which case the values must be written to the SQL.
+    */
+   public BoundParameters getBoundParameters() {
+      return this.boundParameters;
+   }
+
+   /**
+    * Generates the SQL with parameter markers and adds the values to the given parameters.
+    * 
+    * @param parameters
+    *           the parameters to which the values are added.
+    * @return the SQL.
+    * @throws DatabaseException
+    *            if the SQL cannot be generated.
+    */
+   public String generateSql(final BoundParameters parameters) throws DatabaseException {
+      this.boundParameters = parameters;
+      try {
+         return parameters.generateSql(this);
+      } finally {
+         this.boundParameters = null;
+      }
+   }
+
+   @Override
+   public void execute(final PreparedStatementFactory factory) throws DatabaseException {
+      final BoundParameters parameters = new BoundParameters(this.database);
+      parameters.execute(generateSql(parameters), factory);
+   }
+}
@@ -0,0 +1,341 @@
+package liquibase.ext.spatial.utils;
+
+import java.nio.CharBuffer;
+
+/**
+ * <code>EwktScanner</code> recognizes Well-Known Text and PostGIS Extended Well-Known Text in a
+ * single, left-to-right pass over the value. It accepts exactly the same input as
+ * {@link liquibase.ext.spatial.sqlgenerator.WktConversionUtils#EWKT_PATTERN} applied to the
+ * trimmed value but never backtracks, never allocates a <code>Matcher</code> and reports the SRID
+ * and WKT as offsets into the original string instead of copying them.
+ */
+public final class EwktScanner {
+   /** The SRID prefix keyword. */
+   private static final String SRID = "SRID";
+
+   /** The optional geometry tag prefix. */
+   private static final String MULTI = "MULTI";
+
+   /** The geometry tags that may follow {@link #MULTI}. */
+   private static final String[] SIMPLE_TAGS = { "POINT", "LINESTRING", "POLYGON" };
+
+   /** The geometry collection tag which cannot be prefixed by {@link #MULTI}. */
+   private static final String GEOMETRY_COLLECTION = "GEOMETRYCOLLECTION";
+
+   /** The scanned text. */
+   private final String text;
+
+   /** The start offset of the SRID digits or <code>-1</code> if there isn't an SRID. */
+   private final int sridStart;
+
+   /** The end offset (exclusive) of the SRID digits or <code>-1</code> if there isn't an SRID. */
+   private final int sridEnd;
+
+   /** The start offset of the Well-Known Text (i.e. the geometry tag). */
+   private final int wktStart;
+
+   /** The end offset (exclusive) of the Well-Known Text (i.e. after the closing parenthesis). */
+   private final int wktEnd;
+
+   /**
+    * Creates a new instance with the given offsets.
+    *
+    * @param text
+    *           the scanned text.
+    * @param sridStart
+    *           the start offset of the SRID digits.
+    * @param sridEnd
+    *           the end offset of the SRID digits.
+    * @param wktStart
+    *           the start offset of the WKT.
+    * @param wktEnd
+    *           the end offset of the WKT.
+    */
+   private EwktScanner(final String text, final int sridStart, final int sridEnd,
+         final int wktStart, final int wktEnd) {
+      this.text = text;
+      this.sridStart = sridStart;
+      this.sridEnd = sridEnd;
+      this.wktStart = wktStart;
+      this.wktEnd = wktEnd;
+   }
+
+   /**
+    * Scans the given value for WKT or EWKT. Leading and trailing whitespace is ignored in the same
+    * way as {@link String#trim()}.
+    *
+    * @param text
+    *           the value to scan.
+    * @return the scan result or <code>null</code> if the value is not WKT or EWKT.
+    */
+   public static EwktScanner scan(final String text) {
+      if (text == null) {
+         return null;
+      }
+      int start = 0;
+      int end = text.length();
+      while (start < end && text.charAt(start) <= ' ') {
+         start++;
+      }
+      while (end > start && text.charAt(end - 1) <= ' ') {
+         end--;
+      }
+
+      // Check for the optional "SRID=n;" prefix.
+      int sridStart = -1;
+      int sridEnd = -1;
+      int pos = start;
+      if (matchesKeyword(text, pos, end, SRID)) {
+         pos = skipWhitespace(text, pos + SRID.length(), end);
+         if (pos >= end || text.charAt(pos) != '=') {
+            return null;
+         }
+         pos = skipWhitespace(text, pos + 1, end);
+         final int digitsStart = pos;
+         while (pos < end && text.charAt(pos) >= '0' && text.charAt(pos) <= '9') {
+            pos++;
+         }
+         if (pos == digitsStart) {
+            return null;
+         }
+         final int digitsEnd = pos;
+         pos = skipWhitespace(text, pos, end);
+         if (pos >= end || text.charAt(pos) != ';') {
+            return null;
+         }
+         sridStart = digitsStart;
+         sridEnd = digitsEnd;
+         pos = skipWhitespace(text, pos + 1, end);
+      }
+
+      // The geometry tag, e.g. "MULTIPOLYGONZ".
+      final int wktStart = pos;
+      pos = scanTag(text, pos, end);
+      if (pos < 0) {
+         return null;
+      }
+
+      // Everything between the opening and closing parentheses is taken as is.
+      pos = skipWhitespace(text, pos, end);
+      if (pos >= end - 1 || text.charAt(pos) != '(' || text.charAt(end - 1) != ')') {
+         return null;
+      }
+      for (int ii = pos + 1; ii < end - 1; ii++) {
+         if (isLineTerminator(text.charAt(ii))) {
+            return null;
+         }
+      }
+      return new EwktScanner(text, sridStart, sridEnd, wktStart, end);
+   }
+
+   /**
+    * Scans the geometry tag including the optional <code>Z</code> and <code>M</code> suffixes.
+    *
+    * @param text
+    *           the text to scan.
+    * @param start
+    *           the offset of the geometry tag.
+    * @param end
+    *           the end offset of the text to scan.
+    * @return the offset following the tag or <code>-1</code> if there isn't a geometry tag.
+    */
+   private static int scanTag(final String text, final int start, final int end) {
+      int pos = start;
+      if (matchesKeyword(text, pos, end, GEOMETRY_COLLECTION)) {
+         pos += GEOMETRY_COLLECTION.length();
+      } else {
+         if (matchesKeyword(text, pos, end, MULTI)) {
+            pos += MULTI.length();
+         }
+         int tagEnd = -1;
+         for (final String tag : SIMPLE_TAGS) {
+            if (matchesKeyword(text, pos, end, tag)) {
+               tagEnd = pos + tag.length();
+               break;
+            }
+         }
+         if (tagEnd < 0) {
+            return -1;
+         }
+         pos = tagEnd;
+      }
+      if (pos < end && toUpperCase(text.charAt(pos)) == 'Z') {
+         pos++;
+      }
+      if (pos < end && toUpperCase(text.charAt(pos)) == 'M') {
+         pos++;
+      }
+      return pos;
+   }
+
+   /**
+    * Indicates if the given upper case keyword appears at the offset ignoring the case of ASCII
+    * letters.
+    *
+    * @param text
+    *           the text to check.
+    * @param pos
+    *           the offset at which to check.
+    * @param end
+    *           the end offset of the text to check.
+    * @param keyword
+    *           the upper case keyword.
+    * @return <code>true</code> if the keyword is present.
+    */
+   private static boolean matchesKeyword(final String text, final int pos, final int end,
+         final String keyword) {
+      if (end - pos < keyword.length()) {
+         return false;
+      }
+      for (int ii = 0; ii < keyword.length(); ii++) {
+         if (toUpperCase(text.charAt(pos + ii)) != keyword.charAt(ii)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Converts ASCII lower case letters to upper case. This mirrors the default, ASCII-only
+    * behavior of case-insensitive regular expressions.
+    *
+    * @param c
+    *           the character to convert.
+    * @return the upper case character.
+    */
+   private static char toUpperCase(final char c) {
+      return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+   }
+
+   /**
+    * Skips the whitespace characters matched by the regular expression <code>\s</code>.
+    *
+    * @param text
+    *           the text to scan.
+    * @param start
+    *           the offset from which to skip.
+    * @param end
+    *           the end offset of the text to scan.
+    * @return the offset of the first non-whitespace character.
+    */
+   private static int skipWhitespace(final String text, final int start, final int end) {
+      int pos = start;
+      while (pos < end && isWhitespace(text.charAt(pos))) {
+         pos++;
+      }
+      return pos;
+   }
+
+   /**
+    * Indicates if the character is matched by the regular expression <code>\s</code>.
+    *
+    * @param c
+    *           the character to check.
+    * @return <code>true</code> if the character is whitespace.
+    */
+   private static boolean isWhitespace(final char c) {
+      return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+   }
+
+   /**
+    * Indicates if the character is a line terminator which isn't matched by the regular expression
+    * <code>.</code>.
+    *
+    * @param c
+    *           the character to check.
+    * @return <code>true</code> if the character is a line terminator.
+    */
+   private static boolean isLineTerminator(final char c) {
+      return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+   }
+
+   /**
+    * Returns the scanned text.
+    *
+    * @return the text.
+    */
+   public String getText() {
+      return this.text;
+   }
+
+   /**
+    * Indicates if the value has the EWKT <code>SRID=n;</code> prefix.
+    *
+    * @return <code>true</code> if an SRID is present.
+    */
+   public boolean hasSrid() {
+      return this.sridStart >= 0;
+   }
+
+   /**
+    * Returns the start offset of the SRID digits.
+    *
+    * @return the start offset or <code>-1</code> if there isn't an SRID.
+    */
+   public int getSridStart() {
+      return this.sridStart;
+   }
+
+   /**
+    * Returns the end offset (exclusive) of the SRID digits.
+    *
+    * @return the end offset or <code>-1</code> if there isn't an SRID.
+    */
+   public int getSridEnd() {
+      return this.sridEnd;
+   }
+
+   /**
+    * Returns the start offset of the Well-Known Text.
+    *
+    * @return the start offset.
+    */
+   public int getWktStart() {
+      return this.wktStart;
+   }
+
+   /**
+    * Returns the end offset (exclusive) of the Well-Known Text.
+    *
+    * @return the end offset.
+    */
+   public int getWktEnd() {
+      return this.wktEnd;
+   }
+
+   /**
+    * Returns the SRID digits.
+    *
+    * @return the SRID or <code>null</code> if there isn't an SRID.
+    */
+   public String getSrid() {
+      return hasSrid() ? this.text.substring(this.sridStart, this.sridEnd) : null;
+   }
+
+   /**
+    * Returns the Well-Known Text. The original string is returned when it doesn't have an SRID or
+    * surrounding whitespace so that the common case doesn't copy the value.
+    *
+    * @return the Well-Known Text.
+    */
+   public String getWkt() {
+      if (this.wktStart == 0 && this.wktEnd == this.text.length()) {
+         return this.text;
+      }
+      return this.text.substring(this.wktStart, this.wktEnd);
+   }
+
+   /**
+    * Returns the Well-Known Text as a read-only view of the scanned text. Unlike
+    * {@link #getWkt()}, this never copies the characters so it should be used when the WKT is
+    * written straight to an <code>Appendable</code>.
+    *
+    * @return the Well-Known Text.
+    */
+   public CharSequence getWktSequence() {
+      if (this.wktStart == 0 && this.wktEnd == this.text.length()) {
+         return this.text;
+      }
+      return CharBuffer.wrap(this.text, this.wktStart, this.wktEnd);
+   }
+}
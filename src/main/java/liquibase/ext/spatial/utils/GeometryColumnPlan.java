@@ -0,0 +1,332 @@
+package liquibase.ext.spatial.utils;
+
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.snapshot.SnapshotControl;
+import liquibase.snapshot.SnapshotGeneratorFactory;
+import liquibase.structure.core.Column;
+import liquibase.structure.core.DataType;
+import liquibase.structure.core.Table;
+
+import com.vividsolutions.jts.geom.Geometry;
+
+/**
+ * <code>GeometryColumnPlan</code> records which columns of a table cannot hold a geometry so that
+ * the spatial insert and update generators can skip the Well-Known Text check on them. The plan is
+ * resolved from a snapshot of the table's columns the first time a value of the table looks like a
+ * geometry, so statements without geometries never take a snapshot. The plan is cached per
+ * database for the whole changelog run and is only discarded when SQL is generated for a statement
+ * that may change the table's columns (<code>addColumn</code>, <code>modifyDataType</code>,
+ * <code>dropColumn</code>, <code>renameColumn</code>, <code>createTable</code>,
+ * <code>dropTable</code>, <code>renameTable</code> or raw SQL). Columns that aren't in the
+ * snapshot (e.g. the table doesn't exist yet or there isn't a live connection) are
+ * always treated as possible geometry columns.
+ */
+public class GeometryColumnPlan {
+   /** The plan used when the table's columns are unknown. */
+   public static final GeometryColumnPlan UNKNOWN = new GeometryColumnPlan(
+         Collections.<String> emptySet());
+
+   /** The JDBC types of columns that never hold a geometry. */
+   private static final Set<Integer> NON_GEOMETRY_TYPES = new HashSet<Integer>(Arrays.asList(
+         Types.BIGINT, Types.BIT, Types.BOOLEAN, Types.CHAR, Types.CLOB, Types.DATE,
+         Types.DECIMAL, Types.DOUBLE, Types.FLOAT, Types.INTEGER, Types.LONGNVARCHAR,
+         Types.LONGVARCHAR, Types.NCHAR, Types.NCLOB, Types.NUMERIC, Types.NVARCHAR, Types.REAL,
+         Types.SMALLINT, Types.TIME, Types.TIMESTAMP, Types.TINYINT, Types.VARCHAR));
+
+   /** The geometry tags and the EWKT SRID prefix with which a geometry string may start. */
+   private static final String[] GEOMETRY_PREFIXES = { "SRID", "POINT", "LINESTRING", "POLYGON",
+         "MULTI", "GEOMETRYCOLLECTION" };
+
+   /**
+    * The cached upper case names of the non-geometry columns keyed by database and then by table.
+    */
+   private static final Map<Database, Map<String, Set<String>>> PLANS = Collections
+         .synchronizedMap(new WeakHashMap<Database, Map<String, Set<String>>>());
+
+   /** The database instance or <code>null</code> if the plan is already resolved. */
+   private final Database database;
+
+   /** The optional catalog name. */
+   private final String catalogName;
+
+   /** The optional schema name. */
+   private final String schemaName;
+
+   /** The table name. */
+   private final String tableName;
+
+   /** The upper case names of the columns that cannot hold a geometry, once resolved. */
+   private Set<String> nonGeometryColumns;
+
+   /**
+    * Creates a resolved plan.
+    *
+    * @param nonGeometryColumns
+    *           the upper case names of the columns that cannot hold a geometry.
+    */
+   protected GeometryColumnPlan(final Set<String> nonGeometryColumns) {
+      this(null, null, null, null);
+      this.nonGeometryColumns = nonGeometryColumns;
+   }
+
+   /**
+    * Creates a plan that is resolved on first use.
+    *
+    * @param database
+    *           the database instance.
+    * @param catalogName
+    *           the optional catalog name.
+    * @param schemaName
+    *           the optional schema name.
+    * @param tableName
+    *           the table name.
+    */
+   protected GeometryColumnPlan(final Database database, final String catalogName,
+         final String schemaName, final String tableName) {
+      this.database = database;
+      this.catalogName = catalogName;
+      this.schemaName = schemaName;
+      this.tableName = tableName;
+   }
+
+   /**
+    * Indicates if the given column may hold a geometry and, therefore, its values must be checked
+    * for Well-Known Text. This resolves the plan if it hasn't been already.
+    *
+    * @param columnName
+    *           the column name.
+    * @return <code>true</code> if the column may be a geometry column.
+    */
+   public boolean isPossibleGeometryColumn(final String columnName) {
+      return columnName == null
+            || !getNonGeometryColumns().contains(columnName.trim().toUpperCase());
+   }
+
+   /**
+    * Indicates if the given value of the column may be a geometry. The value is checked first so
+    * that the plan is only resolved when the table has a value that looks like a geometry.
+    *
+    * @param columnName
+    *           the column name.
+    * @param value
+    *           the column value.
+    * @return <code>true</code> if the value must be checked for a geometry.
+    */
+   public boolean isPossibleGeometry(final String columnName, final Object value) {
+      return mayBeGeometry(value) && isPossibleGeometryColumn(columnName);
+   }
+
+   /**
+    * Indicates if the value may be a geometry, i.e. it is a JTS geometry or a string that starts
+    * like Well-Known Text, Extended Well-Known Text or hex encoded Well-Known Binary. Only the
+    * start of the string is checked, but hex must have a WKB header of a byte order and a geometry
+    * type, so zip codes, dates and zero padded codes don't resolve the plan.
+    *
+    * @param value
+    *           the column value.
+    * @return <code>true</code> if the value may be a geometry.
+    */
+   public static boolean mayBeGeometry(final Object value) {
+      if (value instanceof Geometry) {
+         return true;
+      }
+      if (!(value instanceof String)) {
+         return false;
+      }
+      final String text = (String) value;
+      int start = 0;
+      while (start < text.length() && text.charAt(start) <= ' ') {
+         start++;
+      }
+      if (start < text.length() && text.charAt(start) == '0') {
+         return WkbHexScanner.hasHeader(text);
+      }
+      for (final String prefix : GEOMETRY_PREFIXES) {
+         if (text.regionMatches(true, start, prefix, 0, prefix.length())) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   /**
+    * Returns the plan for the given table. The plan is resolved when it is first asked about a
+    * column.
+    *
+    * @param database
+    *           the database instance.
+    * @param catalogName
+    *           the optional catalog name.
+    * @param schemaName
+    *           the optional schema name.
+    * @param tableName
+    *           the table name.
+    * @return the plan for the table.
+    */
+   public static GeometryColumnPlan getPlan(final Database database, final String catalogName,
+         final String schemaName, final String tableName) {
+      if (tableName == null || !(database.getConnection() instanceof JdbcConnection)) {
+         return UNKNOWN;
+      }
+      return new GeometryColumnPlan(database, catalogName, schemaName, tableName);
+   }
+
+   /**
+    * Returns the non-geometry columns, taking them from the cache or a snapshot of the table on
+    * first use.
+    *
+    * @return the upper case names of the columns that cannot hold a geometry.
+    */
+   protected synchronized Set<String> getNonGeometryColumns() {
+      if (this.nonGeometryColumns == null) {
+         final Map<String, Set<String>> tablePlans = getTablePlans(this.database);
+         final String key = getKey(this.catalogName, this.schemaName, this.tableName);
+         Set<String> columns = tablePlans.get(key);
+         if (columns == null) {
+            columns = loadPlan(this.database, this.catalogName, this.schemaName, this.tableName)
+                  .getNonGeometryColumns();
+            tablePlans.put(key, columns);
+         }
+         this.nonGeometryColumns = columns;
+      }
+      return this.nonGeometryColumns;
+   }
+
+   /**
+    * Returns the cached plans of the given database.
+    *
+    * @param database
+    *           the database instance.
+    * @return the non-geometry columns keyed by table.
+    */
+   private static Map<String, Set<String>> getTablePlans(final Database database) {
+      synchronized (PLANS) {
+         Map<String, Set<String>> tablePlans = PLANS.get(database);
+         if (tablePlans == null) {
+            tablePlans = Collections.synchronizedMap(new HashMap<String, Set<String>>());
+            PLANS.put(database, tablePlans);
+         }
+         return tablePlans;
+      }
+   }
+
+   /**
+    * Returns the cache key of a table.
+    *
+    * @param catalogName
+    *           the optional catalog name.
+    * @param schemaName
+    *           the optional schema name.
+    * @param tableName
+    *           the table name.
+    * @return the key.
+    */
+   private static String getKey(final String catalogName, final String schemaName,
+         final String tableName) {
+      return (catalogName + "." + schemaName + "." + tableName).toUpperCase();
+   }
+
+   /**
+    * Discards the cached plans of the given database.
+    *
+    * @param database
+    *           the database instance.
+    */
+   public static void clear(final Database database) {
+      PLANS.remove(database);
+   }
+
+   /**
+    * Discards the cached plans of a table, e.g. because a column was added, dropped or changed.
+    * The plans of the table in every catalog and schema are discarded since the statements may
+    * name the default schema differently.
+    *
+    * @param database
+    *           the database instance.
+    * @param catalogName
+    *           the optional catalog name.
+    * @param schemaName
+    *           the optional schema name.
+    * @param tableName
+    *           the table name.
+    */
+   public static void clear(final Database database, final String catalogName,
+         final String schemaName, final String tableName) {
+      final Map<String, Set<String>> tablePlans = PLANS.get(database);
+      if (tablePlans == null || tableName == null) {
+         return;
+      }
+      final String suffix = "." + tableName.toUpperCase();
+      synchronized (tablePlans) {
+         final Iterator<String> iterator = tablePlans.keySet().iterator();
+         while (iterator.hasNext()) {
+            if (iterator.next().endsWith(suffix)) {
+               iterator.remove();
+            }
+         }
+      }
+   }
+
+   /**
+    * Creates the plan from a snapshot of the table's columns.
+    *
+    * @param database
+    *           the database instance.
+    * @param catalogName
+    *           the optional catalog name.
+    * @param schemaName
+    *           the optional schema name.
+    * @param tableName
+    *           the table name.
+    * @return the plan for the table.
+    */
+   protected static GeometryColumnPlan loadPlan(final Database database,
+         final String catalogName, final String schemaName, final String tableName) {
+      final Table example = (Table) new Table().setName(
+            database.correctObjectName(tableName, Table.class)).setSchema(catalogName, schemaName);
+      final Table table;
+      try {
+         table = SnapshotGeneratorFactory.getInstance().createSnapshot(example, database,
+               new SnapshotControl(database, "table, column"));
+      } catch (final Exception e) {
+         // Check every column as if the table didn't exist.
+         return UNKNOWN;
+      }
+      if (table == null || table.getColumns() == null) {
+         return UNKNOWN;
+      }
+      final Set<String> nonGeometryColumns = new HashSet<String>();
+      for (final Column column : table.getColumns()) {
+         if (!isPossibleGeometryType(column.getType())) {
+            nonGeometryColumns.add(column.getName().toUpperCase());
+         }
+      }
+      return new GeometryColumnPlan(nonGeometryColumns);
+   }
+
+   /**
+    * Indicates if a column of the given type may hold a geometry. Geometries are stored as
+    * vendor-specific types (e.g. <code>SDO_GEOMETRY</code> or PostGIS <code>geometry</code>) or as
+    * binary data (e.g. GeoDB) so only the standard character, numeric, boolean and temporal types
+    * are ruled out.
+    *
+    * @param type
+    *           the column's data type.
+    * @return <code>true</code> if the type may hold a geometry.
+    */
+   protected static boolean isPossibleGeometryType(final DataType type) {
+      return type == null || type.getDataTypeId() == null
+            || !NON_GEOMETRY_TYPES.contains(type.getDataTypeId());
+   }
+}
@@ -0,0 +1,183 @@
+package liquibase.ext.spatial.utils;
+
+import java.util.Map;
+import java.util.Map.Entry;
+
+import liquibase.ext.spatial.configuration.SpatialConfiguration;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.geom.PrecisionModel;
+import com.vividsolutions.jts.io.ParseException;
+import com.vividsolutions.jts.io.WKBReader;
+import com.vividsolutions.jts.io.WKTReader;
+import com.vividsolutions.jts.io.WKTWriter;
+import com.vividsolutions.jts.precision.CoordinatePrecisionReducerFilter;
+
+/**
+ * <code>GeometryPrecision</code> rounds the coordinates of geometry values to a number of decimal
+ * places. The rounded geometry has a fixed {@link PrecisionModel} so its Well-Known Text is
+ * written with at most that many decimal places and without trailing zeros, e.g.
+ * <code>POINT (1.23 4.5)</code> instead of <code>POINT (1.2300000000000002 4.5)</code>, and its
+ * Well-Known Binary holds the rounded values. Only the X and Y ordinates are rounded; Z values
+ * are kept and must be written with {@link #toText(Geometry)} since {@link Geometry#toText()} only
+ * writes X and Y.
+ */
+public final class GeometryPrecision {
+   /** Hide the default constructor. */
+   private GeometryPrecision() {
+   }
+
+   /**
+    * Returns a copy of the geometry with its coordinates rounded to the given number of decimal
+    * places.
+    *
+    * @param geometry
+    *           the geometry.
+    * @param decimalPlaces
+    *           the number of decimal places which may be negative to round to tens, hundreds, etc.
+    * @return the rounded geometry with the same SRID.
+    */
+   public static Geometry reduce(final Geometry geometry, final int decimalPlaces) {
+      final PrecisionModel precisionModel = new PrecisionModel(Math.pow(10, decimalPlaces));
+      final Geometry reduced = new GeometryFactory(precisionModel, geometry.getSRID())
+            .createGeometry(geometry);
+      reduced.apply(new CoordinatePrecisionReducerFilter(precisionModel));
+      reduced.setSRID(geometry.getSRID());
+      return reduced;
+   }
+
+   /**
+    * Rounds the coordinates of a geometry value. JTS geometries are rounded as is. Well-Known Text,
+    * Extended Well-Known Text and hex encoded Well-Known Binary strings are parsed and returned as
+    * rounded JTS geometries. Other values, and geometry strings that JTS cannot parse (e.g.
+    * <code>POINT Z</code>), are returned unchanged.
+    *
+    * @param value
+    *           the column value.
+    * @param decimalPlaces
+    *           the number of decimal places.
+    * @return the rounded geometry or the original value.
+    */
+   public static Object reduce(final Object value, final int decimalPlaces) {
+      if (value instanceof Geometry) {
+         return reduce((Geometry) value, decimalPlaces);
+      }
+      if (!(value instanceof String)) {
+         return value;
+      }
+      try {
+         final EwktScanner ewkt = EwktScanner.scan((String) value);
+         if (ewkt != null) {
+            final Integer srid = parseSrid(ewkt.getSrid());
+            if (srid == null) {
+               return value;
+            }
+            final Geometry geometry = new WKTReader().read(ewkt.getWkt());
+            geometry.setSRID(srid);
+            return reduce(geometry, decimalPlaces);
+         }
+         final WkbHexScanner wkb = WkbHexScanner.scan((String) value);
+         if (wkb != null) {
+            final Integer srid = parseSrid(wkb.getSrid());
+            if (srid == null) {
+               return value;
+            }
+            final Geometry geometry = new WKBReader().read(wkb.toWkbByteArray());
+            geometry.setSRID(srid);
+            return reduce(geometry, decimalPlaces);
+         }
+      } catch (final ParseException e) {
+         // Leave it to the database.
+      }
+      return value;
+   }
+
+   /**
+    * Parses the SRID of a geometry string.
+    *
+    * @param srid
+    *           the SRID digits or <code>null</code> if the value doesn't have an SRID.
+    * @return the SRID, <code>0</code> if there isn't one or <code>null</code> if it doesn't fit
+    *         in a JTS SRID, in which case the value is left to the database.
+    */
+   private static Integer parseSrid(final String srid) {
+      if (srid == null) {
+         return 0;
+      }
+      try {
+         return Integer.valueOf(srid);
+      } catch (final NumberFormatException e) {
+         return null;
+      }
+   }
+
+   /**
+    * Returns the number of ordinates of the geometry's coordinates.
+    *
+    * @param geometry
+    *           the geometry.
+    * @return <code>3</code> if the geometry has Z values, otherwise <code>2</code>.
+    */
+   public static int getDimension(final Geometry geometry) {
+      final Coordinate coordinate = geometry.getCoordinate();
+      return coordinate != null && !Double.isNaN(coordinate.z) ? 3 : 2;
+   }
+
+   /**
+    * Writes the geometry as Well-Known Text, including the Z values of a three-dimensional
+    * geometry, e.g. <code>POINT (1.23 2.35 100.5)</code>.
+    *
+    * @param geometry
+    *           the geometry.
+    * @return the Well-Known Text.
+    */
+   public static String toText(final Geometry geometry) {
+      return new WKTWriter(getDimension(geometry)).write(geometry);
+   }
+
+   /**
+    * Rounds the geometry values of an <code>INSERT</code> or <code>UPDATE</code> in place. Only
+    * the values of columns that the plan considers possible geometry columns are rounded since a
+    * rounded value is a JTS geometry, which would be written unquoted and without its SRID to a
+    * text column.
+    *
+    * @param columnValues
+    *           the column values of the statement.
+    * @param decimalPlaces
+    *           the number of decimal places.
+    * @param plan
+    *           the geometry column plan of the statement's table.
+    * @see #reduce(Object, int)
+    */
+   public static void reduceAll(final Map<String, Object> columnValues, final int decimalPlaces,
+         final GeometryColumnPlan plan) {
+      for (final Entry<String, Object> entry : columnValues.entrySet()) {
+         if (plan.isPossibleGeometry(entry.getKey(), entry.getValue())) {
+            entry.setValue(reduce(entry.getValue(), decimalPlaces));
+         }
+      }
+   }
+
+   /**
+    * Rounds a geometry value to the {@link SpatialConfiguration#getCoordinatePrecision()}. Nothing
+    * is done when the precision isn't configured or the value is a geometry that already has a
+    * fixed precision model, e.g. because the change set its own precision.
+    *
+    * @param value
+    *           the column value.
+    * @return the rounded geometry or the original value.
+    */
+   public static Object reduceToConfiguredPrecision(final Object value) {
+      final Integer decimalPlaces = SpatialConfiguration.getInstance().getCoordinatePrecision();
+      if (decimalPlaces == null || value == null) {
+         return value;
+      }
+      if (value instanceof Geometry
+            && !((Geometry) value).getPrecisionModel().isFloating()) {
+         return value;
+      }
+      return reduce(value, decimalPlaces);
+   }
+}
@@ -0,0 +1,204 @@
+package liquibase.ext.spatial.utils;
+
+/**
+ * <code>PointScanner</code> extracts the coordinates of a two-dimensional Well-Known Text
+ * <code>POINT</code>, e.g. <code>POINT (1.5 -2)</code>, without building a JTS geometry. The
+ * coordinates are reported as the original decimal strings so they can be written to the SQL
+ * without any loss of precision. Anything else, including <code>POINT Z</code>,
+ * <code>POINT M</code> and <code>POINT EMPTY</code>, is rejected so that it takes the usual WKT
+ * path.
+ */
+public final class PointScanner {
+   /** The point geometry tag. */
+   private static final String POINT = "POINT";
+
+   /** The scanned text. */
+   private final CharSequence text;
+
+   /** The start offset of the X coordinate. */
+   private final int xStart;
+
+   /** The end offset (exclusive) of the X coordinate. */
+   private final int xEnd;
+
+   /** The start offset of the Y coordinate. */
+   private final int yStart;
+
+   /** The end offset (exclusive) of the Y coordinate. */
+   private final int yEnd;
+
+   /**
+    * Creates a new instance with the given offsets.
+    *
+    * @param text
+    *           the scanned text.
+    * @param xStart
+    *           the start offset of the X coordinate.
+    * @param xEnd
+    *           the end offset of the X coordinate.
+    * @param yStart
+    *           the start offset of the Y coordinate.
+    * @param yEnd
+    *           the end offset of the Y coordinate.
+    */
+   private PointScanner(final CharSequence text, final int xStart, final int xEnd,
+         final int yStart, final int yEnd) {
+      this.text = text;
+      this.xStart = xStart;
+      this.xEnd = xEnd;
+      this.yStart = yStart;
+      this.yEnd = yEnd;
+   }
+
+   /**
+    * Scans the given Well-Known Text, without an EWKT <code>SRID=n;</code> prefix, for a
+    * two-dimensional point.
+    *
+    * @param wkt
+    *           the Well-Known Text.
+    * @return the scan result or <code>null</code> if the WKT is not a two-dimensional point.
+    */
+   public static PointScanner scan(final CharSequence wkt) {
+      if (wkt == null) {
+         return null;
+      }
+      final int end = wkt.length();
+      int pos = skipWhitespace(wkt, 0, end);
+      if (end - pos < POINT.length()) {
+         return null;
+      }
+      for (int ii = 0; ii < POINT.length(); ii++) {
+         final char c = wkt.charAt(pos + ii);
+         if (c != POINT.charAt(ii) && c != Character.toLowerCase(POINT.charAt(ii))) {
+            return null;
+         }
+      }
+      pos = skipWhitespace(wkt, pos + POINT.length(), end);
+      if (pos >= end || wkt.charAt(pos) != '(') {
+         return null;
+      }
+      final int xStart = skipWhitespace(wkt, pos + 1, end);
+      final int xEnd = scanNumber(wkt, xStart, end);
+      if (xEnd < 0) {
+         return null;
+      }
+      final int yStart = skipWhitespace(wkt, xEnd, end);
+      if (yStart == xEnd) {
+         return null;
+      }
+      final int yEnd = scanNumber(wkt, yStart, end);
+      if (yEnd < 0) {
+         return null;
+      }
+      pos = skipWhitespace(wkt, yEnd, end);
+      if (pos >= end || wkt.charAt(pos) != ')') {
+         return null;
+      }
+      if (skipWhitespace(wkt, pos + 1, end) != end) {
+         return null;
+      }
+      return new PointScanner(wkt, xStart, xEnd, yStart, yEnd);
+   }
+
+   /**
+    * Scans a decimal number with an optional sign, fraction and exponent, e.g.
+    * <code>-1.5E-3</code>. This is the syntax of a numeric literal in SQL.
+    *
+    * @param text
+    *           the text to scan.
+    * @param start
+    *           the offset of the number.
+    * @param end
+    *           the end offset of the text to scan.
+    * @return the offset following the number or <code>-1</code> if there isn't a number.
+    */
+   private static int scanNumber(final CharSequence text, final int start, final int end) {
+      int pos = start;
+      if (pos < end && (text.charAt(pos) == '-' || text.charAt(pos) == '+')) {
+         pos++;
+      }
+      final int integerStart = pos;
+      pos = skipDigits(text, pos, end);
+      int digits = pos - integerStart;
+      if (pos < end && text.charAt(pos) == '.') {
+         final int fractionStart = pos + 1;
+         pos = skipDigits(text, fractionStart, end);
+         digits += pos - fractionStart;
+      }
+      if (digits == 0) {
+         return -1;
+      }
+      if (pos < end && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+         pos++;
+         if (pos < end && (text.charAt(pos) == '-' || text.charAt(pos) == '+')) {
+            pos++;
+         }
+         final int exponentStart = pos;
+         pos = skipDigits(text, pos, end);
+         if (pos == exponentStart) {
+            return -1;
+         }
+      }
+      return pos;
+   }
+
+   /**
+    * Skips the ASCII digits.
+    *
+    * @param text
+    *           the text to scan.
+    * @param start
+    *           the offset from which to skip.
+    * @param end
+    *           the end offset of the text to scan.
+    * @return the offset of the first non-digit character.
+    */
+   private static int skipDigits(final CharSequence text, final int start, final int end) {
+      int pos = start;
+      while (pos < end && text.charAt(pos) >= '0' && text.charAt(pos) <= '9') {
+         pos++;
+      }
+      return pos;
+   }
+
+   /**
+    * Skips the whitespace characters matched by the regular expression <code>\s</code>.
+    *
+    * @param text
+    *           the text to scan.
+    * @param start
+    *           the offset from which to skip.
+    * @param end
+    *           the end offset of the text to scan.
+    * @return the offset of the first non-whitespace character.
+    */
+   private static int skipWhitespace(final CharSequence text, final int start, final int end) {
+      int pos = start;
+      while (pos < end) {
+         final char c = text.charAt(pos);
+         if (c != ' ' && c != '\t' && c != '\n' && c != '\u000B' && c != '\f' && c != '\r') {
+            break;
+         }
+         pos++;
+      }
+      return pos;
+   }
+
+   /**
+    * Returns the X coordinate as it appears in the Well-Known Text.
+    *
+    * @return the X coordinate.
+    */
+   public String getX() {
+      return this.text.subSequence(this.xStart, this.xEnd).toString();
+   }
+
+   /**
+    * Returns the Y coordinate as it appears in the Well-Known Text.
+    *
+    * @return the Y coordinate.
+    */
+   public String getY() {
+      return this.text.subSequence(this.yStart, this.yEnd).toString();
+   }
+}
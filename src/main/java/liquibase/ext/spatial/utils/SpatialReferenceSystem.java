@@ -0,0 +1,257 @@
+package liquibase.ext.spatial.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import liquibase.exception.UnexpectedLiquibaseException;
+
+/**
+ * <code>SpatialReferenceSystem</code> describes a spatial reference system from the registry
+ * bundled with the extension. The registry holds the commonly used EPSG codes with their Oracle
+ * SRID, axis unit and default extent so that SRIDs can be checked and mapped without querying the
+ * database, e.g. when running <code>updateSQL</code>. It isn't a complete copy of the EPSG
+ * dataset: an SRID that isn't found may still be valid.
+ */
+public final class SpatialReferenceSystem {
+   /** The class path resource of the registry. */
+   public static final String RESOURCE = "liquibase/ext/spatial/utils/spatial_ref_sys.txt";
+
+   /** The unit of geographic coordinate systems. */
+   public static final String DEGREE = "degree";
+
+   /** The Oracle SRID value indicating that Oracle uses the EPSG code. */
+   private static final String SAME_SRID = "=";
+
+   /** The first EPSG code of the entry. */
+   private final int srid;
+
+   /** The last EPSG code of the entry, which is greater than {@link #srid} for a range. */
+   private final int lastSrid;
+
+   /** The Oracle SRID or <code>null</code> if it is the EPSG code. */
+   private final Integer oracleSrid;
+
+   /** The unit of both axes. */
+   private final String unit;
+
+   /** The default extent: minimum X, minimum Y, maximum X and maximum Y. */
+   private final double[] extent;
+
+   /**
+    * <code>Registry</code> loads the registry the first time it is used.
+    */
+   private static final class Registry {
+      /** The entries sorted by EPSG code. */
+      private static final SpatialReferenceSystem[] ENTRIES = load();
+   }
+
+   /**
+    * Creates a new registry entry.
+    *
+    * @param srid
+    *           the first EPSG code.
+    * @param lastSrid
+    *           the last EPSG code.
+    * @param oracleSrid
+    *           the Oracle SRID or <code>null</code> if it is the EPSG code.
+    * @param unit
+    *           the unit of both axes.
+    * @param extent
+    *           the default extent.
+    */
+   private SpatialReferenceSystem(final int srid, final int lastSrid, final Integer oracleSrid,
+         final String unit, final double[] extent) {
+      this.srid = srid;
+      this.lastSrid = lastSrid;
+      this.oracleSrid = oracleSrid;
+      this.unit = unit;
+      this.extent = extent;
+   }
+
+   /**
+    * Finds the spatial reference system with the given EPSG code.
+    *
+    * @param srid
+    *           the EPSG code.
+    * @return the spatial reference system or <code>null</code> if it isn't in the registry.
+    */
+   public static SpatialReferenceSystem get(final int srid) {
+      final SpatialReferenceSystem[] entries = Registry.ENTRIES;
+      int low = 0;
+      int high = entries.length - 1;
+      while (low <= high) {
+         final int middle = (low + high) >>> 1;
+         final SpatialReferenceSystem entry = entries[middle];
+         if (srid < entry.srid) {
+            high = middle - 1;
+         } else if (srid > entry.lastSrid) {
+            low = middle + 1;
+         } else if (entry.srid == srid && entry.lastSrid == srid) {
+            return entry;
+         } else {
+            return new SpatialReferenceSystem(srid, srid, entry.oracleSrid, entry.unit,
+                  entry.extent);
+         }
+      }
+      return null;
+   }
+
+   /**
+    * Finds the spatial reference system with the given EPSG code.
+    *
+    * @param srid
+    *           the EPSG code which may be surrounded by whitespace.
+    * @return the spatial reference system or <code>null</code> if the SRID isn't numeric or isn't
+    *         in the registry.
+    */
+   public static SpatialReferenceSystem get(final String srid) {
+      if (srid == null || !srid.trim().matches("[0-9]{1,9}")) {
+         return null;
+      }
+      return get(Integer.parseInt(srid.trim()));
+   }
+
+   /**
+    * Loads the registry from the {@link #RESOURCE}.
+    *
+    * @return the entries sorted by EPSG code.
+    */
+   private static SpatialReferenceSystem[] load() {
+      final InputStream stream = SpatialReferenceSystem.class.getClassLoader()
+            .getResourceAsStream(RESOURCE);
+      if (stream == null) {
+         throw new UnexpectedLiquibaseException("The resource " + RESOURCE + " wasn't found");
+      }
+      final List<SpatialReferenceSystem> entries = new ArrayList<SpatialReferenceSystem>();
+      try {
+         final BufferedReader reader = new BufferedReader(new InputStreamReader(stream, "UTF-8"));
+         String line;
+         while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.length() > 0 && !line.startsWith("#")) {
+               entries.add(parse(line));
+            }
+         }
+      } catch (final IOException e) {
+         throw new UnexpectedLiquibaseException("Failed to read " + RESOURCE, e);
+      } finally {
+         try {
+            stream.close();
+         } catch (final IOException ignore) {
+         }
+      }
+      for (int ii = 1; ii < entries.size(); ii++) {
+         if (entries.get(ii).srid <= entries.get(ii - 1).lastSrid) {
+            throw new UnexpectedLiquibaseException("The entries of " + RESOURCE
+                  + " must be sorted without overlaps: " + entries.get(ii).srid);
+         }
+      }
+      return entries.toArray(new SpatialReferenceSystem[entries.size()]);
+   }
+
+   /**
+    * Parses a line of the registry.
+    *
+    * @param line
+    *           the line without leading or trailing whitespace.
+    * @return the registry entry.
+    */
+   private static SpatialReferenceSystem parse(final String line) {
+      final String[] fields = line.split("\\s+");
+      if (fields.length != 7) {
+         throw new UnexpectedLiquibaseException("Invalid line in " + RESOURCE + ": " + line);
+      }
+      try {
+         final String[] srids = fields[0].split("-");
+         final int srid = Integer.parseInt(srids[0]);
+         final int lastSrid = srids.length > 1 ? Integer.parseInt(srids[1]) : srid;
+         final Integer oracleSrid = SAME_SRID.equals(fields[1]) ? null : Integer
+               .valueOf(fields[1]);
+         final double[] extent = new double[4];
+         for (int ii = 0; ii < extent.length; ii++) {
+            extent[ii] = Double.parseDouble(fields[3 + ii]);
+         }
+         return new SpatialReferenceSystem(srid, lastSrid, oracleSrid, fields[2], extent);
+      } catch (final NumberFormatException e) {
+         throw new UnexpectedLiquibaseException("Invalid line in " + RESOURCE + ": " + line, e);
+      }
+   }
+
+   /**
+    * Returns the EPSG code.
+    *
+    * @return the EPSG code.
+    */
+   public int getSrid() {
+      return this.srid;
+   }
+
+   /**
+    * Returns the Oracle SRID, which is the legacy Oracle SRID where one exists, e.g.
+    * <code>8307</code> for <code>EPSG:4326</code>, or else the EPSG code.
+    *
+    * @return the Oracle SRID.
+    */
+   public int getOracleSrid() {
+      return this.oracleSrid == null ? this.srid : this.oracleSrid;
+   }
+
+   /**
+    * Returns the unit of both axes, e.g. <code>degree</code> or <code>metre</code>.
+    *
+    * @return the axis unit.
+    */
+   public String getUnit() {
+      return this.unit;
+   }
+
+   /**
+    * Indicates if this is a geographic coordinate system, i.e. its axes are longitude and latitude
+    * in degrees.
+    *
+    * @return <code>true</code> if this is a geographic coordinate system.
+    */
+   public boolean isGeographic() {
+      return DEGREE.equals(this.unit);
+   }
+
+   /**
+    * Returns the minimum X (or longitude) of the default extent.
+    *
+    * @return the minimum X.
+    */
+   public double getMinX() {
+      return this.extent[0];
+   }
+
+   /**
+    * Returns the minimum Y (or latitude) of the default extent.
+    *
+    * @return the minimum Y.
+    */
+   public double getMinY() {
+      return this.extent[1];
+   }
+
+   /**
+    * Returns the maximum X (or longitude) of the default extent.
+    *
+    * @return the maximum X.
+    */
+   public double getMaxX() {
+      return this.extent[2];
+   }
+
+   /**
+    * Returns the maximum Y (or latitude) of the default extent.
+    *
+    * @return the maximum Y.
+    */
+   public double getMaxY() {
+      return this.extent[3];
+   }
+}
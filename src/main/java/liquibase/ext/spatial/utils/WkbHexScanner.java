@@ -0,0 +1,561 @@
+package liquibase.ext.spatial.utils;
+
+import java.io.IOException;
+
+/**
+ * <code>WkbHexScanner</code> recognizes hex encoded Well-Known Binary and PostGIS Extended
+ * Well-Known Binary. The structure of the value is walked in a single pass without decoding the
+ * coordinates so only values whose length exactly matches their geometry headers are accepted.
+ * Like {@link EwktScanner}, the result refers to the original string by offset.
+ */
+public final class WkbHexScanner {
+   /** The EWKB flag indicating that the geometry has Z coordinates. */
+   public static final int EWKB_Z_FLAG = 0x80000000;
+
+   /** The EWKB flag indicating that the geometry has M values. */
+   public static final int EWKB_M_FLAG = 0x40000000;
+
+   /** The EWKB flag indicating that the SRID follows the geometry type. */
+   public static final int EWKB_SRID_FLAG = 0x20000000;
+
+   /** The maximum nesting depth of geometry collections. */
+   private static final int MAX_DEPTH = 32;
+
+   /** The upper case hex digits. */
+   private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+   /** The scanned text. */
+   private final String text;
+
+   /** The offset of the first hex digit. */
+   private final int start;
+
+   /** The end offset (exclusive) of the hex digits. */
+   private final int end;
+
+   /** The top-level geometry type, including any EWKB flags or ISO dimension offsets. */
+   private final int type;
+
+   /** The embedded SRID or <code>null</code> if there isn't one. */
+   private final String srid;
+
+   /**
+    * Creates a new instance.
+    *
+    * @param text
+    *           the scanned text.
+    * @param start
+    *           the offset of the first hex digit.
+    * @param end
+    *           the end offset of the hex digits.
+    * @param type
+    *           the top-level geometry type.
+    * @param srid
+    *           the embedded SRID.
+    */
+   private WkbHexScanner(final String text, final int start, final int end, final int type,
+         final String srid) {
+      this.text = text;
+      this.start = start;
+      this.end = end;
+      this.type = type;
+      this.srid = srid;
+   }
+
+   /**
+    * Scans the given value for hex encoded WKB or EWKB. Leading and trailing whitespace is ignored
+    * in the same way as {@link String#trim()}.
+    *
+    * @param text
+    *           the value to scan.
+    * @return the scan result or <code>null</code> if the value is not WKB or EWKB.
+    */
+   public static WkbHexScanner scan(final String text) {
+      if (text == null) {
+         return null;
+      }
+      int start = 0;
+      int end = text.length();
+      while (start < end && text.charAt(start) <= ' ') {
+         start++;
+      }
+      while (end > start && text.charAt(end - 1) <= ' ') {
+         end--;
+      }
+      if (!hasHeader(text, start, end)) {
+         return null;
+      }
+      for (int ii = start; ii < end; ii++) {
+         if (hexValue(text.charAt(ii)) < 0) {
+            return null;
+         }
+      }
+      final Walker walker = new Walker(text, start, (end - start) / 2);
+      if (!walker.walkGeometry(0) || walker.pos != walker.length) {
+         return null;
+      }
+      final String srid = walker.srid != 0 ? String.valueOf(walker.srid) : null;
+      return new WkbHexScanner(text, start, end, walker.type, srid);
+   }
+
+   /**
+    * Indicates if the given value starts with a WKB or EWKB header, i.e. a byte order and a valid
+    * geometry type word, and is long enough for a point. Unlike {@link #scan(String)}, the rest of
+    * the value isn't walked so this is a cheap check for values that may be WKB.
+    *
+    * @param text
+    *           the value to check.
+    * @return <code>true</code> if the value starts like hex encoded WKB or EWKB.
+    */
+   public static boolean hasHeader(final String text) {
+      if (text == null) {
+         return false;
+      }
+      int start = 0;
+      int end = text.length();
+      while (start < end && text.charAt(start) <= ' ') {
+         start++;
+      }
+      while (end > start && text.charAt(end - 1) <= ' ') {
+         end--;
+      }
+      return hasHeader(text, start, end);
+   }
+
+   /**
+    * Checks the header of the hex digits between the given offsets.
+    *
+    * @param text
+    *           the value to check.
+    * @param start
+    *           the offset of the first hex digit.
+    * @param end
+    *           the end offset of the hex digits.
+    * @return <code>true</code> if the value starts like hex encoded WKB or EWKB.
+    */
+   private static boolean hasHeader(final String text, final int start, final int end) {
+      // The smallest geometry is a 2D point: byte order, type and two doubles.
+      if (end - start < 42 || (end - start) % 2 != 0) {
+         return false;
+      }
+      for (int ii = start; ii < start + 10; ii++) {
+         if (hexValue(text.charAt(ii)) < 0) {
+            return false;
+         }
+      }
+      final Walker walker = new Walker(text, start, 5);
+      final int byteOrder = walker.readByte();
+      if (byteOrder != 0 && byteOrder != 1) {
+         return false;
+      }
+      walker.littleEndian = byteOrder == 1;
+      return isGeometryType((int) walker.readUInt32());
+   }
+
+   /**
+    * Indicates if the given type word is a WKB geometry type, optionally with EWKB flags or ISO
+    * dimension offsets but not both.
+    *
+    * @param geometryType
+    *           the type word.
+    * @return <code>true</code> if the type is valid.
+    */
+   private static boolean isGeometryType(final int geometryType) {
+      final int code = geometryType & 0x0FFFFFFF;
+      final int baseType = code % 1000;
+      final int isoDimensions = code / 1000;
+      if (baseType < 1 || baseType > 7 || isoDimensions > 3) {
+         return false;
+      }
+      return (geometryType & (EWKB_Z_FLAG | EWKB_M_FLAG)) == 0 || isoDimensions == 0;
+   }
+
+   /**
+    * Returns the scanned text.
+    *
+    * @return the text.
+    */
+   public String getText() {
+      return this.text;
+   }
+
+   /**
+    * Returns the offset of the first hex digit.
+    *
+    * @return the start offset.
+    */
+   public int getStart() {
+      return this.start;
+   }
+
+   /**
+    * Returns the end offset (exclusive) of the hex digits.
+    *
+    * @return the end offset.
+    */
+   public int getEnd() {
+      return this.end;
+   }
+
+   /**
+    * Indicates if the value is EWKB with an embedded SRID.
+    *
+    * @return <code>true</code> if an SRID is present.
+    */
+   public boolean hasSrid() {
+      return (this.type & EWKB_SRID_FLAG) != 0;
+   }
+
+   /**
+    * Returns the embedded SRID.
+    *
+    * @return the SRID or <code>null</code> if there isn't one.
+    */
+   public String getSrid() {
+      return this.srid;
+   }
+
+   /**
+    * Returns the OGC geometry type code (i.e. <code>1</code> for a point through <code>7</code>
+    * for a geometry collection) without any dimension information.
+    *
+    * @return the geometry type code.
+    */
+   public int getGeometryType() {
+      return (this.type & 0x0FFFFFFF) % 1000;
+   }
+
+   /**
+    * Indicates if the geometry has Z coordinates.
+    *
+    * @return <code>true</code> if the geometry is three dimensional.
+    */
+   public boolean hasZ() {
+      final int isoDimensions = (this.type & 0x0FFFFFFF) / 1000;
+      return (this.type & EWKB_Z_FLAG) != 0 || isoDimensions == 1 || isoDimensions == 3;
+   }
+
+   /**
+    * Indicates if the geometry has M values.
+    *
+    * @return <code>true</code> if the geometry is measured.
+    */
+   public boolean hasM() {
+      final int isoDimensions = (this.type & 0x0FFFFFFF) / 1000;
+      return (this.type & EWKB_M_FLAG) != 0 || isoDimensions == 2 || isoDimensions == 3;
+   }
+
+   /**
+    * Indicates if the Z or M dimensions are flagged in the PostGIS EWKB way rather than with the
+    * ISO geometry type codes (e.g. <code>1001</code> for a point with Z).
+    *
+    * @return <code>true</code> if the geometry type has the EWKB Z or M flags.
+    */
+   public boolean hasExtendedDimensions() {
+      return (this.type & (EWKB_Z_FLAG | EWKB_M_FLAG)) != 0;
+   }
+
+   /**
+    * Returns the number of hex digits that {@link #appendWkb(Appendable)} writes.
+    *
+    * @return the length of the WKB hex string.
+    */
+   public int getWkbLength() {
+      return this.end - this.start - (hasSrid() ? 8 : 0);
+   }
+
+   /**
+    * Writes the value as hex encoded WKB, i.e. without the EWKB SRID, to the output. The hex
+    * digits are written from the original string without copying it.
+    *
+    * @param out
+    *           the output to which the WKB is written.
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   public void appendWkb(final Appendable out) throws IOException {
+      if (!hasSrid()) {
+         out.append(this.text, this.start, this.end);
+         return;
+      }
+      final boolean littleEndian = hexValue(this.text.charAt(this.start + 1)) == 1;
+      final int typeWithoutSrid = this.type & ~EWKB_SRID_FLAG;
+      out.append(this.text, this.start, this.start + 2);
+      for (int ii = 0; ii < 4; ii++) {
+         final int shift = littleEndian ? ii * 8 : (3 - ii) * 8;
+         final int b = (typeWithoutSrid >>> shift) & 0xFF;
+         out.append(HEX_DIGITS[b >>> 4]).append(HEX_DIGITS[b & 0x0F]);
+      }
+      out.append(this.text, this.start + 18, this.end);
+   }
+
+   /**
+    * Returns the value as hex encoded WKB, i.e. without the EWKB SRID.
+    *
+    * @return the WKB hex string.
+    */
+   public String getWkb() {
+      if (!hasSrid() && this.start == 0 && this.end == this.text.length()) {
+         return this.text;
+      }
+      final StringBuilder wkb = new StringBuilder(getWkbLength());
+      try {
+         appendWkb(wkb);
+      } catch (final IOException e) {
+         throw new IllegalStateException(e);
+      }
+      return wkb.toString();
+   }
+
+   /**
+    * Decodes the value, including any EWKB SRID, to bytes.
+    *
+    * @return the (E)WKB bytes.
+    */
+   public byte[] toByteArray() {
+      final byte[] bytes = new byte[(this.end - this.start) / 2];
+      for (int ii = 0; ii < bytes.length; ii++) {
+         final int offset = this.start + ii * 2;
+         bytes[ii] = (byte) ((hexValue(this.text.charAt(offset)) << 4) | hexValue(this.text
+               .charAt(offset + 1)));
+      }
+      return bytes;
+   }
+
+   /**
+    * Decodes the value as WKB, i.e. without the EWKB SRID, to bytes. The result can be bound
+    * directly to a <code>ST_GeomFromWKB</code> parameter.
+    *
+    * @return the WKB bytes.
+    */
+   public byte[] toWkbByteArray() {
+      if (!hasSrid()) {
+         return toByteArray();
+      }
+      final byte[] wkb = new byte[getWkbLength() / 2];
+      final boolean littleEndian = hexValue(this.text.charAt(this.start + 1)) == 1;
+      final int typeWithoutSrid = this.type & ~EWKB_SRID_FLAG;
+      wkb[0] = (byte) (littleEndian ? 1 : 0);
+      for (int ii = 0; ii < 4; ii++) {
+         final int shift = littleEndian ? ii * 8 : (3 - ii) * 8;
+         wkb[1 + ii] = (byte) (typeWithoutSrid >>> shift);
+      }
+      // Skip the byte order, the type and the SRID.
+      final int coordinatesStart = this.start + 18;
+      for (int ii = 5; ii < wkb.length; ii++) {
+         final int offset = coordinatesStart + (ii - 5) * 2;
+         wkb[ii] = (byte) ((hexValue(this.text.charAt(offset)) << 4) | hexValue(this.text
+               .charAt(offset + 1)));
+      }
+      return wkb;
+   }
+
+   /**
+    * Returns the value of the given hex digit.
+    *
+    * @param c
+    *           the hex digit.
+    * @return the value or <code>-1</code> if the character is not a hex digit.
+    */
+   private static int hexValue(final char c) {
+      if (c >= '0' && c <= '9') {
+         return c - '0';
+      } else if (c >= 'A' && c <= 'F') {
+         return c - 'A' + 10;
+      } else if (c >= 'a' && c <= 'f') {
+         return c - 'a' + 10;
+      }
+      return -1;
+   }
+
+   /**
+    * <code>Walker</code> walks the geometry headers and counts of the hex digits and skips over
+    * the coordinates.
+    */
+   private static final class Walker {
+      /** The scanned text. */
+      private final String text;
+
+      /** The offset of the first hex digit. */
+      private final int start;
+
+      /** The number of bytes. */
+      private final long length;
+
+      /** The current byte position. */
+      private long pos;
+
+      /** The byte order of the current geometry. */
+      private boolean littleEndian;
+
+      /** The top-level geometry type. */
+      private int type;
+
+      /** The top-level SRID. */
+      private int srid;
+
+      /**
+       * Creates a new walker.
+       *
+       * @param text
+       *           the scanned text.
+       * @param start
+       *           the offset of the first hex digit.
+       * @param length
+       *           the number of bytes.
+       */
+      private Walker(final String text, final int start, final long length) {
+         this.text = text;
+         this.start = start;
+         this.length = length;
+      }
+
+      /**
+       * Walks a geometry including its header.
+       *
+       * @param depth
+       *           the nesting depth of the geometry.
+       * @return <code>true</code> if the geometry is valid.
+       */
+      private boolean walkGeometry(final int depth) {
+         if (depth > MAX_DEPTH || this.length - this.pos < 5) {
+            return false;
+         }
+         final int byteOrder = readByte();
+         if (byteOrder != 0 && byteOrder != 1) {
+            return false;
+         }
+         this.littleEndian = byteOrder == 1;
+         final int geometryType = (int) readUInt32();
+         if (!isGeometryType(geometryType)) {
+            return false;
+         }
+         final int code = geometryType & 0x0FFFFFFF;
+         final int baseType = code % 1000;
+         final int isoDimensions = code / 1000;
+         int dimensions = 2;
+         if ((geometryType & EWKB_Z_FLAG) != 0 || isoDimensions == 1 || isoDimensions == 3) {
+            dimensions++;
+         }
+         if ((geometryType & EWKB_M_FLAG) != 0 || isoDimensions == 2 || isoDimensions == 3) {
+            dimensions++;
+         }
+         if ((geometryType & EWKB_SRID_FLAG) != 0) {
+            if (this.length - this.pos < 4) {
+               return false;
+            }
+            final int geometrySrid = (int) readUInt32();
+            if (depth == 0) {
+               this.srid = geometrySrid;
+            }
+         }
+         if (depth == 0) {
+            this.type = geometryType;
+         }
+         switch (baseType) {
+         case 1:
+            return skip(dimensions * 8L);
+         case 2:
+            return walkPoints(dimensions);
+         case 3:
+            return walkRings(dimensions);
+         default:
+            if (this.length - this.pos < 4) {
+               return false;
+            }
+            final long count = readUInt32();
+            // Each member geometry has at least a five byte header.
+            if (count * 5 > this.length - this.pos) {
+               return false;
+            }
+            for (long ii = 0; ii < count; ii++) {
+               if (!walkGeometry(depth + 1)) {
+                  return false;
+               }
+            }
+            return true;
+         }
+      }
+
+      /**
+       * Walks the rings of a polygon.
+       *
+       * @param dimensions
+       *           the number of ordinates per point.
+       * @return <code>true</code> if the rings are valid.
+       */
+      private boolean walkRings(final int dimensions) {
+         if (this.length - this.pos < 4) {
+            return false;
+         }
+         final long rings = readUInt32();
+         if (rings * 4 > this.length - this.pos) {
+            return false;
+         }
+         for (long ii = 0; ii < rings; ii++) {
+            if (!walkPoints(dimensions)) {
+               return false;
+            }
+         }
+         return true;
+      }
+
+      /**
+       * Walks a point count followed by the points.
+       *
+       * @param dimensions
+       *           the number of ordinates per point.
+       * @return <code>true</code> if the points are valid.
+       */
+      private boolean walkPoints(final int dimensions) {
+         if (this.length - this.pos < 4) {
+            return false;
+         }
+         return skip(readUInt32() * dimensions * 8L);
+      }
+
+      /**
+       * Skips the given number of bytes.
+       *
+       * @param bytes
+       *           the number of bytes to skip.
+       * @return <code>true</code> if there were enough bytes.
+       */
+      private boolean skip(final long bytes) {
+         if (bytes > this.length - this.pos) {
+            return false;
+         }
+         this.pos += bytes;
+         return true;
+      }
+
+      /**
+       * Reads one byte.
+       *
+       * @return the byte value.
+       */
+      private int readByte() {
+         final int offset = (int) (this.start + this.pos * 2);
+         this.pos++;
+         return (hexValue(this.text.charAt(offset)) << 4) | hexValue(this.text.charAt(offset + 1));
+      }
+
+      /**
+       * Reads an unsigned 32-bit integer in the current byte order.
+       *
+       * @return the integer value.
+       */
+      private long readUInt32() {
+         long value = 0;
+         for (int ii = 0; ii < 4; ii++) {
+            final long b = readByte();
+            if (this.littleEndian) {
+               value |= b << (ii * 8);
+            } else {
+               value = (value << 8) | b;
+            }
+         }
+         return value;
+      }
+   }
+}
@@ -2,9 +2,17 @@ package liquibase.ext.spatial.change;
 
 import static org.testng.Assert.*;
 import liquibase.change.ColumnConfig;
+import liquibase.changelog.ChangeSet;
 import liquibase.database.Database;
 import liquibase.database.core.H2Database;
+import liquibase.database.core.OracleDatabase;
+import liquibase.database.core.PostgresDatabase;
 import liquibase.exception.ValidationErrors;
+import liquibase.ext.spatial.configuration.SpatialConfiguration;
+import liquibase.ext.spatial.statement.CreateSpatialIndexStatement;
+import liquibase.parser.core.ParsedNode;
+import liquibase.parser.core.ParsedNodeException;
+import liquibase.util.ObjectUtil;
 
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -83,4 +91,290 @@ public class CreateSpatialIndexChangeTest {
             new Object[] { cat, sch, ts, tab, col, ind, geom, "bad4326", h2, false },
             new Object[] { cat, sch, ts, tab, col, ind, geom, "b4326ad", h2, false } };
    }
+
+   /**
+    * Tests {@link CreateSpatialIndexChange#validate(liquibase.database.Database)} with the
+    * database specific options.
+    *
+    * @param database
+    *           the database instance.
+    * @param properties
+    *           the options as <code>name=value</code> pairs separated by semicolons.
+    * @param passes
+    *           indicates if the test is expected to pass.
+    */
+   @Test(dataProvider = "validateOptionsTestData")
+   public void testValidateOptions(final Database database, final String properties,
+         final boolean passes) {
+      final CreateSpatialIndexChange change = createChange(properties);
+      final ValidationErrors errors = change.validate(database);
+      assertEquals(errors.hasErrors(), !passes, properties + ": " + errors.getErrorMessages());
+   }
+
+   /**
+    * Generates the test data for {@link #testValidateOptions(Database, String, boolean)}.
+    *
+    * @return the test data.
+    */
+   @DataProvider
+   public Object[][] validateOptionsTestData() {
+      final OracleDatabase oracle = new OracleDatabase();
+      final PostgresDatabase pg = new PostgresDatabase();
+      final H2Database h2 = new H2Database();
+      return new Object[][] {
+            // Oracle extent, tolerance and dimension names.
+            new Object[] { oracle, "srid=27700;extent= 0, 0,700000 ,1300000;tolerance=0.05;"
+                  + "dimensionNames=Easting, Northing", true },
+            new Object[] { oracle, "srid=27700;extent=AUTO", true },
+            new Object[] { oracle, "extent=", false },
+            new Object[] { oracle, "extent=1,2,3", false },
+            new Object[] { oracle, "extent=0,0,0,1", false },
+            new Object[] { oracle, "extent=a,b,c,d", false },
+            new Object[] { oracle, "tolerance=-1", false },
+            new Object[] { oracle, "dimensionNames=X", false },
+            new Object[] { oracle, "dimensionNames=X','Y", false },
+            // Oracle index parameters.
+            new Object[] { oracle, "sdoDmlBatchSize=5000;sdoNonLeafTbl=true;sdoIndxDims=2;"
+                  + "workTablespace=sdo_work;sdoRtrPctfree=10", true },
+            new Object[] { oracle, "sdoIndxDims=5", false },
+            new Object[] { oracle, "sdoRtrPctfree=100", false },
+            new Object[] { oracle, "sdoDmlBatchSize=0", false },
+            new Object[] { oracle, "workTablespace=sdo_work')", false },
+            new Object[] { oracle, "tablespace=fast#disk", true },
+            // Oracle local partitioned index.
+            new Object[] { oracle, "local=true;unusable=true;parallel=4", true },
+            new Object[] { oracle, "unusable=true", false },
+            new Object[] { oracle, "local=true;parallel=0", false },
+            // PostgreSQL storage parameters and tablespace.
+            new Object[] { pg, "fillfactor=70;buffering=auto;tablespace=fast_disk", true },
+            new Object[] { pg, "fillfactor=5", false },
+            new Object[] { pg, "buffering=yes", false },
+            new Object[] { pg, "tablespace=fast disk", false },
+            new Object[] { pg, "tablespace=fast#disk", false },
+            // PostgreSQL index access methods.
+            new Object[] { pg, "indexMethod=BRIN;pagesPerRange=16", true },
+            new Object[] { pg, "indexMethod=brin;fillfactor=70", false },
+            new Object[] { pg, "indexMethod=spgist", true },
+            new Object[] { pg, "indexMethod=spgist;pagesPerRange=16", false },
+            new Object[] { pg, "indexMethod=spgist;buffering=on", false },
+            new Object[] { pg, "indexMethod=hash", false },
+            new Object[] { pg, "where= status = 'ACTIVE' ", true },
+            // PostgreSQL options on other databases.
+            new Object[] { h2, "fillfactor=70", false },
+            new Object[] { h2, "buffering=auto", false },
+            new Object[] { h2, "indexMethod=gist", false },
+            new Object[] { h2, "pagesPerRange=16", false },
+            new Object[] { oracle, "where=status = 'ACTIVE'", false } };
+   }
+
+   /**
+    * Creates a change that indexes the <code>GEOM</code> column of <code>test_table</code> with
+    * the SRID 4326.
+    *
+    * @param properties
+    *           the other properties as <code>name=value</code> pairs separated by semicolons, which
+    *           may be empty.
+    * @return the change.
+    */
+   private static CreateSpatialIndexChange createChange(final String properties) {
+      final CreateSpatialIndexChange change = new CreateSpatialIndexChange();
+      change.setTableName("test_table");
+      final ColumnConfig column = new ColumnConfig();
+      column.setName("GEOM");
+      change.addColumn(column);
+      change.setIndexName("SPATIAL_INDEX");
+      change.setSrid("4326");
+      for (final String property : properties.split(";")) {
+         if (property.length() > 0) {
+            final String[] nameAndValue = property.split("=", 2);
+            ObjectUtil.setProperty(change, nameAndValue[0], nameAndValue[1]);
+         }
+      }
+      return change;
+   }
+
+   /**
+    * Tests that {@link CreateSpatialIndexChange} warns about SRIDs that aren't in the bundled
+    * registry and rejects them when {@link SpatialConfiguration#isRejectUnknownSrids()} is set.
+    */
+   @Test
+   public void testUnknownSrid() {
+      final CreateSpatialIndexChange change = createChange("srid=99999");
+      final Database database = new H2Database();
+      final SpatialConfiguration configuration = SpatialConfiguration.getInstance();
+      try {
+         assertFalse(change.validate(database).hasErrors());
+         assertTrue(change.warn(database).hasWarnings());
+         configuration.setRejectUnknownSrids(true);
+         assertTrue(change.validate(database).hasErrors());
+
+         change.setSrid("4326");
+         assertFalse(change.validate(database).hasErrors());
+         assertFalse(change.warn(database).hasWarnings());
+      } finally {
+         configuration.setRejectUnknownSrids(false);
+      }
+   }
+
+   /**
+    * Tests the parsing of the Oracle extent, tolerance and dimension names.
+    */
+   @Test
+   public void testExtent() {
+      final Database database = new OracleDatabase();
+      final CreateSpatialIndexChange change = createChange("srid=27700;"
+            + "extent= 0, 0,700000 ,1300000;tolerance=0.05;dimensionNames=Easting, Northing");
+      CreateSpatialIndexStatement statement = (CreateSpatialIndexStatement) change
+            .generateStatements(database)[0];
+      assertEquals(statement.getExtent(), new double[] { 0, 0, 700000, 1300000 });
+      assertFalse(statement.isComputeExtent());
+      assertEquals(statement.getTolerance(), 0.05);
+      assertEquals(statement.getDimensionNames(), new String[] { "Easting", "Northing" });
+
+      change.setExtent("AUTO");
+      statement = (CreateSpatialIndexStatement) change.generateStatements(database)[0];
+      assertNull(statement.getExtent());
+      assertTrue(statement.isComputeExtent());
+   }
+
+   /**
+    * Tests the passing of the Oracle index parameters.
+    */
+   @Test
+   public void testOracleParameters() {
+      final CreateSpatialIndexChange change = createChange("sdoDmlBatchSize=5000;"
+            + "sdoNonLeafTbl=true;sdoIndxDims=2;workTablespace=sdo_work;sdoRtrPctfree=10");
+      final CreateSpatialIndexStatement statement = (CreateSpatialIndexStatement) change
+            .generateStatements(new OracleDatabase())[0];
+      assertEquals(statement.getSdoDmlBatchSize(), Integer.valueOf(5000));
+      assertEquals(statement.getSdoNonLeafTbl(), Boolean.TRUE);
+      assertEquals(statement.getSdoIndxDims(), Integer.valueOf(2));
+      assertEquals(statement.getWorkTablespace(), "sdo_work");
+      assertEquals(statement.getSdoRtrPctfree(), Integer.valueOf(10));
+   }
+
+   /**
+    * Tests the statement of a local partitioned index.
+    */
+   @Test
+   public void testLocalIndex() {
+      final CreateSpatialIndexChange change = createChange("local=true;unusable=true;parallel=4");
+      final CreateSpatialIndexStatement statement = (CreateSpatialIndexStatement) change
+            .generateStatements(new OracleDatabase())[0];
+      assertTrue(statement.isLocal());
+      assertTrue(statement.isUnusable());
+      assertEquals(statement.getParallel(), Integer.valueOf(4));
+   }
+
+   /**
+    * Tests that a concurrent build on PostgreSQL must run outside a transaction.
+    */
+   @Test
+   public void testConcurrently() {
+      final CreateSpatialIndexChange change = createChange("concurrently=true");
+      change.setChangeSet(new ChangeSet("1", "test", false, false, null, null, null, true,
+            null));
+      final Database database = new PostgresDatabase();
+      assertTrue(change.validate(database).hasErrors());
+      assertFalse(change.validate(new H2Database()).hasErrors());
+
+      change.setChangeSet(new ChangeSet("1", "test", false, false, null, null, null, false,
+            null));
+      assertFalse(change.validate(database).hasErrors());
+      final CreateSpatialIndexStatement statement = (CreateSpatialIndexStatement) change
+            .generateStatements(database)[0];
+      assertTrue(statement.isConcurrently());
+
+      // The rollback drops the index concurrently as well.
+      final DropSpatialIndexChange inverse = (DropSpatialIndexChange) change.createInverses()[0];
+      assertEquals(inverse.getIndexName(), "SPATIAL_INDEX");
+      assertEquals(inverse.getConcurrently(), Boolean.TRUE);
+   }
+
+   /**
+    * Tests the statement of the PostgreSQL storage parameters.
+    */
+   @Test
+   public void testStorageParameters() {
+      final CreateSpatialIndexChange change = createChange("fillfactor=70;buffering=auto;"
+            + "tablespace=fast_disk");
+      final CreateSpatialIndexStatement statement = (CreateSpatialIndexStatement) change
+            .generateStatements(new PostgresDatabase())[0];
+      assertEquals(statement.getFillfactor(), Integer.valueOf(70));
+      assertEquals(statement.getBuffering(), "auto");
+      assertEquals(statement.getTablespace(), "fast_disk");
+   }
+
+   /**
+    * Tests the statement of the index access methods.
+    */
+   @Test
+   public void testIndexMethod() {
+      final CreateSpatialIndexChange change = createChange("indexMethod=BRIN;pagesPerRange=16");
+      final CreateSpatialIndexStatement statement = (CreateSpatialIndexStatement) change
+            .generateStatements(new PostgresDatabase())[0];
+      assertEquals(statement.getIndexMethod(), "brin");
+      assertEquals(statement.getPagesPerRange(), Integer.valueOf(16));
+   }
+
+   /**
+    * Tests the statement of a partial index.
+    */
+   @Test
+   public void testWhere() {
+      final CreateSpatialIndexChange change = createChange("where= status = 'ACTIVE' ");
+      final CreateSpatialIndexStatement statement = (CreateSpatialIndexStatement) change
+            .generateStatements(new PostgresDatabase())[0];
+      assertEquals(statement.getWhere(), "status = 'ACTIVE'");
+   }
+
+   /**
+    * Tests columns with operator classes and included columns.
+    */
+   @Test
+   public void testCompositeColumns() {
+      final CreateSpatialIndexChange change = createChange("");
+      change.addColumn(new SpatialIndexColumnConfig().setOperatorClass("gist_timestamptz_ops")
+            .setName("observed_at"));
+      change.addColumn(new SpatialIndexColumnConfig().setIncluded(Boolean.TRUE)
+            .setName("species"));
+      final Database database = new PostgresDatabase();
+      assertFalse(change.validate(database).hasErrors());
+      final CreateSpatialIndexStatement statement = (CreateSpatialIndexStatement) change
+            .generateStatements(database)[0];
+      assertEquals(statement.getColumns(), new String[] { "GEOM", "observed_at" });
+      assertNull(statement.getOperatorClass(0));
+      assertEquals(statement.getOperatorClass(1), "gist_timestamptz_ops");
+      assertEquals(statement.getIncludedColumns(), new String[] { "species" });
+      assertTrue(change.validate(new H2Database()).hasErrors());
+
+      change.setIndexMethod("brin");
+      assertTrue(change.validate(database).hasErrors());
+      change.setIndexMethod(null);
+      ((SpatialIndexColumnConfig) change.getColumns().get(1)).setOperatorClass("bad ops");
+      assertTrue(change.validate(database).hasErrors());
+   }
+
+   /**
+    * Tests loading the columns from a change log.
+    *
+    * @throws ParsedNodeException
+    *            if the node can't be loaded.
+    */
+   @Test
+   public void testLoadColumns() throws ParsedNodeException {
+      final String namespace = "http://www.liquibase.org/xml/ns/dbchangelog-ext/liquibase-spatial";
+      final ParsedNode node = new ParsedNode(namespace, "createSpatialIndex");
+      node.addChild(null, "tableName", "test_table");
+      node.addChild(new ParsedNode("http://www.liquibase.org/xml/ns/dbchangelog", "column")
+            .addChild(null, "name", "geom"));
+      node.addChild(new ParsedNode(namespace, "column")
+            .addChild(null, "name", "species").addChild(null, "included", "true"));
+      final CreateSpatialIndexChange change = new CreateSpatialIndexChange();
+      change.load(node, null);
+      assertEquals(change.getColumns().size(), 2);
+      assertEquals(change.getColumns().get(0).getName(), "geom");
+      assertFalse(SpatialIndexColumnConfig.isIncluded(change.getColumns().get(0)));
+      assertTrue(SpatialIndexColumnConfig.isIncluded(change.getColumns().get(1)));
+   }
 }
@@ -0,0 +1,71 @@
+package liquibase.ext.spatial.change;
+
+import static org.testng.Assert.*;
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.ext.spatial.statement.RebuildSpatialIndexStatement;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+
+import org.testng.annotations.Test;
+
+/**
+ * <code>RebuildSpatialIndexChangeTest</code> tests {@link RebuildSpatialIndexChange}.
+ */
+public class RebuildSpatialIndexChangeTest {
+   /**
+    * Tests {@link RebuildSpatialIndexChange#validate(Database)} and
+    * {@link RebuildSpatialIndexChange#generateStatements(Database)}.
+    */
+   @Test
+   public void testGenerateStatements() {
+      final RebuildSpatialIndexChange change = new RebuildSpatialIndexChange();
+      change.setTableName("test_table");
+      change.setIndexName("spatial_index");
+      change.setColumnName("geom");
+      change.setSrid("4326");
+      change.setOnline(Boolean.TRUE);
+      change.setParallel(2);
+      final Database database = new H2Database();
+      assertFalse(change.validate(database).hasErrors());
+      final RebuildSpatialIndexStatement statement = (RebuildSpatialIndexStatement) change
+            .generateStatements(database)[0];
+      assertEquals(statement.getColumnName(), "geom");
+      assertEquals(statement.getSrid(), Integer.valueOf(4326));
+      assertTrue(statement.isOnline());
+      assertEquals(statement.getParallel(), Integer.valueOf(2));
+      assertTrue(change.supportsRollback(database));
+      assertEquals(change.getConfirmationMessage(), "Spatial index spatial_index rebuilt on"
+            + " test_table");
+
+      change.setParallel(0);
+      assertTrue(change.validate(database).hasErrors());
+      change.setParallel(null);
+      change.setWorkTablespace("sdo_work')");
+      assertTrue(change.validate(database).hasErrors());
+   }
+
+   /**
+    * Tests the SQL generated for GeoDB and MySQL.
+    */
+   @Test
+   public void testGenerateSql() {
+      final RebuildSpatialIndexChange change = new RebuildSpatialIndexChange();
+      change.setSchemaName("gis");
+      change.setTableName("test_table");
+      change.setColumnName("geom");
+      change.setSrid("4326");
+      Database database = new H2Database();
+      Sql[] sql = SqlGeneratorFactory.getInstance().generateSql(change, database);
+      assertEquals(sql.length, 2);
+      assertTrue(sql[0].toSql().startsWith("CALL gis.DropSpatialIndex("), sql[0].toSql());
+      assertEquals(sql[1].toSql(), "CALL gis.CreateSpatialIndex('gis', 'test_table', 'geom',"
+            + " '4326')");
+
+      database = new MySQLDatabase();
+      sql = SqlGeneratorFactory.getInstance().generateSql(change, database);
+      assertEquals(sql.length, 1);
+      assertEquals(sql[0].toSql(), "OPTIMIZE TABLE gis.test_table");
+   }
+}
@@ -0,0 +1,129 @@
+package liquibase.ext.spatial.change;
+
+import static org.testng.Assert.*;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import liquibase.change.ChangeFactory;
+import liquibase.change.ColumnConfig;
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.ext.spatial.configuration.SpatialConfiguration;
+import liquibase.ext.spatial.statement.SpatialInsertStatement;
+import liquibase.ext.spatial.utils.GeometryColumnPlan;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.InsertStatement;
+
+import org.testng.annotations.Test;
+
+import com.vividsolutions.jts.geom.Geometry;
+
+/**
+ * <code>SpatialInsertDataChangeTest</code> tests {@link SpatialInsertDataChange}.
+ */
+public class SpatialInsertDataChangeTest {
+   /**
+    * Tests that the spatial change replaces the core <code>insert</code> change.
+    */
+   @Test
+   public void testChangeFactory() {
+      assertTrue(ChangeFactory.getInstance().create("insert") instanceof SpatialInsertDataChange);
+   }
+
+   /**
+    * Tests {@link SpatialInsertDataChange#generateStatements(Database)} with and without bound
+    * geometries.
+    */
+   @Test
+   public void testGenerateStatements() {
+      final Database database = new H2Database();
+      final SpatialInsertDataChange change = new SpatialInsertDataChange();
+      change.setTableName("test_table");
+      change.addColumn(new ColumnConfig().setName("geom").setValue("POINT(1 2)"));
+
+      SqlStatement[] statements = change.generateStatements(database);
+      assertEquals(statements.length, 1);
+      assertFalse(statements[0] instanceof SpatialInsertStatement);
+
+      final SpatialConfiguration configuration = SpatialConfiguration.getInstance();
+      configuration.setBindGeometries(true);
+      try {
+         statements = change.generateStatements(database);
+         assertEquals(statements.length, 1);
+         assertTrue(statements[0] instanceof SpatialInsertStatement);
+         final SpatialInsertStatement statement = (SpatialInsertStatement) statements[0];
+         assertEquals(statement.getTableName(), "test_table");
+         assertEquals(statement.getColumnValue("geom"), "POINT(1 2)");
+      } finally {
+         configuration.setBindGeometries(false);
+      }
+   }
+
+   /**
+    * Tests that {@link SpatialInsertDataChange#generateStatements(Database)} rounds the
+    * coordinates to the change's precision.
+    */
+   @Test
+   public void testGenerateStatementsWithCoordinatePrecision() {
+      final Database database = new H2Database();
+      final SpatialInsertDataChange change = new SpatialInsertDataChange();
+      change.setTableName("test_table");
+      change.addColumn(new ColumnConfig().setName("geom").setValue(
+            "SRID=4326;LINESTRING(1.23456 2.5, 3.00001 4.99999)"));
+      change.addColumn(new ColumnConfig().setName("name").setValue("not a geometry"));
+      change.setCoordinatePrecision(2);
+
+      final SqlStatement[] statements = change.generateStatements(database);
+      assertEquals(statements.length, 1);
+      final InsertStatement statement = (InsertStatement) statements[0];
+      final Geometry geometry = (Geometry) statement.getColumnValue("geom");
+      assertEquals(geometry.getSRID(), 4326);
+      assertEquals(geometry.toText(), "LINESTRING (1.23 2.5, 3 5)");
+      assertEquals(statement.getColumnValue("name"), "not a geometry");
+   }
+
+   /**
+    * Tests that {@link SpatialInsertDataChange#generateStatements(Database)} leaves Extended
+    * Well-Known Text in a text column as a string so it is written quoted and with its SRID.
+    *
+    * @throws SQLException
+    *            if the test table cannot be created.
+    */
+   @Test
+   public void testGenerateStatementsWithCoordinatePrecisionAndTextColumn() throws SQLException {
+      final Connection connection = DriverManager
+            .getConnection("jdbc:h2:mem:target/spatialInsertDataChangePrecision");
+      final Statement statement = connection.createStatement();
+      statement.execute("CREATE TABLE precision_test (geom BINARY, wkt VARCHAR(100))");
+      final Database database = new H2Database();
+      database.setConnection(new JdbcConnection(connection));
+      try {
+         final SpatialInsertDataChange change = new SpatialInsertDataChange();
+         change.setTableName("precision_test");
+         change.addColumn(new ColumnConfig().setName("geom").setValue(
+               "SRID=4326;POINT(1.23456 2.5)"));
+         change.addColumn(new ColumnConfig().setName("wkt").setValue(
+               "SRID=4326;POINT(1.23456 2.5)"));
+         change.setCoordinatePrecision(2);
+
+         final SqlStatement[] statements = change.generateStatements(database);
+         assertEquals(statements.length, 1);
+         final InsertStatement insert = (InsertStatement) statements[0];
+         final Geometry geometry = (Geometry) insert.getColumnValue("geom");
+         assertEquals(geometry.getSRID(), 4326);
+         assertEquals(geometry.toText(), "POINT (1.23 2.5)");
+         assertEquals(insert.getColumnValue("wkt"), "SRID=4326;POINT(1.23456 2.5)");
+
+         final Sql[] sql = SqlGeneratorFactory.getInstance().generateSql(insert, database);
+         assertEquals(sql.length, 1);
+         assertTrue(sql[0].toSql().contains("'SRID=4326;POINT(1.23456 2.5)'"), sql[0].toSql());
+      } finally {
+         statement.close();
+         GeometryColumnPlan.clear(database);
+      }
+   }
+}
@@ -0,0 +1,43 @@
+package liquibase.ext.spatial.preconditions;
+
+import static org.testng.Assert.*;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.PostgresDatabase;
+
+import org.testng.annotations.Test;
+
+/**
+ * <code>SpatialIndexExistsPreconditionTest</code> tests {@link SpatialIndexExistsPrecondition}.
+ */
+public class SpatialIndexExistsPreconditionTest {
+   /**
+    * Tests the validation of the <code>partial</code> attribute.
+    */
+   @Test
+   public void testValidatePartial() {
+      final SpatialIndexExistsPrecondition precondition = new SpatialIndexExistsPrecondition();
+      precondition.setTableName("test_table");
+      precondition.setColumnNames("geom");
+      precondition.setPartial(Boolean.TRUE);
+      assertTrue(precondition.validate(new PostgresDatabase()).hasErrors());
+      assertFalse(precondition.validate(new H2Database()).hasErrors());
+      precondition.setIndexName("spatial_index");
+      assertFalse(precondition.validate(new PostgresDatabase()).hasErrors());
+      assertTrue(precondition.getSerializableFields().contains("partial"));
+   }
+
+   /**
+    * Tests {@link SpatialIndexExistsPrecondition#generatePartialIndexQuery}.
+    */
+   @Test
+   public void testGeneratePartialIndexQuery() {
+      final SpatialIndexExistsPrecondition precondition = new SpatialIndexExistsPrecondition();
+      precondition.setSchemaName("gis");
+      precondition.setIndexName("spatial_index");
+      assertEquals(precondition.generatePartialIndexQuery(new PostgresDatabase()),
+            "SELECT COUNT(*) FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid"
+                  + " JOIN pg_namespace n ON n.oid = c.relnamespace"
+                  + " WHERE c.relname = 'spatial_index' AND n.nspname = 'gis'"
+                  + " AND i.indpred IS NOT NULL");
+   }
+}
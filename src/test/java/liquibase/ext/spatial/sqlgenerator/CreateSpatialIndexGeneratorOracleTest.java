@@ -157,4 +157,128 @@ public class CreateSpatialIndexGeneratorOracleTest {
             new Object[] { new CreateSpatialIndexStatement("index_name", null, null, "table_name",
                   new String[] { "geom", "ignoredColumn" }, null, null, null) } };
    }
+
+   /**
+    * Tests
+    * {@link CreateSpatialIndexGeneratorOracle#generateInsertMetadataSql(CreateSpatialIndexStatement, Database)}
+    * writes the Oracle SRID and extent of registered SRIDs without a database connection.
+    */
+   @Test
+   public void testGenerateInsertMetadataSql() {
+      final CreateSpatialIndexGeneratorOracle generator = new CreateSpatialIndexGeneratorOracle();
+      final Database database = new OracleDatabase();
+      String sql = generator.generateInsertMetadataSql(new CreateSpatialIndexStatement(
+            "index_name", null, null, "table_name", new String[] { "geom" }, null, null, 4326),
+            database);
+      assertTrue(sql.endsWith("SDO_DIM_ARRAY(SDO_DIM_ELEMENT('Longitude', -180, 180, 0.005), "
+            + "SDO_DIM_ELEMENT('Latitude', -90, 90, 0.005)), 8307)"), sql);
+
+      sql = generator.generateInsertMetadataSql(new CreateSpatialIndexStatement("index_name",
+            null, null, "table_name", new String[] { "geom" }, null, null, 3857), database);
+      assertTrue(sql.endsWith("SDO_DIM_ARRAY("
+            + "SDO_DIM_ELEMENT('X', -20037508.3428, 20037508.3428, 0.005), "
+            + "SDO_DIM_ELEMENT('Y', -20037508.3428, 20037508.3428, 0.005)), 3857)"), sql);
+
+      // Unknown SRIDs are converted by the database.
+      sql = generator.generateInsertMetadataSql(new CreateSpatialIndexStatement("index_name",
+            null, null, "table_name", new String[] { "geom" }, null, null, 99999), database);
+      assertTrue(sql.endsWith("), " + OracleSpatialUtils.EPSG_TO_ORACLE_FUNCTION + "(99999))"),
+            sql);
+   }
+
+   /**
+    * Tests
+    * {@link CreateSpatialIndexGeneratorOracle#generateInsertMetadataSql(CreateSpatialIndexStatement, Database)}
+    * with an explicit extent, tolerance and dimension names and with a computed extent.
+    */
+   @Test
+   public void testGenerateInsertMetadataSqlWithExtent() {
+      final CreateSpatialIndexGeneratorOracle generator = new CreateSpatialIndexGeneratorOracle();
+      final Database database = new OracleDatabase();
+      CreateSpatialIndexStatement statement = new CreateSpatialIndexStatement("index_name", null,
+            null, "table_name", new String[] { "geom" }, null, null, 27700);
+      statement.setExtent(new double[] { 0, 0, 660000.5, 1250000 }).setTolerance(0.05)
+            .setDimensionNames(new String[] { "Easting", "Northing" });
+      String sql = generator.generateInsertMetadataSql(statement, database);
+      assertEquals(sql, "INSERT INTO user_sdo_geom_metadata (table_name, column_name, diminfo,"
+            + " srid) VALUES ('TABLE_NAME', 'GEOM', SDO_DIM_ARRAY("
+            + "SDO_DIM_ELEMENT('Easting', 0, 660000.5, 0.05), "
+            + "SDO_DIM_ELEMENT('Northing', 0, 1250000, 0.05)), 81989)");
+
+      // The computed extent falls back to the SRID's extent for an empty table.
+      statement = new CreateSpatialIndexStatement("index_name", null, "schema_name",
+            "table_name", new String[] { "geom" }, null, null, 27700).setComputeExtent(true);
+      sql = generator.generateInsertMetadataSql(statement, database);
+      assertEquals(sql, "INSERT INTO user_sdo_geom_metadata (table_name, column_name, diminfo,"
+            + " srid) SELECT 'TABLE_NAME', 'GEOM', SDO_DIM_ARRAY(SDO_DIM_ELEMENT('X', "
+            + "NVL(SDO_GEOM.SDO_MIN_MBR_ORDINATE(mbr, 1), 0), "
+            + "NVL(SDO_GEOM.SDO_MAX_MBR_ORDINATE(mbr, 1), 700000), 0.005), SDO_DIM_ELEMENT('Y', "
+            + "NVL(SDO_GEOM.SDO_MIN_MBR_ORDINATE(mbr, 2), 0), "
+            + "NVL(SDO_GEOM.SDO_MAX_MBR_ORDINATE(mbr, 2), 1300000), 0.005)), 81989"
+            + " FROM (SELECT SDO_AGGR_MBR(geom) mbr FROM schema_name.table_name)");
+
+      // Geographic bounds are fixed.
+      statement = new CreateSpatialIndexStatement("index_name", null, null, "table_name",
+            new String[] { "geom" }, null, null, 4326).setComputeExtent(true);
+      sql = generator.generateInsertMetadataSql(statement, database);
+      assertTrue(sql.endsWith(" VALUES ('TABLE_NAME', 'GEOM', SDO_DIM_ARRAY("
+            + "SDO_DIM_ELEMENT('Longitude', -180, 180, 0.005), "
+            + "SDO_DIM_ELEMENT('Latitude', -90, 90, 0.005)), 8307)"), sql);
+   }
+
+   /**
+    * Tests {@link CreateSpatialIndexGeneratorOracle#getParameters(CreateSpatialIndexStatement)}
+    * with the R-tree tuning parameters.
+    */
+   @Test
+   public void testGetParameters() {
+      final CreateSpatialIndexGeneratorOracle generator = new CreateSpatialIndexGeneratorOracle();
+      final CreateSpatialIndexStatement statement = new CreateSpatialIndexStatement("index_name",
+            null, null, "table_name", new String[] { "geom" }, "users", "Point", 4326);
+      statement.setWorkTablespace(" sdo_work ").setSdoIndxDims(2).setSdoNonLeafTbl(true)
+            .setSdoRtrPctfree(20).setSdoDmlBatchSize(5000);
+      assertEquals(generator.getParameters(statement).toString(), "[layer_gtype=POINT,"
+            + " tablespace=users, work_tablespace=sdo_work, sdo_indx_dims=2,"
+            + " sdo_non_leaf_tbl=TRUE, sdo_rtr_pctfree=20, sdo_dml_batch_size=5000]");
+      final String sql = generator.generateCreateIndexSql(statement, new OracleDatabase());
+      assertTrue(sql.endsWith(" INDEXTYPE IS mdsys.spatial_index PARAMETERS ('layer_gtype=POINT"
+            + " tablespace=users work_tablespace=sdo_work sdo_indx_dims=2 sdo_non_leaf_tbl=TRUE"
+            + " sdo_rtr_pctfree=20 sdo_dml_batch_size=5000')"), sql);
+   }
+
+   /**
+    * Tests {@link CreateSpatialIndexGeneratorOracle#generateSql} with a local index that is
+    * created unusable and then rebuilt one partition at a time with the degree of parallelism.
+    */
+   @Test
+   public void testGenerateSqlLocalUnusable() {
+      final CreateSpatialIndexGeneratorOracle generator = new CreateSpatialIndexGeneratorOracle();
+      final Database database = new OracleDatabase();
+      final CreateSpatialIndexStatement statement = new CreateSpatialIndexStatement("index_name",
+            null, null, "table_name", new String[] { "geom" }, null, null, 4326);
+      statement.setLocal(true).setParallel(8);
+      String sql = generator.generateCreateIndexSql(statement, database);
+      assertTrue(sql.endsWith(" INDEXTYPE IS mdsys.spatial_index LOCAL PARALLEL 8"), sql);
+      assertEquals(generator.generateSql(statement, database, null).length, 3);
+
+      statement.setUnusable(true);
+      sql = generator.generateCreateIndexSql(statement, database);
+      assertTrue(sql.endsWith(" LOCAL PARALLEL 8 UNUSABLE"), sql);
+      final Sql[] sqls = generator.generateSql(statement, database, null);
+      assertEquals(sqls.length, 4);
+      assertEquals(sqls[3].toSql(), "BEGIN FOR p IN (SELECT partition_name"
+            + " FROM user_ind_partitions WHERE index_name = 'INDEX_NAME') LOOP"
+            + " EXECUTE IMMEDIATE 'ALTER INDEX index_name REBUILD PARTITION \"'"
+            + " || p.partition_name || '\" PARALLEL 8'; END LOOP; END;");
+      assertEquals(sqls[3].getEndDelimiter(), "\n/");
+
+      final CreateSpatialIndexStatement schemaStatement = new CreateSpatialIndexStatement(
+            "index_name", null, "gis", "table_name", new String[] { "geom" }, null, null, 4326);
+      schemaStatement.setLocal(true).setUnusable(true);
+      final String rebuildSql = generator.generateRebuildPartitionsSql(schemaStatement, database);
+      assertTrue(rebuildSql.startsWith("BEGIN FOR p IN (SELECT partition_name"
+            + " FROM all_ind_partitions WHERE index_owner = 'GIS' AND index_name = 'INDEX_NAME')"),
+            rebuildSql);
+      assertTrue(rebuildSql.endsWith(" || p.partition_name || '\"'; END LOOP; END;"), rebuildSql);
+   }
 }
@@ -56,6 +56,9 @@ public class CreateSpatialIndexGeneratorPostgreSQLTest {
          pattern += ", " + statement.getColumns()[1];
       }
       pattern += "\\)";
+      if (statement.getTablespace() != null) {
+         pattern += " TABLESPACE " + statement.getTablespace();
+      }
       assertTrue(sql.matches(pattern), "'" + sql + "' does not match the pattern '" + pattern + "'");
       assertNotNull(result[0].getAffectedDatabaseObjects());
       assertTrue(result[0].getAffectedDatabaseObjects().size() > 1, result[0]
@@ -86,4 +89,105 @@ public class CreateSpatialIndexGeneratorPostgreSQLTest {
             new Object[] { new CreateSpatialIndexStatement("indexname", null, null, "tablename",
                   new String[] { "geom", "another_olumn" }, null, null, null) } };
    }
+
+   /**
+    * Tests
+    * {@link CreateSpatialIndexGeneratorPostgreSQL#generateSql(CreateSpatialIndexStatement, Database, SqlGeneratorChain)}
+    * with the PostgreSQL index options.
+    * 
+    * @param statement
+    *           the statement.
+    * @param expected
+    *           the expected SQL.
+    */
+   @Test(dataProvider = "generateSqlWithOptionsTestData")
+   public void testGenerateSqlWithOptions(final CreateSpatialIndexStatement statement,
+         final String expected) {
+      final CreateSpatialIndexGeneratorPostgreSQL generator = new CreateSpatialIndexGeneratorPostgreSQL();
+      final Sql[] result = generator.generateSql(statement, new PostgresDatabase(), null);
+      assertEquals(result.length, 1);
+      assertEquals(result[0].toSql(), expected);
+   }
+
+   /**
+    * Generates test data for
+    * {@link #testGenerateSqlWithOptions(CreateSpatialIndexStatement, String)}.
+    * 
+    * @return the test data.
+    */
+   @DataProvider
+   public Object[][] generateSqlWithOptionsTestData() {
+      final String createIndex = "CREATE INDEX indexname ON tablename USING ";
+      return new Object[][] {
+            // Storage parameters.
+            new Object[] { createStatement("fast_disk", "geom").setFillfactor(70)
+                  .setBuffering("ON"), createIndex + "GIST (geom)"
+                  + " WITH (fillfactor = 70, buffering = on) TABLESPACE fast_disk" },
+            // Index access methods.
+            new Object[] { createStatement(null, "geom").setIndexMethod("spgist"),
+                  createIndex + "SPGIST (geom)" },
+            new Object[] { createStatement(null, "geom").setIndexMethod("brin")
+                  .setPagesPerRange(32), createIndex + "BRIN (geom) WITH (pages_per_range = 32)" },
+            // Partial index.
+            new Object[] { createStatement("fast_disk", "geom").setWhere("status = 'ACTIVE'"),
+                  createIndex + "GIST (geom) TABLESPACE fast_disk WHERE status = 'ACTIVE'" },
+            // Operator classes and included columns.
+            new Object[] { createStatement(null, "geom", "observed_at")
+                  .setOperatorClasses(new String[] { null, "gist_timestamptz_ops" })
+                  .setIncludedColumns(new String[] { "species", "count" }),
+                  createIndex + "GIST (geom, observed_at gist_timestamptz_ops)"
+                        + " INCLUDE (species, count)" } };
+   }
+
+   /**
+    * Tests
+    * {@link CreateSpatialIndexGeneratorPostgreSQL#generateSql(CreateSpatialIndexStatement, Database, SqlGeneratorChain)}
+    * for a concurrent build.
+    */
+   @Test
+   public void testGenerateSqlConcurrently() {
+      final CreateSpatialIndexGeneratorPostgreSQL generator = new CreateSpatialIndexGeneratorPostgreSQL();
+      final CreateSpatialIndexStatement statement = new CreateSpatialIndexStatement("indexname",
+            null, "schemaname", "tablename", new String[] { "geom" }, null, null, 4326);
+      statement.setConcurrently(true);
+      final Sql[] result = generator.generateSql(statement, new PostgresDatabase(), null);
+      assertEquals(result.length, 2);
+      assertEquals(result[0].toSql(), "DO $$BEGIN IF EXISTS (SELECT 1 FROM pg_index i"
+            + " JOIN pg_class c ON c.oid = i.indexrelid"
+            + " JOIN pg_namespace n ON n.oid = c.relnamespace WHERE c.relname = 'indexname'"
+            + " AND n.nspname = 'schemaname' AND NOT i.indisvalid)"
+            + " THEN DROP INDEX schemaname.indexname; END IF; END$$");
+      assertEquals(result[1].toSql(), "CREATE INDEX CONCURRENTLY indexname"
+            + " ON schemaname.tablename USING GIST (geom)");
+   }
+
+   /**
+    * Tests that the names in the check for an invalid index of a concurrent build are escaped.
+    */
+   @Test
+   public void testGenerateSqlConcurrentlyEscapesNames() {
+      final CreateSpatialIndexGeneratorPostgreSQL generator = new CreateSpatialIndexGeneratorPostgreSQL();
+      final CreateSpatialIndexStatement statement = new CreateSpatialIndexStatement("index'name",
+            null, "schema'name", "tablename", new String[] { "geom" }, null, null, 4326);
+      statement.setConcurrently(true);
+      final Sql[] result = generator.generateSql(statement, new PostgresDatabase(), null);
+      assertTrue(result[0].toSql().contains("WHERE c.relname = 'index''name'"
+            + " AND n.nspname = 'schema''name' AND NOT i.indisvalid"), result[0].toSql());
+   }
+
+   /**
+    * Creates a statement for the index <code>indexname</code> on <code>tablename</code> with the
+    * SRID 4326.
+    * 
+    * @param tablespace
+    *           the tablespace which may be <code>null</code>.
+    * @param columns
+    *           the indexed columns.
+    * @return the statement.
+    */
+   private static CreateSpatialIndexStatement createStatement(final String tablespace,
+         final String... columns) {
+      return new CreateSpatialIndexStatement("indexname", null, null, "tablename", columns,
+            tablespace, null, 4326);
+   }
 }
@@ -0,0 +1,86 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.OracleDatabase;
+import liquibase.ext.spatial.change.DropSpatialIndexChange;
+import liquibase.ext.spatial.statement.DropSpatialIndexStatement;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.DropIndexStatement;
+
+import org.testng.annotations.Test;
+
+/**
+ * <code>DropSpatialIndexGeneratorOracleTest</code> tests {@link DropSpatialIndexGeneratorOracle}.
+ */
+public class DropSpatialIndexGeneratorOracleTest {
+   /**
+    * Tests {@link DropSpatialIndexGeneratorOracle#supports(DropSpatialIndexStatement, Database)}
+    */
+   @Test
+   public void testSupports() {
+      final DropSpatialIndexGeneratorOracle generator = new DropSpatialIndexGeneratorOracle();
+      final DropSpatialIndexStatement statement = mock(DropSpatialIndexStatement.class);
+      assertTrue(generator.supports(statement, new OracleDatabase()));
+      assertFalse(generator.supports(statement, new H2Database()));
+   }
+
+   /**
+    * Tests
+    * {@link DropSpatialIndexGeneratorOracle#generateSql(DropSpatialIndexStatement, Database, SqlGeneratorChain)}
+    * without a database connection.
+    */
+   @Test
+   public void testGenerateSql() {
+      final DropSpatialIndexGeneratorOracle generator = new DropSpatialIndexGeneratorOracle();
+      final Database database = new OracleDatabase();
+      DropSpatialIndexStatement statement = new DropSpatialIndexStatement("index_name", null,
+            null, null);
+      Sql[] result = generator.generateSql(statement, database, null);
+      assertEquals(result.length, 1);
+      assertEquals(result[0].toSql(), "DELETE FROM user_sdo_geom_metadata"
+            + " WHERE (table_name, column_name) IN (SELECT table_name, column_name"
+            + " FROM user_ind_columns WHERE index_name = 'INDEX_NAME')");
+
+      statement = new DropSpatialIndexStatement(null, null, null, "table_name").setIndexNames(
+            "index_1", "index_2");
+      result = generator.generateSql(statement, database, null);
+      assertEquals(result.length, 1);
+      assertEquals(result[0].toSql(), "DELETE FROM user_sdo_geom_metadata"
+            + " WHERE (table_name, column_name) IN (SELECT table_name, column_name"
+            + " FROM user_ind_columns WHERE index_name IN ('INDEX_1', 'INDEX_2')"
+            + " AND table_name = 'TABLE_NAME')");
+   }
+
+   /**
+    * Tests dropping several indexes with one {@link DropSpatialIndexChange}.
+    */
+   @Test
+   public void testDropSeveralIndexes() {
+      final DropSpatialIndexChange change = new DropSpatialIndexChange();
+      final Database database = new OracleDatabase();
+      assertTrue(change.validate(database).hasErrors());
+      change.setIndexName("index_1");
+      change.setIndexNames("index_2, index_3");
+      assertFalse(change.validate(database).hasErrors());
+      final SqlStatement[] statements = change.generateStatements(database);
+      assertEquals(statements.length, 4);
+      assertEquals(((DropSpatialIndexStatement) statements[0]).getIndexNames(), new String[] {
+            "index_1", "index_2", "index_3" });
+      assertEquals(((DropIndexStatement) statements[1]).getIndexName(), "index_1");
+      assertEquals(((DropIndexStatement) statements[2]).getIndexName(), "index_2");
+      assertEquals(((DropIndexStatement) statements[3]).getIndexName(), "index_3");
+      assertEquals(change.getConfirmationMessage(),
+            "Spatial indexes index_1, index_2, index_3 dropped");
+
+      // The index name is never split.
+      change.setIndexNames(null);
+      change.setIndexName("index_1");
+      assertEquals(((DropSpatialIndexStatement) change.generateStatements(database)[0])
+            .getIndexNames(), new String[] { "index_1" });
+   }
+}
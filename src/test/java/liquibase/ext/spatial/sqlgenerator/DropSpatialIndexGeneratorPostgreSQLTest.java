@@ -0,0 +1,50 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.ext.spatial.change.DropSpatialIndexChange;
+import liquibase.ext.spatial.statement.DropSpatialIndexStatement;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+
+import org.testng.annotations.Test;
+
+/**
+ * <code>DropSpatialIndexGeneratorPostgreSQLTest</code> tests
+ * {@link DropSpatialIndexGeneratorPostgreSQL}.
+ */
+public class DropSpatialIndexGeneratorPostgreSQLTest {
+   /**
+    * Tests
+    * {@link DropSpatialIndexGeneratorPostgreSQL#supports(DropSpatialIndexStatement, Database)}
+    */
+   @Test
+   public void testSupports() {
+      final DropSpatialIndexGeneratorPostgreSQL generator = new DropSpatialIndexGeneratorPostgreSQL();
+      final DropSpatialIndexStatement statement = mock(DropSpatialIndexStatement.class);
+      assertTrue(generator.supports(statement, new PostgresDatabase()));
+      assertFalse(generator.supports(statement, new H2Database()));
+   }
+
+   /**
+    * Tests
+    * {@link DropSpatialIndexGeneratorPostgreSQL#generateSql(DropSpatialIndexStatement, Database, SqlGeneratorChain)}
+    * through a {@link DropSpatialIndexChange} that drops two indexes concurrently.
+    */
+   @Test
+   public void testGenerateSqlConcurrently() {
+      final DropSpatialIndexChange change = new DropSpatialIndexChange();
+      change.setSchemaName("gis");
+      change.setIndexNames("index_1, index_2");
+      change.setConcurrently(Boolean.TRUE);
+      final Sql[] result = SqlGeneratorFactory.getInstance().generateSql(change,
+            new PostgresDatabase());
+      assertEquals(result.length, 2);
+      assertEquals(result[0].toSql(), "DROP INDEX CONCURRENTLY gis.index_1");
+      assertEquals(result[1].toSql(), "DROP INDEX CONCURRENTLY gis.index_2");
+   }
+}
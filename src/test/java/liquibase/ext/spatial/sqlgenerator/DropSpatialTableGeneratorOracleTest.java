@@ -5,11 +5,14 @@ import static org.testng.Assert.*;
 import liquibase.database.Database;
 import liquibase.database.core.H2Database;
 import liquibase.database.core.OracleDatabase;
+import liquibase.ext.spatial.configuration.SpatialConfiguration;
 import liquibase.ext.spatial.statement.CreateSpatialIndexStatement;
 import liquibase.sql.SingleLineComment;
 import liquibase.sql.Sql;
+import liquibase.sql.UnparsedSql;
 import liquibase.sqlgenerator.SqlGeneratorChain;
 import liquibase.statement.core.DropTableStatement;
+import liquibase.structure.core.Table;
 
 import org.testng.annotations.Test;
 
@@ -57,4 +60,57 @@ public class DropSpatialTableGeneratorOracleTest {
       assertTrue(result[0].getAffectedDatabaseObjects().size() >= 1, result[0]
             .getAffectedDatabaseObjects().toString());
    }
+
+   /**
+    * Tests
+    * {@link DropSpatialTableGeneratorOracle#generateSql(DropTableStatement, Database, SqlGeneratorChain)}
+    * when dropped tables are purged.
+    */
+   @Test
+   public void testGenerateSqlWithPurge() {
+      final DropSpatialTableGeneratorOracle generator = new DropSpatialTableGeneratorOracle();
+      final Database database = new OracleDatabase();
+      final SqlGeneratorChain sqlGeneratorChain = mock(SqlGeneratorChain.class);
+      final DropTableStatement statement = new DropTableStatement(null, null, "table_name", true);
+      final Sql dropTable = new UnparsedSql("DROP TABLE table_name CASCADE CONSTRAINTS",
+            new Table().setName("table_name"));
+      when(sqlGeneratorChain.generateSql(statement, database)).thenReturn(new Sql[] { dropTable });
+      final SpatialConfiguration configuration = SpatialConfiguration.getInstance();
+      final Sql[] result;
+      try {
+         configuration.setPurgeDroppedTables(true);
+         result = generator.generateSql(statement, database, sqlGeneratorChain);
+      } finally {
+         configuration.setPurgeDroppedTables(false);
+      }
+      assertEquals(result.length, 2);
+      final String purgeSql = result[1].toSql();
+      assertTrue(purgeSql.contains("EXECUTE IMMEDIATE"
+            + " 'DROP TABLE table_name CASCADE CONSTRAINTS PURGE';"), purgeSql);
+      assertTrue(purgeSql.contains("FROM user_sdo_index_info WHERE table_name = 'TABLE_NAME'"),
+            purgeSql);
+      assertTrue(purgeSql.contains("RAISE_APPLICATION_ERROR"), purgeSql);
+      assertEquals(result[1].getEndDelimiter(), "\n/");
+      assertEquals(result[1].getAffectedDatabaseObjects(), dropTable.getAffectedDatabaseObjects());
+   }
+
+   /**
+    * Tests that {@link DropSpatialTableGeneratorOracle#generatePurgeSql(DropTableStatement, String,
+    * Database)} looks up the spatial index tables of a table in another schema by its owner.
+    */
+   @Test
+   public void testGeneratePurgeSqlWithSchema() {
+      final DropSpatialTableGeneratorOracle generator = new DropSpatialTableGeneratorOracle();
+      final Database database = new OracleDatabase();
+      final DropTableStatement statement = new DropTableStatement(null, "gis", "table_name",
+            true);
+      final String purgeSql = generator.generatePurgeSql(statement,
+            "DROP TABLE gis.table_name CASCADE CONSTRAINTS", database);
+      assertTrue(purgeSql.contains("FROM all_sdo_index_info WHERE table_owner = 'GIS'"
+            + " AND table_name = 'TABLE_NAME'"), purgeSql);
+      assertTrue(purgeSql.contains("FROM all_tables WHERE owner = 'GIS'"), purgeSql);
+      assertTrue(purgeSql.contains("FROM user_recyclebin WHERE USER = 'GIS'"), purgeSql);
+      assertFalse(purgeSql.contains("user_sdo_index_info"), purgeSql);
+      assertFalse(purgeSql.contains("user_tables"), purgeSql);
+   }
 }
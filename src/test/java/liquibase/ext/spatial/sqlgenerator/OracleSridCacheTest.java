@@ -0,0 +1,124 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import static org.testng.Assert.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.jvm.JdbcConnection;
+
+import org.testng.annotations.Test;
+
+/**
+ * <code>OracleSridCacheTest</code> tests {@link OracleSridCache} against an H2 database that
+ * mimics the Oracle SRID views and function.
+ */
+public class OracleSridCacheTest {
+   /** The number of times the mapping function was invoked. */
+   private static final AtomicInteger FUNCTION_CALLS = new AtomicInteger();
+
+   /**
+    * Mimics <code>SDO_CS.MAP_EPSG_SRID_TO_ORACLE</code>.
+    *
+    * @param srid
+    *           the EPSG SRID.
+    * @return the Oracle SRID.
+    */
+   public static Integer mapEpsgSridToOracle(final Integer srid) {
+      FUNCTION_CALLS.incrementAndGet();
+      return srid == 4326 ? 8307 : srid;
+   }
+
+   /**
+    * Tests that the mappings are bulk loaded on the first miss, that other SRIDs are mapped with
+    * the function and that everything is cached.
+    *
+    * @throws SQLException
+    *            if the test database cannot be set up.
+    */
+   @Test
+   public void testGetOracleSrid() throws SQLException {
+      final Connection connection = DriverManager
+            .getConnection("jdbc:h2:mem:target/oracleSridCache");
+      final Statement statement = connection.createStatement();
+      statement.execute("CREATE SCHEMA MDSYS");
+      statement.execute("CREATE TABLE MDSYS.SDO_COORD_REF_SYS (SRID INT, LEGACY_CODE INT)");
+      statement.execute("INSERT INTO MDSYS.SDO_COORD_REF_SYS VALUES (4326, 8307), (4269, 8265),"
+            + " (3857, NULL)");
+      statement.execute("CREATE SCHEMA SDO_CS");
+      statement.execute("CREATE ALIAS SDO_CS.MAP_EPSG_SRID_TO_ORACLE FOR \""
+            + getClass().getName() + ".mapEpsgSridToOracle\"");
+      final Database database = new H2Database();
+      database.setConnection(new JdbcConnection(connection));
+      try {
+         FUNCTION_CALLS.set(0);
+         final OracleSridCache cache = OracleSridCache.getInstance(database);
+         assertSame(OracleSridCache.getInstance(database), cache);
+         assertEquals(cache.getOracleSrid("4326", database), "8307");
+         assertEquals(cache.getOracleSrid("4269", database), "8265");
+         assertEquals(FUNCTION_CALLS.get(), 0);
+         assertEquals(cache.getOracleSrid("3857", database), "3857");
+         assertEquals(cache.getOracleSrid("3857", database), "3857");
+         assertEquals(cache.getOracleSrid("4326", database), "8307");
+         assertEquals(FUNCTION_CALLS.get(), 1);
+         assertEquals(cache.getMissCount(), 3);
+         assertEquals(cache.getHitCount(), 2);
+
+         // Other databases have their own cache.
+         assertNotSame(OracleSridCache.getInstance(new H2Database()), cache);
+      } finally {
+         OracleSridCache.clearAll();
+         statement.execute("DROP ALL OBJECTS");
+         statement.close();
+         connection.close();
+      }
+   }
+
+   /**
+    * Tests that a failed bulk load is retried on the next miss and that the loads use the
+    * database of the request instead of the one the cache was created with.
+    *
+    * @throws SQLException
+    *            if the test database cannot be set up.
+    */
+   @Test
+   public void testPreloadRetry() throws SQLException {
+      final String url = "jdbc:h2:mem:target/oracleSridCacheRetry";
+      final Connection connection = DriverManager.getConnection(url);
+      final Statement statement = connection.createStatement();
+      statement.execute("CREATE SCHEMA SDO_CS");
+      statement.execute("CREATE ALIAS SDO_CS.MAP_EPSG_SRID_TO_ORACLE FOR \""
+            + getClass().getName() + ".mapEpsgSridToOracle\"");
+      final Connection staleConnection = DriverManager.getConnection(url);
+      final Database staleDatabase = new H2Database();
+      staleDatabase.setConnection(new JdbcConnection(staleConnection));
+      final Database database = new H2Database();
+      database.setConnection(new JdbcConnection(connection));
+      try {
+         FUNCTION_CALLS.set(0);
+         final OracleSridCache cache = OracleSridCache.getInstance(staleDatabase);
+         staleConnection.close();
+         assertSame(OracleSridCache.getInstance(database), cache);
+
+         // The view doesn't exist yet so the function is used.
+         assertEquals(cache.getOracleSrid("4326", database), "8307");
+         assertEquals(FUNCTION_CALLS.get(), 1);
+
+         statement.execute("CREATE SCHEMA MDSYS");
+         statement.execute("CREATE TABLE MDSYS.SDO_COORD_REF_SYS (SRID INT, LEGACY_CODE INT)");
+         statement.execute("INSERT INTO MDSYS.SDO_COORD_REF_SYS VALUES (4269, 8265)");
+         assertEquals(cache.getOracleSrid("4269", database), "8265");
+         assertEquals(FUNCTION_CALLS.get(), 1);
+      } finally {
+         OracleSridCache.clearAll();
+         statement.execute("DROP ALL OBJECTS");
+         statement.close();
+         connection.close();
+      }
+   }
+}
@@ -0,0 +1,52 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.OracleDatabase;
+import liquibase.ext.spatial.statement.RebuildSpatialIndexStatement;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+
+import org.testng.annotations.Test;
+
+/**
+ * <code>RebuildSpatialIndexGeneratorOracleTest</code> tests
+ * {@link RebuildSpatialIndexGeneratorOracle}.
+ */
+public class RebuildSpatialIndexGeneratorOracleTest {
+   /**
+    * Tests
+    * {@link RebuildSpatialIndexGeneratorOracle#supports(RebuildSpatialIndexStatement, Database)}
+    */
+   @Test
+   public void testSupports() {
+      final RebuildSpatialIndexGeneratorOracle generator = new RebuildSpatialIndexGeneratorOracle();
+      final RebuildSpatialIndexStatement statement = mock(RebuildSpatialIndexStatement.class);
+      assertTrue(generator.supports(statement, new OracleDatabase()));
+      assertFalse(generator.supports(statement, new H2Database()));
+   }
+
+   /**
+    * Tests
+    * {@link RebuildSpatialIndexGeneratorOracle#generateSql(RebuildSpatialIndexStatement, Database, SqlGeneratorChain)}
+    */
+   @Test
+   public void testGenerateSql() {
+      final RebuildSpatialIndexGeneratorOracle generator = new RebuildSpatialIndexGeneratorOracle();
+      final Database database = new OracleDatabase();
+      final RebuildSpatialIndexStatement statement = new RebuildSpatialIndexStatement(
+            "index_name", null, null, "table_name");
+      Sql[] result = generator.generateSql(statement, database, null);
+      assertEquals(result.length, 1);
+      assertEquals(result[0].toSql(), "ALTER INDEX index_name REBUILD");
+      assertFalse(result[0].getAffectedDatabaseObjects().isEmpty());
+
+      statement.setOnline(true).setParallel(4).setTablespace("users")
+            .setWorkTablespace(" sdo_work ");
+      result = generator.generateSql(statement, database, null);
+      assertEquals(result[0].toSql(), "ALTER INDEX index_name REBUILD ONLINE"
+            + " PARAMETERS ('tablespace=users work_tablespace=sdo_work') PARALLEL 4");
+   }
+}
@@ -0,0 +1,49 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.ext.spatial.statement.RebuildSpatialIndexStatement;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+
+import org.testng.annotations.Test;
+
+/**
+ * <code>RebuildSpatialIndexGeneratorPostgreSQLTest</code> tests
+ * {@link RebuildSpatialIndexGeneratorPostgreSQL}.
+ */
+public class RebuildSpatialIndexGeneratorPostgreSQLTest {
+   /**
+    * Tests
+    * {@link RebuildSpatialIndexGeneratorPostgreSQL#supports(RebuildSpatialIndexStatement, Database)}
+    */
+   @Test
+   public void testSupports() {
+      final RebuildSpatialIndexGeneratorPostgreSQL generator = new RebuildSpatialIndexGeneratorPostgreSQL();
+      final RebuildSpatialIndexStatement statement = mock(RebuildSpatialIndexStatement.class);
+      assertTrue(generator.supports(statement, new PostgresDatabase()));
+      assertFalse(generator.supports(statement, new H2Database()));
+   }
+
+   /**
+    * Tests
+    * {@link RebuildSpatialIndexGeneratorPostgreSQL#generateSql(RebuildSpatialIndexStatement, Database, SqlGeneratorChain)}
+    */
+   @Test
+   public void testGenerateSql() {
+      final RebuildSpatialIndexGeneratorPostgreSQL generator = new RebuildSpatialIndexGeneratorPostgreSQL();
+      final Database database = new PostgresDatabase();
+      final RebuildSpatialIndexStatement statement = new RebuildSpatialIndexStatement(
+            "index_name", null, "gis", "table_name");
+      Sql[] result = generator.generateSql(statement, database, null);
+      assertEquals(result.length, 1);
+      assertEquals(result[0].toSql(), "REINDEX INDEX gis.index_name");
+
+      statement.setOnline(true);
+      result = generator.generateSql(statement, database, null);
+      assertEquals(result[0].toSql(), "REINDEX INDEX CONCURRENTLY gis.index_name");
+   }
+}
@@ -0,0 +1,119 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import static org.testng.Assert.*;
+
+import java.io.StringWriter;
+import java.sql.Timestamp;
+
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.ext.spatial.configuration.SpatialConfiguration;
+import liquibase.ext.spatial.configuration.SpatialConfiguration.GeometryLiteralFormat;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.sqlgenerator.core.InsertGenerator;
+import liquibase.statement.DatabaseFunction;
+import liquibase.statement.core.InsertStatement;
+
+import org.testng.annotations.Test;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.geom.Point;
+import com.vividsolutions.jts.geom.PrecisionModel;
+
+/**
+ * <code>SpatialInsertGeneratorGeoDBTest</code> tests {@link SpatialInsertGeneratorGeoDB}.
+ */
+public class SpatialInsertGeneratorGeoDBTest {
+   /**
+    * Tests that
+    * {@link SpatialInsertGeneratorGeoDB#generateSql(InsertStatement, Database, SqlGeneratorChain)}
+    * generates the same SQL as {@link InsertGenerator} when there aren't any geometries.
+    */
+   @Test
+   public void testGenerateSqlWithoutGeometry() {
+      final Database database = new H2Database();
+      final InsertStatement statement = new InsertStatement(null, null, "test_table");
+      statement.addColumnValue("id", 1);
+      statement.addColumnValue("name", "It's a test");
+      statement.addColumnValue("flag", Boolean.TRUE);
+      statement.addColumnValue("created", new Timestamp(0));
+      statement.addColumnValue("modified", new DatabaseFunction("CURRENT_TIMESTAMP"));
+      statement.addColumnValue("missing", null);
+      final Sql[] expected = new InsertGenerator().generateSql(statement, database, null);
+      final Sql[] actual = new SpatialInsertGeneratorGeoDB().generateSql(statement, database,
+            null);
+      assertEquals(actual.length, 1);
+      assertEquals(actual[0].toSql(), expected[0].toSql());
+      assertEquals(actual[0].getAffectedDatabaseObjects(), expected[0]
+            .getAffectedDatabaseObjects());
+   }
+
+   /**
+    * Tests
+    * {@link SpatialInsertGeneratorGeoDB#generateSql(InsertStatement, Database, SqlGeneratorChain)}
+    * with EWKT, EWKB and geometry values.
+    */
+   @Test
+   public void testGenerateSqlWithGeometry() {
+      final Database database = new H2Database();
+      final InsertStatement statement = new InsertStatement(null, null, "test_table");
+      statement.addColumnValue("id", 1);
+      statement.addColumnValue("geom", " SRID=4326;POINT(1 2) ");
+      final Point point = new GeometryFactory(new PrecisionModel(), 4269)
+            .createPoint(new Coordinate(3, 4));
+      statement.addColumnValue("point", point);
+      final String wkb = "0101000000000000000000F03F0000000000000040";
+      final String ewkb = "0101000020E6100000000000000000F03F0000000000000040";
+      statement.addColumnValue("wkb", ewkb);
+      final Sql[] actual = new SpatialInsertGeneratorGeoDB().generateSql(statement, database,
+            null);
+      assertEquals(actual.length, 1);
+      assertEquals(actual[0].toSql(), "INSERT INTO test_table (id, geom, point, wkb) VALUES (1, "
+            + "ST_GeomFromText('POINT(1 2)', 4326), ST_GeomFromText('POINT (3 4)', 4269), "
+            + "ST_GeomFromWKB(X'" + wkb + "', 4326))");
+   }
+
+   /**
+    * Tests that
+    * {@link SpatialInsertGeneratorGeoDB#appendFunction(Appendable, CharSequence, String, Database)}
+    * writes the same function call as
+    * {@link SpatialInsertGeneratorGeoDB#convertToFunction(String, String, Database)}.
+    *
+    * @throws Exception
+    *            if the function cannot be written.
+    */
+   @Test
+   public void testAppendFunction() throws Exception {
+      final Database database = new H2Database();
+      final SpatialInsertGeneratorGeoDB generator = new SpatialInsertGeneratorGeoDB();
+      final StringWriter out = new StringWriter();
+      generator.appendFunction(out, "POINT(1 2)", "4326", database);
+      assertEquals(out.toString(), generator.convertToFunction("POINT(1 2)", "4326", database));
+      assertEquals(out.toString(), "ST_GeomFromText('POINT(1 2)', 4326)");
+   }
+
+   /**
+    * Tests
+    * {@link SpatialInsertGeneratorGeoDB#generateSql(InsertStatement, Database, SqlGeneratorChain)}
+    * with the {@link GeometryLiteralFormat#WKB} format.
+    */
+   @Test
+   public void testGenerateSqlWithWkbFormat() {
+      final SpatialConfiguration configuration = SpatialConfiguration.getInstance();
+      configuration.setGeometryLiteralFormat(GeometryLiteralFormat.WKB);
+      try {
+         final Database database = new H2Database();
+         final InsertStatement statement = new InsertStatement(null, null, "test_table");
+         statement.addColumnValue("geom", "SRID=4326;POINT(1 2)");
+         final Sql[] actual = new SpatialInsertGeneratorGeoDB().generateSql(statement, database,
+               null);
+         assertEquals(actual.length, 1);
+         assertEquals(actual[0].toSql(), "INSERT INTO test_table (geom) VALUES ("
+               + "ST_GeomFromWKB(X'00000000013FF00000000000004000000000000000', 4326))");
+      } finally {
+         configuration.setGeometryLiteralFormat(GeometryLiteralFormat.WKT);
+      }
+   }
+}
@@ -0,0 +1,99 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.ext.spatial.configuration.SpatialConfiguration;
+import liquibase.ext.spatial.configuration.SpatialConfiguration.GeometryLiteralFormat;
+import liquibase.sql.Sql;
+import liquibase.sql.UnparsedSql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.statement.core.InsertStatement;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.geom.PrecisionModel;
+
+/**
+ * <code>SpatialInsertGeneratorPostgreSQLTest</code> tests {@link SpatialInsertGeneratorPostgreSQL}.
+ */
+public class SpatialInsertGeneratorPostgreSQLTest {
+   /**
+    * Restores the default geometry literal format.
+    */
+   @AfterMethod
+   public void resetConfiguration() {
+      SpatialConfiguration.getInstance().setGeometryLiteralFormat(GeometryLiteralFormat.WKT);
+   }
+
+   /**
+    * Tests that
+    * {@link SpatialInsertGeneratorPostgreSQL#generateSql(InsertStatement, Database, SqlGeneratorChain)}
+    * leaves Well-Known Text other than points to PostGIS by default.
+    */
+   @Test
+   public void testGenerateSqlWithWkt() {
+      final Database database = new PostgresDatabase();
+      final InsertStatement statement = new InsertStatement(null, null, "test_table");
+      statement.addColumnValue("geom", "SRID=4326;LINESTRING(1 2, 3 4)");
+      statement.addColumnValue("geom3d", "SRID=4326;POINT(1 2 3)");
+      final SqlGeneratorChain sqlGeneratorChain = mock(SqlGeneratorChain.class);
+      final Sql[] expected = new Sql[] { new UnparsedSql("INSERT") };
+      when(sqlGeneratorChain.generateSql(statement, database)).thenReturn(expected);
+      final SpatialInsertGeneratorPostgreSQL generator = new SpatialInsertGeneratorPostgreSQL();
+      assertTrue(generator.supports(statement, database));
+      assertSame(generator.generateSql(statement, database, sqlGeneratorChain), expected);
+   }
+
+   /**
+    * Tests that
+    * {@link SpatialInsertGeneratorPostgreSQL#generateSql(InsertStatement, Database, SqlGeneratorChain)}
+    * builds points with <code>ST_MakePoint</code>.
+    */
+   @Test
+   public void testGenerateSqlWithPoint() {
+      final Database database = new PostgresDatabase();
+      final InsertStatement statement = new InsertStatement(null, null, "test_table");
+      statement.addColumnValue("geom", "SRID=4326;POINT(1.5 -2)");
+      statement.addColumnValue("point", new GeometryFactory(new PrecisionModel(), 0)
+            .createPoint(new Coordinate(1, 2)));
+      statement.addColumnValue("line", "SRID=4326;LINESTRING(1 2, 3 4)");
+      final Sql[] actual = new SpatialInsertGeneratorPostgreSQL().generateSql(statement,
+            database, mock(SqlGeneratorChain.class));
+      assertEquals(actual.length, 1);
+      assertEquals(actual[0].toSql(), "INSERT INTO test_table (geom, point, line) VALUES ("
+            + "ST_SetSRID(ST_MakePoint(1.5, -2), 4326), ST_MakePoint(1, 2), "
+            + "ST_GeomFromText('LINESTRING(1 2, 3 4)', 4326))");
+   }
+
+   /**
+    * Tests
+    * {@link SpatialInsertGeneratorPostgreSQL#generateSql(InsertStatement, Database, SqlGeneratorChain)}
+    * with the {@link GeometryLiteralFormat#WKB} format.
+    */
+   @Test
+   public void testGenerateSqlWithWkb() {
+      SpatialConfiguration.getInstance().setGeometryLiteralFormat(GeometryLiteralFormat.WKB);
+      final Database database = new PostgresDatabase();
+      final InsertStatement statement = new InsertStatement(null, null, "test_table");
+      statement.addColumnValue("geom", "SRID=4326;POINT(1 2)");
+      statement.addColumnValue("point", new GeometryFactory(new PrecisionModel(), 4269)
+            .createPoint(new Coordinate(1, 2)));
+      statement.addColumnValue("ewkb", "0101000020E6100000000000000000F03F0000000000000040");
+      statement.addColumnValue("curve", "POINTZ(1 2 3)");
+      final Sql[] actual = new SpatialInsertGeneratorPostgreSQL().generateSql(statement,
+            database, mock(SqlGeneratorChain.class));
+      assertEquals(actual.length, 1);
+      final String wkb = "00000000013FF00000000000004000000000000000";
+      final String littleEndianWkb = "0101000000000000000000F03F0000000000000040";
+      assertEquals(actual[0].toSql(), "INSERT INTO test_table (geom, point, ewkb, curve) VALUES ("
+            + "ST_GeomFromWKB(decode('" + wkb + "', 'hex'), 4326), ST_GeomFromWKB(decode('" + wkb
+            + "', 'hex'), 4269), ST_GeomFromWKB(decode('" + littleEndianWkb
+            + "', 'hex'), 4326), ST_GeomFromText('POINTZ(1 2 3)'))");
+   }
+}
@@ -0,0 +1,102 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import static org.testng.Assert.*;
+
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.ext.spatial.configuration.SpatialConfiguration;
+import liquibase.ext.spatial.statement.SpatialInsertSetStatement;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.InsertStatement;
+
+import org.testng.annotations.Test;
+
+/**
+ * <code>SpatialInsertSetGeneratorGeoDBTest</code> tests {@link SpatialInsertSetGeneratorGeoDB}.
+ */
+public class SpatialInsertSetGeneratorGeoDBTest {
+   /**
+    * Tests {@link SpatialInsertSetGeneratorGeoDB#generateSql} writes the rows as a single multi-row <code>INSERT</code> with the geometries converted.
+    */
+   @Test
+   public void testGenerateSql() {
+      final Database database = new H2Database();
+      final SpatialInsertSetStatement statement = new SpatialInsertSetStatement();
+      statement.addStatement(createInsert(1));
+      statement.addStatement(createInsert(2));
+      final Sql[] sql = SqlGeneratorFactory.getInstance().generateSql(statement, database);
+      assertEquals(sql.length, 1);
+      assertEquals(sql[0].toSql(), "INSERT INTO " + database.escapeTableName(null, null, "points")
+            + " (id, name, geom) VALUES (1, 'point 1', ST_GeomFromText('POINT(1 1)', 4326)), "
+            + "(2, 'point 2', ST_GeomFromText('POINT(2 2)', 4326))");
+   }
+
+   /**
+    * Tests that a new <code>INSERT</code> is started when the next row would exceed the maximum
+    * statement size and that a row larger than the maximum is still written.
+    */
+   @Test
+   public void testGenerateSqlWithMaxStatementSize() {
+      final Database database = new H2Database();
+      final SpatialConfiguration configuration = SpatialConfiguration.getInstance();
+      final int maxStatementSize = configuration.getMaxStatementSize();
+      final SpatialInsertSetStatement statement = new SpatialInsertSetStatement();
+      for (int ii = 1; ii <= 5; ii++) {
+         statement.addStatement(createInsert(ii));
+      }
+      final String single = SqlGeneratorFactory.getInstance().generateSql(createInsert(1),
+            database)[0].toSql();
+      try {
+         // Room for two rows but not three.
+         configuration.setMaxStatementSize(2 * single.length());
+         Sql[] sql = SqlGeneratorFactory.getInstance().generateSql(statement, database);
+         assertEquals(sql.length, 3);
+         assertTrue(sql[0].toSql().endsWith("(2, 'point 2', ST_GeomFromText('POINT(2 2)', 4326))"),
+               sql[0].toSql());
+         assertTrue(sql[2].toSql().contains("VALUES (5, "), sql[2].toSql());
+         for (final Sql each : sql) {
+            assertTrue(each.toSql().length() <= 2 * single.length(), each.toSql());
+         }
+
+         configuration.setMaxStatementSize(10);
+         sql = SqlGeneratorFactory.getInstance().generateSql(statement, database);
+         assertEquals(sql.length, 5);
+         assertEquals(sql[0].toSql(), single);
+      } finally {
+         configuration.setMaxStatementSize(maxStatementSize);
+      }
+   }
+
+   /**
+    * Tests {@link SpatialInsertSetStatement#group(SqlStatement[])}.
+    */
+   @Test
+   public void testGroup() {
+      final InsertStatement other = new InsertStatement(null, null, "points");
+      other.addColumnValue("id", 4);
+      final SqlStatement[] statements = new SqlStatement[] { createInsert(1), createInsert(2),
+            other, createInsert(3) };
+      final SqlStatement[] grouped = SpatialInsertSetStatement.group(statements);
+      assertEquals(grouped.length, 3);
+      assertEquals(((SpatialInsertSetStatement) grouped[0]).getStatements().size(), 2);
+      assertSame(grouped[1], other);
+      assertSame(grouped[2], statements[3]);
+   }
+
+   /**
+    * Creates an insert of a point with the given ID.
+    *
+    * @param id
+    *           the row ID.
+    * @return the insert.
+    */
+   private InsertStatement createInsert(final int id) {
+      final InsertStatement insert = new InsertStatement(null, null, "points");
+      insert.addColumnValue("id", id);
+      insert.addColumnValue("name", "point " + id);
+      insert.addColumnValue("geom", "SRID=4326;POINT(" + id + " " + id + ")");
+      return insert;
+   }
+}
@@ -0,0 +1,271 @@
+package liquibase.ext.spatial.sqlgenerator;
+
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+
+import liquibase.database.Database;
+import liquibase.database.core.OracleDatabase;
+import liquibase.exception.DatabaseException;
+import liquibase.ext.spatial.configuration.SpatialConfiguration;
+import liquibase.ext.spatial.configuration.SpatialConfiguration.GeometryLiteralFormat;
+import liquibase.ext.spatial.statement.BoundParameters;
+import liquibase.ext.spatial.statement.SpatialUpdateStatement;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.sqlgenerator.core.UpdateGenerator;
+import liquibase.statement.core.UpdateStatement;
+
+import org.testng.annotations.Test;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.io.WKBWriter;
+
+/**
+ * <code>SpatialUpdateGeneratorOracleTest</code> tests {@link SpatialUpdateGeneratorOracle}.
+ */
+public class SpatialUpdateGeneratorOracleTest {
+   /**
+    * Tests that
+    * {@link SpatialUpdateGeneratorOracle#generateSql(UpdateStatement, Database, SqlGeneratorChain)}
+    * generates the same SQL as {@link UpdateGenerator} when there aren't any geometries.
+    */
+   @Test
+   public void testGenerateSqlWithoutGeometry() {
+      final Database database = new OracleDatabase();
+      final UpdateStatement statement = new UpdateStatement(null, null, "test_table");
+      statement.addNewColumnValue("name", "It's a test");
+      statement.addNewColumnValue("count", 5);
+      statement.addNewColumnValue("modified", new Date(0));
+      statement.addNewColumnValue("deleted", null);
+      statement.setWhereClause(":name = :value AND id > ?");
+      statement.addWhereColumnName("name");
+      statement.addWhereParameter("old");
+      statement.addWhereParameter(3);
+      final Sql[] expected = new UpdateGenerator().generateSql(statement, database, null);
+      final Sql[] actual = new SpatialUpdateGeneratorOracle().generateSql(statement, database,
+            null);
+      assertEquals(actual.length, 1);
+      assertEquals(actual[0].toSql(), expected[0].toSql());
+   }
+
+   /**
+    * Tests that
+    * {@link SpatialUpdateGeneratorOracle#generateSql(UpdateStatement, Database, SqlGeneratorChain)}
+    * splits very large Well-Known Text into <code>TO_CLOB</code> literals.
+    */
+   @Test
+   public void testGenerateSqlWithLargeGeometry() {
+      final StringBuilder wkt = new StringBuilder("LINESTRING(");
+      for (int ii = 0; ii < 1000; ii++) {
+         wkt.append(ii).append(".123456 ").append(ii).append(".654321, ");
+      }
+      wkt.append("0 0)");
+      final String oracleWkt = OracleSpatialUtils.getOracleWkt(wkt.toString());
+      assertTrue(oracleWkt.startsWith("' || TO_CLOB('LINESTRING("), oracleWkt);
+      assertEquals(oracleWkt.replaceAll("'\\) \\|\\| TO_CLOB\\('", ""), "' || TO_CLOB('" + wkt
+            + "') || '");
+
+      final Database database = new OracleDatabase();
+      final UpdateStatement statement = new UpdateStatement(null, null, "test_table");
+      statement.addNewColumnValue("geom", "  " + wkt + "  ");
+      final Sql[] actual = new SpatialUpdateGeneratorOracle().generateSql(statement, database,
+            null);
+      assertEquals(actual.length, 1);
+      assertEquals(actual[0].toSql(), "UPDATE " + database.escapeTableName(null, null, "test_table")
+            + " SET " + database.escapeColumnName(null, null, "test_table", "geom")
+            + " = SDO_GEOMETRY('" + oracleWkt + "')");
+   }
+
+   /**
+    * Tests that
+    * {@link SpatialUpdateGeneratorOracle#generateSql(UpdateStatement, Database, SqlGeneratorChain)}
+    * passes Well-Known Binary to <code>SDO_UTIL.FROM_WKBGEOMETRY</code>.
+    */
+   @Test
+   public void testGenerateSqlWithWkb() {
+      final Database database = new OracleDatabase();
+      final UpdateStatement statement = new UpdateStatement(null, null, "test_table");
+      final String wkb = "0101000000000000000000F03F0000000000000040";
+      statement.addNewColumnValue("geom", wkb);
+      statement.addNewColumnValue("geom3d",
+            "0101000080000000000000F03F00000000000000400000000000000840");
+      final Sql[] actual = new SpatialUpdateGeneratorOracle().generateSql(statement, database,
+            null);
+      assertEquals(actual.length, 1);
+      assertTrue(actual[0].toSql().endsWith(" = SDO_UTIL.FROM_WKBGEOMETRY(TO_BLOB(HEXTORAW('"
+            + wkb + "'))), " + database.escapeColumnName(null, null, "test_table", "geom3d")
+            + " = SDO_GEOMETRY('POINT (1 2 3)')"), actual[0].toSql());
+   }
+
+   /**
+    * Tests that
+    * {@link SpatialUpdateGeneratorOracle#generateSql(UpdateStatement, Database, SqlGeneratorChain)}
+    * builds two-dimensional points with <code>SDO_POINT_TYPE</code>.
+    */
+   @Test
+   public void testGenerateSqlWithPoint() {
+      final Database database = new OracleDatabase();
+      final UpdateStatement statement = new UpdateStatement(null, null, "test_table");
+      statement.addNewColumnValue("geom", "POINT (1.5 -2)");
+      statement.addNewColumnValue("geom3d", "POINT (1 2 3)");
+      final Sql[] actual = new SpatialUpdateGeneratorOracle().generateSql(statement, database,
+            null);
+      assertEquals(actual.length, 1);
+      assertTrue(actual[0].toSql().endsWith(
+            " = SDO_GEOMETRY(2001, NULL, SDO_POINT_TYPE(1.5, -2, NULL), NULL, NULL), "
+                  + database.escapeColumnName(null, null, "test_table", "geom3d")
+                  + " = SDO_GEOMETRY('POINT (1 2 3)')"), actual[0].toSql());
+   }
+
+   /**
+    * Tests that
+    * {@link SpatialUpdateGeneratorOracle#generateSql(UpdateStatement, Database, SqlGeneratorChain)}
+    * maps SRIDs without a database connection.
+    */
+   @Test
+   public void testGenerateSqlOffline() {
+      final Database database = new OracleDatabase();
+      final UpdateStatement statement = new UpdateStatement(null, null, "test_table");
+      statement.addNewColumnValue("geom", "SRID=4326;POINT (1 2)");
+      statement.addNewColumnValue("line", "SRID=99999;LINESTRING (1 2, 3 4)");
+      final Sql[] actual = new SpatialUpdateGeneratorOracle().generateSql(statement, database,
+            null);
+      assertEquals(actual.length, 1);
+      final String sql = actual[0].toSql();
+      assertTrue(sql.contains(" = SDO_GEOMETRY(2001, 8307, SDO_POINT_TYPE(1, 2, NULL), NULL,"
+            + " NULL), "), sql);
+      assertTrue(sql.endsWith(", 99999)"), sql);
+   }
+
+   /**
+    * Tests that bound geometries which cannot be sent as Well-Known Binary are bound as a single
+    * CLOB of Well-Known Text instead of a <code>TO_CLOB</code> concatenation.
+    *
+    * @throws DatabaseException
+    *            if the SQL cannot be generated.
+    */
+   @Test
+   public void testGenerateSqlWithClobParameter() throws DatabaseException {
+      final Database database = new OracleDatabase();
+      final StringBuilder wkt = new StringBuilder("LINESTRINGM (0 0 0");
+      for (int ii = 1; ii <= 1000; ii++) {
+         wkt.append(", ").append(ii).append(" ").append(ii % 2).append(" 0");
+      }
+      wkt.append(")");
+      final Coordinate coordinate = new Coordinate(1, 2, 3);
+      final String wkb3d = WKBWriter.toHex(new WKBWriter(3).write(new GeometryFactory()
+            .createPoint(coordinate)));
+      final SpatialUpdateStatement statement = new SpatialUpdateStatement(database, null, null,
+            "test_table");
+      statement.addNewColumnValue("line", "SRID=4326;" + wkt);
+      statement.addNewColumnValue("geom3d", wkb3d);
+      final BoundParameters parameters = new BoundParameters(database);
+      final String sql = statement.generateSql(parameters);
+      assertFalse(sql.contains("TO_CLOB"), sql);
+      assertTrue(sql.endsWith(" = SDO_GEOMETRY(?), "
+            + database.escapeColumnName(null, null, "test_table", "line")
+            + " = SDO_GEOMETRY(?, ?)"), sql);
+      final List<Object> values = parameters.getValues();
+      assertEquals(values.size(), 3);
+      assertTrue(values.get(0) instanceof Reader, values.get(0).toString());
+      assertTrue(values.get(1) instanceof Reader, values.get(1).toString());
+      assertEquals(values.get(2), 8307);
+   }
+
+   /**
+    * Tests that bound Well-Known Binary with an SRID is bound as a BLOB and the SRID as an integer,
+    * so that Oracle picks the BLOB constructor of <code>SDO_GEOMETRY(?, ?)</code>, and that the
+    * Well-Known Text with the same SQL is bound as a CLOB.
+    *
+    * @throws IOException
+    *            if the SQL cannot be written.
+    * @throws SQLException
+    *            if the parameters cannot be bound.
+    */
+   @Test
+   public void testBindTypes() throws IOException, SQLException {
+      final Database database = new OracleDatabase();
+      final byte[] wkb = new WKBWriter().write(new GeometryFactory()
+            .createLineString(new Coordinate[] { new Coordinate(1, 2), new Coordinate(3, 4) }));
+      final SpatialUpdateGeneratorOracle generator = new SpatialUpdateGeneratorOracle();
+      final BoundParameters parameters = new BoundParameters(database);
+      final StringBuilder sql = new StringBuilder();
+      generator.appendWkbParameter(sql, wkb, "4326", database, parameters);
+      sql.append(", ");
+      generator.appendWktParameter(sql, "LINESTRING (1 2, 3 4)", "4326", database, parameters);
+      assertEquals(sql.toString(), "SDO_GEOMETRY(?, ?), SDO_GEOMETRY(?, ?)");
+
+      final PreparedStatement preparedStatement = mock(PreparedStatement.class);
+      parameters.bind(preparedStatement);
+      verify(preparedStatement).setBlob(eq(1), any(InputStream.class), eq((long) wkb.length));
+      verify(preparedStatement).setInt(2, 8307);
+      verify(preparedStatement).setClob(eq(3), any(Reader.class));
+      verify(preparedStatement).setInt(4, 8307);
+      verifyNoMoreInteractions(preparedStatement);
+   }
+
+   /**
+    * Tests that a bound geometry fails with a clear error if the Oracle SRID isn't an integer.
+    *
+    * @throws IOException
+    *            if the SQL cannot be written.
+    */
+   @Test
+   public void testBindNonNumericSrid() throws IOException {
+      final BoundParameters parameters = new BoundParameters(new OracleDatabase());
+      final byte[] wkb = new WKBWriter().write(new GeometryFactory().createPoint(new Coordinate(
+            1, 2)));
+      try {
+         OracleSpatialUtils.appendSdoGeometryParameter(new StringBuilder(), wkb, "EPSG:4326",
+               parameters);
+         fail("The Oracle SRID was accepted");
+      } catch (final IllegalArgumentException e) {
+         assertTrue(e.getMessage().contains("EPSG:4326"), e.getMessage());
+      }
+      try {
+         OracleSpatialUtils.appendSdoGeometryClobParameter(new StringBuilder(), "POINT (1 2)",
+               "EPSG:4326", parameters);
+         fail("The Oracle SRID was accepted");
+      } catch (final IllegalArgumentException e) {
+         assertTrue(e.getMessage().contains("EPSG:4326"), e.getMessage());
+      }
+   }
+
+   /**
+    * Tests that
+    * {@link SpatialUpdateGeneratorOracle#generateSql(UpdateStatement, Database, SqlGeneratorChain)}
+    * encodes Well-Known Text as Well-Known Binary with {@link GeometryLiteralFormat#WKB}.
+    */
+   @Test
+   public void testGenerateSqlWithWkbFormat() {
+      final Database database = new OracleDatabase();
+      final UpdateStatement statement = new UpdateStatement(null, null, "test_table");
+      statement.addNewColumnValue("geom", "SRID=4326;LINESTRING (1 2, 3 4)");
+      statement.addNewColumnValue("plain", "LINESTRING (1 2, 3 4)");
+      final SpatialConfiguration configuration = SpatialConfiguration.getInstance();
+      configuration.setGeometryLiteralFormat(GeometryLiteralFormat.WKB);
+      final Sql[] actual;
+      try {
+         actual = new SpatialUpdateGeneratorOracle().generateSql(statement, database, null);
+      } finally {
+         configuration.setGeometryLiteralFormat(GeometryLiteralFormat.WKT);
+      }
+      final String wkb = WKBWriter.toHex(new WKBWriter().write(new GeometryFactory()
+            .createLineString(new Coordinate[] { new Coordinate(1, 2), new Coordinate(3, 4) })));
+      assertEquals(actual.length, 1);
+      assertTrue(actual[0].toSql().endsWith(" = SDO_GEOMETRY(TO_BLOB(HEXTORAW('" + wkb
+            + "')), 8307), " + database.escapeColumnName(null, null, "test_table", "plain")
+            + " = SDO_UTIL.FROM_WKBGEOMETRY(TO_BLOB(HEXTORAW('" + wkb + "')))"),
+            actual[0].toSql());
+   }
+}
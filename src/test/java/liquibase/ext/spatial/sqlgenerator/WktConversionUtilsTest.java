@@ -3,6 +3,9 @@ package liquibase.ext.spatial.sqlgenerator;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 import static org.testng.Assert.*;
+
+import java.io.IOException;
+
 import liquibase.database.Database;
 
 import org.mockito.invocation.InvocationOnMock;
@@ -10,6 +13,8 @@ import org.mockito.stubbing.Answer;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import com.vividsolutions.jts.io.WKBReader;
+
 /**
  * <code>WktConversionUtilsTest</code> tests {@link WktConversionUtils}.
  */
@@ -135,4 +140,42 @@ public class WktConversionUtilsTest {
             new Object[] { wkt, database, generator, wkt + ",null" },
             new Object[] { srid + ";" + wkt, database, generator, wkt + ",4326" }, };
    }
+
+   /**
+    * Tests {@link WktConversionUtils#appendHex(Appendable, byte[])}.
+    * 
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   @Test
+   public void testAppendHex() throws IOException {
+      final StringBuilder out = new StringBuilder("X'");
+      WktConversionUtils.appendHex(out, new byte[] { 0, 1, 0x0F, 0x10, (byte) 0xA5, (byte) 0xFF });
+      assertEquals(out.toString(), "X'00010F10A5FF");
+   }
+
+   /**
+    * Tests
+    * {@link WktConversionUtils#appendWkbFunction(Appendable, byte[], String, Database, WktInsertOrUpdateGenerator)}
+    * .
+    * 
+    * @throws IOException
+    *            if the output cannot be written.
+    */
+   @Test
+   public void testAppendWkbFunctionWithBytes() throws IOException {
+      final Database database = mock(Database.class);
+      final WktInsertOrUpdateGenerator generator = mock(WktInsertOrUpdateGenerator.class);
+      when(generator.getGeomFromWkbFunction()).thenReturn("ST_GeomFromWKB");
+      final byte[] wkb = WKBReader.hexToBytes("0101000000000000000000F03F0000000000000040");
+      final StringBuilder out = new StringBuilder();
+      WktConversionUtils.appendWkbFunction(out, wkb, "4326", database, generator);
+      assertEquals(out.toString(),
+            "ST_GeomFromWKB(X'0101000000000000000000F03F0000000000000040', 4326)");
+
+      out.setLength(0);
+      WktConversionUtils.appendWkbFunction(out, wkb, null, database, generator);
+      assertEquals(out.toString(),
+            "ST_GeomFromWKB(X'0101000000000000000000F03F0000000000000040')");
+   }
 }
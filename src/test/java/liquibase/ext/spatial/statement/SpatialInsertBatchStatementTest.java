@@ -0,0 +1,137 @@
+package liquibase.ext.spatial.statement;
+
+import static org.testng.Assert.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
+import liquibase.database.core.H2Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.ext.spatial.utils.GeometryColumnPlan;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.InsertStatement;
+
+import org.testng.annotations.Test;
+
+/**
+ * <code>SpatialInsertBatchStatementTest</code> tests {@link SpatialInsertBatchStatement}.
+ */
+public class SpatialInsertBatchStatementTest {
+   /**
+    * Tests {@link SpatialInsertBatchStatement#group(Database, SqlStatement[], int)}.
+    */
+   @Test
+   public void testGroup() {
+      final Database database = new H2Database();
+      final SqlStatement[] statements = new SqlStatement[] { createInsert(database, "a", 1),
+            createInsert(database, "a", 2), createInsert(database, "b", 3),
+            new InsertStatement(null, null, "b"), createInsert(database, "b", 4),
+            createInsert(database, "b", 5), createInsert(database, "b", 6) };
+      final SqlStatement[] grouped = SpatialInsertBatchStatement.group(database, statements, 10);
+      assertEquals(grouped.length, 4);
+      assertEquals(((SpatialInsertBatchStatement) grouped[0]).getStatements().size(), 2);
+      // A single insert isn't wrapped and other statements end the batch.
+      assertSame(grouped[1], statements[2]);
+      assertSame(grouped[2], statements[3]);
+      assertEquals(((SpatialInsertBatchStatement) grouped[3]).getStatements().size(), 3);
+
+      // Batching is disabled with a batch size of 1.
+      assertSame(SpatialInsertBatchStatement.group(database, statements, 1), statements);
+   }
+
+   /**
+    * Tests {@link SpatialInsertBatchStatement#execute(PreparedStatementFactory)} inserts all the
+    * rows and reports the row that fails.
+    *
+    * @throws SQLException
+    *            if the test table cannot be created or read.
+    * @throws DatabaseException
+    *            if the first batch fails.
+    */
+   @Test
+   public void testExecute() throws SQLException, DatabaseException {
+      final Connection connection = DriverManager
+            .getConnection("jdbc:h2:mem:target/spatialInsertBatchStatement");
+      final Statement statement = connection.createStatement();
+      statement.execute("CREATE TABLE batch_test (id INT PRIMARY KEY, name VARCHAR(30))");
+      final Database database = new H2Database();
+      database.setConnection(new JdbcConnection(connection));
+      final PreparedStatementFactory factory = new PreparedStatementFactory(
+            (JdbcConnection) database.getConnection());
+      try {
+         SpatialInsertBatchStatement batch = new SpatialInsertBatchStatement(database, 2);
+         for (int ii = 1; ii <= 5; ii++) {
+            batch.addStatement(createInsert(database, "batch_test", ii));
+         }
+         batch.execute(factory);
+         ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM batch_test");
+         assertTrue(resultSet.next());
+         assertEquals(resultSet.getInt(1), 5);
+         resultSet.close();
+
+         // Outside of execute(), each row is written as its own INSERT.
+         final Sql[] sql = SqlGeneratorFactory.getInstance().generateSql(batch, database);
+         assertEquals(sql.length, 5);
+         assertTrue(sql[4].toSql().endsWith("VALUES (5, 'row 5')"), sql[4].toSql());
+
+         // The fourth row is a duplicate.
+         batch = new SpatialInsertBatchStatement(database, 10);
+         batch.addStatement(createInsert(database, "batch_test", 6));
+         batch.addStatement(createInsert(database, "batch_test", 7));
+         batch.addStatement(createInsert(database, "batch_test", 8));
+         batch.addStatement(createInsert(database, "batch_test", 1));
+         batch.addStatement(createInsert(database, "batch_test", 9));
+         try {
+            batch.execute(factory);
+            fail("The duplicate row was inserted");
+         } catch (final DatabaseException e) {
+            assertTrue(e.getMessage().startsWith("Failed to insert row 4 of 5 into batch_test"),
+                  e.getMessage());
+         }
+      } finally {
+         GeometryColumnPlan.clear(database);
+         statement.execute("DROP TABLE batch_test");
+         statement.close();
+         connection.close();
+      }
+   }
+
+   /**
+    * Tests {@link SpatialInsertBatchStatement#getFailedIndex(int[], int)}.
+    */
+   @Test
+   public void testGetFailedIndex() {
+      assertEquals(SpatialInsertBatchStatement.getFailedIndex(null, 5), 0);
+      assertEquals(SpatialInsertBatchStatement.getFailedIndex(new int[] { 1, 1 }, 5), 2);
+      assertEquals(SpatialInsertBatchStatement.getFailedIndex(new int[] { 1,
+            Statement.EXECUTE_FAILED, 1, Statement.EXECUTE_FAILED, 1 }, 5), 1);
+   }
+
+   /**
+    * Creates an insert of a row with the given ID.
+    *
+    * @param database
+    *           the database instance.
+    * @param tableName
+    *           the table name.
+    * @param id
+    *           the row ID.
+    * @return the insert.
+    */
+   private SpatialInsertStatement createInsert(final Database database, final String tableName,
+         final int id) {
+      final SpatialInsertStatement insert = new SpatialInsertStatement(database, null, null,
+            tableName);
+      insert.addColumnValue("id", id);
+      insert.addColumnValue("name", "row " + id);
+      return insert;
+   }
+}
@@ -0,0 +1,95 @@
+package liquibase.ext.spatial.statement;
+
+import static org.testng.Assert.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
+import liquibase.database.core.H2Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.ext.spatial.utils.GeometryColumnPlan;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+
+import org.testng.annotations.Test;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.io.WKBWriter;
+
+/**
+ * <code>SpatialInsertStatementTest</code> tests {@link SpatialInsertStatement}.
+ */
+public class SpatialInsertStatementTest {
+   /**
+    * Stands in for the GeoDB <code>ST_GeomFromWKB</code> function by storing the WKB as is.
+    *
+    * @param wkb
+    *           the WKB bytes.
+    * @param srid
+    *           the SRID.
+    * @return the WKB bytes.
+    */
+   public static byte[] geomFromWkb(final byte[] wkb, final int srid) {
+      return wkb;
+   }
+
+   /**
+    * Tests {@link SpatialInsertStatement#execute(PreparedStatementFactory)} binds the values and
+    * the geometry as Well-Known Binary.
+    *
+    * @throws SQLException
+    *            if the test table cannot be created or read.
+    * @throws DatabaseException
+    *            if the statement fails.
+    */
+   @Test
+   public void testExecute() throws SQLException, DatabaseException {
+      final Connection connection = DriverManager
+            .getConnection("jdbc:h2:mem:target/spatialInsertStatement");
+      final Statement statement = connection.createStatement();
+      statement.execute("CREATE TABLE bind_test (id INT, name VARCHAR(30), geom BINARY(1000))");
+      statement.execute("CREATE ALIAS ST_GeomFromWKB FOR \""
+            + SpatialInsertStatementTest.class.getName() + ".geomFromWkb\"");
+      final Database database = new H2Database();
+      database.setConnection(new JdbcConnection(connection));
+      try {
+         final SpatialInsertStatement insert = new SpatialInsertStatement(database, null, null,
+               "bind_test");
+         insert.addColumnValue("id", 1);
+         insert.addColumnValue("name", "it's a point");
+         insert.addColumnValue("geom", "SRID=4326;POINT(1 2)");
+         insert.execute(new PreparedStatementFactory((JdbcConnection) database.getConnection()));
+         assertNull(insert.getBoundParameters());
+
+         final ResultSet resultSet = statement
+               .executeQuery("SELECT id, name, geom FROM bind_test");
+         assertTrue(resultSet.next());
+         assertEquals(resultSet.getInt(1), 1);
+         assertEquals(resultSet.getString(2), "it's a point");
+         assertEquals(resultSet.getBytes(3), new WKBWriter().write(new GeometryFactory()
+               .createPoint(new Coordinate(1, 2))));
+         assertFalse(resultSet.next());
+         resultSet.close();
+
+         // Outside of execute(), the values are written to the SQL as usual.
+         final Sql[] sql = SqlGeneratorFactory.getInstance().generateSql(insert, database);
+         assertEquals(sql.length, 1);
+         assertEquals(sql[0].toSql(), "INSERT INTO "
+               + database.escapeTableName(null, null, "bind_test") + " (id, name, geom) VALUES "
+               + "(1, 'it''s a point', ST_GeomFromText('POINT(1 2)', 4326))");
+      } finally {
+         GeometryColumnPlan.clear(database);
+         statement.execute("DROP TABLE bind_test");
+         statement.execute("DROP ALIAS ST_GeomFromWKB");
+         statement.close();
+         connection.close();
+      }
+   }
+}
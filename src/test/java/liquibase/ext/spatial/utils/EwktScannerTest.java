@@ -0,0 +1,106 @@
+package liquibase.ext.spatial.utils;
+
+import static org.testng.Assert.*;
+
+import java.util.regex.Matcher;
+
+import liquibase.ext.spatial.sqlgenerator.WktConversionUtils;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * <code>EwktScannerTest</code> tests {@link EwktScanner}.
+ */
+public class EwktScannerTest {
+   /**
+    * Tests that {@link EwktScanner#scan(String)} agrees with
+    * {@link WktConversionUtils#EWKT_PATTERN}.
+    *
+    * @param value
+    *           the value to scan.
+    */
+   @Test(dataProvider = "scanTestData")
+   public void testScan(final String value) {
+      final Matcher matcher = WktConversionUtils.EWKT_PATTERN.matcher(value.trim());
+      final EwktScanner ewkt = EwktScanner.scan(value);
+      if (matcher.matches()) {
+         assertNotNull(ewkt, "'" + value + "' was not recognized");
+         assertEquals(ewkt.getSrid(), matcher.group(2));
+         assertEquals(ewkt.getWkt(), matcher.group(3));
+         assertEquals(ewkt.hasSrid(), matcher.group(2) != null);
+      } else {
+         assertNull(ewkt, "'" + value + "' should not have been recognized");
+      }
+   }
+
+   /**
+    * Generates the test data for {@link #testScan(String)}.
+    *
+    * @return the test data.
+    */
+   @DataProvider
+   public Object[][] scanTestData() {
+      return new Object[][] { new Object[] { "" }, new Object[] { "   " },
+            new Object[] { "test" }, new Object[] { "12345" }, new Object[] { "POINT" },
+            new Object[] { "POINT()" }, new Object[] { "POINT(0 0)" },
+            new Object[] { "point(0 0)" }, new Object[] { " POINT ( 0 0 ) " },
+            new Object[] { "\tPOINT(0 0)\n" }, new Object[] { "POINT(0 0" },
+            new Object[] { "POINT 0 0)" }, new Object[] { "POINT(0\n0)" },
+            new Object[] { "POINT(0\r0)" }, new Object[] { "POINT(0\u20280)" },
+            new Object[] { "POINTZ(0 0 0)" }, new Object[] { "POINT Z (0 0 0)" },
+            new Object[] { "POINTM(0 0 0)" }, new Object[] { "POINTZM(0 0 0 0)" },
+            new Object[] { "POINTMZ(0 0 0 0)" }, new Object[] { "POINTS(0 0)" },
+            new Object[] { "MULTIPOINT((0 0), (1 1))" },
+            new Object[] { "LINESTRING(0 0, 1 1)" },
+            new Object[] { "MultiLineString((0 0, 1 1))" },
+            new Object[] { "POLYGON((0 0, 1 0, 1 1, 0 0))" },
+            new Object[] { "MULTIPOLYGON(((0 0, 1 0, 1 1, 0 0)))" },
+            new Object[] { "GEOMETRYCOLLECTION(POINT(0 0))" },
+            new Object[] { "MULTIGEOMETRYCOLLECTION(POINT(0 0))" },
+            new Object[] { "MULTI(0 0)" }, new Object[] { "CIRCULARSTRING(0 0, 1 1, 2 0)" },
+            new Object[] { "SRID=4326;POINT(0 0)" }, new Object[] { "srid=4326;POINT(0 0)" },
+            new Object[] { "SRID = 4326 ; POINT(0 0)" }, new Object[] { "SRID=4326 POINT(0 0)" },
+            new Object[] { "SRID=;POINT(0 0)" }, new Object[] { "SRID=abc;POINT(0 0)" },
+            new Object[] { "SRID4326;POINT(0 0)" }, new Object[] { " SRID=4326;POINT(0 0) " },
+            new Object[] { "SRID=4326;" }, new Object[] { "SRID=4326;test" },
+            new Object[] { "POINT(0 0) trailing" }, new Object[] { "PO\u0130NT(0 0)" },
+            new Object[] { "po\u0131nt(0 0)" } };
+   }
+
+   /**
+    * Tests that {@link EwktScanner} reports offsets into the original string.
+    */
+   @Test
+   public void testOffsets() {
+      final String value = "  SRID=4326;POINT(1 2)  ";
+      final EwktScanner ewkt = EwktScanner.scan(value);
+      assertNotNull(ewkt);
+      assertSame(ewkt.getText(), value);
+      assertEquals(ewkt.getSridStart(), 7);
+      assertEquals(ewkt.getSridEnd(), 11);
+      assertEquals(ewkt.getWktStart(), 12);
+      assertEquals(ewkt.getWktEnd(), 22);
+
+      // Plain WKT is not copied.
+      final String wkt = "POINT(1 2)";
+      assertSame(EwktScanner.scan(wkt).getWkt(), wkt);
+   }
+
+   /**
+    * Tests that a very large polygon is recognized.
+    */
+   @Test
+   public void testLargePolygon() {
+      final StringBuilder polygon = new StringBuilder("SRID=4326;POLYGON((");
+      for (int ii = 0; ii < 200000; ii++) {
+         polygon.append(ii).append(".123456789 ").append(ii).append(".987654321, ");
+      }
+      polygon.append("0.123456789 0.987654321))");
+      final String value = polygon.toString();
+      final EwktScanner ewkt = EwktScanner.scan(value);
+      assertNotNull(ewkt);
+      assertEquals(ewkt.getSrid(), "4326");
+      assertEquals(ewkt.getWktEnd(), value.length());
+   }
+}
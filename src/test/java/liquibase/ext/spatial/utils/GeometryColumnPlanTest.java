@@ -0,0 +1,130 @@
+package liquibase.ext.spatial.utils;
+
+import static org.testng.Assert.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.ext.spatial.change.SpatialInsertDataChange;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.core.ModifyDataTypeStatement;
+import liquibase.statement.core.RawSqlStatement;
+
+import org.testng.annotations.Test;
+
+/**
+ * <code>GeometryColumnPlanTest</code> tests {@link GeometryColumnPlan}.
+ */
+public class GeometryColumnPlanTest {
+   /**
+    * Tests {@link GeometryColumnPlan#getPlan(Database, String, String, String)} against a table
+    * with geometry and non-geometry columns.
+    *
+    * @throws SQLException
+    *            if the test table cannot be created.
+    */
+   @Test
+   public void testGetPlan() throws SQLException {
+      final Connection connection = DriverManager
+            .getConnection("jdbc:h2:mem:target/geometryColumnPlan");
+      final Statement statement = connection.createStatement();
+      statement.execute("CREATE TABLE plan_test (id INT, name VARCHAR(30), geom BINARY)");
+      statement.close();
+      final Database database = new H2Database();
+      database.setConnection(new JdbcConnection(connection));
+
+      final GeometryColumnPlan plan = GeometryColumnPlan.getPlan(database, null, null,
+            "plan_test");
+      assertFalse(plan.isPossibleGeometryColumn("id"));
+      assertFalse(plan.isPossibleGeometryColumn("NAME"));
+      assertTrue(plan.isPossibleGeometryColumn("geom"));
+      assertTrue(plan.isPossibleGeometryColumn("unknown"));
+      assertFalse(plan.isPossibleGeometry("name", "POINT(1 2)"));
+      assertTrue(plan.isPossibleGeometry("geom", "POINT(1 2)"));
+      assertFalse(plan.isPossibleGeometry("geom", "not a geometry"));
+
+      // A table that doesn't exist can have geometries in any column.
+      final GeometryColumnPlan missing = GeometryColumnPlan.getPlan(database, null, null,
+            "missing_table");
+      assertTrue(missing.isPossibleGeometryColumn("id"));
+      GeometryColumnPlan.clear(database);
+   }
+
+   /**
+    * Tests that {@link GeometryColumnPlan#getPlan(Database, String, String, String)} doesn't
+    * resolve anything without a live connection.
+    */
+   @Test
+   public void testGetPlanWithoutConnection() {
+      final GeometryColumnPlan plan = GeometryColumnPlan.getPlan(new H2Database(), null, null,
+            "plan_test");
+      assertSame(plan, GeometryColumnPlan.UNKNOWN);
+      assertTrue(plan.isPossibleGeometryColumn("id"));
+   }
+
+   /**
+    * Tests that a spatial change discards the cached plan of its table so that a column that was
+    * changed to a geometry column is checked.
+    *
+    * @throws SQLException
+    *            if the test table cannot be created or changed.
+    */
+   @Test
+   public void testClearedByChange() throws SQLException {
+      final Connection connection = DriverManager
+            .getConnection("jdbc:h2:mem:target/geometryColumnPlanChange");
+      final Statement statement = connection.createStatement();
+      statement.execute("CREATE TABLE change_test (id INT, geom VARCHAR(100))");
+      final Database database = new H2Database();
+      database.setConnection(new JdbcConnection(connection));
+      try {
+         assertFalse(GeometryColumnPlan.getPlan(database, null, null, "change_test")
+               .isPossibleGeometry("geom", "POINT(1 2)"));
+
+         statement.execute("ALTER TABLE change_test ALTER COLUMN geom BINARY");
+         final SpatialInsertDataChange change = new SpatialInsertDataChange();
+         change.setTableName("change_test");
+         change.generateStatements(database);
+         assertFalse(GeometryColumnPlan.getPlan(database, null, null, "change_test")
+               .isPossibleGeometry("geom", "POINT(1 2)"));
+
+         SqlGeneratorFactory.getInstance().generateSql(
+               new ModifyDataTypeStatement(null, null, "change_test", "geom", "BINARY"), database);
+         assertTrue(GeometryColumnPlan.getPlan(database, null, null, "change_test")
+               .isPossibleGeometry("geom", "POINT(1 2)"));
+
+         SqlGeneratorFactory.getInstance().generateSql(
+               new RawSqlStatement("ALTER TABLE change_test ALTER COLUMN geom VARCHAR(100)"),
+               database);
+         statement.execute("ALTER TABLE change_test ALTER COLUMN geom VARCHAR(100)");
+         assertFalse(GeometryColumnPlan.getPlan(database, null, null, "change_test")
+               .isPossibleGeometry("geom", "POINT(1 2)"));
+      } finally {
+         statement.close();
+         GeometryColumnPlan.clear(database);
+      }
+   }
+
+   /**
+    * Tests {@link GeometryColumnPlan#mayBeGeometry(Object)}.
+    */
+   @Test
+   public void testMayBeGeometry() {
+      assertTrue(GeometryColumnPlan.mayBeGeometry(" srid=4326;POINT(1 2)"));
+      assertTrue(GeometryColumnPlan.mayBeGeometry("MultiPolygon EMPTY"));
+      assertTrue(GeometryColumnPlan.mayBeGeometry("0101000000000000000000F03F0000000000000040"));
+      assertFalse(GeometryColumnPlan.mayBeGeometry("Polly"));
+      assertFalse(GeometryColumnPlan.mayBeGeometry("2015-01-01"));
+      assertFalse(GeometryColumnPlan.mayBeGeometry("01234"));
+      assertFalse(GeometryColumnPlan.mayBeGeometry("01/02/2020"));
+      assertFalse(GeometryColumnPlan.mayBeGeometry("000000000000000000000000000000000000000042"));
+      assertFalse(GeometryColumnPlan.mayBeGeometry("0101000000000000000000F03F00000000000000"));
+      assertFalse(GeometryColumnPlan.mayBeGeometry(Integer.valueOf(1)));
+      assertFalse(GeometryColumnPlan.mayBeGeometry(null));
+   }
+}
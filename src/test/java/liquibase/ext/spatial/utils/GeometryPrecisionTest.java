@@ -0,0 +1,140 @@
+package liquibase.ext.spatial.utils;
+
+import static org.testng.Assert.*;
+
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.database.core.OracleDatabase;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.ext.spatial.configuration.SpatialConfiguration;
+import liquibase.ext.spatial.sqlgenerator.AbstractSpatialInsertGenerator;
+import liquibase.ext.spatial.sqlgenerator.SpatialInsertGeneratorGeoDB;
+import liquibase.ext.spatial.sqlgenerator.SpatialInsertGeneratorMySQL;
+import liquibase.ext.spatial.sqlgenerator.SpatialInsertGeneratorOracle;
+import liquibase.ext.spatial.sqlgenerator.SpatialInsertGeneratorPostgreSQL;
+import liquibase.sql.Sql;
+import liquibase.statement.core.InsertStatement;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.geom.Point;
+import com.vividsolutions.jts.geom.PrecisionModel;
+
+/**
+ * <code>GeometryPrecisionTest</code> tests {@link GeometryPrecision}.
+ */
+public class GeometryPrecisionTest {
+   /**
+    * Tests {@link GeometryPrecision#reduce(Object, int)}.
+    */
+   @Test
+   public void testReduce() {
+      final Point point = new GeometryFactory(new PrecisionModel(), 4269)
+            .createPoint(new Coordinate(0.2999, -105.123456789));
+      final Geometry reduced = GeometryPrecision.reduce(point, 3);
+      assertEquals(reduced.toText(), "POINT (0.3 -105.123)");
+      assertEquals(reduced.getSRID(), 4269);
+      assertEquals(reduced.getCoordinate().y, -105.123);
+      // The original geometry isn't changed.
+      assertEquals(point.getY(), -105.123456789);
+
+      assertEquals(((Geometry) GeometryPrecision.reduce("POLYGON((0 0, 10.04 0, 0 10, 0 0))", 1))
+            .toText(), "POLYGON ((0 0, 10 0, 0 10, 0 0))");
+      assertEquals(((Geometry) GeometryPrecision.reduce(
+            "0101000020E6100000000000000000F83F0000000000000440", 0)).getSRID(), 4326);
+      assertEquals(GeometryPrecision.reduce("POINT Z (1.55 2 3)", 1), "POINT Z (1.55 2 3)");
+      assertEquals(GeometryPrecision.reduce("just text", 1), "just text");
+      assertEquals(GeometryPrecision.reduce(Integer.valueOf(5), 1), Integer.valueOf(5));
+   }
+
+   /**
+    * Tests that the generators round the coordinates to
+    * {@link SpatialConfiguration#getCoordinatePrecision()} in both the WKT and WKB formats.
+    */
+   @Test
+   public void testConfiguredPrecision() {
+      final SpatialConfiguration configuration = SpatialConfiguration.getInstance();
+      final Database database = new H2Database();
+      final InsertStatement statement = new InsertStatement(null, null, "test_table");
+      statement.addColumnValue("geom", "SRID=4326;LINESTRING(1.23456 2.5, 3.00001 4.99999)");
+      configuration.setCoordinatePrecision(2);
+      try {
+         Sql[] sql = new SpatialInsertGeneratorGeoDB().generateSql(statement, database, null);
+         assertTrue(sql[0].toSql().endsWith(
+               "VALUES (ST_GeomFromText('LINESTRING (1.23 2.5, 3 5)', 4326))"), sql[0].toSql());
+
+         configuration.setGeometryLiteralFormat(SpatialConfiguration.GeometryLiteralFormat.WKB);
+         sql = new SpatialInsertGeneratorGeoDB().generateSql(statement, database, null);
+         final String wkb = "0000000002000000023FF3AE147AE147AE40040000000000004008000000000000"
+               + "4014000000000000";
+         assertTrue(sql[0].toSql().endsWith("VALUES (ST_GeomFromWKB(X'" + wkb + "', 4326))"),
+               sql[0].toSql());
+      } finally {
+         configuration.setCoordinatePrecision(null);
+         configuration.setGeometryLiteralFormat(SpatialConfiguration.GeometryLiteralFormat.WKT);
+      }
+   }
+
+   /**
+    * Tests that the Z values of three-dimensional geometries are kept when the coordinates are
+    * rounded.
+    *
+    * @param generator
+    *           the insert generator.
+    * @param database
+    *           the database instance.
+    * @param geometry
+    *           the expected geometry SQL.
+    */
+   @Test(dataProvider = "configuredPrecisionWithZTestData")
+   public void testConfiguredPrecisionWithZ(final AbstractSpatialInsertGenerator generator,
+         final Database database, final String geometry) {
+      final SpatialConfiguration configuration = SpatialConfiguration.getInstance();
+      final InsertStatement statement = new InsertStatement(null, null, "test_table");
+      statement.addColumnValue("geom", "SRID=4326;LINESTRING(1.23456 2.34567 100.5, 3 4 5)");
+      statement.addColumnValue("point", "SRID=4326;POINT(1.23456 2.34567 100.5)");
+      configuration.setCoordinatePrecision(2);
+      try {
+         final Sql[] sql = generator.generateSql(statement, database, null);
+         assertTrue(sql[0].toSql().endsWith(geometry), sql[0].toSql());
+      } finally {
+         configuration.setCoordinatePrecision(null);
+      }
+   }
+
+   /**
+    * Generates the data for {@link #testConfiguredPrecisionWithZ}.
+    *
+    * @return the test data.
+    */
+   @DataProvider
+   public Object[][] configuredPrecisionWithZTestData() {
+      final String wkt = "('LINESTRING (1.23 2.35 100.5, 3 4 5)', 4326), "
+            + "ST_GeomFromText('POINT (1.23 2.35 100.5)', 4326))";
+      final String oracleWkt = "SDO_GEOMETRY('LINESTRING (1.23 2.35 100.5, 3 4 5)', 8307), "
+            + "SDO_GEOMETRY('POINT (1.23 2.35 100.5)', 8307))";
+      return new Object[][] {
+            new Object[] { new SpatialInsertGeneratorGeoDB(), new H2Database(),
+                  "VALUES (ST_GeomFromText" + wkt },
+            new Object[] { new SpatialInsertGeneratorPostgreSQL(), new PostgresDatabase(),
+                  "VALUES (ST_GeomFromText" + wkt },
+            new Object[] { new SpatialInsertGeneratorMySQL(), new MySQLDatabase(),
+                  "VALUES (ST_GeomFromText" + wkt },
+            new Object[] { new SpatialInsertGeneratorOracle(), new OracleDatabase(),
+                  "VALUES (" + oracleWkt }, };
+   }
+
+   /**
+    * Tests that an SRID that doesn't fit in a JTS SRID is left to the database.
+    */
+   @Test
+   public void testReduceWithLargeSrid() {
+      assertEquals(GeometryPrecision.reduce("SRID=99999999999;POINT(1.234 5)", 1),
+            "SRID=99999999999;POINT(1.234 5)");
+   }
+}
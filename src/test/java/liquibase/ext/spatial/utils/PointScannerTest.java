@@ -0,0 +1,71 @@
+package liquibase.ext.spatial.utils;
+
+import static org.testng.Assert.*;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * <code>PointScannerTest</code> tests {@link PointScanner}.
+ */
+public class PointScannerTest {
+   /**
+    * Tests {@link PointScanner#scan(CharSequence)} with two-dimensional points.
+    *
+    * @param wkt
+    *           the Well-Known Text.
+    * @param x
+    *           the expected X coordinate.
+    * @param y
+    *           the expected Y coordinate.
+    */
+   @Test(dataProvider = "pointTestData")
+   public void testScan(final String wkt, final String x, final String y) {
+      final PointScanner point = PointScanner.scan(wkt);
+      assertNotNull(point, "'" + wkt + "' was not recognized");
+      assertEquals(point.getX(), x);
+      assertEquals(point.getY(), y);
+   }
+
+   /**
+    * Generates the test data for {@link #testScan(String, String, String)}.
+    *
+    * @return the test data.
+    */
+   @DataProvider
+   public Object[][] pointTestData() {
+      return new Object[][] { new Object[] { "POINT(1 2)", "1", "2" },
+            new Object[] { "point ( -1.5   +2. ) ", "-1.5", "+2." },
+            new Object[] { " POINT\t(.25 1.0E-3)", ".25", "1.0E-3" },
+            new Object[] { "Point(-180 90)", "-180", "90" } };
+   }
+
+   /**
+    * Tests that {@link PointScanner#scan(CharSequence)} rejects everything that isn't a
+    * two-dimensional point.
+    *
+    * @param wkt
+    *           the Well-Known Text.
+    */
+   @Test(dataProvider = "notPointTestData")
+   public void testScanNotPoint(final String wkt) {
+      assertNull(PointScanner.scan(wkt), "'" + wkt + "' should not have been recognized");
+   }
+
+   /**
+    * Generates the test data for {@link #testScanNotPoint(String)}.
+    *
+    * @return the test data.
+    */
+   @DataProvider
+   public Object[][] notPointTestData() {
+      return new Object[][] { new Object[] { "POINT(1 2 3)" }, new Object[] { "POINTZ(1 2 3)" },
+            new Object[] { "POINT Z (1 2 3)" }, new Object[] { "POINT EMPTY" },
+            new Object[] { "POINT(1)" }, new Object[] { "POINT(12)" },
+            new Object[] { "POINT(1,2)" }, new Object[] { "POINT(1 2" },
+            new Object[] { "POINT(1 2))" }, new Object[] { "POINT(. 2)" },
+            new Object[] { "POINT(1e 2)" }, new Object[] { "POINT(1 2); DROP TABLE x" },
+            new Object[] { "MULTIPOINT((1 2))" }, new Object[] { "SRID=4326;POINT(1 2)" },
+            new Object[] { "" } };
+   }
+}
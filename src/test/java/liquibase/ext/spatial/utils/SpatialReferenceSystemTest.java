@@ -0,0 +1,63 @@
+package liquibase.ext.spatial.utils;
+
+import static org.testng.Assert.*;
+
+import org.testng.annotations.Test;
+
+/**
+ * <code>SpatialReferenceSystemTest</code> tests {@link SpatialReferenceSystem}.
+ */
+public class SpatialReferenceSystemTest {
+   /**
+    * Tests {@link SpatialReferenceSystem#get(int)} with a geographic system that has a legacy
+    * Oracle SRID.
+    */
+   @Test
+   public void testGetGeographic() {
+      final SpatialReferenceSystem srs = SpatialReferenceSystem.get(4326);
+      assertNotNull(srs);
+      assertEquals(srs.getSrid(), 4326);
+      assertEquals(srs.getOracleSrid(), 8307);
+      assertEquals(srs.getUnit(), SpatialReferenceSystem.DEGREE);
+      assertTrue(srs.isGeographic());
+      assertEquals(srs.getMinX(), -180.0);
+      assertEquals(srs.getMinY(), -90.0);
+      assertEquals(srs.getMaxX(), 180.0);
+      assertEquals(srs.getMaxY(), 90.0);
+   }
+
+   /**
+    * Tests {@link SpatialReferenceSystem#get(int)} with projected systems.
+    */
+   @Test
+   public void testGetProjected() {
+      SpatialReferenceSystem srs = SpatialReferenceSystem.get(3857);
+      assertNotNull(srs);
+      assertEquals(srs.getOracleSrid(), 3857);
+      assertEquals(srs.getUnit(), "metre");
+      assertFalse(srs.isGeographic());
+      assertEquals(srs.getMaxX(), 20037508.3428);
+
+      // Each code in a range is found with its own SRID.
+      srs = SpatialReferenceSystem.get(32633);
+      assertNotNull(srs);
+      assertEquals(srs.getSrid(), 32633);
+      assertEquals(srs.getOracleSrid(), 32633);
+      assertNotNull(SpatialReferenceSystem.get(32601));
+      assertNotNull(SpatialReferenceSystem.get(32660));
+      assertNull(SpatialReferenceSystem.get(32661));
+   }
+
+   /**
+    * Tests {@link SpatialReferenceSystem#get(String)}.
+    */
+   @Test
+   public void testGetString() {
+      assertEquals(SpatialReferenceSystem.get(" 27700 ").getOracleSrid(), 81989);
+      assertNull(SpatialReferenceSystem.get((String) null));
+      assertNull(SpatialReferenceSystem.get("EPSG:4326"));
+      assertNull(SpatialReferenceSystem.get("12345678901"));
+      assertNull(SpatialReferenceSystem.get("0"));
+      assertNull(SpatialReferenceSystem.get("99999"));
+   }
+}
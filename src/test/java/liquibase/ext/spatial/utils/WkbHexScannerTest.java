@@ -0,0 +1,150 @@
+package liquibase.ext.spatial.utils;
+
+import static org.testng.Assert.*;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.io.ByteOrderValues;
+import com.vividsolutions.jts.io.WKBReader;
+import com.vividsolutions.jts.io.WKBWriter;
+import com.vividsolutions.jts.io.WKTReader;
+
+/**
+ * <code>WkbHexScannerTest</code> tests {@link WkbHexScanner}.
+ */
+public class WkbHexScannerTest {
+   /**
+    * Tests that {@link WkbHexScanner#scan(String)} recognizes WKB and EWKB written by JTS.
+    *
+    * @param wkt
+    *           the Well-Known Text of the geometry to encode.
+    * @param dimension
+    *           the output dimension.
+    * @param byteOrder
+    *           the byte order.
+    * @param srid
+    *           the SRID or <code>0</code> to write WKB.
+    * @throws Exception
+    *            if the geometry cannot be encoded.
+    */
+   @Test(dataProvider = "scanTestData")
+   public void testScan(final String wkt, final int dimension, final int byteOrder,
+         final int srid) throws Exception {
+      final Geometry geometry = new WKTReader().read(wkt);
+      geometry.setSRID(srid);
+      final String ewkb = WKBWriter.toHex(new WKBWriter(dimension, byteOrder, srid != 0)
+            .write(geometry));
+      final String wkb = WKBWriter.toHex(new WKBWriter(dimension, byteOrder, false)
+            .write(geometry));
+      // JTS flags the SRID on the members of collections too so only simple geometries are
+      // compared as text.
+      final WkbHexScanner scanner = WkbHexScanner.scan(" " + ewkb + "\n");
+      assertNotNull(scanner, ewkb);
+      assertEquals(scanner.hasSrid(), srid != 0);
+      assertEquals(scanner.getSrid(), srid != 0 ? String.valueOf(srid) : null);
+      assertEquals(scanner.hasZ(), dimension == 3);
+      assertFalse(scanner.hasM());
+      if (geometry.getNumGeometries() == 1) {
+         assertEquals(scanner.getWkb(), wkb);
+      }
+      assertEquals(scanner.getWkbLength(), scanner.getWkb().length());
+      assertFalse(WkbHexScanner.scan(scanner.getWkb()).hasSrid());
+      assertTrue(new WKBReader().read(WKBReader.hexToBytes(scanner.getWkb())).equalsExact(
+            geometry));
+      assertTrue(new WKBReader().read(scanner.toByteArray()).equalsExact(geometry));
+      assertEquals(scanner.toWkbByteArray(), WKBReader.hexToBytes(scanner.getWkb()));
+
+      // Lower case hex digits are accepted too.
+      assertNotNull(WkbHexScanner.scan(ewkb.toLowerCase()));
+
+      // Any missing or extra byte is rejected.
+      assertNull(WkbHexScanner.scan(ewkb.substring(0, ewkb.length() - 2)));
+      assertNull(WkbHexScanner.scan(ewkb + "00"));
+   }
+
+   /**
+    * Generates the test data for {@link #testScan(String, int, int, int)}.
+    *
+    * @return the test data.
+    */
+   @DataProvider
+   public Object[][] scanTestData() {
+      final int big = ByteOrderValues.BIG_ENDIAN;
+      final int little = ByteOrderValues.LITTLE_ENDIAN;
+      final String polygon = "POLYGON((0 0, 10 0, 10 10, 0 10, 0 0), (1 1, 2 1, 2 2, 1 1))";
+      final String collection = "GEOMETRYCOLLECTION(POINT(1 2), LINESTRING(0 0, 1 1), "
+            + "MULTIPOLYGON(((0 0, 1 0, 1 1, 0 0))))";
+      return new Object[][] { new Object[] { "POINT(1 2)", 2, little, 0 },
+            new Object[] { "POINT(1 2)", 2, big, 4326 },
+            new Object[] { "POINT(1 2 3)", 3, little, 4326 },
+            new Object[] { "LINESTRING(0 0, 1 1, 2 2)", 2, big, 0 },
+            new Object[] { polygon, 2, little, 27700 }, new Object[] { polygon, 3, big, 0 },
+            new Object[] { "MULTIPOINT((0 0), (1 1))", 2, little, 4326 },
+            new Object[] { collection, 2, little, 4326 }, new Object[] { collection, 2, big, 0 } };
+   }
+
+   /**
+    * Tests that values that aren't WKB are rejected.
+    *
+    * @param value
+    *           the value to scan.
+    */
+   @Test(dataProvider = "scanInvalidTestData")
+   public void testScanInvalid(final String value) {
+      assertNull(WkbHexScanner.scan(value));
+   }
+
+   /**
+    * Generates the test data for {@link #testScanInvalid(String)}.
+    *
+    * @return the test data.
+    */
+   @DataProvider
+   public Object[][] scanInvalidTestData() {
+      return new Object[][] { new Object[] { null }, new Object[] { "" },
+            new Object[] { "test" }, new Object[] { "POINT(1 2)" },
+            new Object[] { "0123456789abcdef0123456789abcdef0123456789" },
+            new Object[] { "d41d8cd98f00b204e9800998ecf8427ed41d8cd98f00b204e9800998ecf8427e" },
+            // A point with an invalid byte order.
+            new Object[] { "020100000000000000000000000000000000000000" },
+            // A point with an unknown geometry type.
+            new Object[] { "010800000000000000000000000000000000000000" },
+            // A line string with more points than bytes.
+            new Object[] { "010200000005000000000000000000000000000000000000000000000000" },
+            new Object[] { "01010000000000000000000000000000000000000G" } };
+   }
+
+   /**
+    * Tests {@link WkbHexScanner#getGeometryType()}.
+    *
+    * @throws Exception
+    *            if the geometry cannot be encoded.
+    */
+   @Test
+   public void testGetGeometryType() throws Exception {
+      final Geometry geometry = new WKTReader().read("MULTILINESTRING((0 0, 1 1), (2 2, 3 3))");
+      final WkbHexScanner scanner = WkbHexScanner.scan(WKBWriter.toHex(new WKBWriter()
+            .write(geometry)));
+      assertNotNull(scanner);
+      assertEquals(scanner.getGeometryType(), 5);
+   }
+
+   /**
+    * Tests {@link WkbHexScanner#hasHeader(String)}.
+    */
+   @Test
+   public void testHasHeader() {
+      assertTrue(WkbHexScanner.hasHeader(" 0101000000000000000000F03F0000000000000040 "));
+      // Only the header is checked.
+      assertTrue(WkbHexScanner.hasHeader("0101000000000000000000F03F00000000000000XX"));
+      assertTrue(WkbHexScanner.hasHeader("0020000001000010E6000000000000000000000000"));
+      assertFalse(WkbHexScanner.hasHeader("01234"));
+      assertFalse(WkbHexScanner.hasHeader("0101000000000000000000F03F000000000000004"));
+      assertFalse(WkbHexScanner.hasHeader("0101000008000000000000F03F0000000000000040"));
+      assertFalse(WkbHexScanner.hasHeader("0201000000000000000000F03F0000000000000040"));
+      assertFalse(WkbHexScanner.hasHeader("01E9030080000000000000F03F0000000000000040"));
+      assertFalse(WkbHexScanner.hasHeader(null));
+   }
+}